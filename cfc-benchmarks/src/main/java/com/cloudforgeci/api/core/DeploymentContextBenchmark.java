@@ -0,0 +1,72 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.benchmarks.SynthesisMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awscdk.Stack;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the {@code cfc} context into a {@link DeploymentContext}.
+ *
+ * <p>Lives in {@code com.cloudforgeci.api.core} so it can call the package-private
+ * {@link Util#extractDeploymentContext(Object)} directly.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeploymentContextBenchmark {
+
+  private Map<String, Object> map;
+  private String json;
+  private Stack stack;
+
+  @Setup
+  public void setUp() {
+    map = new LinkedHashMap<>(SynthesisMatrix.context(
+        com.cloudforgeci.api.interfaces.TopologyType.JENKINS_SERVICE,
+        com.cloudforgeci.api.interfaces.RuntimeType.FARGATE,
+        com.cloudforgeci.api.interfaces.SecurityProfile.PRODUCTION));
+    map.put("domain", "example.com");
+    map.put("subdomain", "jenkins");
+    map.put("enableSsl", true);
+    map.put("minInstanceCapacity", 2);
+    map.put("maxInstanceCapacity", 4);
+    json = "{\"runtime\":\"fargate\",\"topology\":\"jenkins-service\",\"securityProfile\":\"production\","
+        + "\"networkMode\":\"public-no-nat\",\"domain\":\"example.com\",\"subdomain\":\"jenkins\","
+        + "\"enableSsl\":true,\"minInstanceCapacity\":2,\"maxInstanceCapacity\":4}";
+    stack = SynthesisMatrix.newStack(map);
+  }
+
+  /** Map context, as passed by {@code -c} flags or cdk.json. */
+  @Benchmark
+  public DeploymentContext extractFromMap() {
+    return Util.extractDeploymentContext(map);
+  }
+
+  /** JSON string context, as written by the interactive deployer. */
+  @Benchmark
+  public DeploymentContext extractFromJson() {
+    return Util.extractDeploymentContext(json);
+  }
+
+  /** What every factory pays: tryGetContext over jsii plus extraction. */
+  @Benchmark
+  public DeploymentContext fromConstruct() {
+    return DeploymentContext.from(stack);
+  }
+}
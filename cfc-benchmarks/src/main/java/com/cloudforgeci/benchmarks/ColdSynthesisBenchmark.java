@@ -0,0 +1,23 @@
+package com.cloudforgeci.benchmarks;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-JVM variant: one invocation per fresh JVM, so each sample includes class loading,
+ * jsii runtime start-up and the first pass through the factories. This is what a CI
+ * {@code cdk synth} pays.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@Fork(10)
+public class ColdSynthesisBenchmark extends SynthesisBenchmark {
+}
@@ -0,0 +1,72 @@
+package com.cloudforgeci.benchmarks;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.annotation.BaseFactory;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code BaseFactory.performContextInjection}, measured through
+ * {@link BaseFactory#injectContexts()} on a factory shaped like the real ones
+ * (its own annotated fields on top of the inherited ones).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ContextInjectionBenchmark {
+
+  /** Mirrors the field layout of EfsFactory/FargateFactory. */
+  public static final class InjectedFactory extends BaseFactory {
+    @com.cloudforgeci.api.core.annotation.SystemContext
+    private SystemContext ctx;
+
+    @com.cloudforgeci.api.core.annotation.DeploymentContext
+    private DeploymentContext cfc;
+
+    public InjectedFactory(Construct scope, String id) {
+      super(scope, id);
+    }
+
+    @Override
+    public void create() {}
+  }
+
+  private InjectedFactory factory;
+
+  @Setup
+  public void setUp() {
+    Stack stack = SynthesisMatrix.newStack(
+        SynthesisMatrix.context(TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV));
+    SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV,
+        IAMProfile.EXTENDED, DeploymentContext.from(stack));
+    // Nest a few levels down, as factories usually are
+    Construct scope = new Construct(new Construct(stack, "Outer"), "Inner");
+    factory = new InjectedFactory(scope, "Factory");
+  }
+
+  @Benchmark
+  public BaseFactory injectContexts() {
+    factory.injectContexts();
+    return factory;
+  }
+}
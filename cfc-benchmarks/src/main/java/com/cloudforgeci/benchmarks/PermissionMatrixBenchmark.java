@@ -0,0 +1,61 @@
+package com.cloudforgeci.benchmarks;
+
+import com.cloudforgeci.api.core.iam.PermissionMatrix;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PermissionMatrix#validatePermissions} for a compliant grant and for a grant
+ * carrying extra actions (which the MINIMAL profile has to scan for).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PermissionMatrixBenchmark {
+
+  @Param
+  public IAMProfile iam;
+
+  @Param({"EC2", "FARGATE"})
+  public RuntimeType runtime;
+
+  private List<String> compliant;
+  private List<String> excessive;
+
+  @Setup
+  public void setUp() {
+    compliant = List.copyOf(PermissionMatrix.getRequiredPermissions(TopologyType.JENKINS_SERVICE, runtime, iam));
+    List<String> extra = new ArrayList<>(compliant);
+    extra.addAll(List.of("iam:PassRole", "kms:Decrypt", "sts:AssumeRole", "secretsmanager:GetSecretValue"));
+    excessive = List.copyOf(extra);
+  }
+
+  @Benchmark
+  public PermissionMatrix.ValidationResult compliantGrant() {
+    return PermissionMatrix.validatePermissions(TopologyType.JENKINS_SERVICE, runtime, iam, compliant);
+  }
+
+  @Benchmark
+  public PermissionMatrix.ValidationResult excessiveGrant() {
+    return PermissionMatrix.validatePermissions(TopologyType.JENKINS_SERVICE, runtime, iam, excessive);
+  }
+}
@@ -0,0 +1,66 @@
+package com.cloudforgeci.benchmarks;
+
+import com.cloudforgeci.api.core.DeploymentPreflight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DeploymentPreflight} over a batch of 1000 generated contexts, a mix of valid and invalid
+ * ones, as a self-service portal would submit them. No App or construct is created.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PreflightBenchmark {
+
+  private static final String[] RUNTIMES = {"ec2", "fargate"};
+  private static final String[] TOPOLOGIES = {"jenkins-service", "jenkins-single-node"};
+  private static final int[] CPUS = {256, 512, 1024, 2048, 4096};
+  private static final int[] MEMORIES = {512, 2048, 4096, 8192};
+
+  private List<Map<String, Object>> batch;
+
+  @Setup
+  public void setUp() {
+    batch = new ArrayList<>(1000);
+    for (int i = 0; i < 1000; i++) {
+      batch.add(Map.of(
+          "runtime", RUNTIMES[i % RUNTIMES.length],
+          "topology", TOPOLOGIES[(i / 2) % TOPOLOGIES.length],
+          "domain", "example.com",
+          "subdomain", "jenkins" + i,
+          "enableSsl", i % 3 != 0,
+          "authMode", i % 5 == 0 ? "alb-oidc" : "none",
+          "cpu", CPUS[i % CPUS.length],
+          "memory", MEMORIES[i % MEMORIES.length],
+          "minInstanceCapacity", 1,
+          "maxInstanceCapacity", 1 + i % 4));
+    }
+  }
+
+  @Benchmark
+  public List<DeploymentPreflight.Result> checkBatch() {
+    return DeploymentPreflight.checkAll(batch);
+  }
+
+  @Benchmark
+  public DeploymentPreflight.Result checkOne() {
+    return DeploymentPreflight.check(batch.get(7));
+  }
+}
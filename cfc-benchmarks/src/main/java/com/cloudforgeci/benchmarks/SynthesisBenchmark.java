@@ -0,0 +1,69 @@
+package com.cloudforgeci.benchmarks;
+
+import com.cloudforgeci.api.compute.JenkinsFactory;
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awscdk.Stack;
+
+import java.util.Map;
+
+/**
+ * Construction cost of one matrix cell. Each invocation builds a new App and Stack, so the
+ * numbers include everything a {@code cdk synth} pays before the template is written.
+ *
+ * <p>Parameters default to every enum constant. Cells {@link SynthesisMatrix#supported} rejects
+ * fail in setup; {@link SynthesisMatrixRunner} runs only the supported cells.</p>
+ *
+ * @see ColdSynthesisBenchmark
+ * @see WarmSynthesisBenchmark
+ */
+@State(Scope.Thread)
+public abstract class SynthesisBenchmark {
+
+  @Param
+  public SecurityProfile security;
+
+  @Param
+  public IAMProfile iam;
+
+  @Param
+  public TopologyType topology;
+
+  @Param
+  public RuntimeType runtime;
+
+  private Map<String, Object> cfc;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (!SynthesisMatrix.supported(topology, runtime, security, iam)) {
+      throw new IllegalStateException("Unsupported combination " + topology + "/" + runtime + "/" + security + "/" + iam
+          + "; use SynthesisMatrixRunner to run only supported cells");
+    }
+    cfc = SynthesisMatrix.context(topology, runtime, security);
+  }
+
+  /** SystemContext.start alone: rule installation, IAM wiring and deferred registration. */
+  @Benchmark
+  public SystemContext systemContextStart() {
+    Stack stack = SynthesisMatrix.newStack(cfc);
+    return SystemContext.start(stack, topology, runtime, security, iam, DeploymentContext.from(stack));
+  }
+
+  /** The full JenkinsFactory.createEc2/createFargate path including deferred wiring. */
+  @Benchmark
+  public JenkinsFactory.JenkinsSystem jenkinsFactory() {
+    Stack stack = SynthesisMatrix.newStack(cfc);
+    return SynthesisMatrix.createJenkins(stack, runtime, security, iam);
+  }
+}
@@ -0,0 +1,110 @@
+package com.cloudforgeci.benchmarks;
+
+import com.cloudforgeci.api.compute.JenkinsFactory;
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.iam.IAMProfileMapper;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.AppProps;
+import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SecurityProfile x IAMProfile x TopologyType x RuntimeType matrix exercised by the
+ * synthesis benchmarks, plus the helpers that build a fresh App/Stack for one cell.
+ */
+public final class SynthesisMatrix {
+
+  private static final Environment ENV = Environment.builder()
+      .account("123456789012")
+      .region("us-east-1")
+      .build();
+
+  private static Path outdir;
+
+  private SynthesisMatrix() {}
+
+  /** One cell of the matrix. */
+  public record Combination(TopologyType topology, RuntimeType runtime, SecurityProfile security, IAMProfile iam) {
+    @Override
+    public String toString() {
+      return topology + "-" + runtime + "-" + security + "-" + iam;
+    }
+  }
+
+  /**
+   * Whether {@link JenkinsFactory} can build this combination at all.
+   * S3_WEBSITE has no Jenkins factory, single-node requires EC2, and the IAM profile has to be
+   * allowed for the security profile.
+   */
+  public static boolean supported(TopologyType topology, RuntimeType runtime, SecurityProfile security, IAMProfile iam) {
+    if (topology == TopologyType.S3_WEBSITE) return false;
+    if (topology == TopologyType.JENKINS_SINGLE_NODE && runtime != RuntimeType.EC2) return false;
+    return IAMProfileMapper.isValidCombination(security, iam);
+  }
+
+  /** Every supported combination, in enum order. */
+  public static List<Combination> combinations() {
+    List<Combination> out = new ArrayList<>();
+    for (TopologyType t : TopologyType.values())
+      for (RuntimeType r : RuntimeType.values())
+        for (SecurityProfile s : SecurityProfile.values())
+          for (IAMProfile i : IAMProfile.values())
+            if (supported(t, r, s, i)) out.add(new Combination(t, r, s, i));
+    return out;
+  }
+
+  /** The {@code cfc} context for a combination. */
+  public static Map<String, Object> context(TopologyType topology, RuntimeType runtime, SecurityProfile security) {
+    Map<String, Object> cfc = new LinkedHashMap<>();
+    cfc.put("runtime", runtime == RuntimeType.EC2 ? "ec2" : "fargate");
+    cfc.put("topology", topology == TopologyType.JENKINS_SINGLE_NODE ? "jenkins-single-node" : "jenkins-service");
+    cfc.put("securityProfile", security.name().toLowerCase());
+    cfc.put("networkMode", "public-no-nat");
+    return cfc;
+  }
+
+  /**
+   * A new App carrying {@code cfc} with a single Stack under it.
+   * All apps share one output directory so warm runs do not leave a temp dir per invocation.
+   */
+  public static Stack newStack(Map<String, Object> cfc) {
+    App app = new App(AppProps.builder()
+        .outdir(outdir().toString())
+        .context(Map.of("cfc", cfc))
+        .build());
+    return new Stack(app, "Bench", StackProps.builder().env(ENV).build());
+  }
+
+  /** Build the Jenkins deployment for a combination the same way the launchers do. */
+  public static JenkinsFactory.JenkinsSystem createJenkins(Stack stack, RuntimeType runtime, SecurityProfile security, IAMProfile iam) {
+    DeploymentContext cfc = DeploymentContext.from(stack);
+    return runtime == RuntimeType.EC2
+        ? JenkinsFactory.createEc2(stack, "Jenkins", cfc, security, iam)
+        : JenkinsFactory.createFargate(stack, "Jenkins", cfc, security, iam);
+  }
+
+  private static synchronized Path outdir() {
+    if (outdir == null) {
+      try {
+        outdir = Files.createTempDirectory("cfc-bench-cdk.out");
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return outdir;
+  }
+}
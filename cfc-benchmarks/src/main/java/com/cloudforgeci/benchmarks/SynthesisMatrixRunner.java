@@ -0,0 +1,65 @@
+package com.cloudforgeci.benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the synthesis benchmarks over every supported matrix cell, skipping the cells
+ * {@link SynthesisMatrix#supported} rejects, and writes one JMH JSON result per cell.
+ *
+ * <pre>{@code
+ * java -cp target/benchmarks.jar com.cloudforgeci.benchmarks.SynthesisMatrixRunner [include-regex] [result-dir]
+ * }</pre>
+ *
+ * <p>The include regex defaults to both the cold and warm variants; pass
+ * {@code WarmSynthesisBenchmark} or {@code ColdSynthesisBenchmark} to run one of them.</p>
+ */
+public final class SynthesisMatrixRunner {
+
+  private SynthesisMatrixRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    String include = args.length > 0 ? args[0] : "(Cold|Warm)SynthesisBenchmark";
+    Path resultDir = Path.of(args.length > 1 ? args[1] : "target/jmh");
+    Files.createDirectories(resultDir);
+
+    List<RunResult> all = new ArrayList<>();
+    for (SynthesisMatrix.Combination c : SynthesisMatrix.combinations()) {
+      all.addAll(run(include, c, resultDir.resolve(c + ".json")));
+    }
+
+    System.out.printf("%n%-70s %12s %s%n", "benchmark", "score", "unit");
+    for (RunResult r : all) {
+      var params = r.getParams();
+      System.out.printf("%-70s %12.3f %s%n",
+          params.getBenchmark().replaceFirst(".*\\.", "") + " "
+              + params.getParam("topology") + "/" + params.getParam("runtime") + "/"
+              + params.getParam("security") + "/" + params.getParam("iam"),
+          r.getPrimaryResult().getScore(),
+          r.getPrimaryResult().getScoreUnit());
+    }
+  }
+
+  private static Collection<RunResult> run(String include, SynthesisMatrix.Combination c, Path result) throws RunnerException {
+    Options opts = new OptionsBuilder()
+        .include(include)
+        .param("topology", c.topology().name())
+        .param("runtime", c.runtime().name())
+        .param("security", c.security().name())
+        .param("iam", c.iam().name())
+        .resultFormat(ResultFormatType.JSON)
+        .result(result.toString())
+        .build();
+    return new Runner(opts).run();
+  }
+}
@@ -0,0 +1,117 @@
+package com.cloudforgeci.benchmarks;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.JsiiRequests;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+import software.constructs.IConstruct;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SystemContext#of} through the Stack registry versus the parent-by-parent walk it replaced,
+ * from a scope {@code depth} constructs below the Stack. The {@code jsiiCalls} counter reports
+ * the requests each lookup sends across the jsii bridge, as seen by the runtime, alongside the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SystemContextLookupBenchmark {
+
+  @Param({"1", "4", "8"})
+  public int depth;
+
+  private SystemContext expected;
+  private Construct scope;
+
+  /** Per-iteration jsii requests, normalised by JMH to calls per operation. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class JsiiCalls {
+    public long jsiiCalls;
+    private long before;
+
+    @Setup(Level.Trial)
+    public void install() {
+      if (!JsiiRequests.start()) {
+        throw new IllegalStateException("jsii-runtime does not expose JsiiRuntime.messageInspector");
+      }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      jsiiCalls = 0;
+      before = JsiiRequests.count();
+    }
+
+    @TearDown(Level.Iteration)
+    public void collect() {
+      jsiiCalls = JsiiRequests.count() - before;
+    }
+
+    @TearDown(Level.Trial)
+    public void uninstall() {
+      JsiiRequests.stop();
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    Stack stack = SynthesisMatrix.newStack(
+        SynthesisMatrix.context(TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV));
+    expected = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV,
+        IAMProfile.EXTENDED, DeploymentContext.from(stack));
+    Construct cur = stack;
+    for (int i = 0; i < depth; i++) {
+      cur = new Construct(cur, "Level" + i);
+    }
+    scope = cur;
+  }
+
+  @Benchmark
+  public SystemContext registry(JsiiCalls counter) {
+    return check(SystemContext.of(scope));
+  }
+
+  @Benchmark
+  public SystemContext treeWalk(JsiiCalls counter) {
+    for (Construct cur = scope; cur != null; ) {
+      Construct child = (Construct) cur.getNode().tryFindChild("SystemContext");
+      if (child instanceof SystemContext sc) {
+        return check(sc);
+      }
+      IConstruct parent = cur.getNode().getScope();
+      cur = parent instanceof Construct c ? c : null;
+    }
+    throw new IllegalStateException("SystemContext not found");
+  }
+
+  private SystemContext check(SystemContext found) {
+    if (found != expected) {
+      throw new IllegalStateException("Resolved the wrong SystemContext");
+    }
+    return found;
+  }
+}
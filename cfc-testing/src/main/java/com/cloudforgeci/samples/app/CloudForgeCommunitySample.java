@@ -1,6 +1,7 @@
 package com.cloudforgeci.samples.app;
 
 import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SynthesisCache;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.SecurityProfile;
 import com.cloudforgeci.api.interfaces.IAMProfile;
@@ -8,20 +9,58 @@ import com.cloudforgeci.api.core.iam.IAMProfileMapper;
 import com.cloudforgeci.samples.launchers.JenkinsEc2Stack;
 import com.cloudforgeci.samples.launchers.JenkinsFargateStack;
 import io.github.cdklabs.cdknag.AwsSolutionsChecks;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import software.amazon.awscdk.App;
+import software.amazon.awscdk.AppProps;
 import software.amazon.awscdk.Aspects;
 import software.amazon.awscdk.Environment;
 import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.StackProps;
 import software.constructs.Construct;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class CloudForgeCommunitySample {
 
+  /** Name the sample's assemblies are cached under; the stack set is chosen by the context. */
+  public static final String CACHE_NAME = "CloudForgeCommunitySample";
+
   public static void main(final String[] args) {
+    // With CFC_SYNTH_CACHE set, an unchanged context reuses the last assembly without starting jsii
+    String cacheDir = System.getenv("CFC_SYNTH_CACHE");
+    String outdir = System.getenv("CDK_OUTDIR");
+    String contextJson = System.getenv("CDK_CONTEXT_JSON");
+    if (cacheDir != null && outdir != null && contextJson != null) {
+      synthCached(Paths.get(cacheDir), Paths.get(outdir), contextJson);
+      return;
+    }
+
     App app = new App();
 
+    addStacks(app);
+
+    //Aspects.of(app).add(new AwsSolutionsChecks());
+    app.synth();
+  }
+
+  /** Add the stacks selected by the app's {@code cfc} context; shared with the synthesis daemon. */
+  public static void addStacks(final App app) {
+    addStacks(app, null);
+  }
+
+  /**
+   * Add the stacks selected by the app's {@code cfc} context.
+   *
+   * @param stackId construct id of the stack, or {@code null} for {@code JenkinsEc2}/{@code JenkinsFargate}
+   */
+  public static void addStacks(final App app, final String stackId) {
     DeploymentContext cfc = DeploymentContext.from(app);
 
     StackProps props = StackProps.builder().env(Environment.builder()
@@ -34,15 +73,52 @@ public class CloudForgeCommunitySample {
 
     // Create stacks based on runtime type
     if (cfc.getRuntime() == RuntimeType.EC2) {
-      new JenkinsEc2Stack(app, "JenkinsEc2", props, security, iamProfile);
+      new JenkinsEc2Stack(app, stackId != null ? stackId : "JenkinsEc2", props, security, iamProfile);
     } else if (cfc.getRuntime() == RuntimeType.FARGATE) {
-      new JenkinsFargateStack(app, "JenkinsFargate", props, security, iamProfile);
+      new JenkinsFargateStack(app, stackId != null ? stackId : "JenkinsFargate", props, security, iamProfile);
     } else {
       throw new IllegalArgumentException("Unsupported runtime type: " + cfc.getRuntime());
     }
+  }
 
-    //Aspects.of(app).add(new AwsSolutionsChecks());
-    app.synth();
+  /** Byte budget for the synthesis cache, from {@code CFC_SYNTH_CACHE_MB} (default 1024). */
+  public static long cacheBytes() {
+    String mb = System.getenv("CFC_SYNTH_CACHE_MB");
+    return (mb == null || mb.isBlank() ? 1024L : Long.parseLong(mb.trim())) << 20;
+  }
+
+  /** Synthesis cache in {@code dir}, keyed on the library versions and this app's classpath. */
+  public static SynthesisCache cache(Path dir) {
+    return new SynthesisCache(dir, cacheBytes(), SynthesisCache.libraryVersion(), SynthesisCache.cdkVersion(),
+        SynthesisCache.classpathFingerprint(System.getProperty("java.class.path")));
   }
 
+  /** Inputs outside the cfc context that change the synthesized templates. */
+  public static Map<String, Object> environmentContext() {
+    Map<String, Object> env = new LinkedHashMap<>();
+    env.put("CDK_DEFAULT_ACCOUNT", System.getenv("CDK_DEFAULT_ACCOUNT"));
+    env.put("CDK_DEFAULT_REGION", System.getenv("CDK_DEFAULT_REGION"));
+    return env;
+  }
+
+  private static void synthCached(Path cacheDir, Path outdir, String contextJson) {
+    Map<String, Object> context;
+    try {
+      context = new HashMap<>(new ObjectMapper().readValue(contextJson, new TypeReference<Map<String, Object>>() {}));
+    } catch (IOException e) {
+      throw new UncheckedIOException("CDK_CONTEXT_JSON is not valid JSON", e);
+    }
+    // Everything besides cfc (lookups, feature flags) is part of the key
+    Object cfc = context.remove("cfc");
+    Map<String, Object> lookups = new HashMap<>(context);
+    lookups.putAll(environmentContext());
+
+    SynthesisCache cache = cache(cacheDir);
+    cache.synth(cfc, CACHE_NAME, lookups, outdir, dir -> {
+      App app = new App(AppProps.builder().outdir(dir.toString()).build());
+      addStacks(app);
+      app.synth();
+    });
+    cache.report();
+  }
 }
@@ -0,0 +1,339 @@
+package com.cloudforgeci.samples.daemon;
+
+import com.cloudforgeci.api.core.DeploymentPreflight;
+import com.cloudforgeci.api.core.SynthesisCache;
+import com.cloudforgeci.api.core.rules.Violation;
+import com.cloudforgeci.samples.app.CloudForgeCommunitySample;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.AppProps;
+import software.amazon.awscdk.cxapi.CloudAssembly;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Long-lived synthesis server for {@link CloudForgeCommunitySample}.
+ *
+ * <p>A plain {@code cdk synth} pays for JVM startup, loading {@code aws-cdk-lib} and booting the
+ * jsii Node runtime before any CloudForge code runs. The daemon pays that once and then
+ * synthesizes one cloud assembly per request, so iterating on a {@code cfc} context costs only
+ * the synthesis itself.</p>
+ *
+ * <p>Three transports, all local only:</p>
+ * <ul>
+ *   <li>{@code --port N} - TCP on the loopback interface; one JSON request per line, one JSON
+ *       response per line.</li>
+ *   <li>{@code --watch DIR} - every {@code *.json} file created or modified in {@code DIR} is a
+ *       request; the response is written next to it as {@code <name>.result.json}. A file is
+ *       handled once per modification time, however many events its write produces; deleting it
+ *       forgets it.</li>
+ *   <li>{@code --stdio} - requests on standard input, responses on standard output; used by
+ *       {@link com.cloudforgeci.samples.fleet.FleetSynthesizer} workers.</li>
+ * </ul>
+ *
+ * <p>A request is {@code {"context": {...cfc...}, "outdir": "cdk.out/dev"}}; {@code outdir} is
+ * optional and defaults to a numbered directory under {@code --outdir-root}; an optional
+ * {@code stackName} sets the stack's construct id. {@code {"command":
+ * "ping"}} and {@code {"command": "shutdown"}} are also accepted. Contexts are checked with
+ * {@link DeploymentPreflight} first, so a bad context is rejected without touching jsii.</p>
+ *
+ * <p>Requests are handled one at a time: the jsii kernel is single-threaded. Any failure is
+ * reported in the response and the daemon keeps serving. The kernel keeps every object it has
+ * handed to Java, so {@code --max-requests N} makes the daemon exit with {@link #EXIT_RECYCLE}
+ * after N syntheses and lets a wrapper script restart it.</p>
+ *
+ * <p>With {@code --cache DIR} assemblies are stored in a {@link SynthesisCache}; a repeated
+ * context is copied from the cache without synthesizing and does not count towards the limit.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class SynthesisDaemon {
+
+  private static final Logger LOG = Logger.getLogger(SynthesisDaemon.class.getName());
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> REQUEST_TYPE = new TypeReference<>() {};
+
+  private static final String RESULT_SUFFIX = ".result.json";
+
+  /** Exit status after {@code --max-requests} syntheses; a wrapper restarts on this, not on 0. */
+  public static final int EXIT_RECYCLE = 3;
+
+  private final Path outdirRoot;
+  private final int maxRequests;
+  private final SynthesisCache cache;
+  private int served;
+  private boolean recycle;
+  private volatile boolean running = true;
+
+  public SynthesisDaemon(Path outdirRoot, int maxRequests) {
+    this(outdirRoot, maxRequests, null);
+  }
+
+  /**
+   * @param cache assembly cache consulted before synthesizing, or {@code null}
+   */
+  public SynthesisDaemon(Path outdirRoot, int maxRequests, SynthesisCache cache) {
+    this.outdirRoot = outdirRoot;
+    this.maxRequests = maxRequests;
+    this.cache = cache;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    Integer port = null;
+    Path watch = null;
+    boolean stdio = false;
+    Path outdirRoot = Paths.get("cdk.out.daemon");
+    int maxRequests = 0;
+    SynthesisCache cache = null;
+
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--port" -> port = Integer.parseInt(value(args, ++i));
+        case "--watch" -> watch = Paths.get(value(args, ++i));
+        case "--stdio" -> stdio = true;
+        case "--outdir-root" -> outdirRoot = Paths.get(value(args, ++i));
+        case "--max-requests" -> maxRequests = Integer.parseInt(value(args, ++i));
+        case "--cache" -> cache = CloudForgeCommunitySample.cache(Paths.get(value(args, ++i)));
+        default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+      }
+    }
+    if ((port != null ? 1 : 0) + (watch != null ? 1 : 0) + (stdio ? 1 : 0) != 1) {
+      System.err.println("Usage: SynthesisDaemon (--port N | --watch DIR | --stdio) [--outdir-root DIR] [--max-requests N] [--cache DIR]");
+      System.exit(2);
+    }
+
+    SynthesisDaemon daemon = new SynthesisDaemon(outdirRoot, maxRequests, cache);
+    if (port != null) {
+      daemon.serve(port);
+    } else if (stdio) {
+      daemon.stdio();
+    } else {
+      daemon.watch(watch);
+    }
+    if (daemon.recycle) System.exit(EXIT_RECYCLE);
+  }
+
+  /** Serve requests on {@code 127.0.0.1:port} until shutdown or the request limit is reached. */
+  public void serve(int port) throws IOException {
+    try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+      LOG.info(() -> "Synthesis daemon listening on " + server.getLocalSocketAddress());
+      while (running) {
+        try (Socket socket = server.accept();
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+          String line;
+          while (running && (line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+            out.println(MAPPER.writeValueAsString(handle(line)));
+          }
+        } catch (IOException e) {
+          // A dropped client must not take the daemon down
+          LOG.log(Level.WARNING, "Client connection failed", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Serve requests from standard input until it closes, shutdown or the request limit is reached.
+   * Anything else written to standard output (jsii, CDK warnings) is redirected to standard error so
+   * the response stream stays one JSON object per line.
+   */
+  public void stdio() throws IOException {
+    PrintStream responses = System.out;
+    System.setOut(System.err);
+    stdio(System.in, responses);
+  }
+
+  /** One response line on {@code responses} per non-blank request line read from {@code requests}. */
+  void stdio(InputStream requests, PrintStream responses) throws IOException {
+    BufferedReader in = new BufferedReader(new InputStreamReader(requests, StandardCharsets.UTF_8));
+    String line;
+    while (running && (line = in.readLine()) != null) {
+      if (line.isBlank()) continue;
+      responses.println(MAPPER.writeValueAsString(handle(line)));
+      responses.flush();
+    }
+  }
+
+  /** Serve {@code *.json} files dropped into {@code dir} until shutdown or the request limit is reached. */
+  public void watch(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    try (WatchService watcher = dir.getFileSystem().newWatchService()) {
+      dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+          StandardWatchEventKinds.ENTRY_DELETE);
+      LOG.info(() -> "Synthesis daemon watching " + dir.toAbsolutePath());
+      // A write often arrives as CREATE then MODIFY; the modification time tells them apart from an edit.
+      // Deleted files are dropped, so the map holds only requests still present in the directory.
+      Map<Path, FileTime> handled = new HashMap<>();
+      while (running) {
+        WatchKey key;
+        try {
+          key = watcher.take();
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            // Delete events may have been lost with the rest
+            handled.keySet().removeIf(Files::notExists);
+            continue;
+          }
+          if (!running || !(event.context() instanceof Path name)) continue;
+          String file = name.toString();
+          if (!file.endsWith(".json") || file.endsWith(RESULT_SUFFIX)) continue;
+
+          Path request = dir.resolve(name);
+          if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            handled.remove(request);
+            continue;
+          }
+          Path result = dir.resolve(file.substring(0, file.length() - ".json".length()) + RESULT_SUFFIX);
+          try {
+            FileTime modified = Files.getLastModifiedTime(request);
+            if (modified.equals(handled.get(request))) continue;
+            String body = Files.readString(request, StandardCharsets.UTF_8);
+            // Editors often emit an empty create before the real write; wait for the modify
+            if (body.isBlank()) continue;
+            handled.put(request, modified);
+            Files.writeString(result, MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(handle(body)),
+                StandardCharsets.UTF_8);
+          } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not process " + request, e);
+          }
+        }
+        key.reset();
+      }
+    }
+  }
+
+  /**
+   * Handle one request line and return the response; never throws.
+   *
+   * @param json a request, {@code ping} or {@code shutdown} command as JSON
+   */
+  public Map<String, Object> handle(String json) {
+    Map<String, Object> response = new LinkedHashMap<>();
+    long start = System.nanoTime();
+    try {
+      Map<String, Object> request = MAPPER.readValue(json, REQUEST_TYPE);
+      Object command = request.get("command");
+      if ("ping".equals(command)) {
+        response.put("ok", true);
+        response.put("served", served);
+        if (cache != null) response.put("cache", cache.stats().toString());
+        return response;
+      }
+      if ("shutdown".equals(command)) {
+        running = false;
+        response.put("ok", true);
+        return response;
+      }
+      if (command != null) {
+        throw new IllegalArgumentException("Unknown command: " + command);
+      }
+      synth(request, response);
+    } catch (Exception | LinkageError e) {
+      LOG.log(Level.WARNING, "Synthesis request failed", e);
+      response.put("ok", false);
+      response.put("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+    response.put("millis", (System.nanoTime() - start) / 1_000_000);
+    return response;
+  }
+
+  private void synth(Map<String, Object> request, Map<String, Object> response) throws IOException {
+    Object context = request.getOrDefault("context", Map.of());
+    if (!(context instanceof Map<?, ?>)) {
+      throw new IllegalArgumentException("'context' must be a JSON object");
+    }
+
+    DeploymentPreflight.Result preflight = DeploymentPreflight.check(context);
+    if (!preflight.warnings().isEmpty()) {
+      response.put("warnings", messages(preflight.warnings()));
+    }
+    if (!preflight.ok()) {
+      response.put("ok", false);
+      response.put("errors", messages(preflight.errors()));
+      return;
+    }
+
+    Path outdir = (request.get("outdir") != null
+        ? Paths.get(String.valueOf(request.get("outdir")))
+        : outdirRoot.resolve("request-" + (served + 1))).toAbsolutePath();
+
+    String stackName = request.get("stackName") != null ? String.valueOf(request.get("stackName")) : null;
+    if (cache != null) {
+      String cacheName = stackName != null ? stackName : CloudForgeCommunitySample.CACHE_NAME;
+      SynthesisCache.Outcome outcome = cache.synth(context, cacheName,
+          CloudForgeCommunitySample.environmentContext(), outdir, dir -> synthInto(context, stackName, dir, response));
+      response.put("cached", outcome.hit());
+      if (outcome.hit()) {
+        response.put("ok", true);
+        response.put("outdir", outdir.toString());
+        return;
+      }
+    } else {
+      Files.createDirectories(outdir);
+      synthInto(context, stackName, outdir, response);
+    }
+
+    if (maxRequests > 0 && served >= maxRequests) {
+      LOG.info(() -> "Served " + served + " synthesis requests; stopping so the jsii kernel can be recycled");
+      recycle = true;
+      running = false;
+      response.put("recycling", true);
+    }
+  }
+
+  private void synthInto(Object context, String stackName, Path outdir, Map<String, Object> response) {
+    served++;
+    App app = new App(AppProps.builder()
+        .outdir(outdir.toString())
+        .context(Map.of("cfc", context))
+        .build());
+    CloudForgeCommunitySample.addStacks(app, stackName);
+    CloudAssembly assembly = app.synth();
+
+    response.put("ok", true);
+    response.put("outdir", assembly.getDirectory());
+    response.put("stacks", assembly.getStacks().stream().map(s -> s.getStackName()).toList());
+  }
+
+  private static List<String> messages(List<Violation> violations) {
+    return violations.stream().map(Violation::message).toList();
+  }
+
+  private static String value(String[] args, int i) {
+    if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+    return args[i];
+  }
+}
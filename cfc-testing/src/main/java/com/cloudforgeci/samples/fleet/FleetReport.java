@@ -0,0 +1,63 @@
+package com.cloudforgeci.samples.fleet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a fleet synthesis.
+ *
+ * @param wallMillis elapsed time for the whole fleet
+ * @param workers number of worker JVMs used
+ * @param stacks per-stack results in inventory order
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public record FleetReport(long wallMillis, int workers, List<StackResult> stacks) {
+
+  /**
+   * Outcome for one inventory entry.
+   *
+   * @param name inventory name
+   * @param ok true when the assembly was written
+   * @param millis synthesis time reported by the worker, including preflight
+   * @param worker index of the worker that handled it
+   * @param outdir assembly directory
+   * @param cached true when the assembly came from the synthesis cache
+   * @param errors preflight errors or the failure message; empty when {@code ok}
+   */
+  public record StackResult(String name, boolean ok, long millis, int worker, String outdir,
+                            boolean cached, List<String> errors) {}
+
+  public List<StackResult> failures() {
+    return stacks.stream().filter(s -> !s.ok()).toList();
+  }
+
+  /** Sum of per-stack times; compare with {@link #wallMillis()} for the effective parallelism. */
+  public long stackMillis() {
+    return stacks.stream().mapToLong(StackResult::millis).sum();
+  }
+
+  public void write(Path file) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+  }
+
+  /** Human-readable summary: totals, the slowest stacks and every failure. */
+  public String summary() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Fleet: %d stack(s), %d failed, %d worker(s), %.1fs wall, %.1fs synthesis%n",
+        stacks.size(), failures().size(), workers, wallMillis / 1000.0, stackMillis() / 1000.0));
+    stacks.stream().filter(StackResult::ok)
+        .sorted(Comparator.comparingLong(StackResult::millis).reversed()).limit(5)
+        .forEach(s -> sb.append(String.format("  %-32s %6d ms%s%n", s.name(), s.millis(), s.cached() ? " (cached)" : "")));
+    for (StackResult f : failures()) {
+      sb.append("  FAILED ").append(f.name()).append(": ").append(String.join("; ", f.errors())).append('\n');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,318 @@
+package com.cloudforgeci.samples.fleet;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.iam.PolicyAnalyzer;
+import com.cloudforgeci.samples.daemon.SynthesisDaemon;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Synthesizes a fleet of stacks across a pool of worker JVMs.
+ *
+ * <p>jsii runs one Node kernel per JVM and serializes every call through it, so threads in a
+ * single JVM do not synthesize in parallel. Each worker here is a separate JVM running
+ * {@link SynthesisDaemon} in {@code --stdio} mode with its own kernel. Workers pull the next
+ * inventory entry as soon as they finish the previous one, so a few slow stacks do not hold up
+ * a statically assigned share. Every stack is written to {@code <out>/<name>} and the run ends
+ * with one {@link FleetReport}.</p>
+ *
+ * <pre>
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.fleet.FleetSynthesizer \
+ *     --inventory fleet.json --out cdk.out.fleet [--workers N] [--timeout SECONDS] [--max-requests N] [--cache DIR] [--analyze-iam]
+ * </pre>
+ *
+ * <p>The pool defaults to one worker per available core, capped at the inventory size. A
+ * worker that dies, answers with a line that is not a response, or does not answer within
+ * {@code --timeout} seconds (default {@value #DEFAULT_TIMEOUT_SECONDS}) is restarted and its
+ * in-flight stack is recorded as failed; the worker carries on with the next entry. Workers are
+ * also restarted after {@code --max-requests} stacks to bound jsii kernel growth.
+ * {@code --analyze-iam} runs {@link PolicyAnalyzer} over every synthesized template afterwards
+ * and writes {@code iam-report.json}.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class FleetSynthesizer {
+
+  private static final Logger LOG = Logger.getLogger(FleetSynthesizer.class.getName());
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> RESPONSE_TYPE = new TypeReference<>() {};
+
+  /** Per-entry deadline unless {@code --timeout} says otherwise; covers a cold worker's jsii start-up. */
+  public static final int DEFAULT_TIMEOUT_SECONDS = 600;
+
+  private final Path outRoot;
+  private final int workers;
+  private final List<String> workerArgs;
+  private final Duration timeout;
+  private final String workerMain;
+
+  /**
+   * @param outRoot directory receiving one assembly directory per stack, worker logs and the report
+   * @param workers pool size; {@code <= 0} uses the number of available cores
+   * @param workerArgs extra {@link SynthesisDaemon} arguments, e.g. {@code --cache DIR}
+   */
+  public FleetSynthesizer(Path outRoot, int workers, List<String> workerArgs) {
+    this(outRoot, workers, workerArgs, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
+  }
+
+  /**
+   * @param timeout how long one entry may take before its worker is killed and the entry fails
+   */
+  public FleetSynthesizer(Path outRoot, int workers, List<String> workerArgs, Duration timeout) {
+    this(outRoot, workers, workerArgs, timeout, SynthesisDaemon.class.getName());
+  }
+
+  /** @param workerMain class run in each worker JVM; speaks the {@link SynthesisDaemon} stdio protocol */
+  FleetSynthesizer(Path outRoot, int workers, List<String> workerArgs, Duration timeout, String workerMain) {
+    this.outRoot = outRoot.toAbsolutePath();
+    this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    this.workerArgs = List.copyOf(workerArgs);
+    this.timeout = timeout;
+    this.workerMain = workerMain;
+  }
+
+  public static void main(final String[] args) throws IOException, InterruptedException {
+    Path inventory = null;
+    Path out = Paths.get("cdk.out.fleet");
+    int workers = 0;
+    int timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    boolean analyzeIam = false;
+    List<String> workerArgs = new ArrayList<>();
+
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--inventory" -> inventory = Paths.get(value(args, ++i));
+        case "--out" -> out = Paths.get(value(args, ++i));
+        case "--workers" -> workers = Integer.parseInt(value(args, ++i));
+        case "--timeout" -> timeoutSeconds = Integer.parseInt(value(args, ++i));
+        case "--analyze-iam" -> analyzeIam = true;
+        case "--max-requests", "--cache" -> {
+          workerArgs.add(args[i]);
+          workerArgs.add(value(args, ++i));
+        }
+        default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+      }
+    }
+    if (inventory == null) {
+      System.err.println("Usage: FleetSynthesizer --inventory FILE [--out DIR] [--workers N] [--timeout SECONDS] [--max-requests N] [--cache DIR] [--analyze-iam]");
+      System.exit(2);
+    }
+
+    List<Inventory.Entry> entries = Inventory.read(inventory);
+    FleetReport report = new FleetSynthesizer(out, workers, workerArgs, Duration.ofSeconds(timeoutSeconds)).synthesize(entries);
+    Path reportFile = out.resolve("fleet-report.json");
+    report.write(reportFile);
+    System.out.print(report.summary());
+    System.out.println("Report: " + reportFile.toAbsolutePath());
+    if (analyzeIam) {
+      PolicyAnalyzer.Report iam = analyzeIam(entries, report);
+      Path iamFile = out.resolve("iam-report.json");
+      iam.write(iamFile);
+      System.out.print(iam.summary());
+      System.out.println("IAM report: " + iamFile.toAbsolutePath());
+    }
+    System.exit(report.failures().isEmpty() ? 0 : 1);
+  }
+
+  /** Synthesize every entry and return the report; individual failures never abort the run. */
+  public FleetReport synthesize(List<Inventory.Entry> entries) throws IOException, InterruptedException {
+    Files.createDirectories(outRoot.resolve("logs"));
+    int pool = Math.max(1, Math.min(workers, entries.size()));
+    FleetReport.StackResult[] results = new FleetReport.StackResult[entries.size()];
+    AtomicInteger next = new AtomicInteger();
+    long start = System.nanoTime();
+
+    ExecutorService executor = Executors.newFixedThreadPool(pool);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < pool; w++) {
+        int id = w;
+        futures.add(executor.submit(() -> {
+          try (Worker worker = new Worker(id)) {
+            int i;
+            while ((i = next.getAndIncrement()) < entries.size()) {
+              results[i] = worker.synth(entries.get(i));
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> f : futures) {
+        try {
+          f.get();
+        } catch (ExecutionException e) {
+          // Only worker start-up can fail here; entries it never reached are reported below
+          LOG.log(Level.SEVERE, "Fleet worker failed", e.getCause());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<FleetReport.StackResult> out = new ArrayList<>(entries.size());
+    for (int i = 0; i < results.length; i++) {
+      out.add(results[i] != null ? results[i] : new FleetReport.StackResult(entries.get(i).name(), false, 0, -1,
+          null, false, List.of("Not synthesized: no worker available")));
+    }
+    return new FleetReport((System.nanoTime() - start) / 1_000_000, pool, out);
+  }
+
+  /** Analyze the IAM policies of every stack that synthesized, in one pass over their templates. */
+  public static PolicyAnalyzer.Report analyzeIam(List<Inventory.Entry> entries, FleetReport report) throws IOException {
+    List<PolicyAnalyzer.StackTemplate> templates = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i++) {
+      FleetReport.StackResult result = report.stacks().get(i);
+      if (!result.ok()) continue;
+      DeploymentContext cfc = DeploymentContext.fromContext(entries.get(i).context());
+      templates.addAll(PolicyAnalyzer.StackTemplate.read(result.name(), Paths.get(result.outdir()), cfc));
+    }
+    return PolicyAnalyzer.analyze(templates);
+  }
+
+  /** One worker JVM and the pipes to it; restarted when it exits. */
+  private final class Worker implements AutoCloseable {
+    private final int id;
+    private Process process;
+    private PrintWriter requests;
+    /** Lines from the worker's stdout, then an empty value once it closes; replaced on restart. */
+    private BlockingQueue<Optional<String>> responses;
+
+    Worker(int id) throws IOException {
+      this.id = id;
+      start();
+    }
+
+    private void start() throws IOException {
+      List<String> cmd = new ArrayList<>();
+      cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+      cmd.add("-cp");
+      cmd.add(System.getProperty("java.class.path"));
+      cmd.add(workerMain);
+      cmd.add("--stdio");
+      cmd.addAll(workerArgs);
+      process = new ProcessBuilder(cmd)
+          .redirectError(ProcessBuilder.Redirect.appendTo(outRoot.resolve("logs").resolve("worker-" + id + ".log").toFile()))
+          .start();
+      requests = new PrintWriter(process.getOutputStream(), true, StandardCharsets.UTF_8);
+      // Read on a separate thread so a hung worker can be timed out instead of blocking readLine
+      BlockingQueue<Optional<String>> lines = new LinkedBlockingQueue<>();
+      BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+      Thread reader = new Thread(() -> {
+        try {
+          String line;
+          while ((line = stdout.readLine()) != null) lines.add(Optional.of(line));
+        } catch (IOException e) {
+          LOG.log(Level.FINE, "Worker " + id + " output closed", e);
+        } finally {
+          lines.add(Optional.empty());
+        }
+      }, "fleet-worker-" + id);
+      reader.setDaemon(true);
+      reader.start();
+      responses = lines;
+    }
+
+    FleetReport.StackResult synth(Inventory.Entry entry) throws IOException, InterruptedException {
+      Path outdir = outRoot.resolve(entry.name());
+      Map<String, Object> request = new LinkedHashMap<>();
+      request.put("context", entry.context());
+      request.put("outdir", outdir.toString());
+      request.put("stackName", entry.name());
+
+      long start = System.nanoTime();
+      requests.println(MAPPER.writeValueAsString(request));
+      Optional<String> answer = requests.checkError() ? Optional.empty()
+          : responses.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      if (answer == null) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        LOG.warning(() -> "Worker " + id + " did not answer for " + entry.name() + " within " + timeout.toSeconds() + "s");
+        process.destroyForcibly();
+        restart();
+        return new FleetReport.StackResult(entry.name(), false, millis, id, outdir.toString(), false,
+            List.of("Worker " + id + " did not answer within " + timeout.toSeconds() + "s and was restarted; see logs/worker-" + id + ".log"));
+      }
+      String line = answer.orElse(null);
+      if (line == null) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        restart();
+        return new FleetReport.StackResult(entry.name(), false, millis, id, outdir.toString(), false,
+            List.of("Worker " + id + " exited during synthesis; see logs/worker-" + id + ".log"));
+      }
+
+      Map<String, Object> response;
+      try {
+        response = MAPPER.readValue(line, RESPONSE_TYPE);
+      } catch (JsonProcessingException e) {
+        // Something besides the daemon wrote to stdout, so later lines may answer the wrong entry
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        LOG.warning(() -> "Worker " + id + " sent an unreadable response for " + entry.name() + ": " + abbreviate(line));
+        restart();
+        return new FleetReport.StackResult(entry.name(), false, millis, id, outdir.toString(), false,
+            List.of("Worker " + id + " sent an unreadable response (" + e.getOriginalMessage() + "); see logs/worker-" + id + ".log"));
+      }
+      boolean ok = Boolean.TRUE.equals(response.get("ok"));
+      List<String> errors = new ArrayList<>();
+      if (response.get("errors") instanceof List<?> l) l.forEach(e -> errors.add(String.valueOf(e)));
+      if (response.get("error") != null) errors.add(String.valueOf(response.get("error")));
+      long millis = response.get("millis") instanceof Number n ? n.longValue() : (System.nanoTime() - start) / 1_000_000;
+      // The daemon exits after answering its last request under --max-requests
+      if (Boolean.TRUE.equals(response.get("recycling"))) restart();
+      LOG.fine(() -> "Worker " + id + " synthesized " + entry.name() + (ok ? "" : " with errors " + errors));
+      return new FleetReport.StackResult(entry.name(), ok, millis, id, outdir.toString(),
+          Boolean.TRUE.equals(response.get("cached")), errors);
+    }
+
+    private void restart() throws IOException {
+      close();
+      start();
+    }
+
+    @Override
+    public void close() {
+      requests.close();
+      try {
+        if (!process.waitFor(10, TimeUnit.SECONDS)) process.destroyForcibly();
+      } catch (InterruptedException e) {
+        process.destroyForcibly();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static String abbreviate(String line) {
+    return line.length() <= 200 ? line : line.substring(0, 200) + "...";
+  }
+
+  private static String value(String[] args, int i) {
+    if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+    return args[i];
+  }
+}
@@ -0,0 +1,141 @@
+package com.cloudforgeci.samples.fleet;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fleet inventory: one named {@code cfc} context per stack.
+ *
+ * <p>JSON inventories are an array of objects, either {@code {"name": "team-a", "context":
+ * {...}}} or a flat context carrying its own {@code name}. CSV inventories have a header row;
+ * the {@code name} column names the stack and every other non-empty cell becomes a context
+ * value. The name is the stack's construct id and its output directory, so it must be a valid
+ * CloudFormation stack name and unique within the inventory.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class Inventory {
+
+  private static final Pattern STACK_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9-]{0,127}");
+  private static final TypeReference<List<Map<String, Object>>> JSON_TYPE = new TypeReference<>() {};
+
+  /**
+   * One stack in the fleet.
+   *
+   * @param name stack construct id and output directory name
+   * @param context the stack's {@code cfc} context
+   */
+  public record Entry(String name, Map<String, Object> context) {}
+
+  private Inventory() {}
+
+  /** Read a {@code .json} or {@code .csv} inventory. */
+  public static List<Entry> read(Path file) throws IOException {
+    String name = file.getFileName().toString().toLowerCase();
+    List<Entry> entries;
+    if (name.endsWith(".json")) {
+      entries = fromJson(Files.readString(file, StandardCharsets.UTF_8));
+    } else if (name.endsWith(".csv")) {
+      entries = fromCsv(Files.readAllLines(file, StandardCharsets.UTF_8));
+    } else {
+      throw new IllegalArgumentException("Inventory must be .json or .csv: " + file);
+    }
+    return validate(entries);
+  }
+
+  static List<Entry> fromJson(String json) throws IOException {
+    List<Entry> out = new ArrayList<>();
+    List<Map<String, Object>> rows = new ObjectMapper().readValue(json, JSON_TYPE);
+    for (int i = 0; i < rows.size(); i++) {
+      Map<String, Object> row = new LinkedHashMap<>(rows.get(i));
+      Object name = row.remove("name");
+      Object context = row.containsKey("context") ? row.get("context") : row;
+      if (!(context instanceof Map<?, ?> m)) {
+        throw new IllegalArgumentException("Inventory entry " + i + ": 'context' must be an object");
+      }
+      Map<String, Object> ctx = new LinkedHashMap<>();
+      m.forEach((k, v) -> ctx.put(String.valueOf(k), v));
+      out.add(new Entry(name != null ? String.valueOf(name) : "stack-" + (i + 1), ctx));
+    }
+    return out;
+  }
+
+  static List<Entry> fromCsv(List<String> lines) {
+    List<Entry> out = new ArrayList<>();
+    List<String> header = null;
+    for (String line : lines) {
+      if (line.isBlank() || line.startsWith("#")) continue;
+      List<String> cells = splitCsv(line);
+      if (header == null) {
+        header = cells;
+        continue;
+      }
+      Map<String, Object> ctx = new LinkedHashMap<>();
+      String name = null;
+      for (int c = 0; c < header.size() && c < cells.size(); c++) {
+        String key = header.get(c);
+        String value = cells.get(c);
+        if (value.isEmpty()) continue;
+        if (key.equals("name")) name = value;
+        else ctx.put(key, value);
+      }
+      out.add(new Entry(name != null ? name : "stack-" + (out.size() + 1), ctx));
+    }
+    return out;
+  }
+
+  private static List<Entry> validate(List<Entry> entries) {
+    Set<String> seen = new HashSet<>();
+    for (Entry e : entries) {
+      if (!STACK_NAME.matcher(e.name()).matches()) {
+        throw new IllegalArgumentException("Invalid stack name in inventory: '" + e.name() + "'");
+      }
+      if (!seen.add(e.name())) {
+        throw new IllegalArgumentException("Duplicate stack name in inventory: '" + e.name() + "'");
+      }
+    }
+    return entries;
+  }
+
+  /** Split one CSV record; double quotes group cells and {@code ""} escapes a quote. */
+  private static List<String> splitCsv(String line) {
+    List<String> cells = new ArrayList<>();
+    StringBuilder cell = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char ch = line.charAt(i);
+      if (quoted) {
+        if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          cell.append('"');
+          i++;
+        } else if (ch == '"') {
+          quoted = false;
+        } else {
+          cell.append(ch);
+        }
+      } else if (ch == '"') {
+        quoted = true;
+      } else if (ch == ',') {
+        cells.add(cell.toString().trim());
+        cell.setLength(0);
+      } else {
+        cell.append(ch);
+      }
+    }
+    cells.add(cell.toString().trim());
+    return cells;
+  }
+}
@@ -0,0 +1,122 @@
+package com.cloudforgeci.samples.daemon;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynthesisDaemonTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /** Rejected by preflight, so the daemon answers without starting jsii. */
+  private static final String BAD_CONTEXT = "{\"context\": {\"runtime\": \"fargate\", \"cpu\": 256, \"memory\": 4096}}";
+
+  @TempDir
+  Path tmp;
+
+  @Test
+  void stdioAnswersEachRequestLineWithOneResponseLine() throws IOException {
+    String requests = String.join("\n",
+        "{\"command\": \"ping\"}",
+        "",
+        BAD_CONTEXT,
+        "not json",
+        "{\"command\": \"shutdown\"}",
+        "{\"command\": \"ping\"}") + "\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    new SynthesisDaemon(tmp, 0).stdio(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)),
+        new PrintStream(out, true, StandardCharsets.UTF_8));
+
+    List<Map<String, Object>> responses = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      responses.add(MAPPER.readValue(line, new TypeReference<>() {}));
+    }
+    // The blank line is skipped and nothing after shutdown is read
+    assertEquals(4, responses.size());
+    assertEquals(true, responses.get(0).get("ok"));
+    assertEquals(false, responses.get(1).get("ok"));
+    assertTrue(String.valueOf(responses.get(1).get("errors")).contains("memory"), responses.get(1).toString());
+    assertEquals(false, responses.get(2).get("ok"));
+    assertNotNull(responses.get(2).get("error"));
+    assertEquals(true, responses.get(3).get("ok"));
+  }
+
+  @Test
+  void watchedFileIsHandledOncePerModificationTime() throws Exception {
+    Path dir = tmp.resolve("requests");
+    SynthesisDaemon daemon = new SynthesisDaemon(tmp.resolve("out"), 0);
+    Thread watcher = new Thread(() -> {
+      try {
+        daemon.watch(dir);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    watcher.start();
+    try {
+      // Rewrite until answered: the watch may not be registered when the first write lands
+      Path ping = dir.resolve("ping.json");
+      await(() -> {
+        Files.createDirectories(dir);
+        Files.writeString(ping, "{\"command\": \"ping\"}");
+        return Files.exists(dir.resolve("ping.result.json"));
+      });
+
+      Path request = dir.resolve("a.json");
+      Path result = dir.resolve("a.result.json");
+      Files.writeString(request, BAD_CONTEXT);
+      await(() -> Files.exists(result));
+      FileTime handledAt = Files.getLastModifiedTime(request);
+
+      // Same modification time: an attribute-only event, not a new request
+      Files.delete(result);
+      Files.setLastModifiedTime(request, handledAt);
+      Files.writeString(dir.resolve("b.json"), BAD_CONTEXT);
+      await(() -> Files.exists(dir.resolve("b.result.json")));
+      assertFalse(Files.exists(result));
+
+      // A deleted request is forgotten, so the same name and time is handled again
+      Files.delete(request);
+      Files.writeString(dir.resolve("c.json"), BAD_CONTEXT);
+      await(() -> Files.exists(dir.resolve("c.result.json")));
+      Path staged = Files.writeString(tmp.resolve("a.json"), BAD_CONTEXT);
+      Files.setLastModifiedTime(staged, handledAt);
+      Files.move(staged, request, StandardCopyOption.ATOMIC_MOVE);
+      await(() -> Files.exists(result));
+    } finally {
+      Files.writeString(dir.resolve("stop.json"), "{\"command\": \"shutdown\"}");
+      watcher.join(10_000);
+    }
+    assertFalse(watcher.isAlive());
+  }
+
+  private interface Condition {
+    boolean holds() throws IOException;
+  }
+
+  private static void await(Condition condition) throws IOException, InterruptedException {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (!condition.holds()) {
+      if (System.nanoTime() > deadline) fail("Timed out waiting for the watched directory");
+      Thread.sleep(50);
+    }
+  }
+}
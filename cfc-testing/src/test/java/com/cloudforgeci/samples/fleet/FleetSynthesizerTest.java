@@ -0,0 +1,35 @@
+package com.cloudforgeci.samples.fleet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FleetSynthesizerTest {
+
+  @TempDir
+  Path out;
+
+  @Test
+  void unreadableOrMissingResponseFailsOnlyItsEntry() throws Exception {
+    List<Inventory.Entry> entries = List.of("first", "garbled", "second", "hung", "last").stream()
+        .map(name -> new Inventory.Entry(name, Map.of()))
+        .toList();
+    // One worker, so every later entry runs on the restarted JVM
+    FleetSynthesizer fleet = new FleetSynthesizer(out, 1, List.of(), Duration.ofSeconds(5),
+        ScriptedWorker.class.getName());
+
+    FleetReport report = fleet.synthesize(entries);
+
+    List<FleetReport.StackResult> stacks = report.stacks();
+    assertEquals(List.of(true, false, true, false, true), stacks.stream().map(FleetReport.StackResult::ok).toList());
+    assertTrue(stacks.get(1).errors().get(0).contains("unreadable response"), stacks.get(1).errors().toString());
+    assertTrue(stacks.get(3).errors().get(0).contains("did not answer within 5s"), stacks.get(3).errors().toString());
+    assertEquals(2, report.failures().size());
+  }
+}
@@ -0,0 +1,39 @@
+package com.cloudforgeci.samples.fleet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryTest {
+
+  @Test
+  void csvQuotesGroupCommasAndEscapeQuotes() {
+    List<Inventory.Entry> entries = Inventory.fromCsv(List.of(
+        "name,runtime,jenkinsJavaOpts,tier",
+        "team-a,fargate,\"-Dx=1,2 -Dy=\"\"q\"\"\",public"));
+
+    assertEquals(1, entries.size());
+    assertEquals("team-a", entries.get(0).name());
+    assertEquals(Map.of("runtime", "fargate", "jenkinsJavaOpts", "-Dx=1,2 -Dy=\"q\"", "tier", "public"),
+        entries.get(0).context());
+  }
+
+  @Test
+  void blankLinesCommentsAndEmptyCellsAreSkipped() {
+    List<Inventory.Entry> entries = Inventory.fromCsv(List.of(
+        "",
+        "# fleet for the pre-merge check",
+        "name,runtime,domain",
+        "   ",
+        ",ec2,",
+        "team-b,fargate,example.com",
+        ""));
+
+    assertEquals(List.of("stack-1", "team-b"), entries.stream().map(Inventory.Entry::name).toList());
+    assertEquals(Map.of("runtime", "ec2"), entries.get(0).context());
+    assertEquals(Map.of("runtime", "fargate", "domain", "example.com"), entries.get(1).context());
+  }
+}
@@ -0,0 +1,32 @@
+package com.cloudforgeci.samples.fleet;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Stand-in for the synthesis daemon in {@code --stdio} mode, driven by the requested stack name:
+ * {@code garbled} answers with a line that is not JSON, {@code hung} never answers, anything else
+ * succeeds at once.
+ */
+public final class ScriptedWorker {
+
+  public static void main(String[] args) throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    String line;
+    while ((line = in.readLine()) != null) {
+      Map<String, Object> request = mapper.readValue(line, new TypeReference<>() {});
+      switch (String.valueOf(request.get("stackName"))) {
+        case "garbled" -> System.out.println("WARNING: something else wrote to stdout");
+        case "hung" -> Thread.sleep(Long.MAX_VALUE);
+        default -> System.out.println("{\"ok\": true, \"millis\": 1}");
+      }
+      System.out.flush();
+    }
+  }
+}
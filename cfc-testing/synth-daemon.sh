@@ -0,0 +1,35 @@
+#!/bin/bash
+
+# CloudForge Community warm synthesis daemon
+# Keeps one JVM and jsii kernel warm and synthesizes a cloud assembly per request.
+# Restarts the daemon after --max-requests syntheses so the jsii kernel does not grow unbounded.
+#
+#   ./synth-daemon.sh --port 7733
+#   ./synth-daemon.sh --watch requests/
+#
+# Send a request:  echo '{"context":{"runtime":"fargate"},"outdir":"cdk.out/dev"}' | nc localhost 7733
+
+set -e
+
+if [ ! -f "pom.xml" ]; then
+    echo "Error: pom.xml not found. Please run this script from the cfc-testing directory."
+    exit 1
+fi
+
+if [ ! -d "target/dependency" ]; then
+    mvn -q compile dependency:copy-dependencies
+fi
+
+MAX_REQUESTS=${MAX_REQUESTS:-200}
+
+# Exit status 3 means the request limit was reached: start a fresh daemon.
+# Anything else (0 after a shutdown command, or a failure) ends the loop.
+status=3
+while [ "$status" -eq 3 ]; do
+    set +e
+    java -cp "target/classes:target/dependency/*" \
+        com.cloudforgeci.samples.daemon.SynthesisDaemon "$@" --max-requests "$MAX_REQUESTS"
+    status=$?
+    set -e
+done
+exit "$status"
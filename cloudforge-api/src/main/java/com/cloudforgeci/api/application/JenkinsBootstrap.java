@@ -27,8 +27,8 @@ public class JenkinsBootstrap extends BaseFactory {
     public void create() {
         // Volume creation is now handled by FargateFactory
         // Configure security group rules for EFS and ALB access
-        ctx.efsSg.get().orElseThrow().addIngressRule(ctx.fargateServiceSg.get().orElseThrow(), Port.tcp(2049), "NFS_from_Fargate_service", false);
-        ctx.fargateServiceSg.get().orElseThrow().addIngressRule(ctx.albSg.get().orElseThrow(), Port.tcp(8080), "HTTP_from_ALB", false);
+        ctx.allowIngress(ctx.efsSg.get().orElseThrow(), ctx.fargateServiceSg.get().orElseThrow(), Port.tcp(2049), "NFS_from_Fargate_service");
+        ctx.allowIngress(ctx.fargateServiceSg.get().orElseThrow(), ctx.albSg.get().orElseThrow(), Port.tcp(8080), "HTTP_from_ALB");
 
         CfnOutput.Builder.create(this, "JenkinsUrl")
                 .description("Jenkins URL (ALB DNS) - Test")
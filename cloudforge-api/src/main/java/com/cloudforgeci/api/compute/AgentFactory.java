@@ -0,0 +1,293 @@
+package com.cloudforgeci.api.compute;
+
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.annotation.BaseFactory;
+import com.cloudforgeci.api.core.iam.PermissionMatrix;
+import com.cloudforgeci.api.core.iam.PolicyConsolidator;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ec2.IVpc;
+import software.amazon.awscdk.services.ec2.Port;
+import software.amazon.awscdk.services.ec2.SecurityGroup;
+import software.amazon.awscdk.services.ec2.SubnetSelection;
+import software.amazon.awscdk.services.ec2.SubnetType;
+import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
+import software.amazon.awscdk.services.ecs.CloudMapOptions;
+import software.amazon.awscdk.services.ecs.Cluster;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerDependency;
+import software.amazon.awscdk.services.ecs.ContainerDependencyCondition;
+import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.FargateService;
+import software.amazon.awscdk.services.ecs.FargateTaskDefinition;
+import software.amazon.awscdk.services.ecs.LogDriver;
+import software.amazon.awscdk.services.ecs.MountPoint;
+import software.amazon.awscdk.services.ecs.TaskDefinition;
+import software.amazon.awscdk.services.iam.ManagedPolicy;
+import software.amazon.awscdk.services.iam.Role;
+import software.amazon.awscdk.services.iam.ServicePrincipal;
+import software.amazon.awscdk.services.servicediscovery.DnsRecordType;
+import software.amazon.awscdk.services.servicediscovery.PrivateDnsNamespace;
+import software.constructs.Construct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_CONTAINER_PATH;
+import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_HOME;
+import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_PORT;
+
+/**
+ * Factory for ephemeral Fargate build agents next to a Fargate Jenkins controller.
+ *
+ * <p>Builds leave the controller: jobs run on agent tasks the Amazon ECS plugin starts on demand
+ * in a dedicated cluster and stops when they finish, so build capacity follows the queue instead
+ * of the controller's size. The controller keeps {@code controllerExecutors} executors (default 0).</p>
+ *
+ * <p><strong>Created resources:</strong></p>
+ * <ul>
+ *   <li>An ECS cluster with Fargate and Fargate Spot capacity providers; agent tasks run on Fargate Spot</li>
+ *   <li>One agent task definition per {@link Tier}, labelled {@code fargate-<tier>}</li>
+ *   <li>Agent execution and task roles; the controller may run, stop and describe agent tasks and pass those roles</li>
+ *   <li>An agent security group; the controller accepts HTTP and the inbound agent port from it</li>
+ *   <li>A private DNS name for the controller, {@value #CONTROLLER_HOST}, the agents connect to</li>
+ * </ul>
+ *
+ * <p>The controller side is configured through Configuration as Code: a short-lived init container
+ * on the controller image writes the cloud definition to {@value #CASC_DIR} before the controller
+ * starts. It installs the {@code configuration-as-code} and {@code amazon-ecs} plugins into Jenkins
+ * home on EFS the first time; later task starts find them there.</p>
+ *
+ * <p>The factory is placed in the compute layer and the
+ * {@link com.cloudforgeci.api.core.ResourceBudget.Group#COMPUTE} budget group; the controller-side
+ * pieces - init container, policy, ingress and Cloud Map name - stay with the controller.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ * @see FargateFactory
+ */
+public class AgentFactory extends BaseFactory {
+  private static final Logger LOG = Logger.getLogger(AgentFactory.class.getName());
+
+  @com.cloudforgeci.api.core.annotation.SystemContext
+  private SystemContext ctx;
+
+  /** Agent sizes; the label {@code fargate} selects the small tier. */
+  public enum Tier {
+    SMALL(1024, 2048),
+    MEDIUM(2048, 8192),
+    LARGE(4096, 16384);
+
+    public final int cpu;
+    public final int memory;
+
+    Tier(int cpu, int memory) {
+      this.cpu = cpu;
+      this.memory = memory;
+    }
+
+    /** Template name and label, e.g. {@code fargate-small}. */
+    public String label() {
+      return "fargate-" + name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /** TCP port inbound agents connect to. */
+  public static final int AGENT_PORT = 50000;
+
+  public static final String CONTROLLER_HOST = "controller.jenkins.internal";
+
+  static final String CASC_DIR = JENKINS_CONTAINER_PATH + "/casc_configs";
+
+  /** Agents are short-lived and a stopped task only fails its build, so they run on Spot. */
+  static final String CAPACITY_PROVIDER = "FARGATE_SPOT";
+
+  private static final String AGENT_IMAGE = "jenkins/inbound-agent:latest-jdk17";
+  private static final String CONTROLLER_IMAGE = "jenkins/jenkins:lts";
+  private static final List<String> CONTROLLER_PLUGINS = List.of("configuration-as-code", "amazon-ecs");
+  static final String PLUGIN_MARKER = JENKINS_CONTAINER_PATH + "/plugins/.cloudforge-agent-plugins";
+
+  public AgentFactory(Construct scope, String id) {
+    super(scope, id);
+  }
+
+  @Override
+  public void create() {
+    TaskDefinition controllerTask = ctx.fargateTaskDef.get().orElseThrow(() ->
+        new IllegalStateException("Fargate task definition not found - FargateFactory must run before AgentFactory"));
+    FargateService controller = ctx.fargateService.get().orElseThrow();
+    SecurityGroup controllerSg = ctx.fargateServiceSg.get().orElseThrow();
+    IVpc vpc = ctx.vpc.get().orElseThrow();
+
+    Cluster cluster = Cluster.Builder.create(this, "AgentCluster")
+        .vpc(vpc)
+        .enableFargateCapacityProviders(true)
+        .build();
+
+    SecurityGroup agentSg = SecurityGroup.Builder.create(this, "AgentSg")
+        .vpc(vpc)
+        .description("Jenkins build agents")
+        .allowAllOutbound(true)
+        .build();
+    ctx.allowIngress(controllerSg, agentSg, Port.tcp(JENKINS_PORT), "Jenkins_from_agents");
+    ctx.allowIngress(controllerSg, agentSg, Port.tcp(AGENT_PORT), "Agent_port_from_agents");
+
+    // Agents reach the controller task directly; its address changes with every deployment
+    PrivateDnsNamespace namespace = PrivateDnsNamespace.Builder.create(this, "AgentNamespace")
+        .name("jenkins.internal")
+        .vpc(vpc)
+        .build();
+    controller.enableCloudMap(CloudMapOptions.builder()
+        .name("controller")
+        .cloudMapNamespace(namespace)
+        .dnsRecordType(DnsRecordType.A)
+        .dnsTtl(Duration.seconds(10))
+        .build());
+
+    Role executionRole = Role.Builder.create(this, "AgentExecutionRole")
+        .assumedBy(new ServicePrincipal("ecs-tasks.amazonaws.com"))
+        .managedPolicies(List.of(ManagedPolicy.fromAwsManagedPolicyName("service-role/AmazonECSTaskExecutionRolePolicy")))
+        .build();
+    // Builds that need AWS access get their permissions added here
+    Role taskRole = Role.Builder.create(this, "AgentTaskRole")
+        .assumedBy(new ServicePrincipal("ecs-tasks.amazonaws.com"))
+        .build();
+
+    List<FargateTaskDefinition> agents = new ArrayList<>();
+    for (Tier tier : Tier.values()) {
+      agents.add(agentTask(tier, executionRole, taskRole));
+    }
+
+    grantController(controllerTask, cluster, agents, List.of(executionRole, taskRole));
+    configureController(controllerTask, cloudConfiguration(cluster, agents, agentSg));
+
+    LOG.info(() -> "Fargate build agents: " + Tier.values().length + " tier(s), controller executors="
+        + ctx.cfc.controllerExecutors());
+  }
+
+  private FargateTaskDefinition agentTask(Tier tier, Role executionRole, Role taskRole) {
+    String suffix = tier.name().charAt(0) + tier.name().substring(1).toLowerCase(Locale.ROOT);
+    FargateTaskDefinition task = FargateTaskDefinition.Builder.create(this, "Agent" + suffix)
+        .cpu(tier.cpu)
+        .memoryLimitMiB(tier.memory)
+        .executionRole(executionRole)
+        .taskRole(taskRole)
+        .build();
+    // The ECS plugin overrides the command of the container named after the template
+    task.addContainer("Agent" + suffix + "Container", ContainerDefinitionOptions.builder()
+        .containerName(tier.label())
+        .image(ContainerImage.fromRegistry(AGENT_IMAGE))
+        .essential(true)
+        .logging(LogDriver.awsLogs(AwsLogDriverProps.builder()
+            .logGroup(ctx.logs.get().orElse(null))
+            .streamPrefix("jenkins-agent").build()))
+        .build());
+    return task;
+  }
+
+  /** What the ECS plugin needs to launch, watch and stop agent tasks. */
+  private void grantController(TaskDefinition controllerTask, Cluster cluster,
+                               List<FargateTaskDefinition> agents, List<Role> agentRoles) {
+    PolicyConsolidator policy = new PolicyConsolidator(PermissionMatrix.requiredIndex(ctx.topology, ctx.runtime, ctx.iamProfile));
+    policy.add("AgentRunTask", List.of("ecs:RunTask"),
+        agents.stream().map(FargateTaskDefinition::getTaskDefinitionArn).toList());
+    policy.add(new PolicyConsolidator.Statement("AgentTasks",
+        List.of("ecs:StopTask", "ecs:DescribeTasks", "ecs:ListTasks"),
+        List.of("*"),
+        Map.of("ArnEquals", Map.of("ecs:cluster", cluster.getClusterArn()))));
+    policy.add("AgentCluster", List.of("ecs:DescribeClusters"), List.of(cluster.getClusterArn()));
+    policy.add("AgentDiscovery", List.of("ecs:ListClusters", "ecs:DescribeTaskDefinition", "ecs:ListTaskDefinitions"),
+        List.of("*"));
+    policy.add("AgentPassRole", List.of("iam:PassRole"), agentRoles.stream().map(Role::getRoleArn).toList());
+    policy.attach(controllerTask.getTaskRole());
+  }
+
+  /** Configuration as Code for the controller: executors, agent port and the ECS cloud. */
+  private String cloudConfiguration(Cluster cluster, List<FargateTaskDefinition> agents, SecurityGroup agentSg) {
+    boolean publicIp = "public-no-nat".equals(ctx.cfc.networkMode());
+    SubnetType subnetType = publicIp ? SubnetType.PUBLIC : SubnetType.PRIVATE_WITH_EGRESS;
+    String subnets = String.join(",", ctx.vpc.get().orElseThrow()
+        .selectSubnets(SubnetSelection.builder().subnetType(subnetType).build()).getSubnetIds());
+
+    StringBuilder yaml = new StringBuilder()
+        .append("jenkins:\n")
+        .append("  numExecutors: ").append(ctx.cfc.controllerExecutors()).append('\n')
+        .append("  slaveAgentPort: ").append(AGENT_PORT).append('\n')
+        .append("  clouds:\n")
+        .append("    - ecs:\n")
+        .append("        name: \"fargate-agents\"\n")
+        .append("        cluster: \"").append(cluster.getClusterArn()).append("\"\n")
+        .append("        regionName: \"").append(Stack.of(this).getRegion()).append("\"\n")
+        .append("        jenkinsUrl: \"http://").append(CONTROLLER_HOST).append(':').append(JENKINS_PORT).append("/\"\n")
+        .append("        retentionTimeout: 5\n")
+        .append("        templates:\n");
+    Tier[] tiers = Tier.values();
+    for (int i = 0; i < tiers.length; i++) {
+      Tier tier = tiers[i];
+      yaml.append("          - templateName: \"").append(tier.label()).append("\"\n")
+          .append("            label: \"").append(tier == Tier.SMALL ? "fargate " : "").append(tier.label()).append("\"\n")
+          .append("            launchType: \"FARGATE\"\n")
+          .append("            capacityProviderStrategies:\n")
+          .append("              - provider: \"").append(CAPACITY_PROVIDER).append("\"\n")
+          .append("                weight: 1\n")
+          .append("            platformVersion: \"LATEST\"\n")
+          .append("            networkMode: \"awsvpc\"\n")
+          .append("            taskDefinitionOverride: \"").append(agents.get(i).getTaskDefinitionArn()).append("\"\n")
+          .append("            cpu: ").append(tier.cpu).append('\n')
+          .append("            memoryReservation: ").append(tier.memory).append('\n')
+          .append("            subnets: \"").append(subnets).append("\"\n")
+          .append("            securityGroups: \"").append(agentSg.getSecurityGroupId()).append("\"\n")
+          .append("            assignPublicIp: ").append(publicIp).append('\n')
+          .append("            remoteFSRoot: \"/home/jenkins\"\n");
+    }
+    return yaml.toString();
+  }
+
+  /**
+   * Downloads the plugins into Jenkins home only when the marker on EFS names a different plugin
+   * list, so restarts skip the update center.
+   */
+  static String installPlugins() {
+    String plugins = String.join(" ", CONTROLLER_PLUGINS);
+    String dir = JENKINS_CONTAINER_PATH + "/plugins";
+    return "if [ \"$(cat " + PLUGIN_MARKER + " 2>/dev/null)\" != '" + plugins + "' ]; then"
+        + " jenkins-plugin-cli --plugin-download-directory " + dir + " --plugins " + plugins
+        + " && printf '%s' '" + plugins + "' > " + PLUGIN_MARKER + "; fi";
+  }
+
+  /** Install the plugins and write the configuration before the controller container starts. */
+  private void configureController(TaskDefinition controllerTask, String casc) {
+    ContainerDefinition controller = ctx.container.get().orElseThrow(() ->
+        new IllegalStateException("Controller container not found - ContainerFactory must run before AgentFactory"));
+
+    ContainerDefinition init = controllerTask.addContainer(getNode().getId() + "CascInit", ContainerDefinitionOptions.builder()
+        .containerName(getNode().getId() + "-casc-init")
+        .image(ContainerImage.fromRegistry(CONTROLLER_IMAGE))
+        .user("1000:1000")
+        .essential(false)
+        .entryPoint(List.of("sh", "-c"))
+        .command(List.of(installPlugins()
+            + " && mkdir -p " + CASC_DIR
+            + " && printf '%s' \"$CASC_AGENTS_YAML\" > " + CASC_DIR + "/agents.yaml"))
+        .environment(Map.of("CASC_AGENTS_YAML", casc))
+        .logging(LogDriver.awsLogs(AwsLogDriverProps.builder()
+            .logGroup(ctx.logs.get().orElse(null))
+            .streamPrefix("jenkins-init").build()))
+        .build());
+    init.addMountPoints(MountPoint.builder()
+        .containerPath(JENKINS_CONTAINER_PATH)
+        .sourceVolume(JENKINS_HOME)
+        .readOnly(false)
+        .build());
+
+    controller.addEnvironment("CASC_JENKINS_CONFIG", CASC_DIR);
+    controller.addContainerDependencies(ContainerDependency.builder()
+        .container(init)
+        .condition(ContainerDependencyCondition.SUCCESS)
+        .build());
+  }
+}
@@ -1,6 +1,7 @@
 package com.cloudforgeci.api.compute;
 
 import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.JenkinsJvmOptions;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.core.annotation.BaseFactory;
 import com.cloudforgeci.api.scaling.ScalingFactory;
@@ -8,11 +9,9 @@ import com.cloudforgeci.api.scaling.ScalingFactory;
 import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
 import software.amazon.awscdk.services.ec2.BlockDevice;
 import software.amazon.awscdk.services.ec2.BlockDeviceVolume;
+import software.amazon.awscdk.services.ec2.CfnLaunchTemplate;
 import software.amazon.awscdk.services.ec2.EbsDeviceOptions;
 import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
-import software.amazon.awscdk.services.ec2.InstanceClass;
-import software.amazon.awscdk.services.ec2.InstanceSize;
-import software.amazon.awscdk.services.ec2.InstanceType;
 import software.amazon.awscdk.services.ec2.LaunchTemplate;
 import software.amazon.awscdk.services.ec2.MachineImage;
 import software.amazon.awscdk.services.ec2.Port;
@@ -30,7 +29,9 @@ import software.amazon.awscdk.services.logs.RetentionDays;
 import java.util.logging.Logger;
 import software.constructs.Construct;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Factory for creating EC2-based Jenkins compute infrastructure.
@@ -43,7 +44,7 @@ import java.util.List;
  * <ul>
  *   <li>Auto-scaling groups with configurable min/max capacity</li>
  *   <li>Launch templates with Jenkins pre-installed</li>
- *   <li>EBS encryption and proper volume configuration</li>
+ *   <li>Encrypted EBS volumes of the configured type (standard, gp3, io2) and size</li>
  *   <li>IAM roles with EFS access (when EFS is available)</li>
  *   <li>CloudWatch logging integration</li>
  *   <li>Network mode awareness (public vs private subnets)</li>
@@ -147,7 +148,7 @@ public class Ec2Factory extends BaseFactory {
             .build();
 
     // Add ingress rule from ALB security group
-    instanceSg.addIngressRule(ctx.albSg.get().orElseThrow(), Port.tcp(8080), "ALB_to_Jenkins");
+    ctx.allowIngress(instanceSg, ctx.albSg.get().orElseThrow(), Port.tcp(8080), "ALB_to_Jenkins");
 
     return instanceSg;
   }
@@ -159,112 +160,25 @@ public class Ec2Factory extends BaseFactory {
   }
 
   private UserData createUserData() {
+    // Script text is built once per stack inputs; only the token ids are filled in here
     UserData ud = UserData.forLinux();
-    ud.addCommands(
-            "#!/bin/bash",
-            "set -euxo pipefail",
-            "command -v dnf >/dev/null && dnf -y update || yum -y update",
-            "command -v dnf >/dev/null && dnf -y install java-17-amazon-corretto-headless || yum -y install java-17-amazon-corretto-headless",
-            "echo 'userdata start OK' > /var/log/jenkins-userdata.log",
-            "",
-            "# Install Jenkins",
-            "curl -fsSL https://pkg.jenkins.io/redhat-stable/jenkins.repo -o /etc/yum.repos.d/jenkins.repo",
-            "rpm --import https://pkg.jenkins.io/redhat-stable/jenkins.io-2023.key",
-            "command -v dnf >/dev/null && dnf -y install jenkins || yum -y install jenkins",
-            "",
-            "# Install CloudWatch Agent",
-            "echo 'Installing CloudWatch Agent...' >> /var/log/jenkins-userdata.log",
-            "wget https://s3.amazonaws.com/amazoncloudwatch-agent/amazon_linux/amd64/latest/amazon-cloudwatch-agent.rpm",
-            "rpm -U ./amazon-cloudwatch-agent.rpm",
-            "rm -f ./amazon-cloudwatch-agent.rpm",
-            "",
-            "# Configure CloudWatch Agent",
-            "echo 'Configuring CloudWatch Agent...' >> /var/log/jenkins-userdata.log",
-            "mkdir -p /opt/aws/amazon-cloudwatch-agent/etc",
-            String.format("cat > /opt/aws/amazon-cloudwatch-agent/etc/amazon-cloudwatch-agent.json << 'EOF'%n" +
-                    "{%n" +
-                    "  \"agent\": {%n" +
-                    "    \"metrics_collection_interval\": 60,%n" +
-                    "    \"run_as_user\": \"root\"%n" +
-                    "  },%n" +
-                    "  \"logs\": {%n" +
-                    "    \"logs_collected\": {%n" +
-                    "      \"files\": {%n" +
-                    "        \"collect_list\": [%n" +
-                    "          {%n" +
-                    "            \"file_path\": \"/var/log/jenkins/jenkins.log\",%n" +
-                    "            \"log_group_name\": \"/aws/jenkins/%s/%s/%s\",%n" +
-                    "            \"log_stream_name\": \"{instance_id}/jenkins.log\",%n" +
-                    "            \"timezone\": \"UTC\"%n" +
-                    "          },%n" +
-                    "          {%n" +
-                    "            \"file_path\": \"/var/log/jenkins-userdata.log\",%n" +
-                    "            \"log_group_name\": \"/aws/jenkins/%s/%s/%s\",%n" +
-                    "            \"log_stream_name\": \"{instance_id}/userdata.log\",%n" +
-                    "            \"timezone\": \"UTC\"%n" +
-                    "          },%n" +
-                    "          {%n" +
-                    "            \"file_path\": \"/var/log/messages\",%n" +
-                    "            \"log_group_name\": \"/aws/jenkins/%s/%s/%s\",%n" +
-                    "            \"log_stream_name\": \"{instance_id}/messages\",%n" +
-                    "            \"timezone\": \"UTC\"%n" +
-                    "          }%n" +
-                    "        ]%n" +
-                    "      }%n" +
-                    "    }%n" +
-                    "  }%n" +
-                    "}%n" +
-                    "EOF", 
-                    ctx.stackName, ctx.runtime.name().toLowerCase(), ctx.security.name().toLowerCase(),
-                    ctx.stackName, ctx.runtime.name().toLowerCase(), ctx.security.name().toLowerCase(),
-                    ctx.stackName, ctx.runtime.name().toLowerCase(), ctx.security.name().toLowerCase()),
-            "",
-            "# Start CloudWatch Agent",
-            "echo 'Starting CloudWatch Agent...' >> /var/log/jenkins-userdata.log",
-            "/opt/aws/amazon-cloudwatch-agent/bin/amazon-cloudwatch-agent-ctl -a fetch-config -m ec2 -c file:/opt/aws/amazon-cloudwatch-agent/etc/amazon-cloudwatch-agent.json -s",
-            "",
-            "# Configure Jenkins",
-            "systemctl enable jenkins",
-            "systemctl start jenkins",
-            "echo 'jenkins installed and started' >> /var/log/jenkins-userdata.log",
-            "",
-            "# Wait for Jenkins to generate admin password and log it",
-            "echo 'Waiting for Jenkins to generate admin password...' >> /var/log/jenkins-userdata.log",
-            "sleep 60",
-            "if [ -f /var/lib/jenkins/secrets/initialAdminPassword ]; then",
-            "  echo 'Jenkins Admin Password:' >> /var/log/jenkins-userdata.log",
-            "  cat /var/lib/jenkins/secrets/initialAdminPassword >> /var/log/jenkins-userdata.log",
-            "  echo 'Jenkins Admin Password logged to CloudWatch' >> /var/log/jenkins-userdata.log",
-            "else",
-            "  echo 'Jenkins admin password file not found yet' >> /var/log/jenkins-userdata.log",
-            "fi"
-    );
-
-    // Add EFS mounting if EFS is available
+    ud.addCommands(ctx.artifacts.ec2UserData().toArray(String[]::new));
+
+    // Add EFS mounting if EFS is available, otherwise use EBS for storage
     if (ctx.efs.get().isPresent() && ctx.ap.get().isPresent()) {
-      ud.addCommands(
-              "command -v dnf >/dev/null && dnf -y install amazon-efs-utils || yum -y install amazon-efs-utils",
-              "mkdir -p /var/lib/jenkins",
-              String.format("echo \"%s:/ /var/lib/jenkins efs _netdev,tls,iam,accesspoint=%s 0 0\" >> /etc/fstab",
-                      ctx.efs.get().orElseThrow().getFileSystemId(), ctx.ap.get().orElseThrow().getAccessPointId()),
-              "mount -a || (journalctl -xe; exit 1)",
-              "chown -R 1000:1000 /var/lib/jenkins || true",
-              "echo 'efs mounted' >> /var/log/jenkins-userdata.log"
-      );
+      ud.addCommands(JenkinsUserData.efsMount(ctx.efs.get().orElseThrow().getFileSystemId(),
+              ctx.ap.get().orElseThrow().getAccessPointId()).toArray(String[]::new));
     } else {
-      // Use EBS for storage
-      String dataDev = "/dev/xvdh";
-      ud.addCommands(
-              "DATA_DEV=\"" + dataDev + "\"",
-              "if [ ! -b \"$DATA_DEV\" ]; then DATA_DEV=$(readlink -f /dev/nvme1n1 || true); fi",
-              "mkfs -t xfs -f \"$DATA_DEV\" || true",
-              "mkdir -p /var/lib/jenkins",
-              "echo \"$DATA_DEV /var/lib/jenkins xfs defaults,noatime 0 2\" >> /etc/fstab",
-              "mount -a",
-              "chown -R 1000:1000 /var/lib/jenkins || true",
-              "echo 'ebs mounted' >> /var/log/jenkins-userdata.log"
-      );
+      ud.addCommands(JenkinsUserData.ebsMount().toArray(String[]::new));
+    }
+    String javaOpts = JenkinsJvmOptions.forEc2(ctx.cfc);
+    Map<String, String> environment = Map.of();
+    if (JenkinsUserData.hybridStorage(ctx)) {
+      ud.addCommands(JenkinsUserData.workspaceMount().toArray(String[]::new));
+      javaOpts += " " + JenkinsUserData.workspaceJavaOptions();
+      environment = JenkinsUserData.workspaceEnvironment();
     }
+    ud.addCommands(JenkinsUserData.jenkinsService(javaOpts, environment).toArray(String[]::new));
 
     return ud;
   }
@@ -272,38 +186,77 @@ public class Ec2Factory extends BaseFactory {
   private LaunchTemplate createLaunchTemplate(Role ec2Role, SecurityGroup instanceSg, UserData userData) {
     LaunchTemplate.Builder ltBuilder = LaunchTemplate.Builder.create(this, "JenkinsLt")
             .machineImage(MachineImage.latestAmazonLinux2023())
-            .instanceType(InstanceType.of(InstanceClass.T3, InstanceSize.MICRO))
+            .instanceType(JenkinsFactory.parseInstanceType(ctx.cfc.instanceType()))
             .securityGroup(instanceSg)
             .role(ec2Role)
             .userData(userData);
 
-    // Add block devices
-    ltBuilder.blockDevices(List.of(
-            BlockDevice.builder()
-                    .deviceName("/dev/xvda")
-                    .volume(BlockDeviceVolume.ebs(20, EbsDeviceOptions.builder()
-                            .encrypted(true)
-                            .volumeType(EbsDeviceVolumeType.STANDARD)
-                            .deleteOnTermination(true)
-                            .build()))
-                    .build()
-    ));
+    // One list: a second blockDevices(...) call replaces the first rather than adding to it
+    List<BlockDevice> devices = new ArrayList<>(2);
+    devices.add(BlockDevice.builder()
+            .deviceName("/dev/xvda")
+            .volume(BlockDeviceVolume.ebs(ctx.cfc.ebsRootVolumeSize(), rootVolumeOptions()))
+            .build());
 
     // Add data volume if not using EFS
     if (ctx.efs.get().isEmpty()) {
-      ltBuilder.blockDevices(List.of(
-              BlockDevice.builder()
-                      .deviceName("/dev/xvdh")
-                      .volume(BlockDeviceVolume.ebs(100, EbsDeviceOptions.builder()
-                              .encrypted(true)
-                              .volumeType(EbsDeviceVolumeType.STANDARD)
-                              .deleteOnTermination(true)
-                              .build()))
-                      .build()
-      ));
+      devices.add(BlockDevice.builder()
+              .deviceName("/dev/xvdh")
+              .volume(BlockDeviceVolume.ebs(ctx.cfc.ebsDataVolumeSize(), dataVolumeOptions()))
+              .build());
+    }
+    if (JenkinsUserData.hybridStorage(ctx)) {
+      devices.add(workspaceDevice(ctx));
+    }
+    ltBuilder.blockDevices(devices);
+
+    LaunchTemplate lt = ltBuilder.build();
+    if (ctx.efs.get().isEmpty() && "gp3".equals(ctx.cfc.ebsVolumeType()) && ctx.cfc.ebsThroughput() > 0) {
+      // EbsDeviceOptions has no throughput in this CDK version; the data volume is the second mapping
+      CfnLaunchTemplate cfn = (CfnLaunchTemplate) lt.getNode().getDefaultChild();
+      cfn.addPropertyOverride("LaunchTemplateData.BlockDeviceMappings.1.Ebs.Throughput", ctx.cfc.ebsThroughput());
     }
+    return lt;
+  }
 
-    return ltBuilder.build();
+  /**
+   * gp3 scratch volume for workspaces and build caches; user data prefers NVMe instance store when
+   * the instance type has one and leaves this volume unused.
+   */
+  static BlockDevice workspaceDevice(SystemContext ctx) {
+    return BlockDevice.builder()
+            .deviceName("/dev/xvdw")
+            .volume(BlockDeviceVolume.ebs(ctx.cfc.workspaceStorageSize(), EbsDeviceOptions.builder()
+                    .encrypted(true)
+                    .volumeType(EbsDeviceVolumeType.GP3)
+                    .deleteOnTermination(true)
+                    .build()))
+            .build();
+  }
+
+  /** The root volume only boots the instance; io2 buys nothing there, so it gets gp3 at its baseline. */
+  private EbsDeviceOptions rootVolumeOptions() {
+    return EbsDeviceOptions.builder()
+            .encrypted(true)
+            .volumeType("standard".equals(ctx.cfc.ebsVolumeType()) ? EbsDeviceVolumeType.STANDARD : EbsDeviceVolumeType.GP3)
+            .deleteOnTermination(true)
+            .build();
+  }
+
+  /** The Jenkins home volume, with provisioned IOPS when configured; throughput is set in {@link #createLaunchTemplate}. */
+  private EbsDeviceOptions dataVolumeOptions() {
+    EbsDeviceOptions.Builder b = EbsDeviceOptions.builder()
+            .encrypted(true)
+            .deleteOnTermination(true);
+    switch (ctx.cfc.ebsVolumeType()) {
+      case "gp3" -> {
+        b.volumeType(EbsDeviceVolumeType.GP3);
+        if (ctx.cfc.ebsIops() > 0) b.iops(ctx.cfc.ebsIops());
+      }
+      case "io2" -> b.volumeType(EbsDeviceVolumeType.IO2).iops(ctx.cfc.ebsIops());
+      default -> b.volumeType(EbsDeviceVolumeType.STANDARD);
+    }
+    return b.build();
   }
 
   private AutoScalingGroup createAutoScalingGroup(LaunchTemplate launchTemplate) {
@@ -24,6 +24,7 @@ import java.util.List;
 
 import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_HOME;
 import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_PATH;
+import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_SCRATCH;
 
 /**
  * Factory for creating Fargate-based Jenkins compute infrastructure.
@@ -37,6 +38,7 @@ import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_PATH;
  *   <li>Fargate task definitions with Jenkins container</li>
  *   <li>ECS cluster and service configuration</li>
  *   <li>EFS access point integration for persistent storage</li>
+ *   <li>Workspaces on task ephemeral storage with {@code storageLayout=hybrid}</li>
  *   <li>IAM roles for task execution and EFS access</li>
  *   <li>Network mode awareness (public vs private subnets)</li>
  *   <li>Security group configuration</li>
@@ -102,7 +104,13 @@ public class FargateFactory extends BaseFactory {
                     ManagedPolicy.fromAwsManagedPolicyName("service-role/AmazonECSTaskExecutionRolePolicy")
             ))
             .build();
-    FargateTaskDefinition taskDef = FargateTaskDefinition.Builder.create(this, "Task").cpu(cfc.cpu()).memoryLimitMiB(cfc.memory()).taskRole(executionRole).build();
+    boolean hybrid = JenkinsUserData.hybridStorage(ctx);
+    FargateTaskDefinition.Builder taskDefBuilder = FargateTaskDefinition.Builder.create(this, "Task").cpu(cfc.cpu()).memoryLimitMiB(cfc.memory()).taskRole(executionRole);
+    if (hybrid) {
+      // Workspaces and build caches go to task ephemeral storage instead of EFS
+      taskDefBuilder.ephemeralStorageGiB(cfc.workspaceStorageSize());
+    }
+    FargateTaskDefinition taskDef = taskDefBuilder.build();
     AccessPoint ap = ctx.efs.get().orElseThrow().addAccessPoint("JenkinsAp", AccessPointOptions.builder()
             .path(JENKINS_PATH)
             .posixUser(PosixUser.builder().uid("1000").gid("1000").build())
@@ -143,11 +151,15 @@ public class FargateFactory extends BaseFactory {
                             .build())
                     .build())
             .build());
+    if (hybrid) {
+      // Bind mount, backed by the task's ephemeral storage
+      taskDef.addVolume(Volume.builder().name(JENKINS_SCRATCH).build());
+    }
     
     // Create container (now that task definition and volume are available)
     ContainerFactory containerFactory = new ContainerFactory(this, getNode().getId() + "Container", ContainerImage.fromRegistry("jenkins/jenkins:lts"));
     containerFactory.injectContexts(); // Manual injection after SystemContext.start()
-    containerFactory.create();
+    ctx.createFactory(containerFactory);
     
     // Now set the service in context after container is created
     ctx.fargateService.set(service);
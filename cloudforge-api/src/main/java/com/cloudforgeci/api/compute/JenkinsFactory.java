@@ -46,6 +46,7 @@ import software.amazon.awscdk.services.efs.Acl;
 import software.constructs.Construct;
 
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -216,7 +217,7 @@ public class JenkinsFactory {
       if (cfc.topology() == TopologyType.JENKINS_SERVICE) {
           if (cfc.maxInstanceCapacity() != null && cfc.maxInstanceCapacity() > 1) {
               Ec2Factory ec2 = new Ec2Factory(scope, id + "Ec2");
-              ec2.create();
+              ctx.createFactory(ec2);
           } else {
               createSingleEc2Instance(scope, id + "SingleInstance", ctx);
           }
@@ -224,12 +225,14 @@ public class JenkinsFactory {
           createSingleEc2Instance(scope, id + "SingleInstance", ctx);
       }
       
-      new AlarmFactory(scope, id + "Alarms", null);
+      AlarmFactory alarms = new AlarmFactory(ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, scope), id + "Alarms", null);
+      alarms.injectContexts();
+      ctx.createFactory(alarms);
       
       // Create domain factory if domain is provided (for DNS records)
       if (cfc.domain() != null && !cfc.domain().isBlank()) {
-          DomainFactory domain = new DomainFactory(scope, id + "Domain");
-          domain.create();
+          DomainFactory domain = new DomainFactory(ctx.scopeFor(ResourceBudget.Group.DNS, ctx.scopeFor(StackLayers.Layer.EDGE, scope)), id + "Domain");
+          ctx.createFactory(domain);
       }
       
       JenkinsSystem result = new JenkinsSystem(infra.vpc(), infra.alb(), infra.efs());
@@ -269,13 +272,20 @@ public class JenkinsFactory {
       // Create Jenkins-specific factories
       FargateFactory fargate = new FargateFactory(scope, id + "Fargate", new FargateFactory.Props(cfc));
       fargate.injectContexts(); // Manual injection after SystemContext.start()
-      fargate.create(); // Call create() to populate fargateTaskDef slot
+      ctx.createFactory(fargate); // Call create() to populate fargateTaskDef slot
+      if (cfc.enableAgents()) {
+        AgentFactory agents = new AgentFactory(ctx.scopeFor(ResourceBudget.Group.COMPUTE, ctx.scopeFor(StackLayers.Layer.COMPUTE, scope)), id + "Agents");
+        agents.injectContexts();
+        ctx.createFactory(agents);
+      }
       
       new JenkinsBootstrap(scope, id + "Jenkins", new JenkinsBootstrap.Props(cfc));
-      new AlarmFactory(scope, id + "Alarms", null);
+      AlarmFactory alarms = new AlarmFactory(ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, scope), id + "Alarms", null);
+      alarms.injectContexts();
+      ctx.createFactory(alarms);
       
-      DomainFactory domain = new DomainFactory(scope, id + "Domain");
-      domain.create();
+      DomainFactory domain = new DomainFactory(ctx.scopeFor(ResourceBudget.Group.DNS, ctx.scopeFor(StackLayers.Layer.EDGE, scope)), id + "Domain");
+      ctx.createFactory(domain);
       
       JenkinsSystem result = new JenkinsSystem(infra.vpc(), infra.alb(), infra.efs());
       
@@ -345,7 +355,7 @@ public class JenkinsFactory {
     if (cfc.topology() == TopologyType.JENKINS_SERVICE) {
         if (cfc.maxInstanceCapacity() != null && cfc.maxInstanceCapacity() > 1) {
             Ec2Factory ec2 = new Ec2Factory(scope, id + "Ec2");
-            ec2.create();
+            ctx.createFactory(ec2);
         } else {
             createSingleEc2Instance(scope, id + "SingleInstance", ctx);
         }
@@ -353,12 +363,14 @@ public class JenkinsFactory {
         createSingleEc2Instance(scope, id + "SingleInstance", ctx);
     }
     
-    new AlarmFactory(scope, id + "Alarms", null);
+    AlarmFactory alarms = new AlarmFactory(ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, scope), id + "Alarms", null);
+    alarms.injectContexts();
+    ctx.createFactory(alarms);
     
     // Create domain and certificate if SSL is enabled
     if (cfc.enableSsl() && cfc.domain() != null && !cfc.domain().isBlank()) {
-    DomainFactory domain = new DomainFactory(scope, id + "Domain");
-        domain.create();
+    DomainFactory domain = new DomainFactory(ctx.scopeFor(ResourceBudget.Group.DNS, ctx.scopeFor(StackLayers.Layer.EDGE, scope)), id + "Domain");
+        ctx.createFactory(domain);
         
         // SSL is handled by FargateRuntimeConfiguration
     }
@@ -390,6 +402,15 @@ public class JenkinsFactory {
     
     // Create Jenkins installation user data script with EFS mounting
     UserData userData = createJenkinsUserDataWithEfs(ctx, jenkinsAp);
+    boolean hybrid = JenkinsUserData.hybridStorage(ctx);
+    String javaOpts = JenkinsJvmOptions.forEc2(ctx.cfc);
+    if (hybrid) {
+      // Workspaces and build caches on local storage; configuration, jobs and build records stay on EFS
+      userData.addCommands(JenkinsUserData.workspaceMount().toArray(String[]::new));
+      javaOpts += " " + JenkinsUserData.workspaceJavaOptions();
+    }
+    userData.addCommands(JenkinsUserData.jenkinsService(javaOpts,
+        hybrid ? JenkinsUserData.workspaceEnvironment() : Map.of()).toArray(String[]::new));
     
     // Create IAM role for the EC2 instance with EFS permissions
     Role ec2Role = Role.Builder.create(scope, id + "Role")
@@ -417,6 +438,7 @@ public class JenkinsFactory {
                 .securityGroup(ctx.instanceSg.get().orElseThrow())
                 .role(ec2Role)
                 .userData(userData)
+                .blockDevices(hybrid ? List.of(Ec2Factory.workspaceDevice(ctx)) : null)
                 .build();
     
     // Set the instance in SystemContext for compatibility
@@ -442,7 +464,7 @@ public class JenkinsFactory {
    * Parses instance type string into CDK InstanceType.
    * Supports common T3 instance types.
    */
-  private static InstanceType parseInstanceType(String instanceTypeStr) {
+  static InstanceType parseInstanceType(String instanceTypeStr) {
     if (instanceTypeStr == null || instanceTypeStr.isEmpty()) {
       return InstanceType.of(InstanceClass.T3, InstanceSize.MICRO);
     }
@@ -512,58 +534,9 @@ public class JenkinsFactory {
    */
   private static UserData createJenkinsUserDataWithEfs(SystemContext ctx, AccessPoint jenkinsAp) {
     UserData ud = UserData.forLinux();
-    ud.addCommands(
-        "#!/bin/bash",
-        "set -euxo pipefail",
-        "echo '=== Jenkins EC2 User Data Script Started ===' >> /var/log/jenkins-userdata.log",
-        "echo 'Timestamp: ' $(date) >> /var/log/jenkins-userdata.log",
-        "",
-        "# Update system packages",
-        "echo 'Step 1: Updating system packages...' >> /var/log/jenkins-userdata.log",
-        "command -v dnf >/dev/null && dnf -y update || yum -y update",
-        "echo 'System packages updated successfully' >> /var/log/jenkins-userdata.log",
-        "",
-        "# Install Java 17",
-        "echo 'Step 2: Installing Java 17...' >> /var/log/jenkins-userdata.log",
-        "command -v dnf >/dev/null && dnf -y install java-17-amazon-corretto-headless || yum -y install java-17-amazon-corretto-headless",
-        "echo 'Java 17 installed successfully' >> /var/log/jenkins-userdata.log",
-        "",
-        "# Install Jenkins",
-        "echo 'Step 3: Installing Jenkins...' >> /var/log/jenkins-userdata.log",
-        "curl -fsSL https://pkg.jenkins.io/redhat-stable/jenkins.repo -o /etc/yum.repos.d/jenkins.repo",
-        "rpm --import https://pkg.jenkins.io/redhat-stable/jenkins.io-2023.key",
-        "command -v dnf >/dev/null && dnf -y install jenkins || yum -y install jenkins",
-        "echo 'Jenkins installed successfully' >> /var/log/jenkins-userdata.log",
-        "",
-        "# Install EFS utilities and mount EFS for persistent Jenkins storage",
-        "echo 'Step 4: Installing EFS utilities...' >> /var/log/jenkins-userdata.log",
-        "command -v dnf >/dev/null && dnf -y install amazon-efs-utils || yum -y install amazon-efs-utils",
-        "echo 'EFS utilities installed successfully' >> /var/log/jenkins-userdata.log",
-        "",
-        "# Mount EFS with access point (same as Fargate approach)",
-        "echo 'Step 5: Mounting EFS for Jenkins persistent storage...' >> /var/log/jenkins-userdata.log",
-        "mkdir -p /var/lib/jenkins",
-        String.format("echo \"%s:/ /var/lib/jenkins efs _netdev,tls,iam,accesspoint=%s 0 0\" >> /etc/fstab",
-            ctx.efs.get().orElseThrow().getFileSystemId(), 
-            jenkinsAp != null ? jenkinsAp.getAccessPointId() : "none"),
-        "mount -a || (echo 'EFS mount failed, checking logs...' >> /var/log/jenkins-userdata.log; journalctl -xe >> /var/log/jenkins-userdata.log; exit 1)",
-        "chown -R 1000:1000 /var/lib/jenkins || true",
-        "echo 'EFS mounted successfully for Jenkins persistent storage' >> /var/log/jenkins-userdata.log",
-        "",
-        "# Configure Jenkins",
-        "echo 'Step 6: Configuring and starting Jenkins...' >> /var/log/jenkins-userdata.log",
-        "systemctl enable jenkins",
-        "systemctl start jenkins",
-        "echo 'Jenkins service started successfully' >> /var/log/jenkins-userdata.log",
-        "",
-        "# Wait for Jenkins to be ready and log status",
-        "echo 'Step 7: Waiting for Jenkins to be ready...' >> /var/log/jenkins-userdata.log",
-        "sleep 30",
-        "systemctl status jenkins >> /var/log/jenkins-userdata.log 2>&1",
-        "echo 'Jenkins installation and configuration completed successfully!' >> /var/log/jenkins-userdata.log",
-        "echo 'Timestamp: ' $(date) >> /var/log/jenkins-userdata.log",
-        "echo '=== Jenkins EC2 User Data Script Completed ===' >> /var/log/jenkins-userdata.log"
-    );
+    ud.addCommands(JenkinsUserData.jenkinsEfsUserData(
+        ctx.efs.get().orElseThrow().getFileSystemId(),
+        jenkinsAp != null ? jenkinsAp.getAccessPointId() : "none").toArray(String[]::new));
     return ud;
   }
 
@@ -649,7 +622,7 @@ public class JenkinsFactory {
       
       // Create FlowLogFactory
       try {
-        new FlowLogFactory(scope, id + "Flowlog");
+        new FlowLogFactory(ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, ctx.scopeFor(StackLayers.Layer.DATA, scope)), id + "Flowlog");
       } catch (Exception e) {
         LOG.severe("*** CRITICAL: Exception in FlowLogFactory: " + e.getMessage() + " ***");
         e.printStackTrace();
@@ -660,12 +633,24 @@ public class JenkinsFactory {
       try {
         fargate = new FargateFactory(scope, id + "Fargate", new FargateFactory.Props(cfc));
         fargate.injectContexts(); // Manual injection after SystemContext.start()
-        fargate.create();
+        ctx.createFactory(fargate);
       } catch (Exception e) {
         LOG.severe("*** CRITICAL: Exception in FargateFactory instantiation/creation: " + e.getClass().getSimpleName() + ": " + e.getMessage() + " ***");
         e.printStackTrace();
         throw e;
       }
+
+      if (cfc.enableAgents()) {
+        try {
+          AgentFactory agents = new AgentFactory(ctx.scopeFor(ResourceBudget.Group.COMPUTE, ctx.scopeFor(StackLayers.Layer.COMPUTE, scope)), id + "Agents");
+          agents.injectContexts();
+          ctx.createFactory(agents);
+        } catch (Exception e) {
+          LOG.severe("*** CRITICAL: Exception in AgentFactory: " + e.getMessage() + " ***");
+          e.printStackTrace();
+          throw e;
+        }
+      }
       
       try {
     new JenkinsBootstrap(scope, id + "Jenkins", new JenkinsBootstrap.Props(cfc));
@@ -676,7 +661,9 @@ public class JenkinsFactory {
       }
       
       try {
-    new AlarmFactory(scope, id + "Alarms", null);
+    AlarmFactory alarms = new AlarmFactory(ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, scope), id + "Alarms", null);
+    alarms.injectContexts();
+    ctx.createFactory(alarms);
       } catch (Exception e) {
         LOG.severe("*** CRITICAL: Exception in AlarmFactory: " + e.getMessage() + " ***");
         e.printStackTrace();
@@ -685,9 +672,9 @@ public class JenkinsFactory {
       
       DomainFactory domain;
       try {
-        domain = new DomainFactory(scope, id + "Domain");
+        domain = new DomainFactory(ctx.scopeFor(ResourceBudget.Group.DNS, ctx.scopeFor(StackLayers.Layer.EDGE, scope)), id + "Domain");
         domain.injectContexts(); // Manual injection after SystemContext.start()
-        domain.create();
+        ctx.createFactory(domain);
       } catch (Exception e) {
         LOG.severe("*** CRITICAL: Exception in DomainFactory: " + e.getMessage() + " ***");
         e.printStackTrace();
@@ -0,0 +1,211 @@
+package com.cloudforgeci.api.compute;
+
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shell snippets and environment for Jenkins controllers: mounting the Jenkins home from EFS or
+ * an EBS data volume, local scratch storage for workspaces and build caches, and the systemd
+ * drop-in that starts the packaged service with CloudForge's JVM options. Values that are tokens
+ * (file system and access point ids) are passed in by the factory emitting the user data.
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class JenkinsUserData {
+
+  private static final String SCRATCH = Constants.Jenkins.JENKINS_SCRATCH_PATH;
+
+  /** fstab entry for the Jenkins home on an EFS access point; both ids are tokens. */
+  private static final String EFS_FSTAB =
+      "echo \"%s:/ /var/lib/jenkins efs _netdev,tls,iam,accesspoint=%s 0 0\" >> /etc/fstab";
+
+  private static final List<String> EBS_MOUNT = List.of(
+      "DATA_DEV=\"/dev/xvdh\"",
+      "for i in $(seq 1 30); do [ -b \"$DATA_DEV\" ] || [ -b /dev/nvme1n1 ] && break; sleep 2; done",
+      "if [ ! -b \"$DATA_DEV\" ]; then DATA_DEV=$(readlink -f /dev/nvme1n1 || true); fi",
+      "blkid \"$DATA_DEV\" || mkfs.xfs -f -m crc=1,reflink=1 -i size=512 \"$DATA_DEV\"",
+      "mkdir -p /var/lib/jenkins",
+      "echo \"$DATA_DEV /var/lib/jenkins xfs noatime,logbufs=8,logbsize=256k,inode64,nofail 0 2\" >> /etc/fstab",
+      "mount -a",
+      "chown -R 1000:1000 /var/lib/jenkins || true",
+      "echo 'ebs mounted' >> /var/log/jenkins-userdata.log");
+
+  private static final List<String> WORKSPACE_MOUNT = List.of(
+      "SCRATCH_DEV=$(lsblk -dpno NAME,MODEL | awk '/Instance Storage/ {print $1; exit}')",
+      "if [ -z \"$SCRATCH_DEV\" ]; then SCRATCH_DEV=/dev/xvdw; for i in $(seq 1 30); do [ -b \"$SCRATCH_DEV\" ] && break; sleep 2; done; fi",
+      "blkid \"$SCRATCH_DEV\" || mkfs.xfs -f \"$SCRATCH_DEV\"",
+      "mkdir -p " + SCRATCH,
+      "echo \"$SCRATCH_DEV " + SCRATCH + " xfs noatime,logbufs=8,logbsize=256k,nofail 0 2\" >> /etc/fstab",
+      "mount -a",
+      "mkdir -p " + scratchDirectories(),
+      "chown -R jenkins:jenkins " + SCRATCH,
+      "echo 'workspaces on local storage' >> /var/log/jenkins-userdata.log");
+
+  private static final Map<String, String> WORKSPACE_ENVIRONMENT = orderedMap(
+      "MAVEN_OPTS", "-Dmaven.repo.local=" + SCRATCH + "/cache/m2",
+      "GRADLE_USER_HOME", SCRATCH + "/cache/gradle",
+      "npm_config_cache", SCRATCH + "/cache/npm",
+      "XDG_CACHE_HOME", SCRATCH + "/cache");
+
+  private static final String JENKINS_DROP_IN = "/etc/systemd/system/jenkins.service.d/cloudforge.conf";
+
+  private static final List<String> JENKINS_EFS_HEAD = List.of(
+      "#!/bin/bash",
+      "set -euxo pipefail",
+      "echo '=== Jenkins EC2 User Data Script Started ===' >> /var/log/jenkins-userdata.log",
+      "echo 'Timestamp: ' $(date) >> /var/log/jenkins-userdata.log",
+      "",
+      "# Update system packages",
+      "echo 'Step 1: Updating system packages...' >> /var/log/jenkins-userdata.log",
+      "command -v dnf >/dev/null && dnf -y update || yum -y update",
+      "echo 'System packages updated successfully' >> /var/log/jenkins-userdata.log",
+      "",
+      "# Install Java 17",
+      "echo 'Step 2: Installing Java 17...' >> /var/log/jenkins-userdata.log",
+      "command -v dnf >/dev/null && dnf -y install java-17-amazon-corretto-headless || yum -y install java-17-amazon-corretto-headless",
+      "echo 'Java 17 installed successfully' >> /var/log/jenkins-userdata.log",
+      "",
+      "# Install Jenkins",
+      "echo 'Step 3: Installing Jenkins...' >> /var/log/jenkins-userdata.log",
+      "curl -fsSL https://pkg.jenkins.io/redhat-stable/jenkins.repo -o /etc/yum.repos.d/jenkins.repo",
+      "rpm --import https://pkg.jenkins.io/redhat-stable/jenkins.io-2023.key",
+      "command -v dnf >/dev/null && dnf -y install jenkins || yum -y install jenkins",
+      "echo 'Jenkins installed successfully' >> /var/log/jenkins-userdata.log",
+      "",
+      "# Install EFS utilities and mount EFS for persistent Jenkins storage",
+      "echo 'Step 4: Installing EFS utilities...' >> /var/log/jenkins-userdata.log",
+      "command -v dnf >/dev/null && dnf -y install amazon-efs-utils || yum -y install amazon-efs-utils",
+      "echo 'EFS utilities installed successfully' >> /var/log/jenkins-userdata.log",
+      "",
+      "# Mount EFS with access point (same as Fargate approach)",
+      "echo 'Step 5: Mounting EFS for Jenkins persistent storage...' >> /var/log/jenkins-userdata.log",
+      "mkdir -p /var/lib/jenkins");
+
+  private static final List<String> JENKINS_EFS_TAIL = List.of(
+      "mount -a || (echo 'EFS mount failed, checking logs...' >> /var/log/jenkins-userdata.log; journalctl -xe >> /var/log/jenkins-userdata.log; exit 1)",
+      "chown -R 1000:1000 /var/lib/jenkins || true",
+      "echo 'EFS mounted successfully for Jenkins persistent storage' >> /var/log/jenkins-userdata.log",
+      "",
+      "# Configure Jenkins",
+      "echo 'Step 6: Configuring and starting Jenkins...' >> /var/log/jenkins-userdata.log",
+      "systemctl enable jenkins",
+      "systemctl start jenkins",
+      "echo 'Jenkins service started successfully' >> /var/log/jenkins-userdata.log",
+      "",
+      "# Wait for Jenkins to be ready and log status",
+      "echo 'Step 7: Waiting for Jenkins to be ready...' >> /var/log/jenkins-userdata.log",
+      "sleep 30",
+      "systemctl status jenkins >> /var/log/jenkins-userdata.log 2>&1",
+      "echo 'Jenkins installation and configuration completed successfully!' >> /var/log/jenkins-userdata.log",
+      "echo 'Timestamp: ' $(date) >> /var/log/jenkins-userdata.log",
+      "echo '=== Jenkins EC2 User Data Script Completed ===' >> /var/log/jenkins-userdata.log");
+
+  private JenkinsUserData() {}
+
+  /** Mount the Jenkins home from an EFS access point. */
+  public static List<String> efsMount(String fileSystemId, String accessPointId) {
+    return List.of(
+        "command -v dnf >/dev/null && dnf -y install amazon-efs-utils || yum -y install amazon-efs-utils",
+        "mkdir -p /var/lib/jenkins",
+        String.format(EFS_FSTAB, fileSystemId, accessPointId),
+        "mount -a || (journalctl -xe; exit 1)",
+        "chown -R 1000:1000 /var/lib/jenkins || true",
+        "echo 'efs mounted' >> /var/log/jenkins-userdata.log");
+  }
+
+  /**
+   * Format and mount the instance's data volume as the Jenkins home. A volume that already has a
+   * file system is mounted as is; a blank one gets XFS with reflinks and 512-byte inodes so the
+   * extended attributes of Jenkins' many small files stay inline. The mount skips access-time
+   * updates and uses larger, more numerous log buffers for the metadata-heavy workload.
+   */
+  public static List<String> ebsMount() {
+    return EBS_MOUNT;
+  }
+
+  /**
+   * True when workspaces and build caches move to local scratch storage: {@code storageLayout=hybrid}
+   * with the Jenkins home on EFS. Without EFS the home is already on local storage and the layout
+   * is ignored. Every factory emitting storage for the controller decides through this.
+   */
+  public static boolean hybridStorage(SystemContext ctx) {
+    return "hybrid".equals(ctx.cfc.storageLayout()) && ctx.efs.get().isPresent();
+  }
+
+  /**
+   * Environment for a Jenkins controller whose workspaces and build caches live on local scratch
+   * storage ({@code storageLayout=hybrid}); configuration, jobs and build records stay in the
+   * Jenkins home on EFS. The workspace root itself is a system property, see
+   * {@link #workspaceJavaOptions()}.
+   */
+  public static Map<String, String> workspaceEnvironment() {
+    return WORKSPACE_ENVIRONMENT;
+  }
+
+  /** System property moving the workspace root to scratch storage; Jenkins expands {@code ${ITEM_FULL_NAME}} itself. */
+  public static String workspaceJavaOptions() {
+    return "-Djenkins.model.Jenkins.workspacesDir=" + SCRATCH + "/workspace/${ITEM_FULL_NAME}";
+  }
+
+  /** Directories the Jenkins user must own on the scratch storage before the controller starts. */
+  public static String scratchDirectories() {
+    return SCRATCH + "/workspace " + SCRATCH + "/cache";
+  }
+
+  /**
+   * Mount local scratch storage for workspaces and build caches on an EC2 controller. NVMe
+   * instance store is used when the instance type has one, otherwise the volume attached as
+   * {@code /dev/xvdw}. Nothing on it outlives the instance.
+   */
+  public static List<String> workspaceMount() {
+    return WORKSPACE_MOUNT;
+  }
+
+  /**
+   * Restart the packaged Jenkins service with {@code JAVA_OPTS} and further environment from a
+   * systemd drop-in, replacing the unit's own {@code JAVA_OPTS}.
+   *
+   * @param javaOpts complete JVM options for the controller
+   * @param environment additional variables, e.g. {@link #workspaceEnvironment()}
+   */
+  public static List<String> jenkinsService(String javaOpts, Map<String, String> environment) {
+    StringBuilder dropIn = new StringBuilder("cat > " + JENKINS_DROP_IN + " << 'EOF'\n[Service]\n");
+    dropIn.append("Environment=\"JAVA_OPTS=").append(javaOpts).append("\"\n");
+    environment.forEach((k, v) -> dropIn.append("Environment=\"").append(k).append('=').append(v).append("\"\n"));
+    dropIn.append("EOF");
+    return List.of(
+        "mkdir -p /etc/systemd/system/jenkins.service.d /var/log/jenkins",
+        "chown jenkins:jenkins /var/log/jenkins",
+        dropIn.toString(),
+        "systemctl daemon-reload",
+        "systemctl restart jenkins",
+        "echo 'jenkins restarted with cloudforge JVM options' >> /var/log/jenkins-userdata.log");
+  }
+
+  /**
+   * Step-by-step user data for a single Jenkins instance on EFS, logging each step.
+   *
+   * @param fileSystemId file system id token
+   * @param accessPointId access point id token, or {@code "none"}
+   */
+  public static List<String> jenkinsEfsUserData(String fileSystemId, String accessPointId) {
+    List<String> out = new ArrayList<>(JENKINS_EFS_HEAD.size() + 1 + JENKINS_EFS_TAIL.size());
+    out.addAll(JENKINS_EFS_HEAD);
+    out.add(String.format(EFS_FSTAB, fileSystemId, accessPointId));
+    out.addAll(JENKINS_EFS_TAIL);
+    return out;
+  }
+
+  private static Map<String, String> orderedMap(String... kv) {
+    Map<String, String> m = new LinkedHashMap<>();
+    for (int i = 0; i < kv.length; i += 2) m.put(kv[i], kv[i + 1]);
+    return Collections.unmodifiableMap(m);
+  }
+}
@@ -0,0 +1,127 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.core.rules.Violation;
+import com.cloudforgeci.api.core.rules.Violation.Severity;
+import com.cloudforgeci.api.core.utilities.DnsLabel;
+import com.cloudforgeci.api.core.utilities.DnsName;
+import com.cloudforgeci.api.core.utilities.OneOf;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The field constraints declared on {@link DeploymentContext} ({@code @OneOf}, {@code @DnsName},
+ * {@code @DnsLabel}) that its parser leaves open, as plain Java checks.
+ *
+ * <p>Running the annotations through a Bean Validation provider bootstraps Hibernate Validator
+ * and an EL engine and reflects over the class on first use. The rows here are read from
+ * the annotations once, with their own messages, and evaluated with precompiled sets and the
+ * hand-written DNS scanners, so a fleet of contexts can be validated with no provider on the
+ * classpath.</p>
+ *
+ * <pre>{@code
+ * List<List<Violation>> all = DeploymentConstraints.validateAll(contexts);
+ * }</pre>
+ *
+ * <p>A {@code @OneOf} field outside {@link DeploymentContext#LENIENT} never gets a row: the parser
+ * already throws on a value its annotation does not list, so the row could never fail.
+ * {@code @DeploymentValidation} is not compiled: its cross-field checks live in
+ * {@link DeploymentPreflight}.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class DeploymentConstraints {
+
+  /** Source recorded on every constraint violation. */
+  public static final String SOURCE = "Constraint";
+
+  /**
+   * One compiled constraint.
+   *
+   * @param field DeploymentContext field the constraint is declared on
+   * @param constraint annotation simple name, used as the violation code
+   * @param message the annotation's message
+   * @param valid the check itself
+   */
+  public record Check(String field, String constraint, String message, Predicate<DeploymentContext> valid) {}
+
+  private static final DnsName.Validator DNS_NAME = new DnsName.Validator();
+  private static final DnsLabel.Validator DNS_LABEL = new DnsLabel.Validator();
+
+  /**
+   * Accessors for every field a check can be compiled for. Reflection only reads the annotations,
+   * once; the checks themselves go through these method references.
+   */
+  private static final Map<String, Function<DeploymentContext, String>> READERS = Map.of(
+      "tier", DeploymentContext::tier,
+      "env", DeploymentContext::env,
+      "domain", DeploymentContext::domain,
+      "subdomain", DeploymentContext::subdomain);
+
+  private static final List<Check> CHECKS = compile();
+
+  private DeploymentConstraints() {}
+
+  /** The compiled constraints, in declaration order. */
+  public static List<Check> checks() {
+    return CHECKS;
+  }
+
+  /** Every constraint {@code c} fails; empty when it is valid. */
+  public static List<Violation> validate(DeploymentContext c) {
+    List<Violation> out = new ArrayList<>(0);
+    for (Check check : CHECKS) {
+      if (!check.valid().test(c)) {
+        out.add(new Violation(check.constraint(), Severity.ERROR, check.field(), check.message(), SOURCE));
+      }
+    }
+    return out;
+  }
+
+  /** Validate many contexts; results are in input order. */
+  public static List<List<Violation>> validateAll(List<DeploymentContext> contexts) {
+    List<List<Violation>> out = new ArrayList<>(contexts.size());
+    for (DeploymentContext c : contexts) out.add(validate(c));
+    return out;
+  }
+
+  private static List<Check> compile() {
+    List<Check> out = new ArrayList<>();
+    for (Field f : DeploymentContext.class.getDeclaredFields()) {
+      OneOf oneOf = f.getAnnotation(OneOf.class);
+      DnsName dnsName = f.getAnnotation(DnsName.class);
+      DnsLabel dnsLabel = f.getAnnotation(DnsLabel.class);
+      if (oneOf != null && DeploymentContext.LENIENT.contains(f.getName())) {
+        Set<String> allowed = Set.copyOf(DeploymentContext.ONE_OF.get(f.getName()));
+        Function<DeploymentContext, String> value = reader(f);
+        out.add(new Check(f.getName(), "OneOf", oneOf.message(), c -> {
+          String v = value.apply(c);
+          return v == null || allowed.contains(v);
+        }));
+      }
+      if (dnsName != null) {
+        Function<DeploymentContext, String> value = reader(f);
+        out.add(new Check(f.getName(), "DnsName", dnsName.message(), c -> DNS_NAME.isValid(value.apply(c), null)));
+      }
+      if (dnsLabel != null) {
+        Function<DeploymentContext, String> value = reader(f);
+        out.add(new Check(f.getName(), "DnsLabel", dnsLabel.message(), c -> DNS_LABEL.isValid(value.apply(c), null)));
+      }
+    }
+    return List.copyOf(out);
+  }
+
+  private static Function<DeploymentContext, String> reader(Field f) {
+    Function<DeploymentContext, String> reader = READERS.get(f.getName());
+    if (reader == null) {
+      throw new IllegalStateException("No accessor registered for constrained field DeploymentContext." + f.getName());
+    }
+    return reader;
+  }
+}
@@ -3,6 +3,9 @@ package com.cloudforgeci.api.core;
 import com.cloudforgeci.api.core.utilities.DnsLabel;
 import com.cloudforgeci.api.core.utilities.DnsName;
 import com.cloudforgeci.api.core.utilities.OneOf;
+import com.cloudforgeci.api.core.performance.PerformanceProfiles;
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.TopologyType;
 import com.cloudforgeci.api.interfaces.SecurityProfile;
@@ -10,12 +13,15 @@ import software.amazon.awscdk.App;
 import software.amazon.awscdk.Stack;
 import software.constructs.Construct;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Typed façade over CDK context (cdk.json / -c flags).
@@ -26,6 +32,8 @@ import java.util.Map;
  *   topology:        "jenkins-single-node" | "jenkins-service" | "s3-website"
  *   env:             "dev" | "stage" | "prod"                (default: dev)
  *   securityProfile: "dev" | "staging" | "production"       (default: dev) -> SecurityProfile enum
+ *   performanceProfile: "small" | "medium" | "large" | "xlarge" (default: small) -> PerformanceProfile enum;
+ *                    supplies the defaults for cpu, memory, instanceType and cpuTargetUtilization
  *   region:          e.g. "us-east-1"                        (default: us-east-1)
  *   domain:          e.g. "example.com"
  *   subdomain:       e.g. "jenkins" (used to compute fqdn if not provided)
@@ -42,10 +50,24 @@ import java.util.Map;
  *   lbType:          "alb" | "nlb"                            (default: alb)
  *   minInstanceCapacity: default 1
  *   maxInstanceCapacity: default 3
- *   cpuTargetUtilization: default 60
- *   cpu:             integer vCPU units (Fargate taskDef)     (default: 1024)
- *   memory:          integer MiB                              (default: 2048)
- *   instanceType:    EC2 instance type (e.g., "t3.micro")    (default: t3.micro)
+ *   cpuTargetUtilization: default from performanceProfile (small: 60)
+ *   cpu:             integer vCPU units (Fargate taskDef)     (default from performanceProfile, small: 1024)
+ *   memory:          integer MiB                              (default from performanceProfile, small: 2048)
+ *   instanceType:    EC2 instance type (e.g., "t3.micro")    (default from performanceProfile, small: t3.micro)
+ *   jenkinsJavaOpts: extra controller JVM flags, appended to the ones sized from memory/instanceType (optional)
+ *   enableAgents:    ephemeral Fargate build agents next to a Fargate controller (default: false)
+ *   controllerExecutors: executors on the controller when agents are enabled (default: 0)
+ *   efsThroughputMode: "bursting" | "elastic" | "provisioned" (default from performanceProfile, small: bursting)
+ *   efsProvisionedThroughput: integer MiB/s, required with efsThroughputMode=provisioned
+ *   efsPerformanceMode: "generalPurpose" | "maxIO"            (default: generalPurpose)
+ *   ebsVolumeType:   "standard" | "gp3" | "io2"              (default from performanceProfile, small: standard)
+ *   ebsRootVolumeSize: integer GiB, EC2 root volume           (default from performanceProfile, small: 20)
+ *   ebsDataVolumeSize: integer GiB, EC2 Jenkins home without EFS (default from performanceProfile, small: 100)
+ *   ebsIops:         integer IOPS for the data volume; gp3 3000-16000, required with io2 (default: volume type baseline)
+ *   ebsThroughput:   integer MiB/s for a gp3 data volume, 125-1000 (default: 0, the gp3 baseline of 125)
+ *   storageLayout:   "efs" | "hybrid"                        (default: efs); hybrid keeps configuration, jobs and
+ *                    build records on EFS and moves workspaces and build caches to local storage
+ *   workspaceStorageSize: integer GiB of local storage for hybrid (default: 100); Fargate ephemeral storage 21-200
  *   enableMonitoring: enable CloudWatch monitoring             (default: true)
  *   enableEncryption: enable encryption at rest               (default: true)
  *   logRetentionDays: CloudWatch log retention in days        (default: 7)
@@ -60,6 +82,10 @@ import java.util.Map;
  *   region:          AWS region override                       (optional)
  *   tags:            JSON object of additional tags            (optional)
  *   stackName:       CDK stack name                           (optional)
+ *   profileSynth:    write a synthesis timing report next to cdk.out (default: false)
+ *   resourceBudget:  resources per stack before groups move to nested stacks (default: 400)
+ *   nestedStacks:    "auto" | "always" | "never"               (default: auto)
+ *   stackLayout:     "single" | "layered" (network/data/edge/compute stacks) (default: single)
  *
  * Legacy one-field combos (still accepted, mapped to runtime+topology):
  *   runtime: "jenkins-fargate" -> topology=JENKINS_SERVICE, runtime=FARGATE
@@ -69,10 +95,28 @@ import java.util.Map;
  *
  * Read via:
  *   DeploymentContext cfc = DeploymentContext.from(app);
- * or DeploymentContext.from(scope) inside a Stack/Construct.
+ * or DeploymentContext.from(scope) inside a Stack/Construct,
+ * or DeploymentContext.fromContext(map) for a context read without a construct tree.
  */
 public final class DeploymentContext {
 
+    /**
+     * Allowed values of every {@code @OneOf} field, in declaration order, read from the annotations.
+     * The parser, {@link DeploymentPreflight} and {@link DeploymentConstraints} all use this table,
+     * so each value list is written once, on its field.
+     */
+    static final Map<String, List<String>> ONE_OF = oneOfAnnotations();
+
+    /**
+     * {@code @OneOf} fields the parser keeps as given; {@link DeploymentConstraints} reports their
+     * bad values. Every other {@code @OneOf} field is rejected by the parser.
+     */
+    static final Set<String> LENIENT = Set.of("tier", "env");
+
+    private static final List<String> PERFORMANCE_PROFILES = Arrays.stream(PerformanceProfile.values())
+            .map(p -> p.name().toLowerCase(Locale.ROOT))
+            .toList();
+
     // Raw map snapshot (frozen)
     private final Map<String, Object> raw;
 
@@ -84,6 +128,7 @@ public final class DeploymentContext {
     private final String env;         // dev | stage | prod
     
     private final SecurityProfile securityProfile; // DEV | STAGING | PRODUCTION
+    private final PerformanceProfile performanceProfile; // SMALL | MEDIUM | LARGE | XLARGE
     private final String region;      // default: us-east-1
 
     // Naming / DNS
@@ -125,6 +170,11 @@ public final class DeploymentContext {
     private final boolean enableEncryption;
     private final Integer logRetentionDays;
     private final String instanceType;
+    private final String jenkinsJavaOpts;
+
+    // Build agents
+    private final boolean enableAgents;
+    private final int controllerExecutors;
     
     // Health Check Configuration
     private final Integer healthCheckGracePeriod;
@@ -137,6 +187,26 @@ public final class DeploymentContext {
     private final int cpu;
     private final int memory;
 
+    // Jenkins home on EFS
+    @OneOf(value = {"bursting", "elastic", "provisioned"}, message = "efsThroughputMode must be 'bursting', 'elastic', or 'provisioned'")
+    private final String efsThroughputMode;
+    private final int efsProvisionedThroughput; // MiB/s, provisioned mode only
+    @OneOf(value = {"generalPurpose", "maxIO"}, message = "efsPerformanceMode must be 'generalPurpose' or 'maxIO'")
+    private final String efsPerformanceMode;
+
+    // Jenkins home on EBS (EC2 without EFS)
+    @OneOf(value = {"standard", "gp3", "io2"}, message = "ebsVolumeType must be 'standard', 'gp3', or 'io2'")
+    private final String ebsVolumeType;
+    private final int ebsRootVolumeSize; // GiB
+    private final int ebsDataVolumeSize; // GiB
+    private final int ebsIops;           // 0 = volume type baseline
+    private final int ebsThroughput;     // MiB/s, gp3 only; 0 = baseline
+
+    // Where workspaces live
+    @OneOf(value = {"efs", "hybrid"}, message = "storageLayout must be 'efs' or 'hybrid'")
+    private final String storageLayout;
+    private final int workspaceStorageSize; // GiB, hybrid only
+
     // Derived conveniences
     private final boolean enableSsl;
     private final boolean createZone;
@@ -156,27 +226,43 @@ public final class DeploymentContext {
     private final String tags;
     private final String stackName;
 
+    // Diagnostics
+    private final boolean profileSynth;
+
+    // Stack size
+    private final int resourceBudget;
+    @OneOf(value = {"auto", "always", "never"}, message = "nestedStacks must be 'auto', 'always', or 'never'")
+    private final String nestedStacks;
+    @OneOf(value = {"single", "layered"}, message = "stackLayout must be 'single' or 'layered'")
+    private final String stackLayout;
+
     protected DeploymentContext(Map<String, Object> raw) {
+        this(raw, true);
+    }
+
+    /** {@code validate=false} is for {@link DeploymentPreflight}, which reports the same problems itself. */
+    DeploymentContext(Map<String, Object> raw, boolean validate) {
         this.raw = Collections.unmodifiableMap(new LinkedHashMap<>(raw));
 
-        this.tier   = str("tier", "public");
-        this.env    = str("env", "dev");
+        this.tier   = oneOf("tier", "public");
+        this.env    = oneOf("env", "dev");
         this.securityProfile = parseSecurityProfile(str("securityProfile", "dev"));
         this.region = str("region", "us-east-1");
+        this.performanceProfile = PerformanceProfile.valueOf(
+                oneOf("performanceProfile", "small", PERFORMANCE_PROFILES).toUpperCase(Locale.ROOT));
+        final PerformanceProfileConfiguration perf = PerformanceProfiles.configuration(performanceProfile);
 
         this.domain = str("domain", null);
         this.subdomain = str("subdomain", null);
         String fqdnCtx = str("fqdn", null);
         this.fqdn = (fqdnCtx != null) ? fqdnCtx : composeFqdn(subdomain, domain);
 
-        this.networkMode = oneOf("networkMode", "public-no-nat",
-                List.of("public-no-nat", "private-with-nat"));
+        this.networkMode = oneOf("networkMode", "public-no-nat");
         this.wafEnabled = bool("wafEnabled", false);
         this.cloudfront = bool("cloudfront", false);
-        this.lbType = oneOf("lbType", "alb", List.of("alb", "nlb"));
+        this.lbType = oneOf("lbType", "alb");
 
-        this.authMode = oneOf("authMode", "none",
-                List.of("none", "alb-oidc", "jenkins-oidc"));
+        this.authMode = oneOf("authMode", "none");
 
         this.ssoInstanceArn = str("ssoInstanceArn", null);
         this.ssoGroupId = str("ssoGroupId", null);
@@ -185,12 +271,25 @@ public final class DeploymentContext {
         this.artifactsBucket = str("artifactsBucket", null);
         this.artifactsPrefix = str("artifactsPrefix", "jenkins/job/${JOB_NAME}/${BUILD_NUMBER}");
 
-        this.cpu = intval("cpu", 1024);
-        this.memory = intval("memory", 2048);
+        this.cpu = intval("cpu", perf.getCpu());
+        this.memory = intval("memory", perf.getMemory());
+
+        this.efsThroughputMode = oneOf("efsThroughputMode", perf.getEfsThroughputMode().name().toLowerCase(Locale.ROOT));
+        this.efsProvisionedThroughput = intval("efsProvisionedThroughput", 0);
+        this.efsPerformanceMode = oneOf("efsPerformanceMode", "generalPurpose");
+
+        this.ebsVolumeType = oneOf("ebsVolumeType", perf.getEbsVolumeType().name().toLowerCase(Locale.ROOT));
+        this.ebsRootVolumeSize = intval("ebsRootVolumeSize", perf.getRootVolumeSize());
+        this.ebsDataVolumeSize = intval("ebsDataVolumeSize", perf.getDataVolumeSize());
+        this.ebsIops = intval("ebsIops", 0);
+        this.ebsThroughput = intval("ebsThroughput", 0);
+
+        this.storageLayout = oneOf("storageLayout", "efs");
+        this.workspaceStorageSize = intval("workspaceStorageSize", 100);
 
         this.minInstanceCapacity = intval("minInstanceCapacity", 1);
         this.maxInstanceCapacity = intval("maxInstanceCapacity", 1);
-        this.cpuTargetUtilization = intval("cpuTargetUtilization", 60);
+        this.cpuTargetUtilization = intval("cpuTargetUtilization", perf.getCpuTargetUtilization());
 
         this.enableFlowlogs = bool("enableFlowlogs", false);
         
@@ -198,7 +297,11 @@ public final class DeploymentContext {
         this.enableMonitoring = bool("enableMonitoring", true);
         this.enableEncryption = bool("enableEncryption", true);
         this.logRetentionDays = intval("logRetentionDays", 7);
-        this.instanceType = str("instanceType", "t3.micro");
+        this.instanceType = str("instanceType", perf.getInstanceType());
+        this.jenkinsJavaOpts = str("jenkinsJavaOpts", null);
+
+        this.enableAgents = bool("enableAgents", false);
+        this.controllerExecutors = intval("controllerExecutors", 0);
         
         // Health Check Configuration
         this.healthCheckGracePeriod = intval("healthCheckGracePeriod", 300);
@@ -214,6 +317,12 @@ public final class DeploymentContext {
         this.tags = str("tags", null);
         this.stackName = str("stackName", null);
 
+        this.profileSynth = bool("profileSynth", false);
+
+        this.resourceBudget = intval("resourceBudget", ResourceBudget.DEFAULT_BUDGET);
+        this.nestedStacks = oneOf("nestedStacks", "auto");
+        this.stackLayout = oneOf("stackLayout", "single");
+
         // Legacy/alias inputs
         String runtimeAlias = str("runtime", "fargate");
         this.runtimeRaw = runtimeAlias;
@@ -230,7 +339,7 @@ public final class DeploymentContext {
         // Zone creation flag - only create hosted zones when explicitly requested
         this.createZone = bool("createZone", false);
 
-        validateOrThrow();
+        if (validate) validateOrThrow();
     }
 
     /** Build from the 'cfc' context object on the App. */
@@ -243,6 +352,11 @@ public final class DeploymentContext {
         return Util.extractDeploymentContext(scope.getNode().tryGetContext("cfc"));
     }
 
+    /** Build from a 'cfc' context value (Map or JSON string) read outside any construct tree. */
+    public static DeploymentContext fromContext(Object cfc) {
+        return Util.extractDeploymentContext(cfc);
+    }
+
     // --------- Public getters ---------
 
     public String tier() { return tier; }
@@ -257,6 +371,8 @@ public final class DeploymentContext {
         return securityProfile;
     }
     
+    public PerformanceProfile performanceProfile() { return performanceProfile; }
+
     public String region() { return region; }
 
     public String domain() { return domain; }
@@ -279,6 +395,10 @@ public final class DeploymentContext {
     public boolean enableEncryption() { return enableEncryption; }
     public Integer logRetentionDays() { return logRetentionDays; }
     public String instanceType() { return instanceType; }
+    public String jenkinsJavaOpts() { return jenkinsJavaOpts; }
+
+    public boolean enableAgents() { return enableAgents; }
+    public int controllerExecutors() { return controllerExecutors; }
     
     // Health Check Configuration
     public Integer healthCheckGracePeriod() { return healthCheckGracePeriod; }
@@ -299,12 +419,33 @@ public final class DeploymentContext {
     public String tags() { return tags; }
     public String stackName() { return stackName; }
 
+    // Diagnostics
+    public boolean profileSynth() { return profileSynth; }
+
+    // Stack size
+    public int resourceBudget() { return resourceBudget; }
+    public String nestedStacks() { return nestedStacks; }
+    public String stackLayout() { return stackLayout; }
+
     public String artifactsBucket() { return artifactsBucket; }
     public String artifactsPrefix() { return artifactsPrefix; }
 
     public int cpu() { return cpu; }
     public int memory() { return memory; }
 
+    public String efsThroughputMode() { return efsThroughputMode; }
+    public int efsProvisionedThroughput() { return efsProvisionedThroughput; }
+    public String efsPerformanceMode() { return efsPerformanceMode; }
+
+    public String ebsVolumeType() { return ebsVolumeType; }
+    public int ebsRootVolumeSize() { return ebsRootVolumeSize; }
+    public int ebsDataVolumeSize() { return ebsDataVolumeSize; }
+    public int ebsIops() { return ebsIops; }
+    public int ebsThroughput() { return ebsThroughput; }
+
+    public String storageLayout() { return storageLayout; }
+    public int workspaceStorageSize() { return workspaceStorageSize; }
+
     public boolean enableSsl() { return enableSsl; }
     public boolean createZone() { return createZone; }
 
@@ -364,6 +505,16 @@ public final class DeploymentContext {
             errs.add("authMode=alb-oidc requires HTTPS listener; set enableSsl=true and provide fqdn/domain.");
         }
 
+        if ("provisioned".equals(efsThroughputMode) && efsProvisionedThroughput < 1) {
+            errs.add("efsThroughputMode=provisioned requires efsProvisionedThroughput (MiB/s) >= 1");
+        }
+        if ("elastic".equals(efsThroughputMode) && "maxIO".equals(efsPerformanceMode)) {
+            errs.add("efsThroughputMode=elastic requires efsPerformanceMode=generalPurpose");
+        }
+        if ("io2".equals(ebsVolumeType) && ebsIops < 1) {
+            errs.add("ebsVolumeType=io2 requires ebsIops >= 1");
+        }
+
         // Cross-axis sanity (context level; rules will also validate)
         if (topology == TopologyType.JENKINS_SINGLE_NODE && runtime != RuntimeType.EC2) {
             errs.add("JENKINS_SINGLE_NODE requires runtime=EC2 (got " + runtime + ")");
@@ -474,6 +625,11 @@ public final class DeploymentContext {
         try { return Integer.parseInt(v.toString().trim()); } catch (Exception e) { return def; }
     }
 
+    /** A {@code @OneOf} field; its annotation lists the allowed values. */
+    private String oneOf(String key, String def) {
+        return LENIENT.contains(key) ? str(key, def) : oneOf(key, def, ONE_OF.get(key));
+    }
+
     private String oneOf(String key, String def, List<String> allowed) {
         String val = str(key, def);
         if (!allowed.contains(val)) {
@@ -495,6 +651,25 @@ public final class DeploymentContext {
                 '}';
     }
 
+    /** Keys the parser rejects unknown values for, with the values it accepts. */
+    static Map<String, List<String>> enforcedValues() {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        out.put("performanceProfile", PERFORMANCE_PROFILES);
+        ONE_OF.forEach((key, allowed) -> {
+            if (!LENIENT.contains(key)) out.put(key, allowed);
+        });
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static Map<String, List<String>> oneOfAnnotations() {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        for (Field f : DeploymentContext.class.getDeclaredFields()) {
+            OneOf oneOf = f.getAnnotation(OneOf.class);
+            if (oneOf != null) out.put(f.getName(), List.of(oneOf.value()));
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
     static DeploymentContext of(Map<String, Object> raw) {
         return new DeploymentContext(raw);
     }
@@ -0,0 +1,413 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.core.rules.Violation;
+import com.cloudforgeci.api.core.rules.Violation.Severity;
+import com.cloudforgeci.api.core.utilities.DnsLabel;
+import com.cloudforgeci.api.core.utilities.DnsName;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construct-free validation of a {@code cfc} context.
+ *
+ * <p>Evaluates every check that depends only on the deployment context - enum values, the
+ * topology/runtime cross-checks, SSL and FQDN requirements, {@code alb-oidc} prerequisites,
+ * capacity bounds, health-check timing, Fargate task sizes, EFS modes, EBS volume limits, the
+ * storage layout, JVM options and build agents - without creating an App, a SystemContext or any construct, so
+ * the jsii runtime is never started. Unlike {@link DeploymentContext}, which throws on the first
+ * failed group, every problem is reported.</p>
+ *
+ * <pre>{@code
+ * DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of("runtime", "fargate", "cpu", 256, "memory", 4096));
+ * r.ok();        // false
+ * r.errors();    // [ERROR [Preflight] Fargate cpu=256 supports memory 512, 1024, 2048 MiB (got 4096)]
+ * }</pre>
+ *
+ * <p>Checks that need constructs (slot presence, wiring) still run at synthesis through the
+ * compiled rule sets.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class DeploymentPreflight {
+
+  /** Source recorded on every preflight violation. */
+  public static final String SOURCE = "Preflight";
+
+  public static final String CONTEXT_JSON = "context.json";
+  public static final String CONTEXT_VALUE = "context.value";
+  public static final String TOPOLOGY_RUNTIME = "topology.runtime";
+  public static final String SSL_HOST = "ssl.host";
+  public static final String AUTH_OIDC = "auth.alb-oidc";
+  public static final String DNS_NAME = "dns.name";
+  public static final String CAPACITY = "capacity.bounds";
+  public static final String HEALTH_CHECK = "healthcheck.timing";
+  public static final String FARGATE_SIZE = "fargate.size";
+  public static final String EFS_MODE = "efs.mode";
+  public static final String EBS_VOLUME = "ebs.volume";
+  public static final String STORAGE_LAYOUT = "storage.layout";
+  public static final String JVM_OPTIONS = "jvm.options";
+  public static final String AGENTS = "agents";
+
+  /**
+   * Outcome of a preflight check.
+   *
+   * @param violations every problem found, errors and warnings, in check order
+   */
+  public record Result(List<Violation> violations) {
+    /** True when there are no errors; warnings are allowed. */
+    public boolean ok() {
+      return errors().isEmpty();
+    }
+
+    public List<Violation> errors() {
+      return violations.stream().filter(v -> v.severity() == Severity.ERROR).toList();
+    }
+
+    public List<Violation> warnings() {
+      return violations.stream().filter(v -> v.severity() == Severity.WARNING).toList();
+    }
+  }
+
+  /** Keys whose value must be one of a fixed set; DeploymentContext rejects anything else. */
+  private static final Map<String, List<String>> ONE_OF = DeploymentContext.enforcedValues();
+
+  /** Keys DeploymentContext parses as integers, silently falling back to the default. */
+  private static final List<String> INTEGER_KEYS = List.of(
+      "cpu", "memory", "minInstanceCapacity", "maxInstanceCapacity", "cpuTargetUtilization",
+      "logRetentionDays", "healthCheckGracePeriod", "healthCheckInterval", "healthCheckTimeout",
+      "healthyThreshold", "unhealthyThreshold", "resourceBudget", "efsProvisionedThroughput",
+      "ebsRootVolumeSize", "ebsDataVolumeSize", "ebsIops", "ebsThroughput", "workspaceStorageSize",
+      "controllerExecutors");
+
+  /** Fargate task sizes: cpu units -> {min MiB, max MiB, step MiB}; 256 cpu is listed explicitly. */
+  private static final Map<Integer, int[]> FARGATE_MEMORY = Map.of(
+      512, new int[]{1024, 4096, 1024},
+      1024, new int[]{2048, 8192, 1024},
+      2048, new int[]{4096, 16384, 1024},
+      4096, new int[]{8192, 30720, 1024},
+      8192, new int[]{16384, 61440, 4096},
+      16384, new int[]{32768, 122880, 8192});
+  private static final List<Integer> FARGATE_256_MEMORY = List.of(512, 1024, 2048);
+
+  private static final DnsName.Validator DNS_NAME_VALIDATOR = new DnsName.Validator();
+  private static final DnsLabel.Validator DNS_LABEL_VALIDATOR = new DnsLabel.Validator();
+
+  private DeploymentPreflight() {}
+
+  /**
+   * Check one context.
+   *
+   * @param cfc the {@code cfc} context as a Map or a JSON string, as accepted by {@link DeploymentContext#from}
+   */
+  public static Result check(Object cfc) {
+    List<Violation> out = new ArrayList<>();
+
+    Map<String, Object> raw;
+    try {
+      raw = Util.convertToContext(cfc);
+    } catch (RuntimeException e) {
+      out.add(error(CONTEXT_JSON, null, "Context is not a JSON object: " + e.getMessage()));
+      return new Result(out);
+    }
+
+    // Report bad enum values and fall back to defaults so the remaining checks still run
+    Map<String, Object> sanitized = null;
+    for (Map.Entry<String, List<String>> e : ONE_OF.entrySet()) {
+      Object v = raw.get(e.getKey());
+      if (v != null && !e.getValue().contains(String.valueOf(v))) {
+        out.add(error(CONTEXT_VALUE, e.getKey(),
+            String.format("Context '%s' must be one of %s (got '%s')", e.getKey(), e.getValue(), v)));
+        if (sanitized == null) sanitized = new HashMap<>(raw);
+        sanitized.remove(e.getKey());
+      }
+    }
+    for (String key : INTEGER_KEYS) {
+      Object v = raw.get(key);
+      if (v != null && !(v instanceof Number) && !isInteger(String.valueOf(v))) {
+        out.add(error(CONTEXT_VALUE, key, "Context '" + key + "' must be an integer (got '" + v + "')"));
+      }
+    }
+
+    checkContext(new DeploymentContext(sanitized != null ? sanitized : raw, false), out);
+    return new Result(out);
+  }
+
+  /** Check many contexts; results are in input order. */
+  public static List<Result> checkAll(List<?> contexts) {
+    List<Result> out = new ArrayList<>(contexts.size());
+    for (Object cfc : contexts) out.add(check(cfc));
+    return out;
+  }
+
+  private static void checkContext(DeploymentContext c, List<Violation> out) {
+    TopologyType topology = c.topology();
+    RuntimeType runtime = c.runtime();
+
+    // Topology / runtime
+    if (topology == TopologyType.JENKINS_SINGLE_NODE && runtime != RuntimeType.EC2) {
+      out.add(error(TOPOLOGY_RUNTIME, "runtime", "JENKINS_SINGLE_NODE requires runtime=EC2 (got " + runtime + ")"));
+    }
+    if (topology == TopologyType.S3_WEBSITE && c.enableSsl() && !c.cloudfrontEnabled()) {
+      out.add(error(TOPOLOGY_RUNTIME, "cloudfront",
+          "S3_WEBSITE with enableSsl=true requires cloudfront=true (viewer TLS at edge)"));
+    }
+    if ("layered".equals(c.stackLayout()) && topology == TopologyType.S3_WEBSITE) {
+      out.add(error(TOPOLOGY_RUNTIME, "stackLayout", "stackLayout=layered applies to Jenkins topologies only"));
+    }
+
+    // DNS names
+    if (!DNS_NAME_VALIDATOR.isValid(c.domain(), null)) {
+      out.add(error(DNS_NAME, "domain", "Domain must be a valid DNS name (got '" + c.domain() + "')"));
+    }
+    if (!DNS_LABEL_VALIDATOR.isValid(c.subdomain(), null)) {
+      out.add(error(DNS_NAME, "subdomain", "Subdomain must be a valid DNS label (got '" + c.subdomain() + "')"));
+    }
+    if (c.raw().get("fqdn") != null && !DNS_NAME_VALIDATOR.isValid(c.fqdn(), null)) {
+      out.add(error(DNS_NAME, "fqdn", "fqdn must be a valid DNS name (got '" + c.fqdn() + "')"));
+    }
+
+    // SSL needs a host name to issue the certificate for
+    boolean hasHost = c.fqdn() != null && !c.fqdn().isBlank();
+    if (c.enableSsl() && !hasHost) {
+      out.add(error(SSL_HOST, "fqdn", "enableSsl=true requires fqdn OR (subdomain + domain)"));
+    }
+    if (topology != TopologyType.S3_WEBSITE && c.enableSsl() && hasHost && (c.domain() == null || c.domain().isBlank())) {
+      out.add(warning(SSL_HOST, "domain",
+          "enableSsl=true with fqdn but no domain: no hosted zone, so no certificate or HTTPS listener is created"));
+    }
+    if (topology == TopologyType.S3_WEBSITE && c.cloudfrontEnabled() && !hasHost) {
+      out.add(error(SSL_HOST, "fqdn", "cloudfront=true requires fqdn OR (subdomain + domain)"));
+    }
+
+    // alb-oidc authenticates on the HTTPS listener
+    if ("alb-oidc".equals(c.authMode()) && !c.enableSsl()) {
+      out.add(error(AUTH_OIDC, "enableSsl", "authMode=alb-oidc requires enableSsl=true"));
+    }
+
+    // Capacity
+    int min = c.minInstanceCapacity();
+    int max = c.maxInstanceCapacity();
+    if (min < 0) {
+      out.add(error(CAPACITY, "minInstanceCapacity", "minInstanceCapacity must be >= 0 (got " + min + ")"));
+    }
+    if (max < 1) {
+      out.add(error(CAPACITY, "maxInstanceCapacity", "maxInstanceCapacity must be >= 1 (got " + max + ")"));
+    }
+    if (min > max) {
+      out.add(error(CAPACITY, "minInstanceCapacity",
+          "minInstanceCapacity (" + min + ") must not exceed maxInstanceCapacity (" + max + ")"));
+    }
+    int cpuTarget = c.cpuTargetUtilization();
+    if (cpuTarget < 1 || cpuTarget > 100) {
+      out.add(error(CAPACITY, "cpuTargetUtilization", "cpuTargetUtilization must be 1-100 (got " + cpuTarget + ")"));
+    }
+    if (topology == TopologyType.JENKINS_SINGLE_NODE && max > 1) {
+      out.add(warning(CAPACITY, "maxInstanceCapacity",
+          "JENKINS_SINGLE_NODE runs one instance; maxInstanceCapacity=" + max + " is ignored"));
+    }
+
+    int budget = c.resourceBudget();
+    if (budget < 1 || budget > ResourceBudget.CLOUDFORMATION_LIMIT) {
+      out.add(error(CAPACITY, "resourceBudget",
+          "resourceBudget must be 1-" + ResourceBudget.CLOUDFORMATION_LIMIT + " (got " + budget + ")"));
+    }
+
+    // ALB rejects a health-check timeout that is not shorter than the interval
+    int interval = c.healthCheckInterval();
+    int timeout = c.healthCheckTimeout();
+    if (timeout >= interval) {
+      out.add(error(HEALTH_CHECK, "healthCheckTimeout",
+          "healthCheckTimeout (" + timeout + "s) must be less than healthCheckInterval (" + interval + "s)"));
+    }
+
+    if (runtime == RuntimeType.FARGATE && topology != TopologyType.S3_WEBSITE) {
+      checkFargateSize(c.cpu(), c.memory(), out);
+    }
+
+    checkEfs(c, out);
+    checkEbs(c, out);
+    checkStorageLayout(c, out);
+    checkAgents(c, out);
+
+    // Written verbatim into a systemd Environment="..." line on EC2
+    String javaOpts = c.jenkinsJavaOpts();
+    if (javaOpts != null && (javaOpts.contains("\"") || javaOpts.contains("\n") || javaOpts.contains("%"))) {
+      out.add(error(JVM_OPTIONS, "jenkinsJavaOpts", "jenkinsJavaOpts must not contain double quotes, newlines or '%'"));
+    }
+  }
+
+  private static void checkAgents(DeploymentContext c, List<Violation> out) {
+    if (c.controllerExecutors() < 0) {
+      out.add(error(AGENTS, "controllerExecutors", "controllerExecutors must be >= 0 (got " + c.controllerExecutors() + ")"));
+    }
+    if (c.enableAgents() && (c.runtime() != RuntimeType.FARGATE || c.topology() == TopologyType.S3_WEBSITE)) {
+      out.add(warning(AGENTS, "enableAgents", "Build agents are created for Fargate Jenkins controllers only; enableAgents is ignored"));
+    } else if (!c.enableAgents() && c.raw().get("controllerExecutors") != null) {
+      // Without agents the controller keeps the executor count of its own image
+      out.add(warning(AGENTS, "controllerExecutors", "controllerExecutors applies with enableAgents only; it is ignored"));
+    }
+  }
+
+  private static void checkStorageLayout(DeploymentContext c, List<Violation> out) {
+    boolean hybrid = "hybrid".equals(c.storageLayout());
+    if (c.topology() == TopologyType.S3_WEBSITE) {
+      for (String key : List.of("storageLayout", "workspaceStorageSize")) {
+        if (c.raw().get(key) != null) {
+          out.add(warning(STORAGE_LAYOUT, key, "S3_WEBSITE has no Jenkins workspaces; " + key + " is ignored"));
+        }
+      }
+      return;
+    }
+    if (!hybrid) {
+      if (c.raw().get("workspaceStorageSize") != null) {
+        out.add(warning(STORAGE_LAYOUT, "workspaceStorageSize",
+            "workspaceStorageSize applies to storageLayout=hybrid only; it is ignored"));
+      }
+      return;
+    }
+    int size = c.workspaceStorageSize();
+    if (c.runtime() == RuntimeType.FARGATE) {
+      // Task ephemeral storage also holds the image and writable layer
+      if (size < 21 || size > 200) {
+        out.add(error(STORAGE_LAYOUT, "workspaceStorageSize",
+            "Fargate ephemeral storage must be 21-200 GiB (got workspaceStorageSize=" + size + ")"));
+      }
+    } else if (size < 1) {
+      out.add(error(STORAGE_LAYOUT, "workspaceStorageSize", "workspaceStorageSize must be >= 1 GiB (got " + size + ")"));
+    }
+  }
+
+  private static void checkEfs(DeploymentContext c, List<Violation> out) {
+    if (c.topology() == TopologyType.S3_WEBSITE) {
+      for (String key : List.of("efsThroughputMode", "efsProvisionedThroughput", "efsPerformanceMode")) {
+        if (c.raw().get(key) != null) {
+          out.add(warning(EFS_MODE, key, "S3_WEBSITE has no file system; " + key + " is ignored"));
+        }
+      }
+      return;
+    }
+    boolean provisioned = "provisioned".equals(c.efsThroughputMode());
+    if (provisioned && c.efsProvisionedThroughput() < 1) {
+      out.add(error(EFS_MODE, "efsProvisionedThroughput",
+          "efsThroughputMode=provisioned requires efsProvisionedThroughput (MiB/s) >= 1 (got " + c.efsProvisionedThroughput() + ")"));
+    }
+    if (!provisioned && c.raw().get("efsProvisionedThroughput") != null) {
+      out.add(warning(EFS_MODE, "efsProvisionedThroughput",
+          "efsProvisionedThroughput applies to efsThroughputMode=provisioned only (got " + c.efsThroughputMode() + "); it is ignored"));
+    }
+    if ("maxIO".equals(c.efsPerformanceMode())) {
+      if ("elastic".equals(c.efsThroughputMode())) {
+        out.add(error(EFS_MODE, "efsPerformanceMode", "efsThroughputMode=elastic requires efsPerformanceMode=generalPurpose"));
+      } else {
+        // Jenkins home is many small files; Max I/O trades per-operation latency for aggregate IOPS
+        out.add(warning(EFS_MODE, "efsPerformanceMode",
+            "efsPerformanceMode=maxIO raises per-operation latency for the many small files in Jenkins home"));
+      }
+    }
+  }
+
+  private static void checkEbs(DeploymentContext c, List<Violation> out) {
+    List<String> keys = List.of("ebsVolumeType", "ebsRootVolumeSize", "ebsDataVolumeSize", "ebsIops", "ebsThroughput");
+    if (c.runtime() != RuntimeType.EC2 || c.topology() == TopologyType.S3_WEBSITE) {
+      for (String key : keys) {
+        if (c.raw().get(key) != null) {
+          out.add(warning(EBS_VOLUME, key, "EBS volumes apply to EC2 Jenkins only; " + key + " is ignored"));
+        }
+      }
+      return;
+    }
+
+    int root = c.ebsRootVolumeSize();
+    int data = c.ebsDataVolumeSize();
+    if (root < 8) {
+      out.add(error(EBS_VOLUME, "ebsRootVolumeSize", "ebsRootVolumeSize must be >= 8 GiB for Amazon Linux (got " + root + ")"));
+    }
+    if (data < 1) {
+      out.add(error(EBS_VOLUME, "ebsDataVolumeSize", "ebsDataVolumeSize must be >= 1 GiB (got " + data + ")"));
+    }
+
+    // Volume type limits for the data volume
+    String type = c.ebsVolumeType();
+    int iops = c.ebsIops();
+    int throughput = c.ebsThroughput();
+    switch (type) {
+      case "gp3" -> {
+        if (iops != 0 && (iops < 3000 || iops > 16000)) {
+          out.add(error(EBS_VOLUME, "ebsIops", "gp3 supports ebsIops 3000-16000 (got " + iops + ")"));
+        }
+        if (throughput != 0 && (throughput < 125 || throughput > 1000)) {
+          out.add(error(EBS_VOLUME, "ebsThroughput", "gp3 supports ebsThroughput 125-1000 MiB/s (got " + throughput + ")"));
+        }
+        // gp3 allows 0.25 MiB/s per provisioned IOPS
+        int effectiveIops = iops != 0 ? iops : 3000;
+        if (throughput * 4 > effectiveIops) {
+          out.add(error(EBS_VOLUME, "ebsThroughput",
+              "gp3 ebsThroughput may not exceed ebsIops / 4 (" + throughput + " MiB/s with " + effectiveIops + " IOPS)"));
+        }
+      }
+      case "io2" -> {
+        if (iops < 100 || iops > 64000) {
+          out.add(error(EBS_VOLUME, "ebsIops", "ebsVolumeType=io2 requires ebsIops 100-64000 (got " + iops + ")"));
+        } else if (data > 0 && iops > data * 500) {
+          out.add(error(EBS_VOLUME, "ebsIops",
+              "io2 allows at most 500 IOPS per GiB; " + iops + " IOPS needs ebsDataVolumeSize >= " + ((iops + 499) / 500)));
+        }
+      }
+      default -> {
+        if (iops != 0) {
+          out.add(error(EBS_VOLUME, "ebsIops", "ebsIops applies to gp3 and io2 volumes (got ebsVolumeType=" + type + ")"));
+        }
+      }
+    }
+    if (throughput != 0 && !"gp3".equals(type)) {
+      out.add(error(EBS_VOLUME, "ebsThroughput", "ebsThroughput applies to gp3 volumes only (got ebsVolumeType=" + type + ")"));
+    }
+    // SMALL keeps magnetic volumes for existing deployments; only an explicit choice is flagged
+    if ("standard".equals(type) && c.raw().get("ebsVolumeType") != null) {
+      out.add(warning(EBS_VOLUME, "ebsVolumeType",
+          "ebsVolumeType=standard is magnetic storage; Jenkins home on it is slow under concurrent builds"));
+    }
+  }
+
+  private static void checkFargateSize(int cpu, int memory, List<Violation> out) {
+    if (cpu == 256) {
+      if (!FARGATE_256_MEMORY.contains(memory)) {
+        out.add(error(FARGATE_SIZE, "memory", "Fargate cpu=256 supports memory 512, 1024, 2048 MiB (got " + memory + ")"));
+      }
+      return;
+    }
+    int[] range = FARGATE_MEMORY.get(cpu);
+    if (range == null) {
+      out.add(error(FARGATE_SIZE, "cpu",
+          "Fargate cpu must be one of 256, 512, 1024, 2048, 4096, 8192, 16384 (got " + cpu + ")"));
+      return;
+    }
+    if (memory < range[0] || memory > range[1] || (memory - range[0]) % range[2] != 0) {
+      out.add(error(FARGATE_SIZE, "memory", String.format(
+          "Fargate cpu=%d supports memory %d-%d MiB in %d MiB steps (got %d)", cpu, range[0], range[1], range[2], memory)));
+    }
+  }
+
+  private static boolean isInteger(String s) {
+    try {
+      Integer.parseInt(s.trim());
+      return true;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static Violation error(String code, String key, String message) {
+    return new Violation(code, Severity.ERROR, key, message, SOURCE);
+  }
+
+  private static Violation warning(String code, String key, String message) {
+    return new Violation(code, Severity.WARNING, key, message, SOURCE);
+  }
+}
@@ -0,0 +1,115 @@
+package com.cloudforgeci.api.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * JVM options for the Jenkins controller, sized from the memory it runs in.
+ *
+ * <p>The heap is a percentage of the container or instance memory rather than a fixed
+ * {@code -Xmx}, so the JVM follows the cgroup limit on Fargate and the instance size on EC2.
+ * Small controllers keep more room for metaspace, thread stacks and direct buffers; large ones
+ * give most of the memory to the heap. Up to {@value #ZGC_THRESHOLD_MIB} MiB the controller runs
+ * G1 with the flags the Jenkins project recommends; above it ZGC keeps pauses short on the large
+ * heap. On the JDK 17 controllers ZGC is the single-generation collector: it trades some
+ * throughput and needs spare heap to keep allocating while it collects concurrently, which the
+ * larger heap share leaves it. It gets no string deduplication, which ZGC only supports from
+ * JDK 18. GC events are logged at info level - to stdout on Fargate, which the task ships to its
+ * log group, and to {@value #EC2_GC_LOG} on EC2, which the CloudWatch agent ships.</p>
+ *
+ * <p>{@code jenkinsJavaOpts} is appended, so its flags win over the generated ones. When it
+ * selects a collector itself, the generated collector flags are left out; HotSpot refuses to start
+ * with two.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class JenkinsJvmOptions {
+
+  /** Memory at and above which the controller runs ZGC instead of G1. */
+  public static final int ZGC_THRESHOLD_MIB = 16384;
+
+  /** GC log file on EC2 controllers. */
+  public static final String EC2_GC_LOG = "/var/log/jenkins/gc.log";
+
+  private static final Pattern SELECTS_GC = Pattern.compile("-XX:\\+Use\\w+GC\\b");
+
+  private static final List<String> G1 = List.of(
+      "-XX:+UseG1GC", "-XX:+UseStringDeduplication", "-XX:+ParallelRefProcEnabled", "-XX:+DisableExplicitGC");
+  private static final List<String> ZGC = List.of("-XX:+UseZGC");
+
+  private JenkinsJvmOptions() {}
+
+  /** Options for the controller container, sized from the task memory. */
+  public static String forFargate(DeploymentContext cfc) {
+    return options(cfc.memory(), "-Xlog:gc:stdout:time,uptime,level", cfc.jenkinsJavaOpts());
+  }
+
+  /** Options for the controller service on an instance, sized from the instance type. */
+  public static String forEc2(DeploymentContext cfc) {
+    return options(instanceMemoryMiB(cfc.instanceType()),
+        "-Xlog:gc:file=" + EC2_GC_LOG + ":time,uptime,level:filecount=5,filesize=20m", cfc.jenkinsJavaOpts());
+  }
+
+  static String options(int memoryMiB, String gcLog, String override) {
+    List<String> out = new ArrayList<>();
+    out.add("-Djava.awt.headless=true");
+    int heap = heapPercent(memoryMiB);
+    out.add("-XX:InitialRAMPercentage=" + heap + ".0");
+    out.add("-XX:MaxRAMPercentage=" + heap + ".0");
+    boolean overrideGc = override != null && SELECTS_GC.matcher(override).find();
+    if (!overrideGc) {
+      out.addAll(memoryMiB >= ZGC_THRESHOLD_MIB ? ZGC : G1);
+    }
+    out.add("-XX:+ExitOnOutOfMemoryError");
+    out.add(gcLog);
+    if (override != null && !override.isBlank()) {
+      out.add(override.trim());
+    }
+    return String.join(" ", out);
+  }
+
+  /** Heap share of memory: the fixed non-heap overhead matters less the larger the controller. */
+  static int heapPercent(int memoryMiB) {
+    if (memoryMiB <= 2048) return 50;
+    if (memoryMiB <= 8192) return 65;
+    return 75;
+  }
+
+  /**
+   * Approximate memory of an instance type: general-purpose sizes (large = 8 GiB, doubling per
+   * size), halved for compute-optimized and doubled for memory-optimized families. Unknown types
+   * count as 4 GiB.
+   */
+  static int instanceMemoryMiB(String instanceType) {
+    if (instanceType == null) return 4096;
+    String[] parts = instanceType.toLowerCase(Locale.ROOT).split("\\.");
+    if (parts.length != 2) return 4096;
+
+    String size = parts[1];
+    int mib;
+    switch (size) {
+      case "nano" -> mib = 512;
+      case "micro" -> mib = 1024;
+      case "small" -> mib = 2048;
+      case "medium" -> mib = 4096;
+      case "large" -> mib = 8192;
+      case "xlarge" -> mib = 16384;
+      default -> {
+        if (!size.endsWith("xlarge")) return 4096;
+        try {
+          mib = Integer.parseInt(size.substring(0, size.length() - "xlarge".length())) * 16384;
+        } catch (NumberFormatException e) {
+          return 4096;
+        }
+      }
+    }
+
+    char family = parts[0].charAt(0);
+    if (family == 'c') return mib / 2;
+    if (family == 'r' || family == 'x') return mib * 2;
+    return mib;
+  }
+}
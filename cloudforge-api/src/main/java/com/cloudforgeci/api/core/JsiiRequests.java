@@ -0,0 +1,93 @@
+package com.cloudforgeci.api.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * Counts the requests a thread sends to the jsii kernel.
+ *
+ * <p>The jsii runtime keeps a per-thread message inspector for its own tests and shows it every
+ * request and response crossing the bridge, including the ones CDK constructs make internally.
+ * The hook is not public API, so it is reached reflectively; {@link #start()} returns
+ * {@code false} on a runtime without it and callers report the count as unavailable.</p>
+ *
+ * <pre>{@code
+ * if (JsiiRequests.start()) {
+ *   long before = JsiiRequests.count();
+ *   Stack.of(scope);
+ *   long calls = JsiiRequests.count() - before;   // 1
+ * }
+ * }</pre>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class JsiiRequests {
+
+  private static final Logger LOG = Logger.getLogger(JsiiRequests.class.getName());
+
+  private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+  private static final ThreadLocal<Object> HOOK = hook();
+
+  private JsiiRequests() {}
+
+  /** True when the jsii runtime exposes the inspector hook. */
+  public static boolean available() {
+    return HOOK != null;
+  }
+
+  /**
+   * Count this thread's requests from now on; a no-op when already counting. Replaces any other
+   * inspector set on the thread.
+   *
+   * @return false when the jsii runtime has no inspector hook
+   */
+  public static boolean start() {
+    if (HOOK == null) return false;
+    if (COUNT.get() != null) return true;
+    long[] count = new long[1];
+    HOOK.set(inspector(count));
+    COUNT.set(count);
+    return true;
+  }
+
+  /** Requests sent by this thread since {@link #start()}; 0 when not counting. */
+  public static long count() {
+    long[] count = COUNT.get();
+    return count == null ? 0 : count[0];
+  }
+
+  /** Stop counting on this thread. */
+  public static void stop() {
+    if (HOOK == null) return;
+    HOOK.remove();
+    COUNT.remove();
+  }
+
+  private static Object inspector(long[] count) {
+    try {
+      Class<?> type = Class.forName("software.amazon.jsii.MessageInspector");
+      return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+        if (method.getName().equals("inspect") && "Request".equals(String.valueOf(args[1]))) count[0]++;
+        return null;
+      });
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("jsii MessageInspector disappeared after JsiiRuntime was found", e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ThreadLocal<Object> hook() {
+    try {
+      Class.forName("software.amazon.jsii.MessageInspector");
+      Field field = Class.forName("software.amazon.jsii.JsiiRuntime").getDeclaredField("messageInspector");
+      field.setAccessible(true);
+      return (ThreadLocal<Object>) field.get(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.fine(() -> "jsii request counting unavailable: " + e);
+      return null;
+    }
+  }
+}
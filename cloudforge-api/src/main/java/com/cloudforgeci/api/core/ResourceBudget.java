@@ -0,0 +1,292 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.core.annotation.BaseFactory;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+import software.constructs.IConstruct;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a {@link SystemContext} stack under CloudFormation's per-stack resource limit.
+ *
+ * <p>Constructs cannot be moved once created, so the decision is made up front: before the
+ * factories run, the stack's size is estimated from the deployment context and, when the
+ * estimate exceeds {@code resourceBudget} (default {@value #DEFAULT_BUDGET}), independent
+ * {@link Group}s are placed in nested stacks - observability first, then DNS, then networking,
+ * then build agents - until it fits. Factories ask for their scope through
+ * {@link SystemContext#scopeFor}. CDK turns references across the nested stack boundary into
+ * parameters and outputs.</p>
+ *
+ * <p>The estimate is the resources already in the stack when the context starts - whatever the app
+ * synthesizes alongside the deployment, counted as they are - plus roughly 40 to 70 for the
+ * Jenkins factories themselves. A stack that only holds a deployment therefore stays whole under
+ * the default budget, and one the app has already filled splits without any tuning. Constructs
+ * the app adds after {@link SystemContext#start} are only seen by validation.
+ * {@code nestedStacks} selects the policy: {@code auto} (default) splits only when needed,
+ * {@code always} splits every group, {@code never} keeps one stack. At validation the actual
+ * resources are counted per stack and per factory; a stack over the budget is logged and a
+ * stack over {@value #CLOUDFORMATION_LIMIT} fails synthesis instead of failing at deploy.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class ResourceBudget {
+
+  private static final Logger LOG = Logger.getLogger(ResourceBudget.class.getName());
+
+  /** Hard CloudFormation limit on resources in one stack. */
+  public static final int CLOUDFORMATION_LIMIT = 500;
+
+  /** Default {@code resourceBudget}; leaves headroom for resources CDK adds itself. */
+  public static final int DEFAULT_BUDGET = 400;
+
+  /** Resource groups that can live in their own nested stack, in the order they are split off. */
+  public enum Group {
+    OBSERVABILITY("Observability"),
+    DNS("Dns"),
+    NETWORK("Network"),
+    /** Build agent cluster, roles and task definitions; see {@link com.cloudforgeci.api.compute.AgentFactory}. */
+    COMPUTE("Compute");
+
+    /** Construct id of the group's nested stack. */
+    public final String stackId;
+
+    Group(String stackId) {
+      this.stackId = stackId;
+    }
+  }
+
+  /** {@code nestedStacks} policy. */
+  public enum Mode {
+    AUTO, ALWAYS, NEVER;
+
+    static Mode parse(String s) {
+      return valueOf(s.trim().toUpperCase(Locale.ROOT));
+    }
+  }
+
+  /**
+   * Actual resource counts.
+   *
+   * @param byStack resources per stack (root stack name, then nested stack ids)
+   * @param byFactory resources per factory path or top-level construct id, largest first
+   */
+  public record Analysis(Map<String, Integer> byStack, Map<String, Integer> byFactory) {
+    public int total() {
+      return byStack.values().stream().mapToInt(Integer::intValue).sum();
+    }
+  }
+
+  private final int budget;
+  private final Mode mode;
+  private final Map<Group, Integer> estimates;
+  private final int coreEstimate;
+  private final int existing;
+  private final Set<Group> split;
+  private final Map<Group, NestedStack> nested = new EnumMap<>(Group.class);
+
+  ResourceBudget(DeploymentContext cfc) {
+    this(cfc, 0);
+  }
+
+  /** {@code existing} resources are already in the stack before any factory runs. */
+  ResourceBudget(DeploymentContext cfc, int existing) {
+    this.budget = cfc.resourceBudget();
+    this.mode = Mode.parse(cfc.nestedStacks());
+    this.estimates = estimate(cfc);
+    this.coreEstimate = coreEstimate(cfc);
+    this.existing = existing;
+    this.split = plan();
+  }
+
+  /** CloudFormation resources already under {@code stack}, nested stacks included. */
+  static int existingResources(Stack stack) {
+    return (int) stack.getNode().findAll().stream().filter(c -> c instanceof CfnResource).count();
+  }
+
+  /** The budget in resources per stack. */
+  public int budget() {
+    return budget;
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  /** Groups that go into nested stacks for this deployment. */
+  public Set<Group> split() {
+    return Collections.unmodifiableSet(split);
+  }
+
+  /** Estimated resources in one stack if nothing were split, counting what the stack already holds. */
+  public int estimatedTotal() {
+    return estimates.values().stream().mapToInt(Integer::intValue).sum() + coreEstimate + existing;
+  }
+
+  /**
+   * Per-group estimate from the context, matched to what the Jenkins factories synthesize; it only
+   * decides whether to split.
+   */
+  private static Map<Group, Integer> estimate(DeploymentContext cfc) {
+    Map<Group, Integer> out = new EnumMap<>(Group.class);
+    // VPC, gateway, two public subnets with route tables; NAT adds EIPs and gateways; flow logs a log, role and policy
+    out.put(Group.NETWORK, (cfc.isPrivateWithNat() ? 21 : 17) + (cfc.enableFlowlogs() ? 3 : 0));
+    // Log group, ALB alarm and up to three EFS or EBS alarms; flow logs add their log group
+    out.put(Group.OBSERVABILITY, 5 + (cfc.enableFlowlogs() ? 1 : 0));
+    boolean dns = cfc.domain() != null && !cfc.domain().isBlank();
+    out.put(Group.DNS, (dns ? 2 : 0) + (cfc.createZone() ? 1 : 0));
+    // Cluster and its capacity providers, namespace, security group, roles and policy, three task definitions
+    out.put(Group.COMPUTE, cfc.enableAgents() ? 10 : 0);
+    return out;
+  }
+
+  /**
+   * Load balancer, listener, target group, security groups, EFS, compute and IAM; SSL adds the
+   * certificate and HTTPS listener; build agents add the controller's discovery service and grant,
+   * the rest of them is {@link Group#COMPUTE}.
+   */
+  private static int coreEstimate(DeploymentContext cfc) {
+    return 20 + (cfc.enableSsl() ? 3 : 0) + (cfc.enableAgents() ? 2 : 0);
+  }
+
+  private Set<Group> plan() {
+    EnumSet<Group> out = EnumSet.noneOf(Group.class);
+    if (mode == Mode.NEVER) return out;
+    if (mode == Mode.ALWAYS) return EnumSet.allOf(Group.class);
+
+    int total = estimatedTotal();
+    for (Group g : Group.values()) {
+      if (total <= budget) break;
+      if (estimates.get(g) <= 1) continue;
+      out.add(g);
+      // The group's resources leave; the AWS::CloudFormation::Stack resource stays behind
+      total -= estimates.get(g) - 1;
+    }
+    if (!out.isEmpty()) {
+      int estimated = estimatedTotal();
+      LOG.info(() -> "Estimated " + estimated + " resources exceeds resourceBudget=" + budget
+          + "; using nested stacks for " + out);
+    }
+    return out;
+  }
+
+  /** Scope for a group's constructs: its nested stack when split, otherwise {@code scope}. */
+  Construct scopeFor(Group group, Construct scope, SystemContext ctx) {
+    if (!split.contains(group)) return scope;
+    return nested.computeIfAbsent(group, g -> {
+      NestedStack stack = new NestedStack(Stack.of(scope), g.stackId);
+      SystemContext.register(stack, ctx);
+      return stack;
+    });
+  }
+
+  /**
+   * Count the CloudFormation resources under {@code root}, including its nested stacks.
+   * Costs a jsii round-trip per resource for its path.
+   */
+  public static Analysis analyze(Stack root) {
+    return analyze(root, root.getNode().findAll());
+  }
+
+  private static Analysis analyze(Stack root, List<IConstruct> all) {
+    String rootPath = root.getNode().getPath();
+    String rootName = root.getStackName();
+
+    List<String> stackPaths = new ArrayList<>();
+    List<String> factoryPaths = new ArrayList<>();
+    List<String> resourcePaths = new ArrayList<>();
+    for (IConstruct c : all) {
+      if (c == root) continue;
+      if (c instanceof NestedStack) stackPaths.add(c.getNode().getPath());
+      else if (c instanceof BaseFactory) factoryPaths.add(c.getNode().getPath());
+      else if (c instanceof CfnResource) resourcePaths.add(c.getNode().getPath());
+    }
+
+    Map<String, Integer> byStack = new LinkedHashMap<>();
+    byStack.put(rootName, 0);
+    Map<String, Integer> byFactory = new LinkedHashMap<>();
+    for (String path : resourcePaths) {
+      String stack = longestPrefix(stackPaths, path);
+      String stackLabel = stack == null ? rootName : stack.substring(stack.lastIndexOf('/') + 1);
+      byStack.merge(stackLabel, 1, Integer::sum);
+
+      String factory = longestPrefix(factoryPaths, path);
+      String owner = factory != null ? factory : topLevel(stack != null ? stack : rootPath, path);
+      byFactory.merge(owner.startsWith(rootPath + "/") ? owner.substring(rootPath.length() + 1) : owner, 1, Integer::sum);
+    }
+
+    Map<String, Integer> sorted = new LinkedHashMap<>();
+    byFactory.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+    return new Analysis(byStack, sorted);
+  }
+
+  /** Validation of {@code root} and its nested stacks: warn over budget, fail over the CloudFormation limit. */
+  List<String> validate(Stack root) {
+    List<IConstruct> all = root.getNode().findAll();
+    if (nested.isEmpty()) {
+      // One stack: the type check is enough, paths are only needed to explain an overrun
+      long count = all.stream().filter(c -> c instanceof CfnResource).count();
+      if (count <= budget) return List.of();
+    }
+
+    Analysis a = analyze(root, all);
+    List<String> errors = new ArrayList<>();
+    a.byStack().forEach((stack, count) -> {
+      if (count > CLOUDFORMATION_LIMIT) {
+        errors.add("Stack " + stack + " has " + count + " resources; CloudFormation allows "
+            + CLOUDFORMATION_LIMIT + ". Set nestedStacks=always or lower resourceBudget. Largest: " + top(a.byFactory()));
+      } else if (count > budget) {
+        LOG.warning(() -> "Stack " + stack + " has " + count + " resources, over resourceBudget=" + budget
+            + ". Largest: " + top(a.byFactory()));
+      }
+    });
+    return errors;
+  }
+
+  /** Section for the synthesis profile report. */
+  Map<String, Object> report(SystemContext ctx) {
+    Analysis a = analyze(Stack.of(ctx));
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("budget", budget);
+    out.put("mode", mode.name().toLowerCase(Locale.ROOT));
+    out.put("estimated", estimatedTotal());
+    out.put("existing", existing);
+    out.put("split", split.stream().map(g -> g.stackId).toList());
+    out.put("byStack", a.byStack());
+    out.put("byFactory", a.byFactory());
+    return out;
+  }
+
+  private static String top(Map<String, Integer> byFactory) {
+    return byFactory.entrySet().stream().limit(3).map(e -> e.getKey() + "=" + e.getValue()).toList().toString();
+  }
+
+  private static String longestPrefix(List<String> prefixes, String path) {
+    String best = null;
+    for (String p : prefixes) {
+      if (path.startsWith(p + "/") && (best == null || p.length() > best.length())) best = p;
+    }
+    return best;
+  }
+
+  /** The child of {@code stackPath} that contains {@code path}. */
+  private static String topLevel(String stackPath, String path) {
+    String rest = path.substring(stackPath.length() + 1);
+    int slash = rest.indexOf('/');
+    return stackPath + "/" + (slash < 0 ? rest : rest.substring(0, slash));
+  }
+}
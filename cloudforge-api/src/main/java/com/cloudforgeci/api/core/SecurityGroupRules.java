@@ -0,0 +1,79 @@
+package com.cloudforgeci.api.core;
+
+import software.amazon.awscdk.services.ec2.IPeer;
+import software.amazon.awscdk.services.ec2.ISecurityGroup;
+import software.amazon.awscdk.services.ec2.Peer;
+import software.amazon.awscdk.services.ec2.Port;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Every ingress rule requested on a {@link SystemContext}, each emitted once.
+ *
+ * <p>The same rule is often asked for from several places. For example, ALB to Jenkins on 8080
+ * comes from the runtime configuration, the compute factory and the security profile. CDK
+ * deduplicates only requests that name the peer the same way, so before this registry an
+ * {@code ISecurityGroup} peer and a {@code Peer.securityGroupId(...)} peer for the same group
+ * each produced a rule. Here a rule is keyed by target group, peer (security group id or CIDR)
+ * and port with its protocol. The first request emits it and its description, and later
+ * requests are dropped.</p>
+ *
+ * <p>Rules between security groups are inlined into the target group's
+ * {@code SecurityGroupIngress} property. They are not separate
+ * {@code AWS::EC2::SecurityGroupIngress} resources that CloudFormation creates one by one. With
+ * layered stacks, a rule whose target is upstream of its source is created beside the source
+ * instead, so an upstream layer never references a downstream one.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class SecurityGroupRules {
+
+  private static final Logger LOG = Logger.getLogger(SecurityGroupRules.class.getName());
+
+  private final SystemContext ctx;
+  private final Set<String> emitted = new HashSet<>();
+  private int requested;
+
+  SecurityGroupRules(SystemContext ctx) {
+    this.ctx = ctx;
+  }
+
+  /** Allow {@code port} into {@code target} from {@code source}, a security group or a CIDR peer. */
+  public void allow(ISecurityGroup target, IPeer source, Port port, String description) {
+    requested++;
+    String peer = source instanceof ISecurityGroup sg ? sg.getSecurityGroupId() : source.getUniqueId();
+    String key = target.getSecurityGroupId() + "|" + peer + "|" + port;
+    if (!emitted.add(key)) {
+      LOG.fine(() -> "Dropped duplicate ingress '" + description + "' (" + port + ")");
+      return;
+    }
+
+    if (source instanceof ISecurityGroup sg && upstreamOf(target, sg)) {
+      target.addIngressRule(sg, port, description, true);
+    } else if (source instanceof ISecurityGroup) {
+      target.addIngressRule(Peer.securityGroupId(peer), port, description, false);
+    } else {
+      target.addIngressRule(source, port, description, false);
+    }
+  }
+
+  /** Rules requested so far, duplicates included. */
+  public int requested() {
+    return requested;
+  }
+
+  /** Distinct rules emitted so far. */
+  public int emitted() {
+    return emitted.size();
+  }
+
+  private boolean upstreamOf(ISecurityGroup target, ISecurityGroup source) {
+    if (!ctx.layers.enabled()) return false;
+    StackLayers.Layer t = ctx.layers.layerOf(target);
+    StackLayers.Layer s = ctx.layers.layerOf(source);
+    return t != null && s != null && t.ordinal() < s.ordinal();
+  }
+}
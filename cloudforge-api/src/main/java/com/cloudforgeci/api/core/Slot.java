@@ -9,18 +9,52 @@ import java.util.function.Consumer;
 
 public final class Slot<T> implements BaseSlot<T> {
     private T value;
+    private String name;
     private final List<Consumer<T>> waiters = new ArrayList<>();
 
     @Override
     public void set(T v) {
         if (value != null) return;
         value = v;
-        for (var w : List.copyOf(waiters)) w.accept(v);
-        waiters.clear();
+        SynthesisEvents.SlotSet event = new SynthesisEvents.SlotSet();
+        event.begin();
+        int released = waiters.size();
+        try {
+            for (var w : List.copyOf(waiters)) dispatch(w, v, false);
+            waiters.clear();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.slot = name();
+                event.path = SynthesisEvents.pathOf(v);
+                event.waiters = released;
+                event.commit();
+            }
+        }
     }
     @Override
     public Optional<T> get() { return Optional.ofNullable(value); }
 
     @Override
-    public void onSet(java.util.function.Consumer<T> c) { if (value != null) c.accept(value); else waiters.add(c); }
-}
\ No newline at end of file
+    public void onSet(java.util.function.Consumer<T> c) { if (value != null) dispatch(c, value, true); else waiters.add(c); }
+
+    private void dispatch(Consumer<T> c, T v, boolean immediate) {
+        SynthesisEvents.SlotDispatch event = new SynthesisEvents.SlotDispatch();
+        event.begin();
+        try {
+            c.accept(v);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.slot = name();
+                event.immediate = immediate;
+                event.commit();
+            }
+        }
+    }
+
+    /** Field name on {@link SystemContext}, used in wiring reports; {@code "slot"} for unnamed slots. */
+    public String name() { return name != null ? name : "slot"; }
+
+    void name(String name) { this.name = name; }
+}
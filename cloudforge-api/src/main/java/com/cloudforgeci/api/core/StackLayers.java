@@ -0,0 +1,159 @@
+package com.cloudforgeci.api.core;
+
+import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.Token;
+import software.constructs.Construct;
+import software.constructs.IConstruct;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Independently deployable layer stacks for {@code stackLayout=layered}.
+ *
+ * <p>By default a deployment lands in one stack, so bumping the task size makes CloudFormation
+ * diff and lock the VPC, file system and load balancer too. In layered mode the stack the
+ * {@link SystemContext} was started in becomes the compute layer and the other {@link Layer}s
+ * are created beside it, in the same App and environment, the first time a factory asks for
+ * them through {@link SystemContext#scopeFor(Layer, Construct)}.</p>
+ *
+ * <p>Slots hold the constructs themselves, so {@code ctx.vpc}, {@code ctx.efs} or {@code ctx.alb}
+ * read in the compute layer resolve to the upstream layer and CDK turns each use into an export
+ * and an {@code Fn::ImportValue}. References only point down the layer order - edge and data to
+ * network, compute to all three - which is what lets {@code cdk deploy --exclusively <stack>}
+ * update compute alone. Security group rules that would point the other way are created in the
+ * downstream layer; see {@link SystemContext#allowIngress}. Listeners reach compute target
+ * groups through listener rules created in compute; see {@link SystemContext#forward}.</p>
+ *
+ * <p>Export names are derived from construct paths and stay stable between syntheses. The core
+ * identifiers are also exported explicitly by their layer, so dropping a use from compute does
+ * not remove an export that the deployed compute stack still imports.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class StackLayers {
+
+  private static final Logger LOG = Logger.getLogger(StackLayers.class.getName());
+
+  /** Layers in dependency order; each may reference the ones before it. */
+  public enum Layer {
+    /** VPC and subnets. */
+    NETWORK("Network"),
+    /** EFS, log groups and flow logs. */
+    DATA("Data"),
+    /** Load balancer, listeners, certificate, hosted zone and records. */
+    EDGE("Edge"),
+    /** ECS/EC2 compute, target groups, IAM and everything not placed elsewhere; the original stack. */
+    COMPUTE("Compute");
+
+    /** Suffix of the layer stack's construct id and stack name. */
+    public final String suffix;
+
+    Layer(String suffix) {
+      this.suffix = suffix;
+    }
+  }
+
+  private final boolean enabled;
+  private final Map<Layer, Stack> stacks = new EnumMap<>(Layer.class);
+
+  StackLayers(DeploymentContext cfc) {
+    this.enabled = "layered".equals(cfc.stackLayout());
+  }
+
+  /** True when {@code stackLayout=layered}. */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /** Layer stacks created so far, compute included once anything has been placed. */
+  public Map<Layer, Stack> stacks() {
+    return Collections.unmodifiableMap(stacks);
+  }
+
+  /** Scope for a layer's constructs: its stack when layered, otherwise {@code scope} unchanged. */
+  Construct scopeFor(Layer layer, Construct scope, SystemContext ctx) {
+    if (!enabled) return scope;
+    Stack compute = stacks.computeIfAbsent(Layer.COMPUTE, l -> computeStack(ctx));
+    if (layer == Layer.COMPUTE) return scope;
+    return stacks.computeIfAbsent(layer, l -> {
+      Stack stack = new Stack(parentOf(compute), compute.getNode().getId() + l.suffix, props(compute, l));
+      SystemContext.register(stack, ctx);
+      stack.getNode().addValidation(() -> ctx.budget.validate(stack));
+      LOG.fine(() -> "Created layer stack " + stack.getStackName());
+      return stack;
+    });
+  }
+
+  private static Stack computeStack(SystemContext ctx) {
+    Stack stack = Stack.of(ctx);
+    if (stack instanceof NestedStack) {
+      throw new IllegalStateException("stackLayout=layered needs a top-level stack; "
+          + stack.getNode().getPath() + " is a nested stack");
+    }
+    return stack;
+  }
+
+  private static Construct parentOf(Stack compute) {
+    IConstruct parent = compute.getNode().getScope();
+    if (!(parent instanceof Construct c)) {
+      throw new IllegalStateException("stackLayout=layered needs the stack to belong to an App or Stage");
+    }
+    return c;
+  }
+
+  /** Same environment as compute, so references stay plain exports; an env-agnostic stack stays agnostic. */
+  private static StackProps props(Stack compute, Layer layer) {
+    StackProps.Builder props = StackProps.builder().stackName(compute.getStackName() + "-" + layer.suffix);
+    String account = compute.getAccount();
+    String region = compute.getRegion();
+    boolean fixedAccount = !Token.isUnresolved(account);
+    boolean fixedRegion = !Token.isUnresolved(region);
+    if (fixedAccount || fixedRegion) {
+      props.env(Environment.builder()
+          .account(fixedAccount ? account : null)
+          .region(fixedRegion ? region : null)
+          .build());
+    }
+    return props.build();
+  }
+
+  /** Layer whose stack holds {@code c}, looking through nested stacks; null when not layered or outside every layer. */
+  Layer layerOf(IConstruct c) {
+    if (!enabled) return null;
+    Stack stack = Stack.of(c);
+    while (stack instanceof NestedStack nested) stack = nested.getNestedStackParent();
+    for (Map.Entry<Layer, Stack> e : stacks.entrySet()) {
+      if (e.getValue() == stack) return e.getKey();
+    }
+    return null;
+  }
+
+  /** Export the core identifiers from the layer that owns them as soon as their slots are filled. */
+  void pinExports(SystemContext ctx) {
+    if (!enabled) return;
+    pin(ctx.vpc, Layer.NETWORK, v -> v.getVpcId());
+    pin(ctx.efs, Layer.DATA, fs -> fs.getFileSystemId());
+    pin(ctx.efsSg, Layer.DATA, sg -> sg.getSecurityGroupId());
+    pin(ctx.logs, Layer.DATA, lg -> lg.getLogGroupName());
+    pin(ctx.alb, Layer.EDGE, lb -> lb.getLoadBalancerArn());
+    pin(ctx.albSg, Layer.EDGE, sg -> sg.getSecurityGroupId());
+    pin(ctx.http, Layer.EDGE, l -> l.getListenerArn());
+    pin(ctx.https, Layer.EDGE, l -> l.getListenerArn());
+  }
+
+  private <T extends IConstruct> void pin(Slot<T> slot, Layer layer, Function<T, String> id) {
+    slot.onSet(value -> {
+      Stack owner = stacks.get(layer);
+      // Supplied from outside or moved into a nested stack: the automatic export is all there is
+      if (owner != null && Stack.of(value) == owner) owner.exportValue(id.apply(value));
+    });
+  }
+}
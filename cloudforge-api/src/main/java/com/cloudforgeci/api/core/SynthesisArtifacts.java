@@ -0,0 +1,192 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pure-Java synthesis artifacts, computed once per {@link Key}.
+ *
+ * <p>The EC2 user-data script and the CloudWatch agent configuration it embeds are plain string
+ * building that depends only on the deployment inputs. They are built when {@link SystemContext}
+ * is created and shared by every stack with the same {@link Key}, e.g. a stack synthesized again
+ * in a long-running daemon. Building them takes microseconds, well under the cost of handing the
+ * work to another thread, so nothing here runs concurrently with the jsii-bound construction.
+ * Values that are tokens (file system and access point ids) are filled in at emission, through
+ * {@code JenkinsUserData}.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class SynthesisArtifacts {
+
+  /** Bound on remembered artifacts; each holds a few kilobytes of strings. */
+  private static final int CACHE_SIZE = 64;
+
+  private static final Map<Key, SynthesisArtifacts> CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SynthesisArtifacts> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      });
+
+  /** Namespace of the metrics the CloudWatch agent publishes. */
+  public static final String AGENT_NAMESPACE = "CWAgent";
+
+  /**
+   * I/O requests in flight on the data volume, aggregated per Auto Scaling group; the guest's view of
+   * the EBS VolumeQueueLength, which needs volume ids a launch template never has.
+   */
+  public static final String DATA_VOLUME_QUEUE_METRIC = "diskio_iops_in_progress";
+
+  /**
+   * Inputs the artifacts depend on.
+   *
+   * @param stackName stack name, part of the CloudWatch log group names
+   * @param runtime runtime type; only EC2 has user data to prepare
+   * @param security security profile, part of the CloudWatch log group names
+   */
+  public record Key(String stackName, RuntimeType runtime, SecurityProfile security) {}
+
+  private final Key key;
+  private final String cloudWatchAgentConfig;
+  private final List<String> ec2UserData;
+
+  private SynthesisArtifacts(Key key) {
+    this.key = key;
+    this.cloudWatchAgentConfig = key.runtime() == RuntimeType.EC2 ? cloudWatchAgentCommand(key) : null;
+    this.ec2UserData = cloudWatchAgentConfig != null ? ec2Commands(cloudWatchAgentConfig) : null;
+  }
+
+  /** The artifacts for {@code key}, built on first use. */
+  static SynthesisArtifacts prepare(Key key) {
+    return CACHE.computeIfAbsent(key, SynthesisArtifacts::new);
+  }
+
+  public Key key() {
+    return key;
+  }
+
+  /** Shell command writing the CloudWatch agent configuration: Jenkins log files and data volume I/O. */
+  public String cloudWatchAgentConfig() {
+    return ec2Only(cloudWatchAgentConfig);
+  }
+
+  /** EC2 user data up to the Jenkins home mount: packages, Jenkins, the CloudWatch agent. */
+  public List<String> ec2UserData() {
+    return ec2Only(ec2UserData);
+  }
+
+  private <T> T ec2Only(T artifact) {
+    if (artifact == null) throw new IllegalStateException("No EC2 user data for runtime " + key.runtime());
+    return artifact;
+  }
+
+  private static String cloudWatchAgentCommand(Key key) {
+    String group = "/aws/jenkins/" + key.stackName() + "/" + key.runtime().name().toLowerCase()
+        + "/" + key.security().name().toLowerCase();
+    return String.format("cat > /opt/aws/amazon-cloudwatch-agent/etc/amazon-cloudwatch-agent.json << 'EOF'%n" +
+            "{%n" +
+            "  \"agent\": {%n" +
+            "    \"metrics_collection_interval\": 60,%n" +
+            "    \"run_as_user\": \"root\"%n" +
+            "  },%n" +
+            "  \"metrics\": {%n" +
+            "    \"namespace\": \"%s\",%n" +
+            "    \"append_dimensions\": {%n" +
+            "      \"AutoScalingGroupName\": \"${aws:AutoScalingGroupName}\"%n" +
+            "    },%n" +
+            "    \"aggregation_dimensions\": [[\"AutoScalingGroupName\"]],%n" +
+            "    \"metrics_collected\": {%n" +
+            "      \"diskio\": {%n" +
+            "        \"resources\": [\"nvme1n1\", \"xvdh\"],%n" +
+            "        \"measurement\": [\"io_time\", \"iops_in_progress\"]%n" +
+            "      }%n" +
+            "    }%n" +
+            "  },%n" +
+            "  \"logs\": {%n" +
+            "    \"logs_collected\": {%n" +
+            "      \"files\": {%n" +
+            "        \"collect_list\": [%n" +
+            "          {%n" +
+            "            \"file_path\": \"/var/log/jenkins/jenkins.log\",%n" +
+            "            \"log_group_name\": \"%s\",%n" +
+            "            \"log_stream_name\": \"{instance_id}/jenkins.log\",%n" +
+            "            \"timezone\": \"UTC\"%n" +
+            "          },%n" +
+            "          {%n" +
+            "            \"file_path\": \"/var/log/jenkins-userdata.log\",%n" +
+            "            \"log_group_name\": \"%s\",%n" +
+            "            \"log_stream_name\": \"{instance_id}/userdata.log\",%n" +
+            "            \"timezone\": \"UTC\"%n" +
+            "          },%n" +
+            "          {%n" +
+            "            \"file_path\": \"%s\",%n" +
+            "            \"log_group_name\": \"%s\",%n" +
+            "            \"log_stream_name\": \"{instance_id}/gc.log\",%n" +
+            "            \"timezone\": \"UTC\"%n" +
+            "          },%n" +
+            "          {%n" +
+            "            \"file_path\": \"/var/log/messages\",%n" +
+            "            \"log_group_name\": \"%s\",%n" +
+            "            \"log_stream_name\": \"{instance_id}/messages\",%n" +
+            "            \"timezone\": \"UTC\"%n" +
+            "          }%n" +
+            "        ]%n" +
+            "      }%n" +
+            "    }%n" +
+            "  }%n" +
+            "}%n" +
+            "EOF", AGENT_NAMESPACE, group, group, JenkinsJvmOptions.EC2_GC_LOG, group, group);
+  }
+
+  private static List<String> ec2Commands(String cloudWatchAgentConfig) {
+    return List.of(
+        "#!/bin/bash",
+        "set -euxo pipefail",
+        "command -v dnf >/dev/null && dnf -y update || yum -y update",
+        "command -v dnf >/dev/null && dnf -y install java-17-amazon-corretto-headless || yum -y install java-17-amazon-corretto-headless",
+        "echo 'userdata start OK' > /var/log/jenkins-userdata.log",
+        "",
+        "# Install Jenkins",
+        "curl -fsSL https://pkg.jenkins.io/redhat-stable/jenkins.repo -o /etc/yum.repos.d/jenkins.repo",
+        "rpm --import https://pkg.jenkins.io/redhat-stable/jenkins.io-2023.key",
+        "command -v dnf >/dev/null && dnf -y install jenkins || yum -y install jenkins",
+        "",
+        "# Install CloudWatch Agent",
+        "echo 'Installing CloudWatch Agent...' >> /var/log/jenkins-userdata.log",
+        "wget https://s3.amazonaws.com/amazoncloudwatch-agent/amazon_linux/amd64/latest/amazon-cloudwatch-agent.rpm",
+        "rpm -U ./amazon-cloudwatch-agent.rpm",
+        "rm -f ./amazon-cloudwatch-agent.rpm",
+        "",
+        "# Configure CloudWatch Agent",
+        "echo 'Configuring CloudWatch Agent...' >> /var/log/jenkins-userdata.log",
+        "mkdir -p /opt/aws/amazon-cloudwatch-agent/etc",
+        cloudWatchAgentConfig,
+        "",
+        "# Start CloudWatch Agent",
+        "echo 'Starting CloudWatch Agent...' >> /var/log/jenkins-userdata.log",
+        "/opt/aws/amazon-cloudwatch-agent/bin/amazon-cloudwatch-agent-ctl -a fetch-config -m ec2 -c file:/opt/aws/amazon-cloudwatch-agent/etc/amazon-cloudwatch-agent.json -s",
+        "",
+        "# Configure Jenkins",
+        "systemctl enable jenkins",
+        "systemctl start jenkins",
+        "echo 'jenkins installed and started' >> /var/log/jenkins-userdata.log",
+        "",
+        "# Wait for Jenkins to generate admin password and log it",
+        "echo 'Waiting for Jenkins to generate admin password...' >> /var/log/jenkins-userdata.log",
+        "sleep 60",
+        "if [ -f /var/lib/jenkins/secrets/initialAdminPassword ]; then",
+        "  echo 'Jenkins Admin Password:' >> /var/log/jenkins-userdata.log",
+        "  cat /var/lib/jenkins/secrets/initialAdminPassword >> /var/log/jenkins-userdata.log",
+        "  echo 'Jenkins Admin Password logged to CloudWatch' >> /var/log/jenkins-userdata.log",
+        "else",
+        "  echo 'Jenkins admin password file not found yet' >> /var/log/jenkins-userdata.log",
+        "fi");
+  }
+}
@@ -0,0 +1,369 @@
+package com.cloudforgeci.api.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import software.amazon.awscdk.App;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of synthesized cloud assemblies.
+ *
+ * <p>The key is a SHA-256 over the normalized {@code cfc} context, the stack name, the library
+ * and aws-cdk-lib versions, the caller's app fingerprint and any other app context (CDK lookups
+ * such as {@code availability-zones:...}).
+ * Normalization sorts map keys and compares scalars by their string form, matching how
+ * {@link DeploymentContext} reads them, so {@code "cpu": 1024} and {@code "cpu": "1024"} share an
+ * entry. On a hit the output directory is emptied, the stored assembly is copied into it and the
+ * synthesizer is never called, so no App, construct or jsii runtime is created.</p>
+ *
+ * <p>The library versions do not cover the app's own stack classes. Apps whose stacks change
+ * between releases pass a fingerprint of their classpath, see {@link #classpathFingerprint}, so
+ * a rebuilt app never reads an assembly synthesized by the previous build.</p>
+ *
+ * <pre>{@code
+ * SynthesisCache cache = new SynthesisCache(Path.of(".cfc-cache"), 2L << 30, SynthesisCache.libraryVersion(),
+ *     SynthesisCache.cdkVersion(), SynthesisCache.classpathFingerprint(System.getProperty("java.class.path")));
+ * SynthesisCache.Outcome o = cache.synth(cfc, "JenkinsEc2", lookups, Path.of("cdk.out"), outdir -> {
+ *   App app = new App(AppProps.builder().outdir(outdir.toString()).context(Map.of("cfc", cfc)).build());
+ *   new JenkinsEc2Stack(app, "JenkinsEc2", props, security, iam);
+ *   app.synth();
+ * });
+ * }</pre>
+ *
+ * <p>Entries are evicted least-recently-used first once the cache directory exceeds its byte
+ * budget. When either version cannot be determined (running from an IDE or
+ * {@code target/classes}) every lookup is a miss, since the cached output could predate the
+ * code being run.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class SynthesisCache {
+
+  private static final Logger LOG = Logger.getLogger(SynthesisCache.class.getName());
+
+  /** Bumped when the key or entry layout changes. */
+  private static final String FORMAT = "cfc-synth-cache-2";
+
+  /** Written last into an entry; holds the entry's size and its mtime is the last access. */
+  static final String MARKER = ".cfc-cache-entry";
+
+  private static final String POM_PROPERTIES = "/META-INF/maven/com.cloudforgeci/cloudforge-api/pom.properties";
+  private static final String CDK_POM_PROPERTIES = "/META-INF/maven/software.amazon.awscdk/aws-cdk-lib/pom.properties";
+
+  /**
+   * Hit/miss counters for this cache instance.
+   *
+   * @param hits lookups served from the cache
+   * @param misses lookups that ran the synthesizer
+   * @param evictions entries removed to stay within the byte budget
+   * @param bytes current size of all entries
+   */
+  public record Stats(long hits, long misses, long evictions, long bytes) {
+    @Override
+    public String toString() {
+      return String.format("synthesis cache: %d hit(s), %d miss(es), %d eviction(s), %d bytes", hits, misses, evictions, bytes);
+    }
+  }
+
+  /**
+   * Result of one {@link #synth} call.
+   *
+   * @param hit true when the assembly came from the cache
+   * @param key the cache key
+   * @param outdir the directory holding the assembly
+   */
+  public record Outcome(boolean hit, String key, Path outdir) {}
+
+  private final Path dir;
+  private final long maxBytes;
+  private final String version;
+  private final String cdkVersion;
+  private final String appFingerprint;
+
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long bytes = -1;
+
+  /** Cache keyed on {@link #libraryVersion()} and {@link #cdkVersion()}, without an app fingerprint. */
+  public SynthesisCache(Path dir, long maxBytes) {
+    this(dir, maxBytes, libraryVersion());
+  }
+
+  /** Cache keyed on {@code version} and {@link #cdkVersion()}, without an app fingerprint. */
+  public SynthesisCache(Path dir, long maxBytes, String version) {
+    this(dir, maxBytes, version, cdkVersion(), null);
+  }
+
+  /**
+   * @param dir cache directory; created on first store
+   * @param maxBytes upper bound on the total size of cached assemblies
+   * @param version library version mixed into every key, or {@code null} to disable hits
+   * @param cdkVersion aws-cdk-lib version mixed into every key, or {@code null} to disable hits
+   * @param appFingerprint fingerprint of the app's own code, see {@link #classpathFingerprint};
+   *                       may be {@code null}
+   */
+  public SynthesisCache(Path dir, long maxBytes, String version, String cdkVersion, String appFingerprint) {
+    if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be > 0 (got " + maxBytes + ")");
+    this.dir = dir;
+    this.maxBytes = maxBytes;
+    this.version = version;
+    this.cdkVersion = cdkVersion;
+    this.appFingerprint = appFingerprint;
+  }
+
+  /** The cloudforge-api version from the jar's Maven metadata, or {@code null} when not running from a jar. */
+  public static String libraryVersion() {
+    return mavenVersion(SynthesisCache.class, POM_PROPERTIES);
+  }
+
+  /** The aws-cdk-lib version on the classpath, or {@code null} when it cannot be read. */
+  public static String cdkVersion() {
+    return mavenVersion(App.class, CDK_POM_PROPERTIES);
+  }
+
+  /**
+   * SHA-256 over the path, size and modification time of every file on {@code classpath}, a
+   * {@link File#pathSeparator}-separated list of jars and class directories such as
+   * {@code System.getProperty("java.class.path")}. Rebuilding any of them changes the result.
+   */
+  public static String classpathFingerprint(String classpath) {
+    try {
+      MessageDigest sha = MessageDigest.getInstance("SHA-256");
+      for (String element : classpath.split(File.pathSeparator)) {
+        Path root = Path.of(element);
+        if (element.isBlank() || !Files.exists(root)) continue;
+        try (Stream<Path> s = Files.walk(root)) {
+          for (Path p : (Iterable<Path>) s.filter(Files::isRegularFile).sorted()::iterator) {
+            String part = p + "|" + Files.size(p) + "|" + Files.getLastModifiedTime(p).toMillis();
+            sha.update(part.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+          }
+        }
+      }
+      return HexFormat.of().formatHex(sha.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Could not compute classpath fingerprint", e);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not fingerprint " + classpath, e);
+    }
+  }
+
+  private static String mavenVersion(Class<?> anchor, String pomProperties) {
+    try (InputStream in = anchor.getResourceAsStream(pomProperties)) {
+      if (in != null) {
+        Properties p = new Properties();
+        p.load(in);
+        String v = p.getProperty("version");
+        if (v != null && !v.isBlank()) return v;
+      }
+    } catch (IOException e) {
+      LOG.fine(() -> "Could not read " + pomProperties + ": " + e.getMessage());
+    }
+    return anchor.getPackage().getImplementationVersion();
+  }
+
+  /**
+   * Cache key for one stack.
+   *
+   * @param cfc the {@code cfc} context as a Map or JSON string
+   * @param stackName the stack (or app) being synthesized
+   * @param lookupContext other app context the synthesis depends on; may be empty
+   */
+  public String key(Object cfc, String stackName, Map<String, ?> lookupContext) {
+    try {
+      MessageDigest sha = MessageDigest.getInstance("SHA-256");
+      for (String part : List.of(FORMAT, String.valueOf(version), String.valueOf(cdkVersion),
+          appFingerprint == null ? "" : appFingerprint, stackName,
+          Util.getMapper().writeValueAsString(normalize(Util.convertToContext(cfc))),
+          Util.getMapper().writeValueAsString(normalize(lookupContext == null ? Map.of() : lookupContext)))) {
+        sha.update(part.getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) 0);
+      }
+      return HexFormat.of().formatHex(sha.digest());
+    } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+      throw new IllegalStateException("Could not compute synthesis cache key", e);
+    }
+  }
+
+  /**
+   * Produce the assembly for {@code cfc}/{@code stackName} in {@code outdir}, from the cache when
+   * possible. {@code outdir} is emptied first either way, so no stack from an earlier synthesis
+   * survives beside the cached ones or is stored under this key. On a miss {@code synthesizer} is
+   * called with {@code outdir} and must synthesize into it; its output is then stored. Exceptions from the synthesizer
+   * propagate and nothing is stored.
+   */
+  public synchronized Outcome synth(Object cfc, String stackName, Map<String, ?> lookupContext,
+                                    Path outdir, Consumer<Path> synthesizer) {
+    String key = key(cfc, stackName, lookupContext);
+    Path entry = dir.resolve(key);
+    try {
+      if (cacheable() && Files.isRegularFile(entry.resolve(MARKER))) {
+        deleteTree(outdir);
+        copyTree(entry, outdir);
+        Files.setLastModifiedTime(entry.resolve(MARKER), FileTime.fromMillis(System.currentTimeMillis()));
+        hits++;
+        LOG.fine(() -> "Synthesis cache hit for " + stackName + " (" + key + ")");
+        return new Outcome(true, key, outdir);
+      }
+
+      misses++;
+      deleteTree(outdir);
+      Files.createDirectories(outdir);
+      synthesizer.accept(outdir);
+      if (cacheable()) store(entry, outdir);
+      return new Outcome(false, key, outdir);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Synthesis cache failure in " + dir, e);
+    }
+  }
+
+  public synchronized Stats stats() {
+    if (bytes < 0 && Files.isDirectory(dir)) {
+      try {
+        bytes = scanSize();
+      } catch (IOException e) {
+        LOG.fine(() -> "Could not size " + dir + ": " + e.getMessage());
+      }
+    }
+    return new Stats(hits, misses, evictions, Math.max(bytes, 0));
+  }
+
+  /** Log the hit/miss summary at INFO. */
+  public void report() {
+    Stats s = stats();
+    LOG.info(s::toString);
+  }
+
+  private boolean cacheable() {
+    return version != null && cdkVersion != null;
+  }
+
+  private void store(Path entry, Path outdir) throws IOException {
+    Files.createDirectories(dir);
+    Path tmp = dir.resolve(".tmp-" + UUID.randomUUID());
+    long size = copyTree(outdir, tmp);
+    // The marker goes in last so a half-written entry is never treated as a hit
+    Files.writeString(tmp.resolve(MARKER), Long.toString(size), StandardCharsets.UTF_8);
+    try {
+      Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+      // Another process stored the same key first; its entry is equivalent
+      deleteTree(tmp);
+      return;
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tmp, entry);
+    }
+    if (bytes < 0) bytes = scanSize();
+    else bytes += size;
+    evict(entry);
+  }
+
+  /** Remove least-recently-used entries until the cache fits, never the one just stored. */
+  private void evict(Path keep) throws IOException {
+    if (bytes <= maxBytes) return;
+    List<Path> entries = entries();
+    entries.sort(Comparator.comparing(SynthesisCache::lastAccess));
+    for (Path e : entries) {
+      if (bytes <= maxBytes) break;
+      if (e.equals(keep)) continue;
+      bytes -= entrySize(e);
+      deleteTree(e);
+      evictions++;
+    }
+  }
+
+  private long scanSize() throws IOException {
+    long total = 0;
+    for (Path e : entries()) total += entrySize(e);
+    return total;
+  }
+
+  private List<Path> entries() throws IOException {
+    List<Path> out = new ArrayList<>();
+    try (Stream<Path> s = Files.list(dir)) {
+      s.filter(p -> Files.isRegularFile(p.resolve(MARKER))).forEach(out::add);
+    }
+    return out;
+  }
+
+  private static long entrySize(Path entry) {
+    try {
+      return Long.parseLong(Files.readString(entry.resolve(MARKER), StandardCharsets.UTF_8).trim());
+    } catch (IOException | NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static FileTime lastAccess(Path entry) {
+    try {
+      return Files.getLastModifiedTime(entry.resolve(MARKER));
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  /** Copy {@code from} into {@code to}, skipping the marker; returns the bytes copied. */
+  private static long copyTree(Path from, Path to) throws IOException {
+    long size = 0;
+    try (Stream<Path> s = Files.walk(from)) {
+      for (Path src : (Iterable<Path>) s::iterator) {
+        Path rel = from.relativize(src);
+        if (rel.toString().equals(MARKER)) continue;
+        Path dst = to.resolve(rel.toString());
+        if (Files.isDirectory(src)) {
+          Files.createDirectories(dst);
+        } else {
+          Files.copy(src, dst, StandardCopyOption.REPLACE_EXISTING);
+          size += Files.size(dst);
+        }
+      }
+    }
+    return size;
+  }
+
+  private static void deleteTree(Path root) throws IOException {
+    if (!Files.exists(root)) return;
+    try (Stream<Path> s = Files.walk(root)) {
+      for (Path p : (Iterable<Path>) s.sorted(Comparator.reverseOrder())::iterator) Files.deleteIfExists(p);
+    }
+  }
+
+  /** Sorted keys, scalars as strings; lists keep their order. */
+  private static Object normalize(Object v) {
+    if (v instanceof Map<?, ?> m) {
+      Map<String, Object> out = new TreeMap<>();
+      m.forEach((k, x) -> out.put(String.valueOf(k), normalize(x)));
+      return out;
+    }
+    if (v instanceof List<?> l) {
+      return l.stream().map(SynthesisCache::normalize).toList();
+    }
+    return v == null ? null : String.valueOf(v);
+  }
+}
@@ -0,0 +1,131 @@
+package com.cloudforgeci.api.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import software.constructs.IConstruct;
+
+/**
+ * Java Flight Recorder events for synthesis activity.
+ *
+ * <p>The events are always compiled in and cost an allocation and a flag check each while no
+ * recording includes them. Fields that need a jsii round-trip, such as construct paths, are
+ * filled in only when {@code shouldCommit()} is true. Record them with</p>
+ *
+ * <pre>
+ * java -XX:StartFlightRecording=filename=synth.jfr,settings=profile ...
+ * jfr print --categories CloudForge synth.jfr
+ * </pre>
+ *
+ * <p>or from JDK Mission Control on a running daemon. Unlike {@link SynthesisProfiler}, which
+ * writes one report at the end of synthesis, the events are available while a synthesis hangs.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class SynthesisEvents {
+
+  private SynthesisEvents() {}
+
+  /** Path of {@code value} when it is a construct; one jsii round-trip. */
+  static String pathOf(Object value) {
+    return value instanceof IConstruct c ? c.getNode().getPath() : null;
+  }
+
+  @Name("com.cloudforgeci.FactoryCreate")
+  @Label("Factory Create")
+  @Category({"CloudForge", "Synthesis"})
+  @Description("BaseFactory.create() run through SystemContext.createFactory")
+  @StackTrace(false)
+  public static final class FactoryCreate extends Event {
+    @Label("Stack")
+    public String stack;
+
+    @Label("Factory")
+    public String factory;
+
+    @Label("Construct Path")
+    public String path;
+  }
+
+  @Name("com.cloudforgeci.SlotSet")
+  @Label("Slot Set")
+  @Category({"CloudForge", "Synthesis"})
+  @Description("A slot receiving its value, including every waiter it releases")
+  @StackTrace(false)
+  public static final class SlotSet extends Event {
+    @Label("Slot")
+    public String slot;
+
+    @Label("Construct Path")
+    @Description("Path of the value when it is a construct")
+    public String path;
+
+    @Label("Waiters")
+    public int waiters;
+  }
+
+  @Name("com.cloudforgeci.SlotDispatch")
+  @Label("Slot Dispatch")
+  @Category({"CloudForge", "Synthesis"})
+  @Description("One onSet callback running with the slot's value")
+  @StackTrace(false)
+  public static final class SlotDispatch extends Event {
+    @Label("Slot")
+    public String slot;
+
+    @Label("Immediate")
+    @Description("True when the value was already set at onSet and the callback ran inline")
+    public boolean immediate;
+  }
+
+  @Name("com.cloudforgeci.OnceRegister")
+  @Label("Once Register")
+  @Category({"CloudForge", "Synthesis"})
+  @Description("SystemContext.once registering a deferred action")
+  @StackTrace(false)
+  public static final class OnceRegister extends Event {
+    @Label("Stack")
+    public String stack;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Registered")
+    @Description("False when the key was already registered and the action was dropped")
+    public boolean registered;
+  }
+
+  @Name("com.cloudforgeci.OnceExecute")
+  @Label("Once Execute")
+  @Category({"CloudForge", "Synthesis"})
+  @Description("A deferred action run by SystemContext.executeDeferredActions")
+  @StackTrace(false)
+  public static final class OnceExecute extends Event {
+    @Label("Stack")
+    public String stack;
+
+    @Label("Key")
+    public String key;
+  }
+
+  @Name("com.cloudforgeci.RuleCheck")
+  @Label("Rule Check")
+  @Category({"CloudForge", "Validation"})
+  @Description("One rule evaluated during synthesis validation")
+  @StackTrace(false)
+  public static final class RuleCheck extends Event {
+    @Label("Stack")
+    public String stack;
+
+    @Label("Source")
+    @Description("Rule family and profile, e.g. Runtime:FARGATE")
+    public String source;
+
+    @Label("Violations")
+    public int violations;
+  }
+}
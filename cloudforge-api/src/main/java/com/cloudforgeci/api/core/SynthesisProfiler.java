@@ -0,0 +1,197 @@
+package com.cloudforgeci.api.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.Stage;
+import software.constructs.Construct;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in profiler for the synthesis path of a single stack.
+ *
+ * <p>When enabled (context key {@code profileSynth=true} or system property
+ * {@code -Dcfc.profileSynth=true}) the profiler records one entry per</p>
+ * <ul>
+ *   <li><strong>factory</strong> - every {@code BaseFactory.create()} run through {@link SystemContext#createFactory}</li>
+ *   <li><strong>deferred</strong> - every {@link SystemContext#once} action run by {@link SystemContext#executeDeferredActions()}</li>
+ *   <li><strong>wiring</strong> - every {@link WiringGraph} step as it fires</li>
+ *   <li><strong>rule</strong> - every {@code Rule.check} evaluated during node validation</li>
+ * </ul>
+ *
+ * <p>Each entry carries wall time, the number of constructs the step added to the stack and the
+ * number of requests the synthesis thread sent to the jsii kernel during the step, counted by
+ * {@link JsiiRequests}, so calls made inside CDK constructs are included. Nested steps are
+ * included in the step that runs them. On a jsii runtime without the inspector hook the count is
+ * {@code -1}.</p>
+ *
+ * <p>The report is written as JSON next to the cloud assembly directory
+ * ({@code cfc-synth-profile-<stack>.json} beside {@code cdk.out}) once node validation has run.
+ * When disabled every method is a pass-through and no constructs are counted.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class SynthesisProfiler {
+
+  private static final Logger LOG = Logger.getLogger(SynthesisProfiler.class.getName());
+
+  /** System property that enables profiling regardless of the {@code cfc} context. */
+  public static final String PROPERTY = "cfc.profileSynth";
+
+  /** What kind of synthesis step an entry measures. */
+  public enum Phase { FACTORY, DEFERRED, WIRING, RULE }
+
+  /**
+   * A single measured step.
+   *
+   * @param phase the kind of step
+   * @param name factory class, once-key, or rule source
+   * @param path construct path of the step's scope
+   * @param wallNanos elapsed wall time in nanoseconds
+   * @param constructsAdded constructs added to the stack by the step ({@code -1} when not counted)
+   * @param jsiiCalls jsii requests sent during the step, {@code -1} when they cannot be counted
+   */
+  public record Entry(Phase phase, String name, String path, long wallNanos, int constructsAdded, long jsiiCalls) {}
+
+  private static final SynthesisProfiler DISABLED = new SynthesisProfiler(false, null);
+
+  private final boolean enabled;
+  private final String stackName;
+  private final List<Entry> entries;
+  private final Map<String, Supplier<Object>> sections = new LinkedHashMap<>();
+  private final boolean countingJsii;
+
+  private SynthesisProfiler(boolean enabled, String stackName) {
+    this.enabled = enabled;
+    this.stackName = stackName;
+    this.entries = enabled ? new ArrayList<>() : Collections.emptyList();
+    this.countingJsii = enabled && JsiiRequests.start();
+  }
+
+  /** Profiler for a stack; a shared no-op instance when profiling is off. */
+  static SynthesisProfiler forStack(String stackName, DeploymentContext cfc) {
+    boolean on = Boolean.getBoolean(PROPERTY) || (cfc != null && cfc.profileSynth());
+    return on ? new SynthesisProfiler(true, stackName) : DISABLED;
+  }
+
+  public boolean enabled() { return enabled; }
+
+  /** Time a step that adds constructs under {@code scope}. */
+  public void time(Phase phase, String name, Construct scope, Runnable step) {
+    time(phase, name, scope, () -> { step.run(); return null; });
+  }
+
+  /** Time a step that adds constructs under {@code scope} and returns a value. */
+  public <T> T time(Phase phase, String name, Construct scope, Supplier<T> step) {
+    if (!enabled) return step.get();
+
+    Stack stack = Stack.of(scope);
+    String path = scope.getNode().getPath();
+    int before = stack.getNode().findAll().size();
+    long calls = JsiiRequests.count();
+    long start = System.nanoTime();
+    try {
+      return step.get();
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      long jsiiCalls = jsiiCallsSince(calls);
+      int after = stack.getNode().findAll().size();
+      entries.add(new Entry(phase, name, path, elapsed, after - before, jsiiCalls));
+    }
+  }
+
+  /** Time a rule check; no constructs are counted since rules must not add any. */
+  public List<String> timeRule(String name, Supplier<List<String>> check) {
+    if (!enabled) return check.get();
+
+    long calls = JsiiRequests.count();
+    long start = System.nanoTime();
+    try {
+      return check.get();
+    } finally {
+      entries.add(new Entry(Phase.RULE, name, null, System.nanoTime() - start, -1, jsiiCallsSince(calls)));
+    }
+  }
+
+  private long jsiiCallsSince(long before) {
+    return countingJsii ? JsiiRequests.count() - before : -1;
+  }
+
+  /** Add an extra top-level section to the report, computed when the report is built. */
+  public void section(String name, Supplier<Object> content) {
+    if (enabled) sections.put(name, content);
+  }
+
+  /** Entries recorded so far, in execution order. */
+  public List<Entry> entries() { return Collections.unmodifiableList(entries); }
+
+  /** Build the report document written by {@link #writeReport(Construct)}. */
+  public Map<String, Object> report() {
+    Map<String, Object> totals = new LinkedHashMap<>();
+    for (Phase phase : Phase.values()) {
+      long nanos = 0;
+      int count = 0;
+      for (Entry e : entries) {
+        if (e.phase() == phase) { nanos += e.wallNanos(); count++; }
+      }
+      totals.put(phase.name().toLowerCase(), Map.of("count", count, "wallMillis", nanos / 1_000_000.0));
+    }
+
+    List<Map<String, Object>> steps = new ArrayList<>(entries.size());
+    for (Entry e : entries) {
+      Map<String, Object> step = new LinkedHashMap<>();
+      step.put("phase", e.phase().name().toLowerCase());
+      step.put("name", e.name());
+      if (e.path() != null) step.put("path", e.path());
+      step.put("wallMillis", e.wallNanos() / 1_000_000.0);
+      if (e.constructsAdded() >= 0) step.put("constructsAdded", e.constructsAdded());
+      step.put("jsiiCalls", e.jsiiCalls());
+      steps.add(step);
+    }
+
+    Map<String, Object> doc = new LinkedHashMap<>();
+    doc.put("stack", stackName);
+    doc.put("generatedAt", Instant.now().toString());
+    doc.put("jsiiCallsScope", countingJsii ? "all requests from the synthesis thread" : "unavailable");
+    doc.put("totals", totals);
+    doc.put("steps", steps);
+    sections.forEach((name, content) -> doc.put(name, content.get()));
+    return doc;
+  }
+
+  /**
+   * Write the report next to the stage's cloud assembly directory.
+   *
+   * @return the written file, or {@code null} when profiling is off or the write failed
+   */
+  public Path writeReport(Construct scope) {
+    if (!enabled) return null;
+
+    Stage stage = Stage.of(scope);
+    Path outdir = Paths.get(stage != null ? stage.getOutdir() : "cdk.out").toAbsolutePath();
+    Path file = outdir.resolveSibling("cfc-synth-profile-" + stackName + ".json");
+    try {
+      ObjectMapper mapper = Util.getMapper().copy().enable(SerializationFeature.INDENT_OUTPUT);
+      Files.createDirectories(file.getParent());
+      mapper.writeValue(file.toFile(), report());
+      LOG.info(() -> "Synthesis profile written to " + file);
+      return file;
+    } catch (IOException e) {
+      LOG.warning("Could not write synthesis profile " + file + ": " + e.getMessage());
+      return null;
+    }
+  }
+}
@@ -1,15 +1,20 @@
 package com.cloudforgeci.api.core;
 
+import com.cloudforgeci.api.core.annotation.BaseFactory;
+import com.cloudforgeci.api.core.performance.PerformanceProfiles;
+import com.cloudforgeci.api.core.rules.PerformanceRules;
 import com.cloudforgeci.api.core.rules.Rules;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.TopologyType;
 import com.cloudforgeci.api.interfaces.SecurityProfile;
 import com.cloudforgeci.api.interfaces.IAMProfile;
 import com.cloudforgeci.api.interfaces.SecurityProfileConfiguration;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
 import com.cloudforgeci.api.network.VpcFactory;
 import com.cloudforgeci.api.ingress.AlbFactory;
 import com.cloudforgeci.api.storage.EfsFactory;
 import com.cloudforgeci.api.observability.LoggingCwFactory;
+import com.cloudforgeci.api.compute.AgentFactory;
 import com.cloudforgeci.api.compute.FargateFactory;
 import com.cloudforgeci.api.storage.ContainerFactory;
 import com.cloudforgeci.api.application.JenkinsBootstrap;
@@ -20,6 +25,9 @@ import com.cloudforgeci.api.network.DomainFactory;
 
 import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.services.ec2.FlowLogOptions;
+import software.amazon.awscdk.services.ec2.IPeer;
+import software.amazon.awscdk.services.ec2.ISecurityGroup;
+import software.amazon.awscdk.services.ec2.Port;
 import software.amazon.awscdk.services.ec2.SecurityGroup;
 import software.amazon.awscdk.services.ecs.ContainerDefinition;
 import software.amazon.awscdk.services.ecs.FargateService;
@@ -32,13 +40,20 @@ import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationProtoco
 import software.amazon.awscdk.services.elasticloadbalancingv2.TargetType;
 import software.amazon.awscdk.services.elasticloadbalancingv2.HealthCheck;
 import software.amazon.awscdk.services.elasticloadbalancingv2.AddApplicationTargetGroupsProps;
+import software.amazon.awscdk.services.elasticloadbalancingv2.CfnListenerRule;
 import software.constructs.Construct;
 import software.constructs.IConstruct;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.logging.Logger;
 
 
@@ -47,6 +62,13 @@ public final class SystemContext extends Construct {
   private static final String NODE_ID = "SystemContext";
     private static final Logger LOG = Logger.getLogger(SystemContext.class.getName());
 
+  /**
+   * Owning context per Stack. Keys and values are both weak so finished apps (and tests) can be
+   * collected; jsii hands back the same Java proxy for a Stack, so identity lookups are stable.
+   */
+  private static final Map<Stack, WeakReference<SystemContext>> REGISTRY =
+      java.util.Collections.synchronizedMap(new WeakHashMap<>());
+
   public final TopologyType topology;
   public final RuntimeType runtime;
   public final SecurityProfile security;
@@ -57,6 +79,9 @@ public final class SystemContext extends Construct {
   // Security Profile Configuration
   public final Slot<SecurityProfileConfiguration> securityProfileConfig = new Slot<>();
 
+  // Performance Profile Configuration
+  public final Slot<PerformanceProfileConfiguration> performanceProfileConfig = new Slot<>();
+
   // Common slots
   public final Slot<software.amazon.awscdk.services.ec2.Vpc> vpc = new Slot<>();
   public final Slot<software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationLoadBalancer> alb = new Slot<>();
@@ -69,14 +94,6 @@ public final class SystemContext extends Construct {
 
   // ALB Properties
   public final Slot<ApplicationTargetGroup> albTargetGroup = new Slot<>();
-  public final Slot<Boolean> httpsTargetsAdded = new Slot<>();
-  public final Slot<Boolean> wired = new Slot<>();
-  public final Slot<Boolean> dnsRecordsCreated = new Slot<>();
-  public final Slot<Boolean> dnsRecordsCallbackRegistered = new Slot<>();
-  public final Slot<Boolean> asgAddedToTargetGroup = new Slot<>();
-  public final Slot<Boolean> fargateAutoscalingConfigured = new Slot<>();
-  public final Slot<Boolean> fargateAutoscalingCallbackRegistered = new Slot<>();
-  public final Slot<Boolean> ec2AutoscalingCallbackRegistered = new Slot<>();
   public final Slot<SecurityGroup> albSg = new Slot<>();
   public final Slot<ApplicationListener> http = new Slot<>();
 
@@ -146,10 +163,30 @@ public final class SystemContext extends Construct {
   public final Slot<software.amazon.awscdk.services.iam.Role> fargateExecutionRole = new Slot<>();
   public final Slot<software.amazon.awscdk.services.iam.Role> fargateTaskRole = new Slot<>();
 
+  // Synthesis profiling (no-op unless profileSynth is enabled)
+  public final SynthesisProfiler profiler;
+
+  // Slot-driven wiring steps registered by the profile configurations
+  public final WiringGraph wiring;
+
+  // Per-stack resource budget and the nested stacks it splits off
+  public final ResourceBudget budget;
+
+  // Network/data/edge stacks beside this one when stackLayout=layered
+  public final StackLayers layers;
+
+  // User data and agent configuration, built once and shared by stacks with the same inputs
+  public final SynthesisArtifacts artifacts;
+
+  // Ingress rules, deduplicated across the configurations and factories that request them
+  public final SecurityGroupRules ingress;
+
   private final Set<String> onceKeys = new HashSet<>();
-  private final List<Runnable> deferredActions = new ArrayList<>();
+  private final List<DeferredAction> deferredActions = new ArrayList<>();
   private boolean installed = false;
 
+  private record DeferredAction(String key, Runnable action) {}
+
   private SystemContext(Stack stack, TopologyType topology, RuntimeType runtime, SecurityProfile security, IAMProfile iamProfile, DeploymentContext cfc) {
     super(stack, NODE_ID);
     this.topology = topology;
@@ -158,6 +195,30 @@ public final class SystemContext extends Construct {
     this.iamProfile = iamProfile;
     this.cfc = cfc;
     this.stackName = stack.getStackName();
+    this.artifacts = SynthesisArtifacts.prepare(new SynthesisArtifacts.Key(stackName, runtime, security));
+    this.profiler = SynthesisProfiler.forStack(stackName, cfc);
+    this.wiring = new WiringGraph(this);
+    this.budget = new ResourceBudget(cfc, ResourceBudget.existingResources(stack));
+    this.layers = new StackLayers(cfc);
+    this.ingress = new SecurityGroupRules(this);
+    profiler.section("wiring", wiring::report);
+    profiler.section("resources", () -> budget.report(this));
+    nameSlots();
+    layers.pinExports(this);
+    REGISTRY.put(stack, new WeakReference<>(this));
+  }
+
+  /** Public Slot fields, resolved once; their names label wiring reports. */
+  private static final List<Field> SLOT_FIELDS = Arrays.stream(SystemContext.class.getFields())
+      .filter(f -> f.getType() == Slot.class && !Modifier.isStatic(f.getModifiers()))
+      .toList();
+
+  private void nameSlots() {
+    try {
+      for (Field f : SLOT_FIELDS) ((Slot<?>) f.get(this)).name(f.getName());
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot read slot fields", e);
+    }
   }
 
   /** Start once at the entry point; installs runtime + topology + security + iam rules and wiring. */
@@ -194,6 +255,20 @@ public final class SystemContext extends Construct {
           throw e;
         }
         ctx.installed = true;
+
+        ctx.getNode().addValidation(() -> {
+          ctx.wiring.reportUnfired();
+          return List.of();
+        });
+        ctx.getNode().addValidation(() -> ctx.budget.validate(stack));
+
+        // Registered after the rule validations so the report includes their timings
+        if (ctx.profiler.enabled()) {
+          ctx.getNode().addValidation(() -> {
+            ctx.profiler.writeReport(ctx);
+            return List.of();
+          });
+        }
       } else {
       }
       
@@ -206,8 +281,45 @@ public final class SystemContext extends Construct {
     }
   }
 
-  /** Fetch the already-started context anywhere down the tree. */
+  /**
+   * Fetch the already-started context anywhere down the tree.
+   *
+   * <p>Resolves through the Stack registry with a single {@code Stack.of} round-trip; only scopes
+   * whose Stack has no context of its own (e.g. nested stacks) fall back to walking the tree, and
+   * the result is then remembered for that Stack.</p>
+   */
   public static SystemContext of(Construct scope) {
+    Stack stack;
+    try {
+      stack = Stack.of(scope);
+    } catch (RuntimeException e) {
+      // Not inside a Stack (e.g. the App itself) - the walk below reports the failure
+      stack = null;
+    }
+    if (stack != null) {
+      SystemContext registered = lookup(stack);
+      if (registered != null) return registered;
+    }
+
+    SystemContext found = walk(scope);
+    if (stack != null) {
+      REGISTRY.put(stack, new WeakReference<>(found));
+    }
+    return found;
+  }
+
+  /** Resolve {@code stack} (a nested stack this context created) to {@code ctx} without a walk. */
+  static void register(Stack stack, SystemContext ctx) {
+    REGISTRY.put(stack, new WeakReference<>(ctx));
+  }
+
+  private static SystemContext lookup(Stack stack) {
+    WeakReference<SystemContext> ref = REGISTRY.get(stack);
+    return ref == null ? null : ref.get();
+  }
+
+  /** Parent-by-parent search for the SystemContext child; two jsii calls per step. */
+  private static SystemContext walk(Construct scope) {
     for (Construct cur = scope; cur != null; ) {
       Construct child = (Construct) cur.getNode().tryFindChild(NODE_ID);
       if (child instanceof SystemContext sc) return sc;
@@ -217,28 +329,98 @@ public final class SystemContext extends Construct {
     throw new IllegalStateException("SystemContext not started yet. Call SystemContext.start(...) first.");
   }
 
+  /**
+   * Scope for constructs of {@code group}: the group's nested stack when the {@link #budget} has
+   * split it off, otherwise {@code scope} unchanged.
+   */
+  public Construct scopeFor(ResourceBudget.Group group, Construct scope) {
+    return budget.scopeFor(group, scope, this);
+  }
+
+  /**
+   * Scope for constructs of {@code layer}: the layer's stack when {@link #layers} are enabled,
+   * otherwise {@code scope} unchanged.
+   */
+  public Construct scopeFor(StackLayers.Layer layer, Construct scope) {
+    return layers.scopeFor(layer, scope, this);
+  }
+
+  /**
+   * Performance settings for this stack: the configuration {@link PerformanceRules} installed, or
+   * the one {@code cfc} selects when the rules have not run yet.
+   */
+  public PerformanceProfileConfiguration performance() {
+    return performanceProfileConfig.get().orElseGet(() -> PerformanceProfiles.configuration(cfc.performanceProfile()));
+  }
+
+  /**
+   * Allow {@code port} into {@code target} from {@code source}, a security group or a CIDR peer.
+   * A rule already requested by another configuration or factory is not emitted again; see
+   * {@link SecurityGroupRules}.
+   */
+  public void allowIngress(ISecurityGroup target, IPeer source, Port port, String description) {
+    ingress.allow(target, source, port, description);
+  }
+
   /** Guard to register a wiring block only once per Stack. */
   public boolean once(String key, Runnable r) {
-    if (!onceKeys.add(key)) return false;
-    deferredActions.add(r);
-    return true;
+    boolean registered = onceKeys.add(key);
+    if (registered) deferredActions.add(new DeferredAction(key, r));
+    SynthesisEvents.OnceRegister event = new SynthesisEvents.OnceRegister();
+    if (event.shouldCommit()) {
+      event.stack = stackName;
+      event.key = key;
+      event.registered = registered;
+      event.commit();
+    }
+    return registered;
   }
 
   /** Execute all deferred actions. Call this after all factories are created. */
   public void executeDeferredActions() {
     // Create a copy to avoid ConcurrentModificationException
-    List<Runnable> actionsToExecute = new ArrayList<>(deferredActions);
+    List<DeferredAction> actionsToExecute = new ArrayList<>(deferredActions);
     // Clear the original list to prevent interference from new actions
     deferredActions.clear();
-    for (Runnable action : actionsToExecute) {
+    for (DeferredAction action : actionsToExecute) {
+      SynthesisEvents.OnceExecute event = new SynthesisEvents.OnceExecute();
+      event.begin();
       try {
-        action.run();
+        profiler.time(SynthesisProfiler.Phase.DEFERRED, action.key(), this, action.action());
       } catch (Exception e) {
         LOG.severe("*** Error executing deferred action: " + e.getMessage() + " ***");
         e.printStackTrace();
         throw e;
+      } finally {
+        event.end();
+        if (event.shouldCommit()) {
+          event.stack = stackName;
+          event.key = action.key();
+          event.commit();
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs {@code factory.create()} and records it with the {@link #profiler}.
+   * Factories created through the orchestration layer go through here.
+   */
+  public <F extends BaseFactory> F createFactory(F factory) {
+    SynthesisEvents.FactoryCreate event = new SynthesisEvents.FactoryCreate();
+    event.begin();
+    try {
+      profiler.time(SynthesisProfiler.Phase.FACTORY, factory.getClass().getSimpleName(), factory, factory::create);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.stack = stackName;
+        event.factory = factory.getClass().getName();
+        event.path = SynthesisEvents.pathOf(factory);
+        event.commit();
       }
     }
+    return factory;
   }
 
   public String debugPath(Construct scope) {
@@ -296,9 +478,9 @@ public final class SystemContext extends Construct {
    * Creates a VPC factory with proper context injection.
    */
   public VpcFactory createVpcFactory(Construct scope, String idPrefix) {
-    VpcFactory vpcFactory = new VpcFactory(scope, idPrefix + "Vpc");
+    VpcFactory vpcFactory = new VpcFactory(scopeFor(ResourceBudget.Group.NETWORK, scopeFor(StackLayers.Layer.NETWORK, scope)), idPrefix + "Vpc");
     vpcFactory.injectContexts();
-    vpcFactory.create();
+    createFactory(vpcFactory);
     return vpcFactory;
   }
   
@@ -306,9 +488,9 @@ public final class SystemContext extends Construct {
    * Creates an ALB factory with proper context injection.
    */
   public AlbFactory createAlbFactory(Construct scope, String idPrefix) {
-    AlbFactory albFactory = new AlbFactory(scope, idPrefix + "Alb");
+    AlbFactory albFactory = new AlbFactory(scopeFor(StackLayers.Layer.EDGE, scope), idPrefix + "Alb");
     albFactory.injectContexts();
-    albFactory.create();
+    createFactory(albFactory);
     return albFactory;
   }
   
@@ -316,9 +498,9 @@ public final class SystemContext extends Construct {
    * Creates an EFS factory with proper context injection.
    */
   public EfsFactory createEfsFactory(Construct scope, String idPrefix) {
-    EfsFactory efsFactory = new EfsFactory(scope, idPrefix + "Efs");
+    EfsFactory efsFactory = new EfsFactory(scopeFor(StackLayers.Layer.DATA, scope), idPrefix + "Efs");
     efsFactory.injectContexts();
-    efsFactory.create();
+    createFactory(efsFactory);
     return efsFactory;
   }
   
@@ -326,9 +508,9 @@ public final class SystemContext extends Construct {
    * Creates a logging factory with proper context injection.
    */
   public LoggingCwFactory createLoggingFactory(Construct scope, String idPrefix) {
-    LoggingCwFactory loggingFactory = new LoggingCwFactory(scope, idPrefix + "Logging");
+    LoggingCwFactory loggingFactory = new LoggingCwFactory(scopeFor(ResourceBudget.Group.OBSERVABILITY, scopeFor(StackLayers.Layer.DATA, scope)), idPrefix + "Logging");
     loggingFactory.injectContexts();
-    loggingFactory.create();
+    createFactory(loggingFactory);
     return loggingFactory;
   }
   
@@ -360,6 +542,7 @@ public final class SystemContext extends Construct {
               .unhealthyThresholdCount(
                   cfc.unhealthyThreshold() != null ? cfc.unhealthyThreshold() : 3)
               .build())
+          .deregistrationDelay(performance().getDeregistrationDelay())
           .build();
       
       this.albTargetGroup.set(targetGroup);
@@ -368,9 +551,7 @@ public final class SystemContext extends Construct {
       ApplicationListener http = this.http.get().orElseThrow(() -> 
         new IllegalStateException("HTTP listener not found when updating target group"));
       
-      http.addTargetGroups(idPrefix + "HttpTg", AddApplicationTargetGroupsProps.builder()
-          .targetGroups(List.of(targetGroup))
-          .build());
+      forward(http, idPrefix + "HttpTg", targetGroup);
       
       
     } else if (this.runtime == RuntimeType.FARGATE) {
@@ -381,6 +562,33 @@ public final class SystemContext extends Construct {
     }
   }
   
+  /**
+   * Forward {@code listener}'s traffic to {@code targetGroup}. Target groups sit beside their
+   * targets, so with layered stacks the forward is a catch-all listener rule in the target
+   * group's layer instead of a change to the edge listener, which would reference compute.
+   * Targets that must wait for the forward depend on the target group's node.
+   */
+  public void forward(ApplicationListener listener, String id, ApplicationTargetGroup targetGroup) {
+    if (!layers.enabled()) {
+      listener.addTargetGroups(id, AddApplicationTargetGroupsProps.builder()
+          .targetGroups(List.of(targetGroup))
+          .build());
+      return;
+    }
+    CfnListenerRule.Builder.create(targetGroup, id)
+        .listenerArn(listener.getListenerArn())
+        .priority(1)
+        .conditions(List.of(CfnListenerRule.RuleConditionProperty.builder()
+            .field("path-pattern")
+            .values(List.of("/*"))
+            .build()))
+        .actions(List.of(CfnListenerRule.ActionProperty.builder()
+            .type("forward")
+            .targetGroupArn(targetGroup.getTargetGroupArn())
+            .build()))
+        .build();
+  }
+
   /**
    * Creates instance security group for EC2 deployments.
    * This is infrastructure-specific but not a full factory.
@@ -470,23 +678,30 @@ public final class SystemContext extends Construct {
     // Create Fargate factory
     FargateFactory fargate = new FargateFactory(scope, id + "Fargate", new FargateFactory.Props(cfc));
     fargate.injectContexts();
-    fargate.create();
+    createFactory(fargate);
     
     // Create container factory
     ContainerFactory container = new ContainerFactory(scope, id + "Container", 
         software.amazon.awscdk.services.ecs.ContainerImage.fromRegistry("jenkins/jenkins:lts"));
     container.injectContexts();
-    container.create();
+    createFactory(container);
+
+    // Ephemeral build agents, wired to the controller container
+    if (cfc.enableAgents()) {
+      AgentFactory agents = new AgentFactory(scopeFor(ResourceBudget.Group.COMPUTE, scopeFor(StackLayers.Layer.COMPUTE, scope)), id + "Agents");
+      agents.injectContexts();
+      createFactory(agents);
+    }
     
     // Create Jenkins bootstrap
     JenkinsBootstrap bootstrap = new JenkinsBootstrap(scope, id + "Bootstrap", new JenkinsBootstrap.Props(cfc));
     bootstrap.injectContexts();
-    bootstrap.create();
+    createFactory(bootstrap);
     
     // Create alarms
-    AlarmFactory alarms = new AlarmFactory(scope, id + "Alarms", null);
+    AlarmFactory alarms = new AlarmFactory(scopeFor(ResourceBudget.Group.OBSERVABILITY, scope), id + "Alarms", null);
     alarms.injectContexts();
-    alarms.create();
+    createFactory(alarms);
     
     return new JenkinsSpecificFactories(fargate, container, bootstrap, alarms, null, null);
   }
@@ -504,7 +719,7 @@ public final class SystemContext extends Construct {
     if (cfc.maxInstanceCapacity() != null) {
       ec2 = new Ec2Factory(scope, id + "Ec2");
       ec2.injectContexts();
-      ec2.create();
+      createFactory(ec2);
     }
     
     // Create single EC2 instance if no Auto Scaling Group
@@ -515,9 +730,9 @@ public final class SystemContext extends Construct {
     }
     
     // Create alarms
-    AlarmFactory alarms = new AlarmFactory(scope, id + "Alarms", null);
+    AlarmFactory alarms = new AlarmFactory(scopeFor(ResourceBudget.Group.OBSERVABILITY, scope), id + "Alarms", null);
     alarms.injectContexts();
-    alarms.create();
+    createFactory(alarms);
     
     return new JenkinsSpecificFactories(null, null, null, alarms, ec2, singleInstance);
   }
@@ -547,9 +762,9 @@ public final class SystemContext extends Construct {
     
     // Create domain factory if domain is provided
     if (cfc.domain() != null && !cfc.domain().isBlank()) {
-      domain = new DomainFactory(scope, id + "Domain");
+      domain = new DomainFactory(scopeFor(ResourceBudget.Group.DNS, scopeFor(StackLayers.Layer.EDGE, scope)), id + "Domain");
       domain.injectContexts();
-      domain.create();
+      createFactory(domain);
     }
     
     // SSL certificate creation is handled by runtime configurations (FargateRuntimeConfiguration)
@@ -3,23 +3,60 @@ package com.cloudforgeci.api.core;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
 class Util {
 
-    private static ObjectMapper getMapper() {
-        return new ObjectMapper();
+    /** ObjectMapper is thread-safe once configured, so one instance serves every parse. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final TypeReference<Map<String, Object>> CONTEXT_TYPE = new TypeReference<>() {};
+
+    /** Upper bound on distinct cfc contexts kept; a fleet process synthesizes many stacks. */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Parsed contexts keyed by their normalized content. jsii hands back a fresh Java copy of the
+     * context on every tryGetContext call, so identity cannot be used; content keys also mean a
+     * changed cfc node simply misses and parses again.
+     */
+    private static final Map<Map<String, Object>, DeploymentContext> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Map<String, Object>, DeploymentContext> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    static ObjectMapper getMapper() {
+        return MAPPER;
     }
 
     public static DeploymentContext extractDeploymentContext(Object cfc) {
-        Map<String, Object> map = convertToContext(cfc);
+        Map<String, Object> map = Collections.unmodifiableMap(convertToContext(cfc));
+        DeploymentContext cached = CACHE.get(map);
+        if (cached != null) return cached;
+
+        // DeploymentContext is immutable, so racing threads may both parse but either result is valid
         DeploymentContext result = new DeploymentContext(map);
+        CACHE.put(map, result);
         return result;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<String, Object> convertToContext(Object obj) {
+    /** Drop all cached contexts. */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    /** Number of cached contexts. */
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    static Map<String, Object> convertToContext(Object obj) {
         if (obj == null) return java.util.Collections.emptyMap();
 
         if (obj instanceof Map<?, ?> m) {
@@ -32,12 +69,12 @@ class Util {
             String json = s.trim();
             if (json.isEmpty()) return java.util.Collections.emptyMap();
             try {
-                return getMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+                return getMapper().readValue(json, CONTEXT_TYPE);
             } catch (Exception e) {
                 throw new RuntimeException("Failed to parse context JSON: " + json, e);
             }
         }
 
-        return getMapper().convertValue(obj, new TypeReference<Map<String, Object>>() {});
+        return getMapper().convertValue(obj, CONTEXT_TYPE);
     }
 }
@@ -0,0 +1,322 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.core.rules.RuleKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Declarative wiring for a {@link SystemContext}.
+ *
+ * <p>Each step names the slots it needs and the slots it produces. A step runs exactly once, as
+ * soon as all of its inputs are set; registering the same step name again is a no-op, so callers
+ * need no "already wired" guard slots. Steps that become ready together run in dependency order
+ * (producers before consumers), and steps made ready while another step is running are queued
+ * until it returns instead of re-entering it.</p>
+ *
+ * <pre>{@code
+ * c.wiring.step("runtime:cert").produces(c.cert).when(c.zone, c.alb, (zone, alb) -> {
+ *   c.cert.set(Certificate.Builder.create(c, "HttpsCert")...build());
+ * });
+ * }</pre>
+ *
+ * <p>Adding a step whose inputs transitively depend on its own outputs fails with an
+ * {@link IllegalStateException}. If a step throws, the steps still queued behind it are not run;
+ * the exception propagates with a suppressed {@link IllegalStateException} naming them, and they
+ * are reported by {@link #unfired()} alongside the steps left waiting on an input, which are also
+ * logged at validation time. Fired steps are timed with the context's
+ * {@link SynthesisProfiler} and {@link #criticalPath()} gives the dependency chain behind the
+ * last step to finish.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class WiringGraph {
+
+  private static final Logger LOG = Logger.getLogger(WiringGraph.class.getName());
+
+  /** A registered step that has not fired, and the inputs it is still waiting on. */
+  public record Pending(String step, List<String> missing) {}
+
+  /** A fired step with its start and end offsets (nanoseconds since the graph was created). */
+  public record Fired(String step, long startNanos, long endNanos) {
+    public long wallNanos() { return endNanos - startNanos; }
+  }
+
+  private final SystemContext ctx;
+  private final long origin = System.nanoTime();
+  private final Map<String, Node> steps = new LinkedHashMap<>();
+  private final Map<Slot<?>, List<Node>> producers = new IdentityHashMap<>();
+  private final Map<Slot<?>, List<Node>> consumers = new IdentityHashMap<>();
+  private final List<Node> ready = new ArrayList<>();
+  private final List<Fired> fired = new ArrayList<>();
+  private boolean draining;
+
+  WiringGraph(SystemContext ctx) {
+    this.ctx = ctx;
+  }
+
+  /** Start declaring a step; nothing is registered until one of the {@code when} methods is called. */
+  public Step step(String name) {
+    return new Step(name);
+  }
+
+  /** Builder for a single step. */
+  public final class Step {
+    private final String name;
+    private final List<Slot<?>> produces = new ArrayList<>();
+
+    private Step(String name) {
+      this.name = name;
+    }
+
+    /** Slots this step sets; used for ordering, cycle detection and the critical path. */
+    public Step produces(Slot<?>... slots) {
+      produces.addAll(List.of(slots));
+      return this;
+    }
+
+    public <A> boolean when(Slot<A> a, Consumer<A> fn) {
+      return add(name, List.of(a), produces, () -> fn.accept(a.get().orElseThrow()));
+    }
+
+    public <A, B> boolean when(Slot<A> a, Slot<B> b, BiConsumer<A, B> fn) {
+      return add(name, List.of(a, b), produces,
+          () -> fn.accept(a.get().orElseThrow(), b.get().orElseThrow()));
+    }
+
+    public <A, B, C> boolean when(Slot<A> a, Slot<B> b, Slot<C> c, RuleKit.TriConsumer<A, B, C> fn) {
+      return add(name, List.of(a, b, c), produces,
+          () -> fn.accept(a.get().orElseThrow(), b.get().orElseThrow(), c.get().orElseThrow()));
+    }
+
+    /** Run {@code body} once every slot in {@code needs} is set. */
+    public boolean whenAll(List<Slot<?>> needs, Runnable body) {
+      return add(name, needs, produces, body);
+    }
+  }
+
+  /** Steps still waiting on at least one input, in registration order. */
+  public List<Pending> unfired() {
+    List<Pending> out = new ArrayList<>();
+    for (Node n : steps.values()) {
+      if (n.done || n.queued) continue;
+      List<String> missing = new ArrayList<>();
+      for (Slot<?> s : n.needs) {
+        if (s.get().isEmpty()) missing.add(s.name());
+      }
+      out.add(new Pending(n.name, missing));
+    }
+    return out;
+  }
+
+  /** Fired steps in execution order. */
+  public List<Fired> fired() {
+    return List.copyOf(fired);
+  }
+
+  /**
+   * The chain of steps, linked through produced slots, that ends with the last step to finish.
+   * At each link the input whose producer finished latest is followed; inputs set directly by
+   * factories end the chain.
+   */
+  public List<String> criticalPath() {
+    Node cur = null;
+    for (Node n : steps.values()) {
+      if (n.done && (cur == null || n.endNanos > cur.endNanos)) cur = n;
+    }
+    Deque<String> path = new ArrayDeque<>();
+    while (cur != null) {
+      path.addFirst(cur.name);
+      Node next = null;
+      for (Slot<?> s : cur.needs) {
+        for (Node p : producers.getOrDefault(s, List.of())) {
+          if (p.done && p.endNanos <= cur.startNanos && (next == null || p.endNanos > next.endNanos)) next = p;
+        }
+      }
+      cur = next;
+    }
+    return List.copyOf(path);
+  }
+
+  /** Log steps that never fired; called from node validation once the tree is complete. */
+  void reportUnfired() {
+    List<Pending> pending = unfired();
+    if (pending.isEmpty()) return;
+    StringBuilder sb = new StringBuilder();
+    for (Pending p : pending) {
+      sb.append("\n  ").append(p.step()).append(" waiting on ").append(p.missing());
+    }
+    LOG.info(() -> pending.size() + " wiring step(s) never fired in " + ctx.stackName + ":" + sb);
+  }
+
+  /** Section for the synthesis profile report. */
+  Map<String, Object> report() {
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("criticalPath", criticalPath());
+    List<Map<String, Object>> waiting = new ArrayList<>();
+    for (Pending p : unfired()) {
+      waiting.add(Map.of("step", p.step(), "missing", p.missing()));
+    }
+    out.put("unfired", waiting);
+    return out;
+  }
+
+  private boolean add(String name, List<Slot<?>> needs, List<Slot<?>> produces, Runnable body) {
+    if (steps.containsKey(name)) {
+      LOG.fine(() -> "Wiring step already registered: " + name);
+      return false;
+    }
+    Node node = new Node(name, List.copyOf(needs), List.copyOf(produces), body, steps.size());
+    for (Slot<?> s : node.needs) consumers.computeIfAbsent(s, k -> new ArrayList<>()).add(node);
+    for (Slot<?> s : node.produces) producers.computeIfAbsent(s, k -> new ArrayList<>()).add(node);
+    steps.put(name, node);
+
+    List<String> cycle = findCycle(node);
+    if (cycle != null) {
+      steps.remove(name);
+      for (Slot<?> s : node.needs) consumers.get(s).remove(node);
+      for (Slot<?> s : node.produces) producers.get(s).remove(node);
+      throw new IllegalStateException("Wiring cycle: " + String.join(" -> ", cycle));
+    }
+
+    node.remaining = node.needs.size();
+    if (node.remaining == 0) {
+      enqueue(node);
+    } else {
+      // Slot fires each waiter exactly once, so counting down is exact
+      for (Slot<?> s : node.needs) {
+        s.onSet(v -> {
+          if (--node.remaining == 0) enqueue(node);
+        });
+      }
+    }
+    return true;
+  }
+
+  /** Path from {@code start} back to itself through produced slots, or {@code null}. */
+  private List<String> findCycle(Node start) {
+    Deque<Node> stack = new ArrayDeque<>();
+    Map<Node, Node> parent = new IdentityHashMap<>();
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Node n = stack.pop();
+      for (Slot<?> s : n.produces) {
+        for (Node next : consumers.getOrDefault(s, List.of())) {
+          if (next == start) {
+            List<String> cycle = new ArrayList<>();
+            for (Node p = n; p != start; p = parent.get(p)) cycle.add(0, p.name);
+            cycle.add(0, start.name);
+            cycle.add(start.name);
+            return cycle;
+          }
+          if (!parent.containsKey(next)) {
+            parent.put(next, n);
+            stack.push(next);
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Longest chain of producer steps leading into {@code n}, memoised for one pick only: edges
+   * added by steps registered after {@code n} was queued still count.
+   */
+  private int rank(Node n, Map<Node, Integer> memo) {
+    Integer known = memo.get(n);
+    if (known != null) return known;
+    int r = 0;
+    for (Slot<?> s : n.needs) {
+      for (Node p : producers.getOrDefault(s, List.of())) r = Math.max(r, rank(p, memo) + 1);
+    }
+    memo.put(n, r);
+    return r;
+  }
+
+  /** Remove and return the ready step with the lowest rank, ties broken by registration order. */
+  private Node next() {
+    Map<Node, Integer> memo = new IdentityHashMap<>();
+    int best = 0;
+    for (int i = 1; i < ready.size(); i++) {
+      Node a = ready.get(i), b = ready.get(best);
+      int ra = rank(a, memo), rb = rank(b, memo);
+      if (ra < rb || (ra == rb && a.seq < b.seq)) best = i;
+    }
+    return ready.remove(best);
+  }
+
+  private void enqueue(Node node) {
+    node.queued = true;
+    ready.add(node);
+    if (draining) return;
+
+    draining = true;
+    try {
+      while (!ready.isEmpty()) {
+        Node next = next();
+        try {
+          fire(next);
+        } catch (RuntimeException | Error e) {
+          e.addSuppressed(strand(next));
+          throw e;
+        }
+      }
+    } finally {
+      draining = false;
+    }
+  }
+
+  /** Drop the steps still queued behind {@code failed} so {@link #unfired()} reports them. */
+  private IllegalStateException strand(Node failed) {
+    List<String> names = new ArrayList<>();
+    for (Node n : ready) {
+      n.queued = false;
+      names.add(n.name);
+    }
+    ready.clear();
+    return new IllegalStateException("Wiring step " + failed.name + " failed; not run: " + names);
+  }
+
+  private void fire(Node node) {
+    node.queued = false;
+    node.done = true;
+    node.startNanos = System.nanoTime() - origin;
+    try {
+      ctx.profiler.time(SynthesisProfiler.Phase.WIRING, node.name, ctx, node.body);
+    } finally {
+      node.endNanos = System.nanoTime() - origin;
+      fired.add(new Fired(node.name, node.startNanos, node.endNanos));
+    }
+  }
+
+  private static final class Node {
+    final String name;
+    final List<Slot<?>> needs;
+    final List<Slot<?>> produces;
+    final Runnable body;
+    final int seq;
+    int remaining;
+    boolean queued;
+    boolean done;
+    long startNanos;
+    long endNanos;
+
+    Node(String name, List<Slot<?>> needs, List<Slot<?>> produces, Runnable body, int seq) {
+      this.name = name;
+      this.needs = needs;
+      this.produces = produces;
+      this.body = body;
+      this.seq = seq;
+    }
+  }
+}
@@ -5,8 +5,6 @@ import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.interfaces.SecurityProfileConfiguration;
 import software.constructs.Construct;
 
-import java.lang.reflect.Field;
-
 /**
  * Base class for factory classes that use annotation-based context injection.
  * This eliminates the need to pass SystemContext, DeploymentContext, and SecurityProfileConfiguration as parameters.
@@ -35,32 +33,21 @@ public abstract class BaseFactory extends Construct {
     }
     
     /**
-     * Performs the actual context injection using reflection.
+     * Performs the actual context injection using the class's cached {@link InjectionPlan}.
      */
     private void performContextInjection() {
+        InjectionPlan plan = InjectionPlan.of(getClass());
         try {
             SystemContext systemContext = SystemContext.of(this);
             DeploymentContext deploymentContext = DeploymentContext.from(this);
-            
-            // Use reflection to inject into annotated fields
-            Class<?> clazz = this.getClass();
-            while (clazz != null && clazz != Object.class) {
-                for (Field field : clazz.getDeclaredFields()) {
-                    if (field.isAnnotationPresent(com.cloudforgeci.api.core.annotation.SystemContext.class)) {
-                        field.setAccessible(true);
-                        field.set(this, systemContext);
-                    } else if (field.isAnnotationPresent(com.cloudforgeci.api.core.annotation.DeploymentContext.class)) {
-                        field.setAccessible(true);
-                        field.set(this, deploymentContext);
-                    } else if (field.isAnnotationPresent(com.cloudforgeci.api.core.annotation.SecurityProfileConfiguration.class)) {
-                        field.setAccessible(true);
-                        // Get the appropriate security profile configuration
-                        SecurityProfileConfiguration config = getSecurityProfileConfiguration(systemContext.security);
-                        field.set(this, config);
-                    }
-                }
-                clazz = clazz.getSuperclass();
-            }
+
+            // Reuse the profile configuration SecurityRules already put on the context
+            SecurityProfileConfiguration profileConfig = plan.needsSecurityProfile()
+                    ? systemContext.securityProfileConfig.get()
+                        .orElseGet(() -> getSecurityProfileConfiguration(systemContext.security))
+                    : null;
+
+            plan.inject(this, systemContext, deploymentContext, profileConfig);
         } catch (Exception e) {
             // Context not available yet - will be injected later
         }
@@ -0,0 +1,93 @@
+package com.cloudforgeci.api.core.annotation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled field-injection plan for one factory class.
+ *
+ * <p>The class hierarchy is scanned once per class and every annotated field is turned into a
+ * {@link MethodHandle} setter. Plans are cached in a {@link ClassValue}, so injecting a factory
+ * instance is just a few direct writes.</p>
+ */
+final class InjectionPlan {
+
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return build(type);
+        }
+    };
+
+    private final MethodHandle[] systemContextSetters;
+    private final MethodHandle[] deploymentContextSetters;
+    private final MethodHandle[] securityProfileSetters;
+
+    private InjectionPlan(List<MethodHandle> sys, List<MethodHandle> dep, List<MethodHandle> sec) {
+        this.systemContextSetters = sys.toArray(MethodHandle[]::new);
+        this.deploymentContextSetters = dep.toArray(MethodHandle[]::new);
+        this.securityProfileSetters = sec.toArray(MethodHandle[]::new);
+    }
+
+    /** The cached plan for {@code type}. */
+    static InjectionPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /** True when some field wants the SecurityProfileConfiguration. */
+    boolean needsSecurityProfile() {
+        return securityProfileSetters.length > 0;
+    }
+
+    /** Write the resolved contexts into {@code target}'s annotated fields. */
+    void inject(Object target, Object systemContext, Object deploymentContext, Object securityProfile) {
+        try {
+            for (MethodHandle mh : systemContextSetters) mh.invokeExact(target, systemContext);
+            for (MethodHandle mh : deploymentContextSetters) mh.invokeExact(target, deploymentContext);
+            for (MethodHandle mh : securityProfileSetters) mh.invokeExact(target, securityProfile);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Context injection failed for " + target.getClass().getName(), t);
+        }
+    }
+
+    private static InjectionPlan build(Class<?> type) {
+        List<MethodHandle> sys = new ArrayList<>();
+        List<MethodHandle> dep = new ArrayList<>();
+        List<MethodHandle> sec = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                List<MethodHandle> target;
+                if (field.isAnnotationPresent(SystemContext.class)) {
+                    target = sys;
+                } else if (field.isAnnotationPresent(DeploymentContext.class)) {
+                    target = dep;
+                } else if (field.isAnnotationPresent(SecurityProfileConfiguration.class)) {
+                    target = sec;
+                } else {
+                    continue;
+                }
+                if (Modifier.isStatic(field.getModifiers())) {
+                    throw new IllegalStateException("Injected field must not be static: " + field);
+                }
+                try {
+                    field.setAccessible(true);
+                    target.add(lookup.unreflectSetter(field).asType(SETTER));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new IllegalStateException("Cannot inject into " + field, e);
+                }
+            }
+        }
+        return new InjectionPlan(sys, dep, sec);
+    }
+}
@@ -0,0 +1,122 @@
+package com.cloudforgeci.api.core.iam;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of IAM action patterns answering "does any pattern grant this action?".
+ *
+ * <p>Patterns are grouped by service and each group is a character trie over the action name,
+ * with {@code *} and {@code ?} stored as wildcard edges. A lookup walks one service's trie, so
+ * it costs the length of the action rather than the number of patterns. Patterns whose service
+ * part is itself a wildcard ({@code *}, {@code s3*:Get}) go into one trie over the whole
+ * string. Matching is case-insensitive, as in IAM.</p>
+ *
+ * <pre>{@code
+ * ActionIndex granted = ActionIndex.of(List.of("s3:Get*", "logs:PutLogEvents"));
+ * granted.matches("s3:GetObject");    // true
+ * granted.matches("s3:*");            // false - the query is taken literally
+ * }</pre>
+ *
+ * <p>Wildcards in the query are not expanded: {@code s3:*} is granted only by a pattern that
+ * covers every {@code s3} action, which is what a least-privilege check needs.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class ActionIndex {
+
+  private static final class Node {
+    private final Map<Character, Node> children = new HashMap<>(4);
+    private Node star;
+    private Node single;
+    private boolean terminal;
+
+    Node child(char ch) {
+      return switch (ch) {
+        case '*' -> star != null ? star : (star = new Node());
+        case '?' -> single != null ? single : (single = new Node());
+        default -> children.computeIfAbsent(ch, k -> new Node());
+      };
+    }
+  }
+
+  private final Map<String, Node> services = new HashMap<>();
+  private final Node wildServices = new Node();
+  private final List<String> patterns;
+
+  private ActionIndex(Collection<String> patterns) {
+    this.patterns = List.copyOf(patterns);
+    for (String p : this.patterns) add(p.toLowerCase(Locale.ROOT));
+  }
+
+  /** Index {@code patterns}, e.g. {@code s3:GetObject}, {@code ecr:*} or {@code *}. */
+  public static ActionIndex of(Collection<String> patterns) {
+    return new ActionIndex(patterns);
+  }
+
+  /** The indexed patterns, as given. */
+  public List<String> patterns() {
+    return patterns;
+  }
+
+  /** True when any indexed pattern grants {@code action}. */
+  public boolean matches(String action) {
+    String a = action.toLowerCase(Locale.ROOT);
+    int colon = a.indexOf(':');
+    if (colon >= 0) {
+      Node service = services.get(a.substring(0, colon));
+      if (service != null && match(service, a, colon + 1)) return true;
+    }
+    return match(wildServices, a, 0);
+  }
+
+  /** The entries of {@code actions} no indexed pattern grants, in input order. */
+  public List<String> unmatched(Collection<String> actions) {
+    List<String> out = new ArrayList<>();
+    for (String a : actions) {
+      if (!matches(a)) out.add(a);
+    }
+    return out;
+  }
+
+  private void add(String pattern) {
+    int colon = pattern.indexOf(':');
+    Node node;
+    int from;
+    if (colon < 0 || isWild(pattern, 0, colon)) {
+      node = wildServices;
+      from = 0;
+    } else {
+      node = services.computeIfAbsent(pattern.substring(0, colon), k -> new Node());
+      from = colon + 1;
+    }
+    for (int i = from; i < pattern.length(); i++) node = node.child(pattern.charAt(i));
+    node.terminal = true;
+  }
+
+  private static boolean isWild(String s, int from, int to) {
+    for (int i = from; i < to; i++) {
+      char ch = s.charAt(i);
+      if (ch == '*' || ch == '?') return true;
+    }
+    return false;
+  }
+
+  private static boolean match(Node node, String s, int i) {
+    if (node.star != null) {
+      // '*' consumes zero or more characters
+      for (int j = i; j <= s.length(); j++) {
+        if (match(node.star, s, j)) return true;
+      }
+    }
+    if (i == s.length()) return node.terminal;
+    Node next = node.children.get(s.charAt(i));
+    if (next != null && match(next, s, i + 1)) return true;
+    return node.single != null && match(node.single, s, i + 1);
+  }
+}
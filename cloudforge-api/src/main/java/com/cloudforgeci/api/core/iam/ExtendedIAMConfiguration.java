@@ -6,7 +6,6 @@ import com.cloudforgeci.api.interfaces.IAMConfiguration;
 import com.cloudforgeci.api.interfaces.Rule;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import software.amazon.awscdk.services.iam.ManagedPolicy;
-import software.amazon.awscdk.services.iam.PolicyStatement;
 import software.amazon.awscdk.services.iam.Role;
 import software.amazon.awscdk.services.iam.ServicePrincipal;
 
@@ -72,53 +71,47 @@ public final class ExtendedIAMConfiguration implements IAMConfiguration {
                 ))
                 .build();
 
+        // Statements sharing resources are merged before they reach the role
+        PolicyConsolidator policy = new PolicyConsolidator(PermissionMatrix.requiredIndex(c.topology, c.runtime, kind()));
+
         // Add extended CloudWatch permissions
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedCloudWatchLogs")
-                .actions(List.of(
+        policy.add("ExtendedCloudWatchLogs",
+                List.of(
                         "logs:*"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add extended CloudWatch metrics permissions
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedCloudWatchMetrics")
-                .actions(List.of(
+        policy.add("ExtendedCloudWatchMetrics",
+                List.of(
                         "cloudwatch:*"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add EFS permissions
         if (c.efs.get().isPresent()) {
-            ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                    .sid("ExtendedEfsAccess")
-                    .actions(List.of(
+            policy.add("ExtendedEfsAccess",
+                    List.of(
                             "elasticfilesystem:*"
-                    ))
-                    .resources(List.of("*"))
-                    .build());
+                    ),
+                    List.of("*"));
         }
 
         // Add S3 permissions for development
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedS3Access")
-                .actions(List.of(
+        policy.add("ExtendedS3Access",
+                List.of(
                         "s3:*"
-                ))
-                .resources(List.of(
+                ),
+                List.of(
                         "arn:aws:s3:::jenkins-dev-*",
                         "arn:aws:s3:::jenkins-dev-*/*",
                         "arn:aws:s3:::jenkins-backup-*",
                         "arn:aws:s3:::jenkins-backup-*/*"
-                ))
-                .build());
+                ));
 
         // Add EC2 permissions for debugging
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedEc2Debug")
-                .actions(List.of(
+        policy.add("ExtendedEc2Debug",
+                List.of(
                         "ec2:DescribeInstances",
                         "ec2:DescribeVolumes",
                         "ec2:DescribeSnapshots",
@@ -126,22 +119,20 @@ public final class ExtendedIAMConfiguration implements IAMConfiguration {
                         "ec2:DescribeSecurityGroups",
                         "ec2:DescribeVpcs",
                         "ec2:DescribeSubnets"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add Systems Manager permissions for debugging
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedSSMDebug")
-                .actions(List.of(
+        policy.add("ExtendedSSMDebug",
+                List.of(
                         "ssm:DescribeInstanceInformation",
                         "ssm:ListCommandInvocations",
                         "ssm:SendCommand",
                         "ssm:GetCommandInvocation"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
+        policy.attach(ec2Role);
         c.ec2InstanceRole.set(ec2Role);
     }
 
@@ -159,63 +150,57 @@ public final class ExtendedIAMConfiguration implements IAMConfiguration {
                 .assumedBy(new ServicePrincipal("ecs-tasks.amazonaws.com"))
                 .build();
 
+        // Statements sharing resources are merged before they reach the role
+        PolicyConsolidator policy = new PolicyConsolidator(PermissionMatrix.requiredIndex(c.topology, c.runtime, kind()));
+
         // Add extended EFS permissions
         if (c.efs.get().isPresent() && c.ap.get().isPresent()) {
-            taskRole.addToPolicy(PolicyStatement.Builder.create()
-                    .sid("ExtendedEfsAccess")
-                    .actions(List.of(
+            policy.add("ExtendedEfsAccess",
+                    List.of(
                             "elasticfilesystem:*"
-                    ))
-                    .resources(List.of("*"))
-                    .build());
+                    ),
+                    List.of("*"));
         }
 
         // Add extended CloudWatch permissions
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedCloudWatchLogs")
-                .actions(List.of(
+        policy.add("ExtendedCloudWatchLogs",
+                List.of(
                         "logs:*"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add extended CloudWatch metrics permissions
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedCloudWatchMetrics")
-                .actions(List.of(
+        policy.add("ExtendedCloudWatchMetrics",
+                List.of(
                         "cloudwatch:*"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add extended S3 permissions
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedS3Access")
-                .actions(List.of(
+        policy.add("ExtendedS3Access",
+                List.of(
                         "s3:*"
-                ))
-                .resources(List.of(
+                ),
+                List.of(
                         "arn:aws:s3:::jenkins-dev-*",
                         "arn:aws:s3:::jenkins-dev-*/*",
                         "arn:aws:s3:::jenkins-backup-*",
                         "arn:aws:s3:::jenkins-backup-*/*"
-                ))
-                .build());
+                ));
 
         // Add ECS permissions for debugging
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("ExtendedEcsDebug")
-                .actions(List.of(
+        policy.add("ExtendedEcsDebug",
+                List.of(
                         "ecs:DescribeClusters",
                         "ecs:DescribeServices",
                         "ecs:DescribeTasks",
                         "ecs:DescribeTaskDefinition",
                         "ecs:ListTasks",
                         "ecs:ListServices"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
+        policy.attach(taskRole);
         c.fargateExecutionRole.set(executionRole);
         c.fargateTaskRole.set(taskRole);
     }
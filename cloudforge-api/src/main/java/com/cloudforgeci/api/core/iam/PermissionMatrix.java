@@ -14,6 +14,10 @@ import java.util.Map;
 public final class PermissionMatrix {
     private PermissionMatrix() {}
 
+    private record Combination(TopologyType topology, RuntimeType runtime, IAMProfile iamProfile) {}
+
+    private static final Map<Combination, ActionIndex> REQUIRED_INDEX = new java.util.concurrent.ConcurrentHashMap<>();
+
     /**
      * Core permissions required for all Jenkins deployments regardless of topology/runtime.
      */
@@ -184,18 +188,14 @@ public final class PermissionMatrix {
         List<String> issues = new java.util.ArrayList<>();
         
         // Check for missing required permissions
-        for (String required : requiredPermissions) {
-            if (!hasPermission(providedPermissions, required)) {
-                issues.add("Missing required permission: " + required);
-            }
+        for (String required : ActionIndex.of(providedPermissions).unmatched(requiredPermissions)) {
+            issues.add("Missing required permission: " + required);
         }
         
         // Check for excessive permissions (only for MINIMAL profile)
         if (iamProfile == IAMProfile.MINIMAL) {
-            for (String provided : providedPermissions) {
-                if (!isPermissionAllowed(requiredPermissions, provided)) {
-                    issues.add("Excessive permission for MINIMAL profile: " + provided);
-                }
+            for (String provided : requiredIndex(topology, runtime, iamProfile).unmatched(providedPermissions)) {
+                issues.add("Excessive permission for MINIMAL profile: " + provided);
             }
         }
         
@@ -203,25 +203,16 @@ public final class PermissionMatrix {
     }
 
     /**
-     * Checks if a permission is present in the provided list (supports wildcards).
-     */
-    private static boolean hasPermission(List<String> permissions, String required) {
-        return permissions.stream().anyMatch(perm -> 
-            perm.equals(required) || 
-            perm.equals("*") || 
-            perm.endsWith("*") && required.startsWith(perm.substring(0, perm.length() - 1))
-        );
-    }
-
-    /**
-     * Checks if a permission is allowed based on the required permissions list.
+     * Index of {@link #getRequiredPermissions} for a combination, built once per combination.
+     * 
+     * @param topology the topology type
+     * @param runtime the runtime type
+     * @param iamProfile the IAM profile
+     * @return index whose patterns are the required permissions
      */
-    private static boolean isPermissionAllowed(List<String> allowedPermissions, String permission) {
-        return allowedPermissions.stream().anyMatch(allowed -> 
-            allowed.equals(permission) || 
-            allowed.equals("*") || 
-            allowed.endsWith("*") && permission.startsWith(allowed.substring(0, allowed.length() - 1))
-        );
+    public static ActionIndex requiredIndex(TopologyType topology, RuntimeType runtime, IAMProfile iamProfile) {
+        return REQUIRED_INDEX.computeIfAbsent(new Combination(topology, runtime, iamProfile),
+            k -> ActionIndex.of(getRequiredPermissions(topology, runtime, iamProfile)));
     }
 
     /**
@@ -0,0 +1,204 @@
+package com.cloudforgeci.api.core.iam;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Least-privilege analysis of the policies the IAM configurations actually attach.
+ *
+ * <p>{@link PermissionMatrix#validatePermissions} checks hand-maintained action lists. This
+ * reads the synthesized CloudFormation templates instead, collects the {@code Allow} actions
+ * granted to each role created by {@link MinimalIAMConfiguration},
+ * {@link StandardIAMConfiguration} or {@link ExtendedIAMConfiguration}, and reports every
+ * action the {@link PermissionMatrix} entry for the stack's topology, runtime and IAM profile
+ * does not cover. Templates are plain JSON, so a whole fleet is analyzed in one pass without
+ * starting jsii, and each combination's {@link ActionIndex} is built once.</p>
+ *
+ * <pre>{@code
+ * PolicyAnalyzer.Report r = PolicyAnalyzer.analyze(List.of(
+ *     PolicyAnalyzer.StackTemplate.read("team-a", Path.of("cdk.out.fleet/team-a"), cfc)));
+ * r.excessive();   // roles granted actions outside their profile
+ * }</pre>
+ *
+ * <p>AWS managed policies are referenced by ARN only and are not expanded.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class PolicyAnalyzer {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /** Construct ids of the roles the IAM configurations create, e.g. {@code StandardEc2Role}; also found in logical ids. */
+  private static final Pattern PROFILE_ROLE = Pattern.compile("(Minimal|Standard|Extended)(Ec2Role|TaskRole|TaskExecutionRole)");
+
+  private static final String DEFAULT_POLICY = "/DefaultPolicy/Resource";
+  private static final String RESOURCE = "/Resource";
+
+  private PolicyAnalyzer() {}
+
+  /**
+   * One synthesized template and the combination it was built for.
+   *
+   * @param stack name reported with every finding
+   * @param template the CloudFormation template
+   */
+  public record StackTemplate(String stack, JsonNode template, TopologyType topology, RuntimeType runtime,
+                              IAMProfile iamProfile) {
+
+    /**
+     * Every {@code *.template.json} in a cloud assembly directory, including nested and layer
+     * stacks, for the combination {@code cfc} selects.
+     */
+    public static List<StackTemplate> read(String stack, Path assembly, DeploymentContext cfc) throws IOException {
+      IAMProfile iam = IAMProfileMapper.mapFromSecurity(cfc.securityProfile());
+      List<StackTemplate> out = new ArrayList<>();
+      try (Stream<Path> files = Files.list(assembly)) {
+        for (Path f : files.filter(p -> p.getFileName().toString().endsWith(".template.json")).sorted().toList()) {
+          out.add(new StackTemplate(stack, MAPPER.readTree(f.toFile()), cfc.topology(), cfc.runtime(), iam));
+        }
+      }
+      return out;
+    }
+  }
+
+  /**
+   * Actions granted to one profile role.
+   *
+   * @param stack stack name
+   * @param role construct path of the role
+   * @param iamProfile profile the stack was synthesized with
+   * @param actions every action pattern granted by an inline {@code Allow} statement
+   * @param excessive the entries of {@code actions} the permission matrix does not allow
+   */
+  public record RoleReport(String stack, String role, IAMProfile iamProfile, List<String> actions,
+                           List<String> excessive) {}
+
+  /**
+   * Outcome of an analysis.
+   *
+   * @param roles one entry per profile role, in template order
+   */
+  public record Report(List<RoleReport> roles) {
+
+    public List<RoleReport> excessive() {
+      return roles.stream().filter(r -> !r.excessive().isEmpty()).toList();
+    }
+
+    public void write(Path file) throws IOException {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+
+    /** One line per role with excessive actions, after a total. */
+    public String summary() {
+      StringBuilder sb = new StringBuilder();
+      sb.append(String.format("IAM: %d role(s), %d with actions outside their profile%n", roles.size(), excessive().size()));
+      for (RoleReport r : excessive()) {
+        sb.append(String.format("  %s %s (%s): %s%n", r.stack(), r.role(), r.iamProfile(), String.join(", ", r.excessive())));
+      }
+      return sb.toString();
+    }
+  }
+
+  /** Analyze every template in one pass; roles are reported in input order. */
+  public static Report analyze(List<StackTemplate> templates) {
+    List<RoleReport> out = new ArrayList<>();
+    for (StackTemplate t : templates) {
+      ActionIndex allowed = PermissionMatrix.requiredIndex(t.topology(), t.runtime(), t.iamProfile());
+      grants(t.template()).forEach((role, actions) -> {
+        List<String> granted = List.copyOf(actions);
+        out.add(new RoleReport(t.stack(), role, t.iamProfile(), granted, allowed.unmatched(granted)));
+      });
+    }
+    return new Report(out);
+  }
+
+  /** Profile role path to the actions granted to it by the template's inline policies. */
+  static Map<String, Set<String>> grants(JsonNode template) {
+    Map<String, Set<String>> out = new LinkedHashMap<>();
+    JsonNode resources = template.path("Resources");
+    for (Map.Entry<String, JsonNode> e : resources.properties()) {
+      JsonNode resource = e.getValue();
+      switch (resource.path("Type").asText()) {
+        case "AWS::IAM::Policy" -> {
+          for (String role : policyRoles(resources, resource)) {
+            if (isProfileRole(role)) {
+              addActions(resource.path("Properties").path("PolicyDocument"), out.computeIfAbsent(role, k -> new LinkedHashSet<>()));
+            }
+          }
+        }
+        case "AWS::IAM::Role" -> {
+          String role = roleName(e.getKey(), resource);
+          if (isProfileRole(role)) {
+            Set<String> actions = out.computeIfAbsent(role, k -> new LinkedHashSet<>());
+            for (JsonNode policy : resource.path("Properties").path("Policies")) addActions(policy.path("PolicyDocument"), actions);
+          }
+        }
+        default -> { }
+      }
+    }
+    return out;
+  }
+
+  private static List<String> policyRoles(JsonNode resources, JsonNode policy) {
+    // Role.addToPolicy puts the policy at <role>/DefaultPolicy
+    String path = cdkPath(policy);
+    if (path != null && path.endsWith(DEFAULT_POLICY)) {
+      return List.of(path.substring(0, path.length() - DEFAULT_POLICY.length()));
+    }
+    List<String> out = new ArrayList<>();
+    for (JsonNode ref : policy.path("Properties").path("Roles")) {
+      String id = ref.path("Ref").asText(null);
+      if (id != null && resources.has(id)) out.add(roleName(id, resources.get(id)));
+    }
+    return out;
+  }
+
+  private static String roleName(String logicalId, JsonNode role) {
+    String path = cdkPath(role);
+    if (path == null) return logicalId;
+    return path.endsWith(RESOURCE) ? path.substring(0, path.length() - RESOURCE.length()) : path;
+  }
+
+  private static String cdkPath(JsonNode resource) {
+    return resource.path("Metadata").path("aws:cdk:path").asText(null);
+  }
+
+  private static boolean isProfileRole(String role) {
+    String id = role.substring(role.lastIndexOf('/') + 1);
+    return PROFILE_ROLE.matcher(id).find();
+  }
+
+  private static void addActions(JsonNode document, Set<String> out) {
+    for (JsonNode statement : asArray(document.path("Statement"))) {
+      if (!"Allow".equals(statement.path("Effect").asText())) continue;
+      // NotAction grants everything it does not list
+      if (statement.has("NotAction")) out.add("*");
+      for (JsonNode action : asArray(statement.path("Action"))) {
+        if (action.isTextual()) out.add(action.asText());
+      }
+    }
+  }
+
+  private static Iterable<JsonNode> asArray(JsonNode node) {
+    if (node.isMissingNode() || node.isNull()) return List.of();
+    return node.isArray() ? node : List.of(node);
+  }
+}
@@ -0,0 +1,187 @@
+package com.cloudforgeci.api.core.iam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.iam.IRole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Collects the statements for one role and merges them before they reach the role's policy.
+ *
+ * <p>Statements with the same resources and conditions become one statement carrying the union
+ * of their actions, under the first statement's sid. Within a statement, actions already covered
+ * by a wildcard in the same list are dropped. Two or more actions of one service are collapsed
+ * to {@code service:*}, or to a shared verb such as {@code ec2:Describe*}, but only when the
+ * {@link PermissionMatrix} index for the profile allows that wildcard, so consolidation never
+ * grants more than the profile permits.</p>
+ *
+ * <pre>{@code
+ * PolicyConsolidator policy = new PolicyConsolidator(PermissionMatrix.requiredIndex(topology, runtime, profile));
+ * policy.add("Metrics", List.of("cloudwatch:PutMetricData"), List.of("*"));
+ * policy.add("Debug", List.of("ec2:DescribeInstances"), List.of("*"));
+ * policy.attach(role);   // one statement instead of two
+ * }</pre>
+ *
+ * <p>Merging happens in Java before any {@code PolicyStatement} is created, so a merged role
+ * also costs fewer jsii calls. Sizes are estimated from the compact JSON of the statements, with
+ * unresolved tokens counted at their encoded length.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class PolicyConsolidator {
+
+  private static final Logger LOG = Logger.getLogger(PolicyConsolidator.class.getName());
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * One {@code Allow} statement.
+   *
+   * @param sid statement id
+   * @param actions action patterns
+   * @param resources resource ARNs or tokens
+   * @param conditions IAM condition block; empty for none
+   */
+  public record Statement(String sid, List<String> actions, List<String> resources, Map<String, Object> conditions) {
+    public Statement(String sid, List<String> actions, List<String> resources) {
+      this(sid, actions, resources, Map.of());
+    }
+  }
+
+  /**
+   * Effect of consolidating one role.
+   *
+   * @param statementsBefore statements added
+   * @param statementsAfter statements attached
+   * @param bytesBefore estimated policy size of the added statements
+   * @param bytesAfter estimated policy size of the attached statements
+   */
+  public record Savings(int statementsBefore, int statementsAfter, int bytesBefore, int bytesAfter) {
+    public int saved() {
+      return bytesBefore - bytesAfter;
+    }
+  }
+
+  private record Group(Set<String> resources, Map<String, Object> conditions) {}
+
+  private final ActionIndex allowed;
+  private final List<Statement> statements = new ArrayList<>();
+
+  /** @param allowed actions the profile permits; wildcards are introduced only where it matches them */
+  public PolicyConsolidator(ActionIndex allowed) {
+    this.allowed = allowed;
+  }
+
+  public PolicyConsolidator add(String sid, List<String> actions, List<String> resources) {
+    return add(new Statement(sid, actions, resources));
+  }
+
+  public PolicyConsolidator add(Statement statement) {
+    statements.add(statement);
+    return this;
+  }
+
+  /** The merged statements, in order of each group's first statement. */
+  public List<Statement> consolidate() {
+    Map<Group, List<Statement>> groups = new LinkedHashMap<>();
+    for (Statement s : statements) {
+      groups.computeIfAbsent(new Group(new TreeSet<>(s.resources()), s.conditions()), k -> new ArrayList<>()).add(s);
+    }
+    List<Statement> out = new ArrayList<>(groups.size());
+    for (List<Statement> group : groups.values()) {
+      Set<String> actions = new LinkedHashSet<>();
+      for (Statement s : group) actions.addAll(s.actions());
+      Statement first = group.get(0);
+      out.add(new Statement(first.sid(), collapse(List.copyOf(actions)), first.resources(), first.conditions()));
+    }
+    return out;
+  }
+
+  /** Add the merged statements to {@code role} and log the size change. */
+  public Savings attach(IRole role) {
+    List<Statement> merged = consolidate();
+    for (Statement s : merged) {
+      PolicyStatement.Builder b = PolicyStatement.Builder.create()
+          .sid(s.sid())
+          .actions(s.actions())
+          .resources(s.resources());
+      if (!s.conditions().isEmpty()) b.conditions(s.conditions());
+      role.addToPrincipalPolicy(b.build());
+    }
+    Savings savings = new Savings(statements.size(), merged.size(), size(statements), size(merged));
+    LOG.info(() -> "IAM policy for " + role.getNode().getPath() + ": " + savings.statementsBefore() + " -> "
+        + savings.statementsAfter() + " statement(s), ~" + savings.saved() + " byte(s) saved");
+    return savings;
+  }
+
+  /** Estimated size of {@code statements} as the Statement array of a policy document. */
+  static int size(List<Statement> statements) {
+    List<Map<String, Object>> doc = new ArrayList<>(statements.size());
+    for (Statement s : statements) {
+      Map<String, Object> m = new LinkedHashMap<>();
+      m.put("Sid", s.sid());
+      m.put("Effect", "Allow");
+      m.put("Action", s.actions().size() == 1 ? s.actions().get(0) : s.actions());
+      m.put("Resource", s.resources().size() == 1 ? s.resources().get(0) : s.resources());
+      if (!s.conditions().isEmpty()) m.put("Condition", s.conditions());
+      doc.add(m);
+    }
+    try {
+      return MAPPER.writeValueAsBytes(doc).length;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot size policy statements", e);
+    }
+  }
+
+  private List<String> collapse(List<String> actions) {
+    // Drop actions a wildcard in the same list already grants
+    List<String> wildcards = actions.stream().filter(a -> a.indexOf('*') >= 0 || a.indexOf('?') >= 0).toList();
+    ActionIndex covered = ActionIndex.of(wildcards);
+    Map<String, List<String>> byService = new LinkedHashMap<>();
+    for (String a : actions) {
+      if (wildcards.contains(a) || !covered.matches(a)) {
+        int colon = a.indexOf(':');
+        byService.computeIfAbsent(colon < 0 ? a : a.substring(0, colon), k -> new ArrayList<>()).add(a);
+      }
+    }
+
+    List<String> out = new ArrayList<>();
+    for (Map.Entry<String, List<String>> e : byService.entrySet()) {
+      List<String> service = e.getValue();
+      String wildcard = service.size() > 1 ? wildcard(e.getKey(), service) : null;
+      if (wildcard != null) out.add(wildcard);
+      else out.addAll(service);
+    }
+    return out;
+  }
+
+  /** The narrowest allowed wildcard covering {@code actions}, or null. */
+  private String wildcard(String service, List<String> actions) {
+    String verb = verb(actions.get(0));
+    if (verb != null && actions.stream().allMatch(a -> verb.equals(verb(a)))) {
+      String candidate = service + ":" + verb + "*";
+      if (allowed.matches(candidate)) return candidate;
+    }
+    String candidate = service + ":*";
+    return allowed.matches(candidate) ? candidate : null;
+  }
+
+  /** Leading capitalized word of the action name, e.g. {@code Describe} for {@code ec2:DescribeVpcs}. */
+  private static String verb(String action) {
+    int colon = action.indexOf(':');
+    if (colon < 0 || colon + 1 >= action.length()) return null;
+    int end = colon + 2;
+    while (end < action.length() && Character.isLowerCase(action.charAt(end))) end++;
+    return end < action.length() && end > colon + 2 ? action.substring(colon + 1, end) : null;
+  }
+}
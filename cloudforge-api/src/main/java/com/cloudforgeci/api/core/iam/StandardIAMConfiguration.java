@@ -6,7 +6,6 @@ import com.cloudforgeci.api.interfaces.IAMConfiguration;
 import com.cloudforgeci.api.interfaces.Rule;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import software.amazon.awscdk.services.iam.ManagedPolicy;
-import software.amazon.awscdk.services.iam.PolicyStatement;
 import software.amazon.awscdk.services.iam.Role;
 import software.amazon.awscdk.services.iam.ServicePrincipal;
 
@@ -71,62 +70,58 @@ public final class StandardIAMConfiguration implements IAMConfiguration {
                 ))
                 .build();
 
+        // Statements sharing resources are merged before they reach the role
+        PolicyConsolidator policy = new PolicyConsolidator(PermissionMatrix.requiredIndex(c.topology, c.runtime, kind()));
+
         // Add standard CloudWatch permissions
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("StandardCloudWatchLogs")
-                .actions(List.of(
+        policy.add("StandardCloudWatchLogs",
+                List.of(
                         "logs:CreateLogGroup",
                         "logs:CreateLogStream",
                         "logs:PutLogEvents",
                         "logs:DescribeLogGroups",
                         "logs:DescribeLogStreams",
                         "logs:PutRetentionPolicy"
-                ))
-                .resources(List.of(
+                ),
+                List.of(
                         "arn:aws:logs:" + c.cfc.region() + ":*:log-group:/aws/jenkins*"
-                ))
-                .build());
+                ));
 
         // Add CloudWatch metrics permissions
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("StandardCloudWatchMetrics")
-                .actions(List.of(
+        policy.add("StandardCloudWatchMetrics",
+                List.of(
                         "cloudwatch:PutMetricData",
                         "cloudwatch:GetMetricStatistics",
                         "cloudwatch:ListMetrics"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add EFS permissions if EFS is used
         if (c.efs.get().isPresent()) {
-            ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                    .sid("StandardEfsAccess")
-                    .actions(List.of(
+            policy.add("StandardEfsAccess",
+                    List.of(
                             "elasticfilesystem:ClientMount",
                             "elasticfilesystem:ClientWrite",
                             "elasticfilesystem:DescribeMountTargets",
                             "elasticfilesystem:DescribeFileSystems"
-                    ))
-                    .resources(List.of(c.efs.get().orElseThrow().getFileSystemArn()))
-                    .build());
+                    ),
+                    List.of(c.efs.get().orElseThrow().getFileSystemArn()));
         }
 
         // Add S3 permissions for backup/restore (if needed)
-        ec2Role.addToPolicy(PolicyStatement.Builder.create()
-                .sid("StandardS3Backup")
-                .actions(List.of(
+        policy.add("StandardS3Backup",
+                List.of(
                         "s3:GetObject",
                         "s3:PutObject",
                         "s3:DeleteObject",
                         "s3:ListBucket"
-                ))
-                .resources(List.of(
+                ),
+                List.of(
                         "arn:aws:s3:::jenkins-backup-*",
                         "arn:aws:s3:::jenkins-backup-*/*"
-                ))
-                .build());
+                ));
 
+        policy.attach(ec2Role);
         c.ec2InstanceRole.set(ec2Role);
     }
 
@@ -144,65 +139,61 @@ public final class StandardIAMConfiguration implements IAMConfiguration {
                 .assumedBy(new ServicePrincipal("ecs-tasks.amazonaws.com"))
                 .build();
 
+        // Statements sharing resources are merged before they reach the role
+        PolicyConsolidator policy = new PolicyConsolidator(PermissionMatrix.requiredIndex(c.topology, c.runtime, kind()));
+
         // Add standard EFS permissions
         if (c.efs.get().isPresent() && c.ap.get().isPresent()) {
-            taskRole.addToPolicy(PolicyStatement.Builder.create()
-                    .sid("StandardEfsAccess")
-                    .actions(List.of(
+            policy.add("StandardEfsAccess",
+                    List.of(
                             "elasticfilesystem:ClientMount",
                             "elasticfilesystem:ClientWrite",
                             "elasticfilesystem:ClientRootAccess",
                             "elasticfilesystem:DescribeMountTargets"
-                    ))
-                    .resources(List.of(
+                    ),
+                    List.of(
                             c.efs.get().orElseThrow().getFileSystemArn(),
                             c.ap.get().orElseThrow().getAccessPointArn()
-                    ))
-                    .build());
+                    ));
         }
 
         // Add standard CloudWatch permissions
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("StandardCloudWatchLogs")
-                .actions(List.of(
+        policy.add("StandardCloudWatchLogs",
+                List.of(
                         "logs:CreateLogGroup",
                         "logs:CreateLogStream",
                         "logs:PutLogEvents",
                         "logs:DescribeLogGroups",
                         "logs:DescribeLogStreams",
                         "logs:PutRetentionPolicy"
-                ))
-                .resources(List.of(
+                ),
+                List.of(
                         "arn:aws:logs:" + c.cfc.region() + ":*:log-group:/aws/ecs/jenkins*"
-                ))
-                .build());
+                ));
 
         // Add CloudWatch metrics permissions
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("StandardCloudWatchMetrics")
-                .actions(List.of(
+        policy.add("StandardCloudWatchMetrics",
+                List.of(
                         "cloudwatch:PutMetricData",
                         "cloudwatch:GetMetricStatistics",
                         "cloudwatch:ListMetrics"
-                ))
-                .resources(List.of("*"))
-                .build());
+                ),
+                List.of("*"));
 
         // Add S3 permissions for backup/restore
-        taskRole.addToPolicy(PolicyStatement.Builder.create()
-                .sid("StandardS3Backup")
-                .actions(List.of(
+        policy.add("StandardS3Backup",
+                List.of(
                         "s3:GetObject",
                         "s3:PutObject",
                         "s3:DeleteObject",
                         "s3:ListBucket"
-                ))
-                .resources(List.of(
+                ),
+                List.of(
                         "arn:aws:s3:::jenkins-backup-*",
                         "arn:aws:s3:::jenkins-backup-*/*"
-                ))
-                .build());
+                ));
 
+        policy.attach(taskRole);
         c.fargateExecutionRole.set(executionRole);
         c.fargateTaskRole.set(taskRole);
     }
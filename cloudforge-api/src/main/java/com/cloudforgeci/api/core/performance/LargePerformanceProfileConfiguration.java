@@ -0,0 +1,82 @@
+package com.cloudforgeci.api.core.performance;
+
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
+import software.amazon.awscdk.services.efs.ThroughputMode;
+
+/**
+ * Large performance profile configuration for around a hundred engineers.
+ */
+public class LargePerformanceProfileConfiguration implements PerformanceProfileConfiguration {
+
+    @Override
+    public PerformanceProfile getPerformanceProfile() {
+        return PerformanceProfile.LARGE;
+    }
+
+    // Compute - Non-burstable compute for sustained load
+    @Override
+    public int getCpu() {
+        return 4096;
+    }
+
+    @Override
+    public int getMemory() {
+        return 16384;
+    }
+
+    @Override
+    public String getInstanceType() {
+        return "m6i.xlarge";
+    }
+
+    // Storage - Throughput follows load instead of burst credits
+    @Override
+    public ThroughputMode getEfsThroughputMode() {
+        return ThroughputMode.ELASTIC;
+    }
+
+    @Override
+    public EbsDeviceVolumeType getEbsVolumeType() {
+        return EbsDeviceVolumeType.GP3; // gp3 gives baseline IOPS regardless of size
+    }
+
+    @Override
+    public int getRootVolumeSize() {
+        return 50;
+    }
+
+    @Override
+    public int getDataVolumeSize() {
+        return 500;
+    }
+
+    // Scaling - Scale out earlier, scale in slowly
+    @Override
+    public int getCpuTargetUtilization() {
+        return 55;
+    }
+
+    @Override
+    public Duration getScaleOutCooldown() {
+        return Duration.minutes(1);
+    }
+
+    @Override
+    public Duration getScaleInCooldown() {
+        return Duration.minutes(5);
+    }
+
+    // Load Balancer - Artifact uploads and long polls outlive the default idle timeout
+    @Override
+    public Duration getAlbIdleTimeout() {
+        return Duration.seconds(300);
+    }
+
+    @Override
+    public Duration getDeregistrationDelay() {
+        return Duration.seconds(120);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cloudforgeci.api.core.performance;
+
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
+import software.amazon.awscdk.services.efs.ThroughputMode;
+
+/**
+ * Medium performance profile configuration for tens of engineers.
+ */
+public class MediumPerformanceProfileConfiguration implements PerformanceProfileConfiguration {
+
+    @Override
+    public PerformanceProfile getPerformanceProfile() {
+        return PerformanceProfile.MEDIUM;
+    }
+
+    // Compute - Room for a few concurrent builds on the controller
+    @Override
+    public int getCpu() {
+        return 2048;
+    }
+
+    @Override
+    public int getMemory() {
+        return 8192;
+    }
+
+    @Override
+    public String getInstanceType() {
+        return "t3.large";
+    }
+
+    // Storage - Throughput follows load instead of burst credits
+    @Override
+    public ThroughputMode getEfsThroughputMode() {
+        return ThroughputMode.ELASTIC;
+    }
+
+    @Override
+    public EbsDeviceVolumeType getEbsVolumeType() {
+        return EbsDeviceVolumeType.GP3; // gp3 gives baseline IOPS regardless of size
+    }
+
+    @Override
+    public int getRootVolumeSize() {
+        return 30;
+    }
+
+    @Override
+    public int getDataVolumeSize() {
+        return 200;
+    }
+
+    // Scaling - Scale out quickly, scale in slowly
+    @Override
+    public int getCpuTargetUtilization() {
+        return 60;
+    }
+
+    @Override
+    public Duration getScaleOutCooldown() {
+        return Duration.minutes(1);
+    }
+
+    @Override
+    public Duration getScaleInCooldown() {
+        return Duration.minutes(5);
+    }
+
+    // Load Balancer - Longer idle timeout for slow UI and artifact requests
+    @Override
+    public Duration getAlbIdleTimeout() {
+        return Duration.seconds(120);
+    }
+
+    @Override
+    public Duration getDeregistrationDelay() {
+        return Duration.seconds(120);
+    }
+}
@@ -0,0 +1,29 @@
+package com.cloudforgeci.api.core.performance;
+
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
+
+/**
+ * The configuration behind each {@link PerformanceProfile}.
+ *
+ * <p>Kept beside the configurations so {@link com.cloudforgeci.api.core.DeploymentContext} can
+ * read a profile's defaults while parsing without depending on the rules package;
+ * {@link com.cloudforgeci.api.core.rules.PerformanceRules} installs the same configuration on a
+ * SystemContext.</p>
+ *
+ * @author CloudForgeCI
+ * @since 2.0.5
+ */
+public final class PerformanceProfiles {
+
+  private PerformanceProfiles() {}
+
+  public static PerformanceProfileConfiguration configuration(PerformanceProfile profile) {
+    return switch (profile) {
+      case SMALL  -> new SmallPerformanceProfileConfiguration();
+      case MEDIUM -> new MediumPerformanceProfileConfiguration();
+      case LARGE  -> new LargePerformanceProfileConfiguration();
+      case XLARGE -> new XLargePerformanceProfileConfiguration();
+    };
+  }
+}
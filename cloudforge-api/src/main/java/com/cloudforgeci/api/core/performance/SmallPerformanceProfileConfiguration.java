@@ -0,0 +1,84 @@
+package com.cloudforgeci.api.core.performance;
+
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
+import software.amazon.awscdk.services.efs.ThroughputMode;
+
+/**
+ * Small performance profile configuration for a handful of engineers.
+ * Keeps the historical defaults so an unset profile synthesizes as before.
+ */
+public class SmallPerformanceProfileConfiguration implements PerformanceProfileConfiguration {
+
+    @Override
+    public PerformanceProfile getPerformanceProfile() {
+        return PerformanceProfile.SMALL;
+    }
+
+    // Compute - Smallest Jenkins-capable sizes
+    @Override
+    public int getCpu() {
+        return 1024;
+    }
+
+    @Override
+    public int getMemory() {
+        return 2048;
+    }
+
+    @Override
+    public String getInstanceType() {
+        return "t3.micro";
+    }
+
+    // Storage - Credits are enough for a small Jenkins home
+    @Override
+    public ThroughputMode getEfsThroughputMode() {
+        return ThroughputMode.BURSTING;
+    }
+
+    @Override
+    public EbsDeviceVolumeType getEbsVolumeType() {
+        return EbsDeviceVolumeType.STANDARD; // Unchanged volume type and sizes; ebsVolumeType opts in to gp3
+    }
+
+    @Override
+    public int getRootVolumeSize() {
+        return 20;
+    }
+
+    @Override
+    public int getDataVolumeSize() {
+        return 100;
+    }
+
+    // Scaling - Same cooldown both ways
+    @Override
+    public int getCpuTargetUtilization() {
+        return 60;
+    }
+
+    @Override
+    public Duration getScaleOutCooldown() {
+        return Duration.minutes(2);
+    }
+
+    @Override
+    public Duration getScaleInCooldown() {
+        return Duration.minutes(2);
+    }
+
+    // Load Balancer - Left unset so the AWS defaults (60s idle, 300s deregistration) apply
+    // without writing attributes into the template
+    @Override
+    public Duration getAlbIdleTimeout() {
+        return null;
+    }
+
+    @Override
+    public Duration getDeregistrationDelay() {
+        return null;
+    }
+}
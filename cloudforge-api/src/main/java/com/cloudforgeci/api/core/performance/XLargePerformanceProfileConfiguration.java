@@ -0,0 +1,82 @@
+package com.cloudforgeci.api.core.performance;
+
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
+import software.amazon.awscdk.services.efs.ThroughputMode;
+
+/**
+ * Extra large performance profile configuration for several hundred engineers.
+ */
+public class XLargePerformanceProfileConfiguration implements PerformanceProfileConfiguration {
+
+    @Override
+    public PerformanceProfile getPerformanceProfile() {
+        return PerformanceProfile.XLARGE;
+    }
+
+    // Compute - Non-burstable compute for sustained load
+    @Override
+    public int getCpu() {
+        return 8192;
+    }
+
+    @Override
+    public int getMemory() {
+        return 32768;
+    }
+
+    @Override
+    public String getInstanceType() {
+        return "m6i.2xlarge";
+    }
+
+    // Storage - Throughput follows load instead of burst credits
+    @Override
+    public ThroughputMode getEfsThroughputMode() {
+        return ThroughputMode.ELASTIC;
+    }
+
+    @Override
+    public EbsDeviceVolumeType getEbsVolumeType() {
+        return EbsDeviceVolumeType.GP3; // gp3 gives baseline IOPS regardless of size
+    }
+
+    @Override
+    public int getRootVolumeSize() {
+        return 50;
+    }
+
+    @Override
+    public int getDataVolumeSize() {
+        return 1000;
+    }
+
+    // Scaling - Scale out earliest, hold capacity longer
+    @Override
+    public int getCpuTargetUtilization() {
+        return 50;
+    }
+
+    @Override
+    public Duration getScaleOutCooldown() {
+        return Duration.minutes(1);
+    }
+
+    @Override
+    public Duration getScaleInCooldown() {
+        return Duration.minutes(10);
+    }
+
+    // Load Balancer - Artifact uploads and long polls outlive the default idle timeout
+    @Override
+    public Duration getAlbIdleTimeout() {
+        return Duration.seconds(300);
+    }
+
+    @Override
+    public Duration getDeregistrationDelay() {
+        return Duration.seconds(120);
+    }
+}
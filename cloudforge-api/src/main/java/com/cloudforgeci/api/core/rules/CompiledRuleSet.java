@@ -0,0 +1,109 @@
+package com.cloudforgeci.api.core.rules;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SynthesisEvents;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.Rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The IAM, runtime, topology and security rules for one profile tuple, flattened into a single
+ * array so a context is checked in one pass. Instances are immutable and shared between every
+ * context with the same tuple; build them through {@link RuleCompiler}.
+ */
+public final class CompiledRuleSet {
+
+  private static final Logger LOG = Logger.getLogger(CompiledRuleSet.class.getName());
+
+  private final Rule[] rules;
+  private final String[] sources;
+
+  CompiledRuleSet(List<Rule> rules, List<String> sources) {
+    this.rules = rules.toArray(Rule[]::new);
+    this.sources = sources.toArray(String[]::new);
+  }
+
+  /** Number of rules across all four families. */
+  public int size() {
+    return rules.length;
+  }
+
+  /** Every violation for {@code c}, in family order (IAM, runtime, topology, security). */
+  public List<Violation> evaluate(SystemContext c) {
+    List<Violation> out = null;
+    boolean timed = c.profiler.enabled();
+    for (int i = 0; i < rules.length; i++) {
+      Rule r = rules[i];
+      String source = sources[i];
+      SynthesisEvents.RuleCheck event = new SynthesisEvents.RuleCheck();
+      event.begin();
+      int found = 0;
+      if (r instanceof SlotRule s) {
+        // Fast path: no message list is built for a passing slot rule
+        boolean ok = timed ? c.profiler.timeRule(source, () -> s.check(c)).isEmpty() : s.holds(c);
+        if (!ok) {
+          if (out == null) out = new ArrayList<>();
+          out.add(s.violation(c, source));
+          found = 1;
+        }
+      } else {
+        List<String> messages = timed ? c.profiler.timeRule(source, () -> r.check(c)) : r.check(c);
+        if (!messages.isEmpty()) {
+          if (out == null) out = new ArrayList<>();
+          Violation.Severity severity = r instanceof ContextRule cr ? cr.severity() : Violation.Severity.ERROR;
+          for (String m : messages) {
+            out.add(new Violation(Violation.RULE, severity, null, m, source));
+          }
+          found = messages.size();
+        }
+      }
+      event.end();
+      if (event.shouldCommit()) {
+        event.stack = c.stackName;
+        event.source = source;
+        event.violations = found;
+        event.commit();
+      }
+    }
+    return out == null ? List.of() : out;
+  }
+
+  /**
+   * Violations of the {@link ContextRule}s for {@code cfc}, without a SystemContext. Slot rules and
+   * other rules that need constructs are skipped; sets compiled by
+   * {@link RuleCompiler#compile(DeploymentContext)} hold context rules only.
+   */
+  public List<Violation> evaluate(DeploymentContext cfc) {
+    List<Violation> out = null;
+    for (int i = 0; i < rules.length; i++) {
+      if (!(rules[i] instanceof ContextRule r)) continue;
+      List<String> messages = r.check(cfc);
+      if (messages.isEmpty()) continue;
+      if (out == null) out = new ArrayList<>();
+      for (String m : messages) {
+        out.add(new Violation(Violation.RULE, r.severity(), null, m, sources[i]));
+      }
+    }
+    return out == null ? List.of() : out;
+  }
+
+  /**
+   * Node-validation adapter: error messages are returned (failing synthesis), warnings are logged.
+   */
+  public List<String> validate(SystemContext c) {
+    List<Violation> violations = evaluate(c);
+    if (violations.isEmpty()) return List.of();
+    List<String> errors = new ArrayList<>(violations.size());
+    for (Violation v : violations) {
+      if (v.severity() == Violation.Severity.ERROR) {
+        errors.add(v.message());
+      } else {
+        LOG.warning(() -> c.stackName + ": " + v);
+      }
+    }
+    return errors;
+  }
+}
@@ -0,0 +1,39 @@
+package com.cloudforgeci.api.core.rules;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.Rule;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rule that reads only the deployment context, built by {@link RuleKit#context} and {@link RuleKit#advise}.
+ * Because it needs no slots it can be checked against a bare {@link DeploymentContext}, without an App,
+ * a Stack or a SystemContext; see {@link RuleCompiler#evaluateContexts}.
+ */
+public final class ContextRule implements Rule {
+
+  private final Violation.Severity severity;
+  private final Function<DeploymentContext, List<String>> check;
+
+  ContextRule(Violation.Severity severity, Function<DeploymentContext, List<String>> check) {
+    this.severity = severity;
+    this.check = check;
+  }
+
+  @Override
+  public List<String> check(SystemContext c) {
+    return check(c.cfc);
+  }
+
+  /** Messages for {@code cfc}; empty when the rule holds. */
+  public List<String> check(DeploymentContext cfc) {
+    return check.apply(cfc);
+  }
+
+  /** Severity of every violation this rule reports. */
+  public Violation.Severity severity() {
+    return severity;
+  }
+}
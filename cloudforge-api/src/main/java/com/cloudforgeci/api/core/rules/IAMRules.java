@@ -5,26 +5,21 @@ import com.cloudforgeci.api.core.iam.ExtendedIAMConfiguration;
 import com.cloudforgeci.api.core.iam.MinimalIAMConfiguration;
 import com.cloudforgeci.api.core.iam.StandardIAMConfiguration;
 import com.cloudforgeci.api.interfaces.IAMConfiguration;
-import com.cloudforgeci.api.interfaces.Rule;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.cloudforgeci.api.interfaces.IAMProfile;
 
 public final class IAMRules {
   private IAMRules() {}
 
-  public static void install(SystemContext ctx) {
-    final IAMConfiguration p = switch (ctx.iamProfile) {
+  public static IAMConfiguration configuration(IAMProfile profile) {
+    return switch (profile) {
       case MINIMAL  -> new MinimalIAMConfiguration();
       case STANDARD -> new StandardIAMConfiguration();
       case EXTENDED -> new ExtendedIAMConfiguration();
     };
+  }
 
-    ctx.getNode().addValidation(() -> {
-      List<String> errs = new ArrayList<>();
-      for (Rule r : p.rules(ctx)) errs.addAll(r.check(ctx));
-      return errs;
-    });
+  public static void install(SystemContext ctx) {
+    final IAMConfiguration p = configuration(ctx.iamProfile);
 
     // Create IAM roles immediately instead of deferring - runtime factories need them
     p.wire(ctx);
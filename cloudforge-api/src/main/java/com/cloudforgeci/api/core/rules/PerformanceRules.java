@@ -0,0 +1,20 @@
+package com.cloudforgeci.api.core.rules;
+
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.performance.PerformanceProfiles;
+import com.cloudforgeci.api.interfaces.PerformanceProfileConfiguration;
+
+import java.util.logging.Logger;
+
+public final class PerformanceRules {
+  private static final Logger LOG = Logger.getLogger(PerformanceRules.class.getName());
+
+  private PerformanceRules() {}
+
+  public static void install(SystemContext ctx) {
+    final PerformanceProfileConfiguration p = PerformanceProfiles.configuration(ctx.cfc.performanceProfile());
+    ctx.performanceProfileConfig.set(p);
+    LOG.info(() -> "Performance profile " + p.getPerformanceProfile() + ": cpu=" + ctx.cfc.cpu()
+        + ", memory=" + ctx.cfc.memory() + ", instanceType=" + ctx.cfc.instanceType());
+  }
+}
@@ -0,0 +1,119 @@
+package com.cloudforgeci.api.core.rules;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.BaseConfiguration;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.Rule;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds and caches a {@link CompiledRuleSet} per (topology, runtime, security, iam) tuple.
+ *
+ * <p>A configuration's {@code rules(c)} may branch on the tuple fields of {@code c} but must not
+ * capture anything else from it: the list is built once, from the first context seen for the
+ * tuple, and reused for every later one. Conditions on deployment-context values belong inside
+ * the rule, e.g. via {@link RuleKit#onlyIf}.</p>
+ *
+ * <p>Each family's {@link BaseConfiguration#contextRules() context rules} are appended to its
+ * {@code rules(c)}. They can also be compiled per (topology, runtime, security) and checked
+ * against bare deployment contexts with {@link #evaluateContexts}; the IAM profile is not part of
+ * a {@link DeploymentContext}, so IAM context rules only run at synthesis.</p>
+ */
+public final class RuleCompiler {
+
+  private record Key(TopologyType topology, RuntimeType runtime, SecurityProfile security, IAMProfile iam) {}
+
+  private record ContextKey(TopologyType topology, RuntimeType runtime, SecurityProfile security) {}
+
+  private static final Map<Key, CompiledRuleSet> CACHE = new ConcurrentHashMap<>();
+  private static final Map<ContextKey, CompiledRuleSet> CONTEXT_CACHE = new ConcurrentHashMap<>();
+
+  private RuleCompiler() {}
+
+  /** The rule set for {@code c}'s profile tuple, compiling it on first use. */
+  public static CompiledRuleSet compile(SystemContext c) {
+    return CACHE.computeIfAbsent(new Key(c.topology, c.runtime, c.security, c.iamProfile), k -> build(c));
+  }
+
+  /**
+   * Evaluate many contexts in one call, e.g. for a pre-merge check over a fleet of stack
+   * configurations. Contexts sharing a tuple share one compiled set.
+   *
+   * @return violations per context, in the same order as {@code contexts}
+   */
+  public static List<List<Violation>> evaluateAll(List<SystemContext> contexts) {
+    List<List<Violation>> out = new ArrayList<>(contexts.size());
+    for (SystemContext c : contexts) {
+      out.add(compile(c).evaluate(c));
+    }
+    return out;
+  }
+
+  /** The context-rule set for {@code cfc}'s topology, runtime and security profile. */
+  public static CompiledRuleSet compile(DeploymentContext cfc) {
+    return CONTEXT_CACHE.computeIfAbsent(new ContextKey(cfc.topology(), cfc.runtime(), cfc.securityProfile()), k -> {
+      List<Rule> rules = new ArrayList<>();
+      List<String> sources = new ArrayList<>();
+      addContext(rules, sources, "Runtime:" + k.runtime(), RuntimeRules.configuration(k.runtime()));
+      addContext(rules, sources, "Topology:" + k.topology(), TopologyRules.configuration(k.topology()));
+      addContext(rules, sources, "Security:" + k.security(), SecurityRules.configuration(k.security()));
+      return new CompiledRuleSet(rules, sources);
+    });
+  }
+
+  /**
+   * Check many deployment contexts against their context rules without creating an App, a Stack
+   * or a SystemContext, e.g. for a pre-merge check over a fleet of stack configurations. Slot
+   * rules need constructs and are left to synthesis. Sources match the ones reported at synthesis,
+   * e.g. {@code Topology:JENKINS_SERVICE:context#1}.
+   *
+   * @return violations per context, in the same order as {@code contexts}
+   */
+  public static List<List<Violation>> evaluateContexts(List<DeploymentContext> contexts) {
+    List<List<Violation>> out = new ArrayList<>(contexts.size());
+    for (DeploymentContext cfc : contexts) {
+      out.add(compile(cfc).evaluate(cfc));
+    }
+    return out;
+  }
+
+  /** Number of compiled tuples. */
+  static int cacheSize() {
+    return CACHE.size();
+  }
+
+  private static CompiledRuleSet build(SystemContext c) {
+    List<Rule> rules = new ArrayList<>();
+    List<String> sources = new ArrayList<>();
+    add(rules, sources, "IAM:" + c.iamProfile, IAMRules.configuration(c.iamProfile), c);
+    add(rules, sources, "Runtime:" + c.runtime, RuntimeRules.configuration(c.runtime), c);
+    add(rules, sources, "Topology:" + c.topology, TopologyRules.configuration(c.topology), c);
+    add(rules, sources, "Security:" + c.security, SecurityRules.configuration(c.security), c);
+    return new CompiledRuleSet(rules, sources);
+  }
+
+  private static void add(List<Rule> rules, List<String> sources, String family, BaseConfiguration p, SystemContext c) {
+    List<Rule> familyRules = p.rules(c);
+    for (int i = 0; i < familyRules.size(); i++) {
+      rules.add(familyRules.get(i));
+      sources.add(family + "#" + i);
+    }
+    addContext(rules, sources, family, p);
+  }
+
+  private static void addContext(List<Rule> rules, List<String> sources, String family, BaseConfiguration p) {
+    List<ContextRule> contextRules = p.contextRules();
+    for (int i = 0; i < contextRules.size(); i++) {
+      rules.add(contextRules.get(i));
+      sources.add(family + ":context#" + i);
+    }
+  }
+}
@@ -1,24 +1,48 @@
 package com.cloudforgeci.api.core.rules;
 
+import com.cloudforgeci.api.core.DeploymentContext;
 import com.cloudforgeci.api.core.Slot;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.interfaces.Rule;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public final class RuleKit {
   private RuleKit() {}
 
-  public static Rule require(String name, Function<SystemContext, ? extends Slot<?>> get) {
-    return c -> get.apply(c).get().isPresent() ? List.of() : List.of("required: " + name);
+  public static SlotRule require(String name, Function<SystemContext, ? extends Slot<?>> get) {
+    return new SlotRule(name, true, get);
   }
 
-  public static Rule forbid(String name, Function<SystemContext, ? extends Slot<?>> get) {
-    return c -> get.apply(c).get().isEmpty() ? List.of() : List.of("forbidden: " + name);
+  public static SlotRule forbid(String name, Function<SystemContext, ? extends Slot<?>> get) {
+    return new SlotRule(name, false, get);
   }
 
-  public static Rule when(boolean cond, Rule r) { return cond ? r : c -> List.of(); }
+  /** Rule on deployment-context values only; failures are errors. */
+  public static ContextRule context(Function<DeploymentContext, List<String>> check) {
+    return new ContextRule(Violation.Severity.ERROR, check);
+  }
+
+  /** Like {@link #context} but advisory: failures are logged as warnings and synthesis continues. */
+  public static ContextRule advise(Function<DeploymentContext, List<String>> check) {
+    return new ContextRule(Violation.Severity.WARNING, check);
+  }
+
+  private static final Rule NONE = c -> List.of();
+
+  public static Rule when(boolean cond, Rule r) { return cond ? r : NONE; }
+
+  /**
+   * Like {@link #when} but decided per context at validation time. Rule sets are compiled once per
+   * profile tuple, so conditions on deployment-context values must go through here rather than
+   * being captured when {@code rules(c)} builds the list.
+   */
+  public static Rule onlyIf(Predicate<SystemContext> cond, Rule r) {
+    if (r instanceof SlotRule s) return s.onlyIf(cond);
+    return c -> cond.test(c) ? r.check(c) : List.of();
+  }
 
   // --- combinators ---
   public static <A,B> void whenBoth(Slot<A> a, Slot<B> b, BiConsumer<A,B> fn) {
@@ -10,11 +10,16 @@ public final class Rules {
   
   public static void installAll(SystemContext ctx) {
     LOG.info("Installing all rules");
+    // Settle sizing first so every factory sees the same performance profile
+    PerformanceRules.install(ctx);
     // Install IAM rules first so roles are available for runtime factories
     IAMRules.install(ctx);
     RuntimeRules.install(ctx);
     TopologyRules.install(ctx);
     SecurityRules.install(ctx);
+
+    // One validation for the four rule families; the rule set is compiled once per profile tuple
+    ctx.getNode().addValidation(() -> RuleCompiler.compile(ctx).validate(ctx));
     LOG.info("All rules installed successfully");
   }
 }
\ No newline at end of file
@@ -8,11 +8,9 @@ import com.cloudforgeci.api.core.security.DevSecurityProfileConfiguration;
 import com.cloudforgeci.api.core.security.StagingSecurityProfileConfiguration;
 import com.cloudforgeci.api.core.security.ProductionSecurityProfileConfiguration;
 import com.cloudforgeci.api.interfaces.SecurityConfiguration;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
 import com.cloudforgeci.api.interfaces.SecurityProfileConfiguration;
-import com.cloudforgeci.api.interfaces.Rule;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 
 public final class SecurityRules {
@@ -20,6 +18,14 @@ public final class SecurityRules {
   
   private SecurityRules() {}
 
+  public static SecurityConfiguration configuration(SecurityProfile security) {
+    return switch (security) {
+      case DEV        -> new DevSecurityConfiguration();
+      case STAGING    -> new StagingSecurityConfiguration();
+      case PRODUCTION -> new ProductionSecurityConfiguration();
+    };
+  }
+
   public static void install(SystemContext ctx) {
     
     // Create and set the SecurityProfileConfiguration in SystemContext
@@ -31,18 +37,7 @@ public final class SecurityRules {
     
     ctx.securityProfileConfig.set(profileConfig);
     
-    final SecurityConfiguration p = switch (ctx.security) {
-      case DEV        -> new DevSecurityConfiguration();
-      case STAGING    -> new StagingSecurityConfiguration();
-      case PRODUCTION -> new ProductionSecurityConfiguration();
-    };
-
-
-    ctx.getNode().addValidation(() -> {
-      List<String> errs = new ArrayList<>();
-      for (Rule r : p.rules(ctx)) errs.addAll(r.check(ctx));
-      return errs;
-    });
+    final SecurityConfiguration p = configuration(ctx.security);
 
     ctx.once("ProfileWiring:Security:" + p.kind(), () -> {
       p.wire(ctx);
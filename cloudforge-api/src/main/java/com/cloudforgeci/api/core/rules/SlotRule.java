@@ -0,0 +1,58 @@
+package com.cloudforgeci.api.core.rules;
+
+import com.cloudforgeci.api.core.Slot;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.Rule;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Rule that a slot must (or must not) be set, built by {@link RuleKit#require} and {@link RuleKit#forbid}.
+ * Unlike a plain lambda rule it knows which slot it checks, so violations carry the slot name.
+ */
+public final class SlotRule implements Rule {
+
+  private final String label;
+  private final boolean required;
+  private final Function<SystemContext, ? extends Slot<?>> slot;
+  private final Predicate<SystemContext> applies;
+
+  SlotRule(String label, boolean required, Function<SystemContext, ? extends Slot<?>> slot) {
+    this(label, required, slot, c -> true);
+  }
+
+  private SlotRule(String label, boolean required, Function<SystemContext, ? extends Slot<?>> slot,
+                   Predicate<SystemContext> applies) {
+    this.label = label;
+    this.required = required;
+    this.slot = slot;
+    this.applies = applies;
+  }
+
+  /** The same rule, checked only when {@code cond} holds for the context being validated. */
+  SlotRule onlyIf(Predicate<SystemContext> cond) {
+    return new SlotRule(label, required, slot, applies.and(cond));
+  }
+
+  @Override
+  public List<String> check(SystemContext c) {
+    return holds(c) ? List.of() : List.of(message());
+  }
+
+  /** True when the slot's state satisfies the rule. */
+  public boolean holds(SystemContext c) {
+    return !applies.test(c) || slot.apply(c).get().isPresent() == required;
+  }
+
+  /** The violation for this rule, without re-evaluating it. */
+  Violation violation(SystemContext c, String source) {
+    return new Violation(required ? Violation.REQUIRED : Violation.FORBIDDEN, Violation.Severity.ERROR,
+        slot.apply(c).name(), message(), source);
+  }
+
+  private String message() {
+    return (required ? "required: " : "forbidden: ") + label;
+  }
+}
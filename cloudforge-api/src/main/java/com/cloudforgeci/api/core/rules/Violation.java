@@ -0,0 +1,31 @@
+package com.cloudforgeci.api.core.rules;
+
+/**
+ * A single rule failure.
+ *
+ * @param code stable identifier for the kind of failure ({@code required}, {@code forbidden}, {@code rule})
+ * @param severity how the failure is surfaced
+ * @param slot SystemContext slot the rule inspects; for {@link com.cloudforgeci.api.core.DeploymentPreflight}
+ *             the context key at fault; {@code null} when neither applies
+ * @param message human-readable message, as returned by the rule
+ * @param source rule that produced it, e.g. {@code Runtime:FARGATE#2}
+ */
+public record Violation(String code, Severity severity, String slot, String message, String source) {
+
+  public static final String REQUIRED = "required";
+  public static final String FORBIDDEN = "forbidden";
+  public static final String RULE = "rule";
+
+  /** How a violation is surfaced. */
+  public enum Severity {
+    /** Fails synthesis. */
+    ERROR,
+    /** Logged; synthesis continues. */
+    WARNING
+  }
+
+  @Override
+  public String toString() {
+    return severity + " [" + source + "] " + message;
+  }
+}
@@ -1,5 +1,6 @@
 package com.cloudforgeci.api.core.runtime;
 
+import com.cloudforgeci.api.core.StackLayers;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.TopologyType;
@@ -8,9 +9,7 @@ import com.cloudforgeci.api.interfaces.Rule;
 import software.amazon.awscdk.services.certificatemanager.Certificate;
 import software.amazon.awscdk.services.certificatemanager.CertificateValidation;
 import software.amazon.awscdk.services.ec2.ISecurityGroup;
-import software.amazon.awscdk.services.ec2.Peer;
 import software.amazon.awscdk.services.ec2.Port;
-import software.amazon.awscdk.services.elasticloadbalancingv2.AddApplicationTargetGroupsProps;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListener;
 import software.amazon.awscdk.services.elasticloadbalancingv2.BaseApplicationListenerProps;
 import software.amazon.awscdk.services.elasticloadbalancingv2.CfnListener;
@@ -24,9 +23,8 @@ import java.util.Locale;
 import java.util.logging.Logger;
 
 import static com.cloudforgeci.api.core.rules.RuleKit.forbid;
+import static com.cloudforgeci.api.core.rules.RuleKit.onlyIf;
 import static com.cloudforgeci.api.core.rules.RuleKit.require;
-import static com.cloudforgeci.api.core.rules.RuleKit.whenAll;
-import static com.cloudforgeci.api.core.rules.RuleKit.whenBoth;
 
 
 public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
@@ -53,8 +51,9 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
     // AutoScalingGroup is only required for JENKINS_SERVICE topology when maxInstanceCapacity > 1
     // When maxInstanceCapacity <= 1, JenkinsFactory creates a single instance instead of ASG
     // JENKINS_SINGLE_NODE forbids AutoScalingGroup
-    if (c.topology == TopologyType.JENKINS_SERVICE && c.cfc.maxInstanceCapacity() != null && c.cfc.maxInstanceCapacity() > 1) {
-        rules.add(require("asg", x -> x.asg));
+    if (c.topology == TopologyType.JENKINS_SERVICE) {
+        rules.add(onlyIf(x -> x.cfc.maxInstanceCapacity() != null && x.cfc.maxInstanceCapacity() > 1,
+                require("asg", x -> x.asg)));
     }
     
     return rules;
@@ -102,18 +101,15 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
     // whenBoth(c.asg, c.albTargetGroup, (asg, tg) -> tg.addTarget(asg)); // REMOVED - handled by topology configuration
 
     // ── 2) ALB SG -> Instance SG :8080 ──────────────────────────────────────────
-    whenBoth(c.alb, c.instanceSg, (alb, isg) -> {
+    c.wiring.step("runtime:ec2:alb-ingress").when(c.alb, c.instanceSg, (alb, isg) -> {
       ISecurityGroup albSg = alb.getConnections().getSecurityGroups().get(0);
-      isg.addIngressRule(Peer.securityGroupId(albSg.getSecurityGroupId()),
-              Port.tcp(8080), "ALB_to_Jenkins_8080", false);
+      c.allowIngress(isg, albSg, Port.tcp(8080), "ALB_to_Jenkins_8080");
     });
 
     // ── 3) DOMAIN + NO SSL → HTTP only (single TG), NO cert/https/redirect ─────
     if (!ssl) {
-      whenBoth(c.http, c.albTargetGroup, (http, tg) -> {
-        // HTTP listener already has the target group as default action from AlbFactory
-        // No additional wiring needed for HTTP-only mode
-      });
+      // HTTP listener already has the target group as default action from AlbFactory
+      // No additional wiring needed for HTTP-only mode
       return; // ← CRITICAL: prevents creating cert/https/redirect
     }
 
@@ -121,10 +117,10 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
     if (!wantSslDns) return; // SSL requested but no host → fall back to HTTP-only silently
 
     // 4a) ACM cert (DNS validation)
-    whenBoth(c.zone, c.alb, (zone, alb) -> {
+    c.wiring.step("runtime:ec2:cert").produces(c.cert).when(c.zone, c.alb, (zone, alb) -> {
       if (c.cert.get().isPresent()) return;
       Certificate cert = Certificate.Builder
-              .create(c, "HttpsCert")
+              .create(c.scopeFor(StackLayers.Layer.EDGE, c), "HttpsCert")
               .domainName(fqdn != null ? fqdn : domain)
               .validation(CertificateValidation.fromDns(zone))
               .build();
@@ -132,11 +128,11 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
     });
 
     // 4b) HTTPS listener - create only when cert and alb are ready
-    whenBoth(c.cert, c.alb, (cert, alb) -> {
-      if (c.https.get().isPresent()) return; // Avoid duplicate creation
+    c.wiring.step("runtime:ec2:https-listener").produces(c.https).when(c.cert, c.alb, (cert, alb) -> {
+      if (c.https.get().isPresent()) return; // Listener supplied elsewhere
       
       ApplicationListener https;
-      if (c.albTargetGroup.get().isPresent()) {
+      if (c.albTargetGroup.get().isPresent() && !c.layers.enabled()) {
         // Target group is available, create listener with target group
         https = alb.addListener("Https",
                 BaseApplicationListenerProps.builder()
@@ -145,7 +141,7 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
                         .defaultAction(ListenerAction.forward(List.of(c.albTargetGroup.get().orElseThrow())))
                         .build());
       } else {
-        // Target group is not available, create listener with fixed response
+        // Target group is not available or lives in the compute layer, create listener with fixed response
         https = alb.addListener("Https",
                 BaseApplicationListenerProps.builder()
                         .port(443)
@@ -161,15 +157,12 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
 
     // 4c) Service behind HTTPS - wait for all components to be ready
     // Handle both AutoScalingGroup (multi-instance) and single EC2 instance cases
-    whenBoth(c.https, c.albTargetGroup, (https, tg) -> {
-      https.addTargetGroups("SvcHttps",
-              AddApplicationTargetGroupsProps.builder()
-                      .targetGroups(List.of(tg))
-                      .build());
+    c.wiring.step("runtime:ec2:https-target").when(c.https, c.albTargetGroup, (https, tg) -> {
+      c.forward(https, "SvcHttps", tg);
     });
 
     // 4d) Make HTTP's DEFAULT action a redirect to HTTPS (don't leave any TG on HTTP)
-    whenBoth(c.http, c.https, (http, https) -> {
+    c.wiring.step("runtime:ec2:http-redirect").when(c.http, c.https, (http, https) -> {
       CfnListener cfnHttp = (CfnListener) http.getNode().getDefaultChild();
       if (cfnHttp != null) {
         cfnHttp.setDefaultActions(List.of(
@@ -182,15 +175,6 @@ public final class Ec2RuntimeConfiguration implements RuntimeConfiguration {
         ));
       }
     });
-    
-    // Auto Scaling Configuration - EC2 runtime (when ASG is available)
-    whenAll(c.minInstanceCapacity, c.maxInstanceCapacity, c.cpuTargetUtilization, 
-            (minCapacity, maxCapacity, cpuTarget) -> {
-        // Configure EC2 Auto Scaling Group with all required parameters
-        // This ensures all scaling parameters are available before configuration
-        // ASG scaling configuration would go here
-        // Example: Configure auto scaling policies, target tracking, etc.
-    });
   }
 
   private static String norm(String s) {
@@ -1,5 +1,6 @@
 package com.cloudforgeci.api.core.runtime;
 
+import com.cloudforgeci.api.core.StackLayers;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.RuntimeConfiguration;
@@ -9,7 +10,6 @@ import software.amazon.awscdk.services.certificatemanager.Certificate;
 import software.amazon.awscdk.services.certificatemanager.CertificateValidation;
 import software.amazon.awscdk.services.ecs.CfnService;
 import software.amazon.awscdk.services.elasticloadbalancingv2.AddApplicationTargetsProps;
-import software.amazon.awscdk.services.elasticloadbalancingv2.AddApplicationTargetGroupsProps;
 import software.amazon.awscdk.services.elasticloadbalancingv2.AddApplicationActionProps;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListener;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationTargetGroup;
@@ -36,8 +36,6 @@ import java.util.logging.Logger;
 import static com.cloudforgeci.api.core.rules.RuleKit.forbid;
 import static com.cloudforgeci.api.core.rules.RuleKit.require;
 import static com.cloudforgeci.api.core.rules.RuleKit.when;
-import static com.cloudforgeci.api.core.rules.RuleKit.whenAll;
-import static com.cloudforgeci.api.core.rules.RuleKit.whenBoth;
 
 
 public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
@@ -68,17 +66,8 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
     if (c.runtime != RuntimeType.FARGATE) {
       return;
     }
-    
-    // Add explicit guard to prevent duplicate execution
-    if (c.wired.get().isPresent()) {
-      return;
-    }
-    c.wired.set(true);
-    
-    // Track if HTTP and HTTPS listeners have been configured to prevent duplicates
-    final boolean[] httpConfigured = {false};
-    final boolean[] httpsConfigured = {false};
-    
+
+    // Wiring steps are registered by name and run exactly once, so a repeated wire() is harmless
     try {
       // Inputs & flags
       final boolean ssl   = c.cfc != null && Boolean.TRUE.equals(c.cfc.enableSsl());
@@ -121,12 +110,7 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
 
     // ── 1) DOMAIN + NO SSL → HTTP only (single TG), NO cert/https/redirect ─────
     if (!ssl) {
-      whenBoth(c.http, c.fargateService, (http, svc) -> {
-        if (httpConfigured[0]) {
-          return;
-        }
-        httpConfigured[0] = true;
-        
+      c.wiring.step("runtime:fargate:http-target").when(c.http, c.fargateService, (http, svc) -> {
         // Create a target group for the Fargate service with configurable health check settings
         int interval = c.cfc.healthCheckInterval() != null ? c.cfc.healthCheckInterval() : 30;
         int timeout = c.cfc.healthCheckTimeout() != null ? c.cfc.healthCheckTimeout() : 5;
@@ -144,19 +128,19 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
                         .timeout(software.amazon.awscdk.Duration.seconds(timeout))
                         .healthyThresholdCount(healthyThreshold).unhealthyThresholdCount(unhealthyThreshold)
                         .build())
+                .deregistrationDelay(c.performance().getDeregistrationDelay())
                 .build();
         
         // Update the HTTP listener's default action to forward to the target group
         // Note: This replaces the fixed response with a forward action
-        http.addTargetGroups("HttpTargetGroup", AddApplicationTargetGroupsProps.builder()
-                .targetGroups(java.util.List.of(targetGroup))
-                .build());
+        c.forward(http, "HttpTargetGroup", targetGroup);
         
 
         // Make ECS wait for HTTP listener & rules
         CfnService cfnSvc  = (CfnService)  svc.getNode().getDefaultChild();
         CfnListener cfnHttp = (CfnListener) http.getNode().getDefaultChild();
         if (cfnHttp != null) cfnSvc.addDependency(cfnHttp);
+        if (c.layers.enabled()) svc.getNode().addDependency(targetGroup);
         for (IConstruct child : http.getNode().getChildren()) {
           IConstruct def = child.getNode().getDefaultChild();
           if (def instanceof CfnListenerRule rule) {
@@ -174,7 +158,7 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
 
     // 2a) ACM cert (DNS validation) - wait for zone, alb, AND domain to be available
     
-    whenBoth(c.zone, c.alb, (zone, alb) -> {
+    c.wiring.step("runtime:fargate:cert").produces(c.cert).when(c.zone, c.alb, (zone, alb) -> {
       if (c.cert.get().isPresent()) {
         return;
       }
@@ -184,7 +168,7 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
         return;
       }
       Certificate cert = Certificate.Builder
-              .create(c, "HttpsCert")
+              .create(c.scopeFor(StackLayers.Layer.EDGE, c), "HttpsCert")
               .domainName(certDomain)
               .validation(CertificateValidation.fromDns(zone))
               .build();
@@ -192,8 +176,8 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
     });
 
     // 2b) HTTPS listener - create only when cert and alb are ready
-    whenBoth(c.cert, c.alb, (cert, alb) -> {
-      if (c.https.get().isPresent()) return; // Avoid duplicate creation
+    c.wiring.step("runtime:fargate:https-listener").produces(c.https).when(c.cert, c.alb, (cert, alb) -> {
+      if (c.https.get().isPresent()) return; // Listener supplied elsewhere
       ApplicationListener https = alb.addListener("Https",
               BaseApplicationListenerProps.builder()
                       .port(443)
@@ -203,12 +187,7 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
     });
 
     // 2c) Service behind HTTPS - wait for HTTPS listener, Fargate service, AND certificate to be ready
-    whenAll(c.https, c.fargateService, c.cert, (https, svc, cert) -> {
-      if (httpsConfigured[0]) {
-        return;
-      }
-      httpsConfigured[0] = true;
-      
+    c.wiring.step("runtime:fargate:https-target").when(c.https, c.fargateService, c.cert, (https, svc, cert) -> {
       // Create a target group for the Fargate service with configurable health check settings
       int interval = c.cfc.healthCheckInterval() != null ? c.cfc.healthCheckInterval() : 30;
       int timeout = c.cfc.healthCheckTimeout() != null ? c.cfc.healthCheckTimeout() : 5;
@@ -226,17 +205,17 @@ public final class FargateRuntimeConfiguration implements RuntimeConfiguration {
                         .timeout(software.amazon.awscdk.Duration.seconds(timeout))
                         .healthyThresholdCount(healthyThreshold).unhealthyThresholdCount(unhealthyThreshold)
                         .build())
+              .deregistrationDelay(c.performance().getDeregistrationDelay())
               .build();
       
       // Update the HTTPS listener's default action to forward to the target group
-      https.addTargetGroups("HttpsTargetGroup", AddApplicationTargetGroupsProps.builder()
-              .targetGroups(java.util.List.of(targetGroup))
-              .build());
+      c.forward(https, "HttpsTargetGroup", targetGroup);
       
 
       CfnService cfnSvc  = (CfnService)  svc.getNode().getDefaultChild();
       CfnListener cfnHttps= (CfnListener) https.getNode().getDefaultChild();
       if (cfnHttps != null) cfnSvc.addDependency(cfnHttps);
+      if (c.layers.enabled()) svc.getNode().addDependency(targetGroup);
       for (IConstruct child : https.getNode().getChildren()) {
         IConstruct def = child.getNode().getDefaultChild();
         if (def instanceof CfnListenerRule rule) {
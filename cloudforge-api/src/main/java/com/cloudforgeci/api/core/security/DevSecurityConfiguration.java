@@ -60,72 +60,53 @@ public final class DevSecurityConfiguration implements SecurityConfiguration {
         // Development security settings - minimal restrictions
         
         // Allow broader access for development
-        whenBoth(c.vpc, c.instanceSg, (vpc, instanceSg) -> {
+        c.wiring.step("security:dev:instance-ingress").when(c.vpc, c.instanceSg, (vpc, instanceSg) -> {
             // Allow SSH from anywhere for development convenience
-            instanceSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(22), 
-                "SSH_from_anywhere_(DEV)", 
-                false
+            c.allowIngress(instanceSg,
+                Peer.anyIpv4(),
+                Port.tcp(22),
+                "SSH_from_anywhere_(DEV)"
             );
             
             // Allow Jenkins port from anywhere for development
-            instanceSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(8080), 
-                "Jenkins_from_anywhere_(DEV)", 
-                false
+            c.allowIngress(instanceSg,
+                Peer.anyIpv4(),
+                Port.tcp(8080),
+                "Jenkins_from_anywhere_(DEV)"
             );
         });
 
         // ALB security group - allow HTTP/HTTPS from anywhere
-        whenBoth(c.vpc, c.albSg, (vpc, albSg) -> {
-            albSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(80), 
-                "HTTP_from_anywhere_(DEV)", 
-                false
+        c.wiring.step("security:dev:alb-ingress").when(c.vpc, c.albSg, (vpc, albSg) -> {
+            c.allowIngress(albSg,
+                Peer.anyIpv4(),
+                Port.tcp(80),
+                "HTTP_from_anywhere_(DEV)"
             );
-            albSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(443), 
-                "HTTPS_from_anywhere_(DEV)", 
-                false
+            c.allowIngress(albSg,
+                Peer.anyIpv4(),
+                Port.tcp(443),
+                "HTTPS_from_anywhere_(DEV)"
             );
         });
 
         // EFS security group - allow NFS from appropriate security group based on runtime
-        whenBoth(c.vpc, c.efsSg, (vpc, efsSg) -> {
-            if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.FARGATE) {
-                // For Fargate, allow NFS from Fargate service security group
-                if (c.fargateServiceSg.get().isPresent()) {
-                    efsSg.addIngressRule(
-                        Peer.securityGroupId(c.fargateServiceSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(2049),
-                        "NFS_from_Fargate_tasks_(DEV)",
-                        false
-                    );
-                }
-            } else {
-                // For EC2, allow NFS from instance security group
-                if (c.instanceSg.get().isPresent()) {
-                    efsSg.addIngressRule(
-                        Peer.securityGroupId(c.instanceSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(2049),
-                        "NFS_from_Jenkins_instances_(DEV)",
-                        false
-                    );
-                }
-            }
-        });
+        if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.FARGATE) {
+            // For Fargate, allow NFS from Fargate service security group
+            c.wiring.step("security:dev:efs-from-fargate").when(c.efsSg, c.fargateServiceSg, (efsSg, fargateSg) ->
+                c.allowIngress(efsSg, fargateSg, Port.tcp(2049), "NFS_from_Fargate_tasks_(DEV)"));
+        } else {
+            // For EC2, allow NFS from instance security group
+            c.wiring.step("security:dev:efs-from-instances").when(c.efsSg, c.instanceSg, (efsSg, instanceSg) ->
+                c.allowIngress(efsSg, instanceSg, Port.tcp(2049), "NFS_from_Jenkins_instances_(DEV)"));
+        }
 
         // Fargate security group - allow from ALB
-        whenBoth(c.vpc, c.fargateServiceSg, (vpc, fargateSg) -> {
-            fargateSg.addIngressRule(
-                Peer.securityGroupId(c.albSg.get().orElseThrow().getSecurityGroupId()),
+        c.wiring.step("security:dev:fargate-ingress").when(c.vpc, c.fargateServiceSg, (vpc, fargateSg) -> {
+            c.allowIngress(fargateSg,
+                c.albSg.get().orElseThrow(),
                 Port.tcp(8080),
-                "HTTP from ALB (DEV)",
-                false
+                "HTTP from ALB (DEV)"
             );
         });
 
@@ -141,7 +122,7 @@ public final class DevSecurityConfiguration implements SecurityConfiguration {
                 // Create a new hosted zone when createZone=true
                 System.out.println("DevSecurityConfiguration: Creating new hosted zone (createZone=true)");
                 software.amazon.awscdk.services.route53.HostedZone zone = 
-                    software.amazon.awscdk.services.route53.HostedZone.Builder.create((software.constructs.Construct)c.getNode().getScope(), "DevZone")
+                    software.amazon.awscdk.services.route53.HostedZone.Builder.create(c.scopeFor(com.cloudforgeci.api.core.ResourceBudget.Group.DNS, c.scopeFor(com.cloudforgeci.api.core.StackLayers.Layer.EDGE, (software.constructs.Construct)c.getNode().getScope())), "DevZone")
                         .zoneName(c.cfc.domain())
                         .build();
                 c.zone.set(zone);
@@ -150,7 +131,7 @@ public final class DevSecurityConfiguration implements SecurityConfiguration {
                 // Use existing hosted zone when createZone=false
                 System.out.println("DevSecurityConfiguration: Looking up existing hosted zone (createZone=false)");
                 software.amazon.awscdk.services.route53.IHostedZone zone = 
-                    software.amazon.awscdk.services.route53.HostedZone.fromLookup((software.constructs.Construct)c.getNode().getScope(), "DevZoneLookup", 
+                    software.amazon.awscdk.services.route53.HostedZone.fromLookup(c.scopeFor(com.cloudforgeci.api.core.StackLayers.Layer.EDGE, (software.constructs.Construct)c.getNode().getScope()), "DevZoneLookup", 
                         software.amazon.awscdk.services.route53.HostedZoneProviderProps.builder()
                             .domainName(c.cfc.domain())
                             .build());
@@ -176,7 +157,7 @@ public final class DevSecurityConfiguration implements SecurityConfiguration {
         
         // Configure logging retention (minimal for dev)
         if (profileConfig.getLogRetentionDays() != null) {
-            LOG.info("DEV profile configured with log retention: " + profileConfig.getLogRetentionDays());
+            LOG.info(() -> "DEV profile configured with log retention: " + profileConfig.getLogRetentionDays());
         }
         
         // Configure flow logs (disabled by default for dev)
@@ -204,15 +185,6 @@ public final class DevSecurityConfiguration implements SecurityConfiguration {
             LOG.info("Auto-scaling disabled for DEV profile");
         }
     }
-
-    private static <A,B> void whenBoth(com.cloudforgeci.api.core.Slot<A> a, com.cloudforgeci.api.core.Slot<B> b, 
-                                      java.util.function.BiConsumer<A,B> fn) {
-        Runnable tryRun = () -> {
-            var ao = a.get(); var bo = b.get();
-            if (ao.isPresent() && bo.isPresent()) fn.accept(ao.get(), bo.get());
-        };
-        a.onSet(x -> tryRun.run()); b.onSet(y -> tryRun.run()); tryRun.run();
-    }
     
     private boolean isTestEnvironment() {
         // Check for test environment indicators
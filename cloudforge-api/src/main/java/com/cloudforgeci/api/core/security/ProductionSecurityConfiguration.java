@@ -70,22 +70,20 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         
         // Instance security group - only for EC2 runtime
         if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.EC2) {
-            whenBoth(c.vpc, c.instanceSg, (vpc, instanceSg) -> {
+            c.wiring.step("security:production:instance-ingress").when(c.vpc, c.instanceSg, (vpc, instanceSg) -> {
                 // SSH only from specific bastion host or VPN CIDR (example: 10.0.1.0/24)
-                instanceSg.addIngressRule(
-                    Peer.ipv4("10.0.1.0/24"), 
-                    Port.tcp(22), 
-                    "SSH_from_bastion/VPN_(PRODUCTION)", 
-                    false
+                c.allowIngress(instanceSg,
+                    Peer.ipv4("10.0.1.0/24"),
+                    Port.tcp(22),
+                    "SSH_from_bastion/VPN_(PRODUCTION)"
                 );
                 
                 // Jenkins port only from ALB security group
                 if (c.albSg.get().isPresent()) {
-                    instanceSg.addIngressRule(
-                        Peer.securityGroupId(c.albSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(8080), 
-                        "Jenkins_from_ALB_(PRODUCTION)", 
-                        false
+                    c.allowIngress(instanceSg,
+                        c.albSg.get().orElseThrow(),
+                        Port.tcp(8080),
+                        "Jenkins_from_ALB_(PRODUCTION)"
                     );
                 }
                 
@@ -100,70 +98,50 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         }
 
         // ALB security group - HTTPS only, with WAF protection
-        whenBoth(c.vpc, c.albSg, (vpc, albSg) -> {
+        c.wiring.step("security:production:alb-ingress").when(c.vpc, c.albSg, (vpc, albSg) -> {
             // Only HTTPS allowed from anywhere
-            albSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(443), 
-                "HTTPS_from_anywhere_(PRODUCTION)", 
-                false
+            c.allowIngress(albSg,
+                Peer.anyIpv4(),
+                Port.tcp(443),
+                "HTTPS_from_anywhere_(PRODUCTION)"
             );
             
             // HTTP redirects to HTTPS handled by ALB listener rules
         });
 
         // EFS security group - allow NFS from appropriate security group based on runtime
-        whenBoth(c.vpc, c.efsSg, (vpc, efsSg) -> {
-            if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.FARGATE) {
-                // For Fargate, allow NFS from Fargate service security group
-                if (c.fargateServiceSg.get().isPresent()) {
-                    efsSg.addIngressRule(
-                        Peer.securityGroupId(c.fargateServiceSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(2049),
-                        "NFS_from_Fargate_tasks_(PRODUCTION)",
-                        false
-                    );
-                }
-            } else {
-                // For EC2, allow NFS from instance security group
-                if (c.instanceSg.get().isPresent()) {
-                    efsSg.addIngressRule(
-                        Peer.securityGroupId(c.instanceSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(2049),
-                        "NFS_from_Jenkins_instances_(PRODUCTION)",
-                        false
-                    );
-                }
-            }
-        });
+        if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.FARGATE) {
+            // For Fargate, allow NFS from Fargate service security group
+            c.wiring.step("security:production:efs-from-fargate").when(c.efsSg, c.fargateServiceSg, (efsSg, fargateSg) ->
+                c.allowIngress(efsSg, fargateSg, Port.tcp(2049), "NFS_from_Fargate_tasks_(PRODUCTION)"));
+        } else {
+            // For EC2, allow NFS from instance security group
+            c.wiring.step("security:production:efs-from-instances").when(c.efsSg, c.instanceSg, (efsSg, instanceSg) ->
+                c.allowIngress(efsSg, instanceSg, Port.tcp(2049), "NFS_from_Jenkins_instances_(PRODUCTION)"));
+        }
 
         // Fargate security group - minimal access
-        whenBoth(c.vpc, c.fargateServiceSg, (vpc, fargateSg) -> {
-            fargateSg.addIngressRule(
-                Peer.securityGroupId(c.albSg.get().orElseThrow().getSecurityGroupId()),
+        c.wiring.step("security:production:fargate-ingress").when(c.vpc, c.fargateServiceSg, (vpc, fargateSg) -> {
+            c.allowIngress(fargateSg,
+                c.albSg.get().orElseThrow(),
                 Port.tcp(8080),
-                "HTTP_from_ALB_(PRODUCTION)",
-                false
+                "HTTP_from_ALB_(PRODUCTION)"
             );
         });
 
         // SSL Configuration - centralized SSL handling for all topologies
         // HTTPS listener creation is handled by runtime configurations (Ec2RuntimeConfiguration, FargateRuntimeConfiguration)
         // This ensures proper separation of concerns and avoids duplicate listener creation
-        whenBoth(c.alb, c.sslEnabled, (alb, sslEnabled) -> {
-            if (sslEnabled) {
-                
-                // Configure HTTP listener to redirect to HTTPS when SSL is enabled
-                whenBoth(c.httpRedirectEnabled, c.http, (httpRedirectEnabled, httpListener) -> {
-                    if (httpRedirectEnabled) {
-                        // HTTP listener should redirect to HTTPS when SSL is enabled
-                        // Note: This is handled during HTTP listener creation in AlbFactory
-                        // The HTTP listener is created with appropriate default action based on SSL configuration
-                        LOG.info("HTTP redirect to HTTPS configured for SSL-enabled deployment");
-                    }
-                });
-            }
-        });
+        // Configure HTTP listener to redirect to HTTPS when SSL is enabled
+        c.wiring.step("security:production:http-redirect").when(c.sslEnabled, c.httpRedirectEnabled, c.http,
+            (sslEnabled, httpRedirectEnabled, httpListener) -> {
+                if (sslEnabled && httpRedirectEnabled) {
+                    // HTTP listener should redirect to HTTPS when SSL is enabled
+                    // Note: This is handled during HTTP listener creation in AlbFactory
+                    // The HTTP listener is created with appropriate default action based on SSL configuration
+                    LOG.info("HTTP redirect to HTTPS configured for SSL-enabled deployment");
+                }
+            });
     }
 
     /**
@@ -182,12 +160,12 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         
         // Configure logging retention (extended for compliance)
         if (profileConfig.getLogRetentionDays() != null) {
-            LOG.info("PRODUCTION profile configured with log retention: " + profileConfig.getLogRetentionDays());
+            LOG.info(() -> "PRODUCTION profile configured with log retention: " + profileConfig.getLogRetentionDays());
         }
         
         // Configure flow logs (comprehensive for production)
         if (profileConfig.isFlowLogsEnabled()) {
-            LOG.info("Flow logs enabled for PRODUCTION profile with traffic type: " + profileConfig.getFlowLogTrafficType());
+            LOG.info(() -> "Flow logs enabled for PRODUCTION profile with traffic type: " + profileConfig.getFlowLogTrafficType());
         }
         
         // Configure security monitoring (comprehensive for production)
@@ -226,7 +204,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         
         // Configure backup (comprehensive for production)
         if (profileConfig.isAutomatedBackupEnabled()) {
-            LOG.info("Automated backup enabled for PRODUCTION profile with retention: " + profileConfig.getBackupRetentionDays() + " days");
+            LOG.info(() -> "Automated backup enabled for PRODUCTION profile with retention: " + profileConfig.getBackupRetentionDays() + " days");
         }
         
         if (profileConfig.isCrossRegionBackupEnabled()) {
@@ -235,7 +213,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         
         // Configure auto-scaling (comprehensive for production)
         if (profileConfig.isAutoScalingEnabled()) {
-            LOG.info("Auto-scaling enabled for PRODUCTION profile: " + profileConfig.getMinInstanceCount() + "-" + profileConfig.getMaxInstanceCount() + " instances");
+            LOG.info(() -> "Auto-scaling enabled for PRODUCTION profile: " + profileConfig.getMinInstanceCount() + "-" + profileConfig.getMaxInstanceCount() + " instances");
         }
         
         // Configure network security (maximum for production)
@@ -261,7 +239,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         }
         
         if (profileConfig.isAlbAccessLoggingEnabled()) {
-            LOG.info("ALB access logging enabled for PRODUCTION profile with retention: " + profileConfig.getAlbAccessLogRetentionDays());
+            LOG.info(() -> "ALB access logging enabled for PRODUCTION profile with retention: " + profileConfig.getAlbAccessLogRetentionDays());
         }
         
         // Configure reliability (maximum for production)
@@ -294,7 +272,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         // This ensures scaling configuration is handled by the appropriate runtime profile
 
         // WAF Configuration - centralized WAF handling
-        whenBoth(c.wafEnabled, c.alb, (wafEnabled, alb) -> {
+        c.wiring.step("security:production:waf").when(c.wafEnabled, c.alb, (wafEnabled, alb) -> {
             if (wafEnabled) {
                 // Configure WAF for ALB
                 // WAF WebACL creation would go here
@@ -304,17 +282,17 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         });
         
         // CloudFront Configuration - centralized CDN handling
-        whenBoth(c.cloudfront, c.domain, (cloudfront, domain) -> {
+        c.wiring.step("security:production:cloudfront").when(c.cloudfront, c.domain, (cloudfront, domain) -> {
             if (cloudfront && domain != null) {
                 // Configure CloudFront distribution
                 // CloudFront distribution creation would go here
                 // This ensures CloudFront is only configured when domain is available
-                LOG.info("CloudFront configuration enabled for domain: " + domain);
+                LOG.info(() -> "CloudFront configuration enabled for domain: " + domain);
             }
         });
         
         // Authentication Configuration - centralized auth handling
-        whenBoth(c.authMode, c.alb, (authMode, alb) -> {
+        c.wiring.step("security:production:auth").when(c.authMode, c.alb, (authMode, alb) -> {
             if ("alb-oidc".equalsIgnoreCase(authMode)) {
                 // Configure ALB OIDC authentication
                 // OIDC configuration would go here
@@ -325,29 +303,6 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
         // Note: Additional security configurations can be added here
         // For now, focusing on security group restrictions for production hardening
     }
-
-    private static <A,B> void whenBoth(com.cloudforgeci.api.core.Slot<A> a, com.cloudforgeci.api.core.Slot<B> b, 
-                                      java.util.function.BiConsumer<A,B> fn) {
-        Runnable tryRun = () -> {
-            var ao = a.get(); var bo = b.get();
-            if (ao.isPresent() && bo.isPresent()) fn.accept(ao.get(), bo.get());
-        };
-        a.onSet(x -> tryRun.run()); b.onSet(y -> tryRun.run()); tryRun.run();
-    }
-    
-    private static <A,B,C,D> void whenAll(com.cloudforgeci.api.core.Slot<A> a, com.cloudforgeci.api.core.Slot<B> b, 
-                                         com.cloudforgeci.api.core.Slot<C> c, com.cloudforgeci.api.core.Slot<D> d,
-                                         Function4<A,B,C,D,Void> fn) {
-        Runnable tryRun = () -> {
-            var ao = a.get(); var bo = b.get(); var co = c.get(); var do_ = d.get();
-            if (ao.isPresent() && bo.isPresent() && co.isPresent() && do_.isPresent()) {
-                fn.apply(ao.get(), bo.get(), co.get(), do_.get());
-            }
-        };
-        a.onSet(x -> tryRun.run()); b.onSet(y -> tryRun.run()); 
-        c.onSet(z -> tryRun.run()); d.onSet(w -> tryRun.run()); 
-        tryRun.run();
-    }
     
     /**
      * Create or lookup hosted zone if domain is provided.
@@ -355,7 +310,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
     private void createHostedZone(SystemContext c) {
         // Create or lookup hosted zone if domain is provided
         if (c.cfc.domain() != null && !c.cfc.domain().isBlank()) {
-            LOG.info("ProductionSecurityConfiguration: Setting up hosted zone for domain: " + c.cfc.domain());
+            LOG.info(() -> "ProductionSecurityConfiguration: Setting up hosted zone for domain: " + c.cfc.domain());
             if (c.zone.get().isPresent()) {
                 LOG.info("ProductionSecurityConfiguration: Hosted zone already exists");
                 return; // Already created
@@ -365,7 +320,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
                 // Create a new hosted zone when createZone=true
                 LOG.info("ProductionSecurityConfiguration: Creating new hosted zone (createZone=true)");
                 software.amazon.awscdk.services.route53.HostedZone zone = 
-                    software.amazon.awscdk.services.route53.HostedZone.Builder.create((software.constructs.Construct)c.getNode().getScope(), "ProductionZone")
+                    software.amazon.awscdk.services.route53.HostedZone.Builder.create(c.scopeFor(com.cloudforgeci.api.core.ResourceBudget.Group.DNS, c.scopeFor(com.cloudforgeci.api.core.StackLayers.Layer.EDGE, (software.constructs.Construct)c.getNode().getScope())), "ProductionZone")
                         .zoneName(c.cfc.domain())
                         .build();
                 c.zone.set(zone);
@@ -374,7 +329,7 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
                 // Use existing hosted zone when createZone=false
                 LOG.info("ProductionSecurityConfiguration: Looking up existing hosted zone (createZone=false)");
                 software.amazon.awscdk.services.route53.IHostedZone zone = 
-                    software.amazon.awscdk.services.route53.HostedZone.fromLookup((software.constructs.Construct)c.getNode().getScope(), "ProductionZoneLookup", 
+                    software.amazon.awscdk.services.route53.HostedZone.fromLookup(c.scopeFor(com.cloudforgeci.api.core.StackLayers.Layer.EDGE, (software.constructs.Construct)c.getNode().getScope()), "ProductionZoneLookup", 
                         software.amazon.awscdk.services.route53.HostedZoneProviderProps.builder()
                             .domainName(c.cfc.domain())
                             .build());
@@ -394,9 +349,4 @@ public final class ProductionSecurityConfiguration implements SecurityConfigurat
                System.getProperty("java.class.path").contains("junit") ||
                System.getProperty("java.class.path").contains("test");
     }
-
-    @FunctionalInterface
-    private interface Function4<A, B, C, D, R> {
-        R apply(A a, B b, C c, D d);
-    }
 }
@@ -31,7 +31,7 @@ public class SecurityProfileFactory extends BaseFactory {
         // Get the appropriate security profile configuration
         SecurityProfileConfiguration config = getSecurityProfileConfiguration(ctx.security);
         
-        LOG.info("Creating observability configuration for security profile: " + ctx.security);
+        LOG.info(() -> "Creating observability configuration for security profile: " + ctx.security);
         
         // Configure CloudWatch Log Groups
         configureCloudWatchLogs(ctx, config);
@@ -72,7 +72,7 @@ public class SecurityProfileFactory extends BaseFactory {
                 .build();
         
         ctx.logs.set(logGroup);
-        LOG.info("Created CloudWatch log group with retention: " + config.getLogRetentionDays());
+        LOG.info(() -> "Created CloudWatch log group with retention: " + config.getLogRetentionDays());
     }
     
     /**
@@ -81,7 +81,7 @@ public class SecurityProfileFactory extends BaseFactory {
     private void configureVpcFlowLogs(SystemContext ctx, SecurityProfileConfiguration config) {
         // Check if flow logs are enabled for this security profile
         if (!config.isFlowLogsEnabled()) {
-            LOG.info("Flow logs disabled for security profile: " + ctx.security);
+            LOG.info(() -> "Flow logs disabled for security profile: " + ctx.security);
             return;
         }
         
@@ -111,7 +111,7 @@ public class SecurityProfileFactory extends BaseFactory {
                 .build();
         
         ctx.flowlogs.set(flowLogOptions);
-        LOG.info("Created VPC flow logs with traffic type: " + config.getFlowLogTrafficType() + 
+        LOG.info(() -> "Created VPC flow logs with traffic type: " + config.getFlowLogTrafficType() + 
                 " and retention: " + config.getFlowLogRetentionDays());
     }
     
@@ -120,11 +120,11 @@ public class SecurityProfileFactory extends BaseFactory {
      */
     private void configureSecurityMonitoring(SystemContext ctx, SecurityProfileConfiguration config) {
         if (!config.isSecurityMonitoringEnabled()) {
-            LOG.info("Security monitoring disabled for security profile: " + ctx.security);
+            LOG.info(() -> "Security monitoring disabled for security profile: " + ctx.security);
             return;
         }
         
-        LOG.info("Configuring security monitoring for profile: " + ctx.security);
+        LOG.info(() -> "Configuring security monitoring for profile: " + ctx.security);
         
         // Configure CloudTrail if enabled
         if (config.isCloudTrailEnabled()) {
@@ -151,7 +151,7 @@ public class SecurityProfileFactory extends BaseFactory {
      * Configure CloudTrail for audit logging.
      */
     private void configureCloudTrail(SystemContext ctx, SecurityProfileConfiguration config) {
-        LOG.info("Configuring CloudTrail for security profile: " + ctx.security);
+        LOG.info(() -> "Configuring CloudTrail for security profile: " + ctx.security);
         // CloudTrail configuration would be implemented here
         // This is a placeholder for future CloudTrail integration
     }
@@ -160,7 +160,7 @@ public class SecurityProfileFactory extends BaseFactory {
      * Configure GuardDuty for threat detection.
      */
     private void configureGuardDuty(SystemContext ctx, SecurityProfileConfiguration config) {
-        LOG.info("Configuring GuardDuty for security profile: " + ctx.security);
+        LOG.info(() -> "Configuring GuardDuty for security profile: " + ctx.security);
         // GuardDuty configuration would be implemented here
         // This is a placeholder for future GuardDuty integration
     }
@@ -169,7 +169,7 @@ public class SecurityProfileFactory extends BaseFactory {
      * Configure Config for compliance monitoring.
      */
     private void configureConfig(SystemContext ctx, SecurityProfileConfiguration config) {
-        LOG.info("Configuring Config for security profile: " + ctx.security);
+        LOG.info(() -> "Configuring Config for security profile: " + ctx.security);
         // Config configuration would be implemented here
         // This is a placeholder for future Config integration
     }
@@ -178,7 +178,7 @@ public class SecurityProfileFactory extends BaseFactory {
      * Configure ALB access logging.
      */
     private void configureAlbAccessLogging(SystemContext ctx, SecurityProfileConfiguration config) {
-        LOG.info("Configuring ALB access logging for security profile: " + ctx.security);
+        LOG.info(() -> "Configuring ALB access logging for security profile: " + ctx.security);
         // ALB access logging configuration would be implemented here
         // This is a placeholder for future ALB access logging integration
     }
@@ -65,75 +65,56 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
         
         // Instance security group - only for EC2 runtime
         if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.EC2) {
-            whenBoth(c.vpc, c.instanceSg, (vpc, instanceSg) -> {
+            c.wiring.step("security:staging:instance-ingress").when(c.vpc, c.instanceSg, (vpc, instanceSg) -> {
                 // SSH only from VPC CIDR
-                instanceSg.addIngressRule(
-                    Peer.ipv4(vpc.getVpcCidrBlock()), 
-                    Port.tcp(22), 
-                    "SSH from VPC CIDR (STAGING)", 
-                    false
+                c.allowIngress(instanceSg,
+                    Peer.ipv4(vpc.getVpcCidrBlock()),
+                    Port.tcp(22),
+                    "SSH from VPC CIDR (STAGING)"
                 );
                 
                 // Jenkins port only from ALB security group
                 if (c.albSg.get().isPresent()) {
-                    instanceSg.addIngressRule(
-                        Peer.securityGroupId(c.albSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(8080), 
-                        "Jenkins from ALB (STAGING)", 
-                        false
+                    c.allowIngress(instanceSg,
+                        c.albSg.get().orElseThrow(),
+                        Port.tcp(8080),
+                        "Jenkins from ALB (STAGING)"
                     );
                 }
             });
         }
 
         // ALB security group - allow HTTP/HTTPS from anywhere (needed for external access)
-        whenBoth(c.vpc, c.albSg, (vpc, albSg) -> {
-            albSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(80), 
-                "HTTP_from_anywhere_(STAGING)", 
-                false
+        c.wiring.step("security:staging:alb-ingress").when(c.vpc, c.albSg, (vpc, albSg) -> {
+            c.allowIngress(albSg,
+                Peer.anyIpv4(),
+                Port.tcp(80),
+                "HTTP_from_anywhere_(STAGING)"
             );
-            albSg.addIngressRule(
-                Peer.anyIpv4(), 
-                Port.tcp(443), 
-                "HTTPS_from_anywhere_(STAGING)", 
-                false
+            c.allowIngress(albSg,
+                Peer.anyIpv4(),
+                Port.tcp(443),
+                "HTTPS_from_anywhere_(STAGING)"
             );
         });
 
         // EFS security group - allow NFS from appropriate security group based on runtime
-        whenBoth(c.vpc, c.efsSg, (vpc, efsSg) -> {
-            if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.FARGATE) {
-                // For Fargate, allow NFS from Fargate service security group
-                if (c.fargateServiceSg.get().isPresent()) {
-                    efsSg.addIngressRule(
-                        Peer.securityGroupId(c.fargateServiceSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(2049),
-                        "NFS_from_Fargate_tasks_(STAGING)",
-                        false
-                    );
-                }
-            } else {
-                // For EC2, allow NFS from instance security group
-                if (c.instanceSg.get().isPresent()) {
-                    efsSg.addIngressRule(
-                        Peer.securityGroupId(c.instanceSg.get().orElseThrow().getSecurityGroupId()),
-                        Port.tcp(2049),
-                        "NFS_from_Jenkins_instances_(STAGING)",
-                        false
-                    );
-                }
-            }
-        });
+        if (c.runtime == com.cloudforgeci.api.interfaces.RuntimeType.FARGATE) {
+            // For Fargate, allow NFS from Fargate service security group
+            c.wiring.step("security:staging:efs-from-fargate").when(c.efsSg, c.fargateServiceSg, (efsSg, fargateSg) ->
+                c.allowIngress(efsSg, fargateSg, Port.tcp(2049), "NFS_from_Fargate_tasks_(STAGING)"));
+        } else {
+            // For EC2, allow NFS from instance security group
+            c.wiring.step("security:staging:efs-from-instances").when(c.efsSg, c.instanceSg, (efsSg, instanceSg) ->
+                c.allowIngress(efsSg, instanceSg, Port.tcp(2049), "NFS_from_Jenkins_instances_(STAGING)"));
+        }
 
         // Fargate security group - allow from ALB only
-        whenBoth(c.vpc, c.fargateServiceSg, (vpc, fargateSg) -> {
-            fargateSg.addIngressRule(
-                Peer.securityGroupId(c.albSg.get().orElseThrow().getSecurityGroupId()),
+        c.wiring.step("security:staging:fargate-ingress").when(c.vpc, c.fargateServiceSg, (vpc, fargateSg) -> {
+            c.allowIngress(fargateSg,
+                c.albSg.get().orElseThrow(),
                 Port.tcp(8080),
-                "HTTP from ALB (STAGING)",
-                false
+                "HTTP from ALB (STAGING)"
             );
         });
     }
@@ -154,12 +135,12 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
         
         // Configure logging retention (moderate for staging)
         if (profileConfig.getLogRetentionDays() != null) {
-            LOG.info("STAGING profile configured with log retention: " + profileConfig.getLogRetentionDays());
+            LOG.info(() -> "STAGING profile configured with log retention: " + profileConfig.getLogRetentionDays());
         }
         
         // Configure flow logs (enabled for staging)
         if (profileConfig.isFlowLogsEnabled()) {
-            LOG.info("Flow logs enabled for STAGING profile with traffic type: " + profileConfig.getFlowLogTrafficType());
+            LOG.info(() -> "Flow logs enabled for STAGING profile with traffic type: " + profileConfig.getFlowLogTrafficType());
         }
         
         // Configure security monitoring (moderate for staging)
@@ -186,12 +167,12 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
         
         // Configure backup (automated for staging)
         if (profileConfig.isAutomatedBackupEnabled()) {
-            LOG.info("Automated backup enabled for STAGING profile with retention: " + profileConfig.getBackupRetentionDays() + " days");
+            LOG.info(() -> "Automated backup enabled for STAGING profile with retention: " + profileConfig.getBackupRetentionDays() + " days");
         }
         
         // Configure auto-scaling (enabled for staging)
         if (profileConfig.isAutoScalingEnabled()) {
-            LOG.info("Auto-scaling enabled for STAGING profile: " + profileConfig.getMinInstanceCount() + "-" + profileConfig.getMaxInstanceCount() + " instances");
+            LOG.info(() -> "Auto-scaling enabled for STAGING profile: " + profileConfig.getMinInstanceCount() + "-" + profileConfig.getMaxInstanceCount() + " instances");
         }
         
         // Configure network security (moderate for staging)
@@ -210,7 +191,7 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
     private void createHostedZone(SystemContext c) {
         // Create or lookup hosted zone if domain is provided
         if (c.cfc.domain() != null && !c.cfc.domain().isBlank()) {
-            LOG.info("StagingSecurityConfiguration: Setting up hosted zone for domain: " + c.cfc.domain());
+            LOG.info(() -> "StagingSecurityConfiguration: Setting up hosted zone for domain: " + c.cfc.domain());
             if (c.zone.get().isPresent()) {
                 LOG.info("StagingSecurityConfiguration: Hosted zone already exists");
                 return; // Already created
@@ -220,7 +201,7 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
                 // Create a new hosted zone when createZone=true
                 LOG.info("StagingSecurityConfiguration: Creating new hosted zone (createZone=true)");
                 software.amazon.awscdk.services.route53.HostedZone zone = 
-                    software.amazon.awscdk.services.route53.HostedZone.Builder.create((software.constructs.Construct)c.getNode().getScope(), "StagingZone")
+                    software.amazon.awscdk.services.route53.HostedZone.Builder.create(c.scopeFor(com.cloudforgeci.api.core.ResourceBudget.Group.DNS, c.scopeFor(com.cloudforgeci.api.core.StackLayers.Layer.EDGE, (software.constructs.Construct)c.getNode().getScope())), "StagingZone")
                         .zoneName(c.cfc.domain())
                         .build();
                 c.zone.set(zone);
@@ -229,7 +210,7 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
                 // Use existing hosted zone when createZone=false
                 LOG.info("StagingSecurityConfiguration: Looking up existing hosted zone (createZone=false)");
                 software.amazon.awscdk.services.route53.IHostedZone zone = 
-                    software.amazon.awscdk.services.route53.HostedZone.fromLookup((software.constructs.Construct)c.getNode().getScope(), "StagingZoneLookup", 
+                    software.amazon.awscdk.services.route53.HostedZone.fromLookup(c.scopeFor(com.cloudforgeci.api.core.StackLayers.Layer.EDGE, (software.constructs.Construct)c.getNode().getScope()), "StagingZoneLookup", 
                         software.amazon.awscdk.services.route53.HostedZoneProviderProps.builder()
                             .domainName(c.cfc.domain())
                             .build());
@@ -249,13 +230,4 @@ public final class StagingSecurityConfiguration implements SecurityConfiguration
                System.getProperty("java.class.path").contains("junit") ||
                System.getProperty("java.class.path").contains("test");
     }
-
-    private static <A,B> void whenBoth(com.cloudforgeci.api.core.Slot<A> a, com.cloudforgeci.api.core.Slot<B> b, 
-                                      java.util.function.BiConsumer<A,B> fn) {
-        Runnable tryRun = () -> {
-            var ao = a.get(); var bo = b.get();
-            if (ao.isPresent() && bo.isPresent()) fn.accept(ao.get(), bo.get());
-        };
-        a.onSet(x -> tryRun.run()); b.onSet(y -> tryRun.run()); tryRun.run();
-    }
 }
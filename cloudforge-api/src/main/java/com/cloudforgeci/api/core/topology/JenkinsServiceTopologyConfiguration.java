@@ -1,11 +1,13 @@
 package com.cloudforgeci.api.core.topology;
 
+import com.cloudforgeci.api.core.ResourceBudget;
+import com.cloudforgeci.api.core.StackLayers;
 import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.rules.ContextRule;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.TopologyType;
 import com.cloudforgeci.api.interfaces.TopologyConfiguration;
 import com.cloudforgeci.api.interfaces.Rule;
-import software.amazon.awscdk.Duration;
 import software.amazon.awscdk.services.applicationautoscaling.EnableScalingProps;
 import software.amazon.awscdk.services.ecs.CpuUtilizationScalingProps;
 import software.amazon.awscdk.services.ecs.ScalableTaskCount;
@@ -18,12 +20,12 @@ import software.amazon.awscdk.services.route53.targets.LoadBalancerTarget;
 
 import java.util.logging.Logger;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import static com.cloudforgeci.api.core.rules.RuleKit.advise;
+import static com.cloudforgeci.api.core.rules.RuleKit.context;
 import static com.cloudforgeci.api.core.rules.RuleKit.forbid;
-import static com.cloudforgeci.api.core.rules.RuleKit.when;
-import static com.cloudforgeci.api.core.rules.RuleKit.whenBoth;
+import static com.cloudforgeci.api.core.rules.RuleKit.onlyIf;
 
 
 public final class JenkinsServiceTopologyConfiguration implements TopologyConfiguration {
@@ -35,33 +37,35 @@ public final class JenkinsServiceTopologyConfiguration implements TopologyConfig
 
   @Override
   public List<Rule> rules(SystemContext c) {
-    var r = new ArrayList<Rule>();
+    // AutoScalingGroup is forbidden for Fargate runtime, but allowed for EC2 runtime
+    return List.of(onlyIf(x -> x.cfc.runtime() == RuntimeType.FARGATE, forbid("AutoScalingGroup", x -> x.asg)));
+  }
 
-    // This topology supports both Fargate and EC2 runtimes.
-    r.add(ctx -> (ctx.runtime != RuntimeType.FARGATE && ctx.runtime != RuntimeType.EC2)
-            ? List.of("JENKINS_SERVICE requires runtime=FARGATE or runtime=EC2") : List.of());
+  @Override
+  public List<ContextRule> contextRules() {
+    return List.of(
+        // This topology supports both Fargate and EC2 runtimes.
+        context(cfc -> (cfc.runtime() != RuntimeType.FARGATE && cfc.runtime() != RuntimeType.EC2)
+                ? List.of("JENKINS_SERVICE requires runtime=FARGATE or runtime=EC2") : List.of()),
 
-    // OIDC requires TLS at ALB. (Runtime profile handles cert wiring; we enforce semantics here.)
-    r.add(ctx -> {
-      var mode = ctx.cfc.authMode();
-      if ("alb-oidc".equalsIgnoreCase(String.valueOf(mode)) && !ctx.cfc.enableSsl()) {
-        return List.of("authMode=alb-oidc requires enableSsl=true");
-      }
-      return List.of();
-    });
+        // OIDC requires TLS at ALB. (Runtime profile handles cert wiring; we enforce semantics here.)
+        context(cfc -> "alb-oidc".equalsIgnoreCase(String.valueOf(cfc.authMode())) && !cfc.enableSsl()
+                ? List.of("authMode=alb-oidc requires enableSsl=true") : List.of()),
 
-    // If enableSsl=true and caller expects DNS, they should also provide fqdn (either explicit or subdomain+domain).
-    r.add(ctx -> {
-      if (!ctx.cfc.enableSsl()) return List.of();
-      boolean hasFqdn = ctx.cfc.fqdn() != null && !ctx.cfc.fqdn().isBlank();
-      boolean canCompute = ctx.cfc.subdomain() != null && ctx.cfc.domain() != null;
-      return (hasFqdn || canCompute) ? List.of() : List.of("enableSsl=true requires fqdn OR (subdomain + domain)");
-    });
-    // AutoScalingGroup is forbidden for Fargate runtime, but allowed for EC2 runtime
-    boolean isFargate = c.cfc.runtime().equals(RuntimeType.FARGATE);
-    r.add(when(isFargate , forbid("AutoScalingGroup", x -> x.asg)));
+        // If enableSsl=true and caller expects DNS, they should also provide fqdn (either explicit or subdomain+domain).
+        context(cfc -> {
+          if (!cfc.enableSsl()) return List.of();
+          boolean hasFqdn = cfc.fqdn() != null && !cfc.fqdn().isBlank();
+          boolean canCompute = cfc.subdomain() != null && cfc.domain() != null;
+          return (hasFqdn || canCompute) ? List.of() : List.of("enableSsl=true requires fqdn OR (subdomain + domain)");
+        }),
 
-    return r;
+        // Certificates validate through the hosted zone for the domain; an fqdn alone leaves the ALB on HTTP.
+        advise(cfc -> cfc.enableSsl() && cfc.fqdn() != null && !cfc.fqdn().isBlank()
+                && (cfc.domain() == null || cfc.domain().isBlank())
+                ? List.of("enableSsl=true with fqdn but no domain: no hosted zone, so no certificate or HTTPS listener is created")
+                : List.of())
+    );
   }
 
   @Override
@@ -71,71 +75,35 @@ public final class JenkinsServiceTopologyConfiguration implements TopologyConfig
     boolean scale = c.cfc.maxInstanceCapacity() != null && c.cfc.minInstanceCapacity() > 0 && c.cfc.maxInstanceCapacity() > 1;
     if(scale) {
       // Fargate autoscaling - use service.autoScaleTaskCount() directly
-      // Check if callback has already been registered to prevent multiple registrations
-      if (!c.fargateAutoscalingCallbackRegistered.get().isPresent()) {
-        whenBoth(c.fargateService, c.http, (service, http) -> {
-          // Check if Fargate autoscaling has already been configured (inside callback to prevent multiple executions)
-          if (c.fargateAutoscalingConfigured.get().isPresent()) {
-            return;
-          }
-          
-          ScalableTaskCount scalable = service.autoScaleTaskCount(EnableScalingProps.builder().minCapacity(c.cfc.minInstanceCapacity()).maxCapacity(c.cfc.maxInstanceCapacity()).build());
-          scalable.scaleOnCpuUtilization("CpuScaleSvc", CpuUtilizationScalingProps.builder().targetUtilizationPercent(c.cfc.cpuTargetUtilization())
-                  .scaleInCooldown(Duration.minutes(2)).scaleOutCooldown(Duration.minutes(2)).build());
-          c.fargateAutoscalingConfigured.set(true);
-        });
-        c.fargateAutoscalingCallbackRegistered.set(true);
-      } else {
-      }
+      c.wiring.step("topology:service:fargate-autoscaling").when(c.fargateService, c.http, (service, http) -> {
+        ScalableTaskCount scalable = service.autoScaleTaskCount(EnableScalingProps.builder().minCapacity(c.cfc.minInstanceCapacity()).maxCapacity(c.cfc.maxInstanceCapacity()).build());
+        scalable.scaleOnCpuUtilization("CpuScaleSvc", CpuUtilizationScalingProps.builder().targetUtilizationPercent(c.cfc.cpuTargetUtilization())
+                .scaleInCooldown(c.performance().getScaleInCooldown()).scaleOutCooldown(c.performance().getScaleOutCooldown()).build());
+      });
       
       // EC2 autoscaling - add AutoScalingGroup to target group
-      // Check if callback has already been registered to prevent multiple registrations
-      if (!c.ec2AutoscalingCallbackRegistered.get().isPresent()) {
-        whenBoth(c.asg, c.albTargetGroup, (asg, tg) -> {
-          // Check if AutoScalingGroup has already been added to target group (inside callback to prevent multiple executions)
-          if (c.asgAddedToTargetGroup.get().isPresent()) {
-            return;
-          }
-          
-          tg.addTarget(asg);
-          c.asgAddedToTargetGroup.set(true);
-        });
-        c.ec2AutoscalingCallbackRegistered.set(true);
-      } else {
-      }
+      c.wiring.step("topology:service:asg-target").when(c.asg, c.albTargetGroup, (asg, tg) -> {
+        tg.addTarget(asg);
+        if (c.layers.enabled()) asg.getNode().addDependency(tg);
+      });
     }
     
     // DNS A/AAAA records for ALB (for both SSL and non-SSL deployments)
-    // Check if DNS records callback has already been registered to prevent multiple registrations
-    if (c.dnsRecordsCallbackRegistered.get().isPresent()) {
+    // Use subdomain for DNS record name, not the full FQDN
+    String record = c.cfc.subdomain();
+    if (record == null || record.isBlank()) {
       return;
     }
-    
-    whenBoth(c.zone, c.alb, (zone, alb) -> {
-      // Check if DNS records have already been created (inside callback to prevent multiple executions)
-      if (c.dnsRecordsCreated.get().isPresent()) {
-        return;
-      }
-      
-      // Use subdomain for DNS record name, not the full FQDN
-      String record = c.cfc.subdomain();
-      if (record == null || record.isBlank()) {
-        return;
-      }
 
+    c.wiring.step("topology:service:dns").when(c.zone, c.alb, (zone, alb) -> {
       var target = RecordTarget.fromAlias(new LoadBalancerTarget(alb));
       // Include stack name in construct ID to ensure uniqueness across different deployments
       String constructIdPrefix = "ServiceAlbAlias_" + c.stackName + "_" + c.topology + "_" + c.runtime;
-      new ARecord(c, constructIdPrefix + "A", ARecordProps.builder()
+      var dnsScope = c.scopeFor(ResourceBudget.Group.DNS, c.scopeFor(StackLayers.Layer.EDGE, c));
+      new ARecord(dnsScope, constructIdPrefix + "A", ARecordProps.builder()
               .zone(zone).recordName(record).target(target).build());
-      new AaaaRecord(c, constructIdPrefix + "AAAA", AaaaRecordProps.builder()
+      new AaaaRecord(dnsScope, constructIdPrefix + "AAAA", AaaaRecordProps.builder()
               .zone(zone).recordName(record).target(target).build());
-      
-      // Set the DNS records created flag to prevent duplicate execution
-      c.dnsRecordsCreated.set(true);
     });
-    
-    // Mark that the DNS records callback has been registered
-    c.dnsRecordsCallbackRegistered.set(true);
   }
 }
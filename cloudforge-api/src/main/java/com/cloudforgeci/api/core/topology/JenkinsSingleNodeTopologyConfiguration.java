@@ -1,6 +1,9 @@
 package com.cloudforgeci.api.core.topology;
 
+import com.cloudforgeci.api.core.ResourceBudget;
+import com.cloudforgeci.api.core.StackLayers;
 import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.rules.ContextRule;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.TopologyType;
 import com.cloudforgeci.api.interfaces.TopologyConfiguration;
@@ -12,7 +15,6 @@ import software.amazon.awscdk.services.route53.AaaaRecordProps;
 import software.amazon.awscdk.services.route53.RecordTarget;
 import software.amazon.awscdk.services.route53.targets.LoadBalancerTarget;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.cloudforgeci.api.core.rules.RuleKit.*;
@@ -23,32 +25,36 @@ public final class JenkinsSingleNodeTopologyConfiguration implements TopologyCon
 
   @Override
   public List<Rule> rules(SystemContext c) {
-    var r = new ArrayList<Rule>();
+    // TEMPORARY: Comment out AutoScalingGroup forbid rule to debug
+    // return List.of(forbid("AutoScalingGroup", x -> x.asg));
+    return List.of();
+  }
 
-    // This topology is only valid with EC2 runtime.
-    r.add(ctx -> ctx.runtime != RuntimeType.EC2
-            ? List.of("JENKINS_SINGLE_NODE requires runtime=EC2") : List.of());
+  @Override
+  public List<ContextRule> contextRules() {
+    return List.of(
+        // This topology is only valid with EC2 runtime.
+        context(cfc -> cfc.runtime() != RuntimeType.EC2
+                ? List.of("JENKINS_SINGLE_NODE requires runtime=EC2") : List.of()),
 
-    // OIDC requires TLS.
-    r.add(ctx -> {
-      var mode = ctx.cfc.authMode();
-      if ("alb-oidc".equalsIgnoreCase(String.valueOf(mode)) && !ctx.cfc.enableSsl()) {
-        return List.of("authMode=alb-oidc requires enableSsl=true");
-      }
-      return List.of();
-    });
+        // OIDC requires TLS.
+        context(cfc -> "alb-oidc".equalsIgnoreCase(String.valueOf(cfc.authMode())) && !cfc.enableSsl()
+                ? List.of("authMode=alb-oidc requires enableSsl=true") : List.of()),
 
-    // If TLS + DNS expected, ensure fqdn or ability to compute it.
-    r.add(ctx -> {
-      if (!ctx.cfc.enableSsl()) return List.of();
-      boolean hasFqdn = ctx.cfc.fqdn() != null && !ctx.cfc.fqdn().isBlank();
-      boolean canCompute = ctx.cfc.subdomain() != null && ctx.cfc.domain() != null;
-      return (hasFqdn || canCompute) ? List.of() : List.of("enableSsl=true requires fqdn OR (subdomain + domain)");
-    });
-    // TEMPORARY: Comment out AutoScalingGroup forbid rule to debug
-    // r.add(forbid("AutoScalingGroup", x -> x.asg));
+        // If TLS + DNS expected, ensure fqdn or ability to compute it.
+        context(cfc -> {
+          if (!cfc.enableSsl()) return List.of();
+          boolean hasFqdn = cfc.fqdn() != null && !cfc.fqdn().isBlank();
+          boolean canCompute = cfc.subdomain() != null && cfc.domain() != null;
+          return (hasFqdn || canCompute) ? List.of() : List.of("enableSsl=true requires fqdn OR (subdomain + domain)");
+        }),
 
-    return r;
+        // Certificates validate through the hosted zone for the domain; an fqdn alone leaves the ALB on HTTP.
+        advise(cfc -> cfc.enableSsl() && cfc.fqdn() != null && !cfc.fqdn().isBlank()
+                && (cfc.domain() == null || cfc.domain().isBlank())
+                ? List.of("enableSsl=true with fqdn but no domain: no hosted zone, so no certificate or HTTPS listener is created")
+                : List.of())
+    );
   }
 
   @Override
@@ -59,41 +65,22 @@ public final class JenkinsSingleNodeTopologyConfiguration implements TopologyCon
       return;
     }
     
-    // Check if DNS records callback has already been registered to prevent multiple registrations
-    if (c.dnsRecordsCallbackRegistered.get().isPresent()) {
+    // Use subdomain for DNS record name, not the full FQDN
+    String recordName = c.cfc.subdomain();
+    if (recordName == null || recordName.isBlank()) {
       return;
     }
-    
-    // Route53 A + AAAA aliases to ALB (only if zone + alb present)
-    whenBoth(c.zone, c.alb, (zone, alb) -> {
-      // Check if DNS records have already been created (inside callback to prevent multiple executions)
-      if (c.dnsRecordsCreated.get().isPresent()) {
-        return;
-      }
-      
-      
-      // Use subdomain for DNS record name, not the full FQDN
-      String recordName = c.cfc.subdomain();
-      if (recordName == null || recordName.isBlank()) {
-        return;
-      }
-      
 
+    // Route53 A + AAAA aliases to ALB (only if zone + alb present)
+    c.wiring.step("topology:single-node:dns").when(c.zone, c.alb, (zone, alb) -> {
       var target = RecordTarget.fromAlias(new LoadBalancerTarget(alb));
       // Include stack name in construct ID to ensure uniqueness across different deployments
       String constructIdPrefix = "SingleNodeAlbAlias_" + c.stackName + "_" + c.topology + "_" + c.runtime;
-      new ARecord(c, constructIdPrefix + "A", ARecordProps.builder()
+      var dnsScope = c.scopeFor(ResourceBudget.Group.DNS, c.scopeFor(StackLayers.Layer.EDGE, c));
+      new ARecord(dnsScope, constructIdPrefix + "A", ARecordProps.builder()
               .zone(zone).recordName(recordName).target(target).build());
-      new AaaaRecord(c, constructIdPrefix + "AAAA", AaaaRecordProps.builder()
+      new AaaaRecord(dnsScope, constructIdPrefix + "AAAA", AaaaRecordProps.builder()
               .zone(zone).recordName(recordName).target(target).build());
-      
-      
-      // Set the DNS records created flag to prevent duplicate execution
-      c.dnsRecordsCreated.set(true);
     });
-    
-    // Mark that the DNS records callback has been registered
-    c.dnsRecordsCallbackRegistered.set(true);
-
   }
 }
\ No newline at end of file
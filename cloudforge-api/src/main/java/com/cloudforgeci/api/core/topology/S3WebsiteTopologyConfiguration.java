@@ -1,6 +1,9 @@
 package com.cloudforgeci.api.core.topology;
 
+import com.cloudforgeci.api.core.ResourceBudget;
+import com.cloudforgeci.api.core.StackLayers;
 import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.rules.ContextRule;
 
 import com.cloudforgeci.api.interfaces.TopologyType;
 import com.cloudforgeci.api.interfaces.TopologyConfiguration;
@@ -21,6 +24,7 @@ import software.amazon.awscdk.services.s3.BucketProps;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import static com.cloudforgeci.api.core.rules.RuleKit.*;
 
@@ -33,27 +37,14 @@ public final class S3WebsiteTopologyConfiguration implements TopologyConfigurati
   public List<Rule> rules(SystemContext c) {
     var r = new ArrayList<Rule>();
 
-    boolean domainEnabled = c.cfc != null && c.cfc.domain() != null && !c.cfc.domain().isBlank();
-    boolean cfEnabled = c.cfc != null && c.cfc.cloudfrontEnabled();
-
-    // S3 website topology does not provision Jenkins compute (runtime is irrelevant here).
-    // If TLS is enabled, we front with CloudFront (viewer TLS at edge).
-    r.add(ctx -> ctx.cfc.enableSsl() && !ctx.cfc.cloudfrontEnabled()
-            ? List.of("S3_WEBSITE with enableSsl=true requires cloudfront=true (viewer TLS at edge)") : List.of());
-
-    // If cloudfront + custom host expected, ensure fqdn (or can compute).
-    r.add(ctx -> {
-      if (!ctx.cfc.cloudfrontEnabled()) return List.of();
-      boolean hasFqdn = ctx.cfc.fqdn() != null && !ctx.cfc.fqdn().isBlank();
-      boolean canCompute = ctx.cfc.subdomain() != null && ctx.cfc.domain() != null;
-      return (hasFqdn || canCompute) ? List.of() : List.of("cloudfront=true requires fqdn OR (subdomain + domain)");
-    });
+    Predicate<SystemContext> domainEnabled = x -> x.cfc != null && x.cfc.domain() != null && !x.cfc.domain().isBlank();
+    Predicate<SystemContext> cfEnabled = x -> x.cfc != null && x.cfc.cloudfrontEnabled();
 
     r.addAll(List.of(
             require("websiteBucket", x -> x.websiteBucket),
-            when(cfEnabled, require("distribution", x -> x.distribution)),
-            when(domainEnabled, require("hosted zone", x -> x.zone)),
-            when(domainEnabled && cfEnabled, require("certificate", x -> x.cert)),
+            onlyIf(cfEnabled, require("distribution", x -> x.distribution)),
+            onlyIf(domainEnabled, require("hosted zone", x -> x.zone)),
+            onlyIf(domainEnabled.and(cfEnabled), require("certificate", x -> x.cert)),
             forbid("asg", x -> x.asg),
             forbid("fargate", x -> x.fargateService),
             forbid("alb", x -> x.alb)
@@ -61,6 +52,24 @@ public final class S3WebsiteTopologyConfiguration implements TopologyConfigurati
     return r;
   }
 
+  @Override
+  public List<ContextRule> contextRules() {
+    return List.of(
+        // S3 website topology does not provision Jenkins compute (runtime is irrelevant here).
+        // If TLS is enabled, we front with CloudFront (viewer TLS at edge).
+        context(cfc -> cfc.enableSsl() && !cfc.cloudfrontEnabled()
+                ? List.of("S3_WEBSITE with enableSsl=true requires cloudfront=true (viewer TLS at edge)") : List.of()),
+
+        // If cloudfront + custom host expected, ensure fqdn (or can compute).
+        context(cfc -> {
+          if (!cfc.cloudfrontEnabled()) return List.of();
+          boolean hasFqdn = cfc.fqdn() != null && !cfc.fqdn().isBlank();
+          boolean canCompute = cfc.subdomain() != null && cfc.domain() != null;
+          return (hasFqdn || canCompute) ? List.of() : List.of("cloudfront=true requires fqdn OR (subdomain + domain)");
+        })
+    );
+  }
+
   @Override
   public void wire(SystemContext c) {
     // 1) Website bucket (simple static hosting; fine to keep private and serve via CF+OAC later)
@@ -96,20 +105,21 @@ public final class S3WebsiteTopologyConfiguration implements TopologyConfigurati
     });
 
     // 3) Route53 alias to CF (ONLY if a zone is already set deterministically)
-    c.once("S3:CfAlias", () -> whenBoth(c.zone, c.distribution, (zone, dist) -> {
+    c.once("S3:CfAlias", () -> c.wiring.step("topology:s3:cf-alias").when(c.zone, c.distribution, (zone, dist) -> {
       String rec = c.cfc.fqdn();
       if (rec == null || rec.isBlank()) {
         rec = c.cfc.subdomain() == null ? "" : c.cfc.subdomain();
       }
       var target = RecordTarget.fromAlias(new CloudFrontTarget(dist));
-      new ARecord(c, "CfAliasA", ARecordProps.builder()
+      var dnsScope = c.scopeFor(ResourceBudget.Group.DNS, c.scopeFor(StackLayers.Layer.EDGE, c));
+      new ARecord(dnsScope, "CfAliasA", ARecordProps.builder()
               .zone(zone).recordName(rec).target(target).build());
-      new AaaaRecord(c, "CfAliasAAAA", AaaaRecordProps.builder()
+      new AaaaRecord(dnsScope, "CfAliasAAAA", AaaaRecordProps.builder()
               .zone(zone).recordName(rec).target(target).build());
     }));
 
     // (Optional) hook to add security headers / OAC policy if you also attach cert into c.cert
-    c.once("S3:Hardening", () -> whenAll(c.websiteBucket, c.distribution, c.cert, (bucket, dist, cert) -> {
+    c.once("S3:Hardening", () -> c.wiring.step("topology:s3:hardening").when(c.websiteBucket, c.distribution, c.cert, (bucket, dist, cert) -> {
       // e.g., add response headers policy, S3 OAC, etc. Left empty intentionally for now.
     }));
   }
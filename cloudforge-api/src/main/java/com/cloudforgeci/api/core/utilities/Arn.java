@@ -10,6 +10,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.regex.Pattern;
 
 @Documented
 @Constraint(validatedBy = Arn.Validator.class)
@@ -23,11 +24,11 @@ public @interface Arn {
         private boolean optional;
         // Basic arn:partition:service:region:account:resource
         // Account can be empty (for global services) or exactly 12 digits
-        private static final String RX = "^arn:aws[a-zA-Z-]*:[a-z0-9-]+:[a-z0-9-]*:(?:|\\d{12}):.+";
+        private static final Pattern RX = Pattern.compile("^arn:aws[a-zA-Z-]*:[a-z0-9-]+:[a-z0-9-]*:(?:|\\d{12}):.+");
         public void initialize(Arn a){ optional = a.optional(); }
         public boolean isValid(String v, ConstraintValidatorContext c){
             if (v == null || v.isBlank()) return optional;
-            return v.matches(RX);
+            return RX.matcher(v).matches();
         }
     }
 }
\ No newline at end of file
@@ -19,9 +19,27 @@ public @interface DnsLabel {
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
     class Validator implements ConstraintValidator<DnsLabel, String> {
-        private static final String RX = "^[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?$";
         public boolean isValid(String v, ConstraintValidatorContext c){
-            return v == null || v.isBlank() || v.matches(RX);
+            return v == null || v.isBlank() || isLabel(v, 0, v.length());
+        }
+
+        /**
+         * Hand-written scan for {@code ^[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?$} over
+         * {@code v[from, to)}, so callers can check the labels of a name without splitting it.
+         */
+        public static boolean isLabel(CharSequence v, int from, int to){
+            int len = to - from;
+            if (len < 1 || len > 63) return false;
+            if (!isAlnum(v.charAt(from)) || !isAlnum(v.charAt(to - 1))) return false;
+            for (int i = from + 1; i < to - 1; i++) {
+                char ch = v.charAt(i);
+                if (ch != '-' && !isAlnum(ch)) return false;
+            }
+            return true;
+        }
+
+        private static boolean isAlnum(char ch){
+            return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9');
         }
     }
 }
\ No newline at end of file
@@ -19,17 +19,20 @@ public @interface DnsName {
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
     class Validator implements ConstraintValidator<DnsName, String> {
-        private static final String LABEL_RX = "^[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?$";
         public boolean isValid(String v, ConstraintValidatorContext c){
             if (v == null || v.isBlank()) return true;
             if (v.length() > 253) return false;
-            for (String part : v.split("\\.")) {
-                if (part.isEmpty()) return false;
-                if (!part.matches(LABEL_RX)) return false;
+            // Trailing dots are ignored, as String.split dropped the trailing empty labels
+            int end = v.length();
+            while (end > 0 && v.charAt(end - 1) == '.') end--;
+            int start = 0;
+            while (start < end) {
+                int dot = v.indexOf('.', start);
+                if (dot < 0 || dot > end) dot = end;
+                if (!DnsLabel.Validator.isLabel(v, start, dot)) return false;
+                start = dot + 1;
             }
             return true;
         }
-
-
     }
 }
\ No newline at end of file
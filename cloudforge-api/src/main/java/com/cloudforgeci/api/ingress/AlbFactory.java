@@ -69,6 +69,7 @@ public class AlbFactory extends BaseFactory {
                 .vpc(ctx.vpc.get().orElseThrow())
                 .securityGroup(albSg)
                 .internetFacing(true)
+                .idleTimeout(ctx.performance().getAlbIdleTimeout())
                 .build();
     }
 
@@ -92,6 +93,7 @@ public class AlbFactory extends BaseFactory {
                         .healthyThresholdCount(healthyThreshold)
                         .unhealthyThresholdCount(unhealthyThreshold)
                         .build())
+                .deregistrationDelay(ctx.performance().getDeregistrationDelay())
                 .build();
     }
 
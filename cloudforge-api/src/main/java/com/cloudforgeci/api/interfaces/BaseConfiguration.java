@@ -1,10 +1,21 @@
 package com.cloudforgeci.api.interfaces;
 
 import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.core.rules.ContextRule;
 import java.util.List;
 
 public interface BaseConfiguration {
   List<Rule> rules(SystemContext c);
+
+  /**
+   * Rules that read only the deployment context. They run with {@link #rules} at synthesis and can
+   * also be checked without constructs through
+   * {@link com.cloudforgeci.api.core.rules.RuleCompiler#evaluateContexts}.
+   */
+  default List<ContextRule> contextRules() {
+    return List.of();
+  }
+
   void wire(SystemContext c);
   String id();
 }
@@ -8,6 +8,8 @@ public interface Constants {
         public final String JENKINS_CONTAINER_PATH = "/var/jenkins_home";
         public final String JENKINS_PATH = "/jenkins";
         public final Integer JENKINS_PORT = 8080;
+        public final String JENKINS_SCRATCH = "jenkinsScratch";
+        public final String JENKINS_SCRATCH_PATH = "/var/jenkins_scratch";
 
     }
 }
@@ -0,0 +1,36 @@
+package com.cloudforgeci.api.interfaces;
+
+/**
+ * Performance Profile enum sizing a deployment for the team that uses it.
+ * Selected with the {@code performanceProfile} context key; explicit sizing keys
+ * such as {@code cpu} or {@code instanceType} still win over the profile.
+ */
+public enum PerformanceProfile {
+    /**
+     * SMALL: A handful of engineers. The historical defaults.
+     * - 1 vCPU / 2 GiB Fargate task or t3.micro
+     * - Bursting EFS throughput
+     */
+    SMALL,
+
+    /**
+     * MEDIUM: Tens of engineers.
+     * - 2 vCPU / 8 GiB Fargate task or t3.large
+     * - Elastic EFS throughput, gp3 volumes
+     */
+    MEDIUM,
+
+    /**
+     * LARGE: Around a hundred engineers.
+     * - 4 vCPU / 16 GiB Fargate task or m6i.xlarge
+     * - Elastic EFS throughput, gp3 volumes, faster scale-out
+     */
+    LARGE,
+
+    /**
+     * XLARGE: Several hundred engineers.
+     * - 8 vCPU / 32 GiB Fargate task or m6i.2xlarge
+     * - Elastic EFS throughput, larger gp3 volumes, faster scale-out
+     */
+    XLARGE
+}
@@ -0,0 +1,86 @@
+package com.cloudforgeci.api.interfaces;
+
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
+import software.amazon.awscdk.services.efs.ThroughputMode;
+
+/**
+ * Configuration interface for performance profile settings.
+ * Defines compute size, storage throughput, scaling policy and load balancer
+ * settings that fit together for each team size.
+ *
+ * Compute sizes are defaults for the matching DeploymentContext keys
+ * ({@code cpu}, {@code memory}, {@code instanceType}, {@code cpuTargetUtilization});
+ * a key set in the context wins over the profile.
+ */
+public interface PerformanceProfileConfiguration {
+
+    /**
+     * Get the performance profile this configuration applies to.
+     */
+    PerformanceProfile getPerformanceProfile();
+
+    // Compute
+    /**
+     * Get the Fargate task CPU units.
+     */
+    int getCpu();
+
+    /**
+     * Get the Fargate task memory in MiB; a valid size for {@link #getCpu()}.
+     */
+    int getMemory();
+
+    /**
+     * Get the EC2 instance type, e.g. "t3.micro".
+     */
+    String getInstanceType();
+
+    // Storage
+    /**
+     * Get the EFS throughput mode.
+     */
+    ThroughputMode getEfsThroughputMode();
+
+    /**
+     * Get the volume type for EC2 root and data volumes.
+     */
+    EbsDeviceVolumeType getEbsVolumeType();
+
+    /**
+     * Get the EC2 root volume size in GiB.
+     */
+    int getRootVolumeSize();
+
+    /**
+     * Get the EC2 data volume size in GiB, used when Jenkins home is not on EFS.
+     */
+    int getDataVolumeSize();
+
+    // Scaling
+    /**
+     * Get the CPU utilization the scaling policy tracks, in percent.
+     */
+    int getCpuTargetUtilization();
+
+    /**
+     * Get the cooldown after a scale-out activity.
+     */
+    Duration getScaleOutCooldown();
+
+    /**
+     * Get the cooldown after a scale-in activity.
+     */
+    Duration getScaleInCooldown();
+
+    // Load Balancer
+    /**
+     * Get the ALB idle timeout, or {@code null} to leave the AWS default unset.
+     */
+    Duration getAlbIdleTimeout();
+
+    /**
+     * Get the target group deregistration delay, or {@code null} to leave the AWS default unset.
+     */
+    Duration getDeregistrationDelay();
+}
@@ -1,15 +1,29 @@
 package com.cloudforgeci.api.observability;
 
+import com.cloudforgeci.api.core.SynthesisArtifacts;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.core.annotation.BaseFactory;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
 import software.amazon.awscdk.services.cloudwatch.*;
+import software.amazon.awscdk.services.efs.FileSystem;
 import software.amazon.awscdk.services.elasticloadbalancingv2.*;
 import software.constructs.Construct;
 
+import java.util.Map;
+
 public class AlarmFactory extends BaseFactory {
   @com.cloudforgeci.api.core.annotation.SystemContext
   private SystemContext ctx;
 
+  // Burst credits left before throughput falls to the size-based baseline; ~3h at 100 MiB/s
+  private static final double EFS_BURST_CREDIT_FLOOR = 1024d * 1024 * 1024 * 1024;
+  private static final double EFS_PERCENT_IO_LIMIT = 90;
+  private static final double EFS_THROUGHPUT_UTILIZATION = 80;
+  private static final Duration METRIC_PERIOD = Duration.minutes(5);
+  // Roughly one outstanding I/O per 1000 provisioned IOPS keeps SSD latency at its single-digit-ms baseline
+  private static final int EBS_QUEUE_FLOOR = 4;
+
   private final Props p;
 
   public static class Props {
@@ -26,5 +40,82 @@ public class AlarmFactory extends BaseFactory {
   public void create() {
     Metric m = ctx.alb.get().orElseThrow().getMetrics().httpCodeElb(HttpCodeElb.ELB_5XX_COUNT);
     Alarm.Builder.create(this, "Alb5xx").metric(m).threshold(5).evaluationPeriods(1).build();
+
+    ctx.efs.get().ifPresent(this::efsAlarms);
+    // Ec2Factory only attaches a data volume when Jenkins home is not on EFS
+    if (ctx.efs.get().isEmpty()) {
+      ctx.asg.get().ifPresent(this::ebsAlarms);
+    }
+  }
+
+  /** Requests queuing on the Jenkins home volume, reported per Auto Scaling group by the CloudWatch agent. */
+  private void ebsAlarms(AutoScalingGroup asg) {
+    int iops = ctx.cfc.ebsIops() > 0 ? ctx.cfc.ebsIops() : "gp3".equals(ctx.cfc.ebsVolumeType()) ? 3000 : 0;
+    Metric queue = Metric.Builder.create()
+        .namespace(SynthesisArtifacts.AGENT_NAMESPACE)
+        .metricName(SynthesisArtifacts.DATA_VOLUME_QUEUE_METRIC)
+        .dimensionsMap(Map.of("AutoScalingGroupName", asg.getAutoScalingGroupName()))
+        .statistic(Stats.MAXIMUM)
+        .period(METRIC_PERIOD)
+        .build();
+    Alarm.Builder.create(this, "EbsQueueLength")
+        .alarmDescription("Requests are queuing on the Jenkins home volume; raise ebsIops/ebsThroughput or the volume type")
+        .metric(queue)
+        .comparisonOperator(ComparisonOperator.GREATER_THAN_OR_EQUAL_TO_THRESHOLD)
+        .threshold(Math.max(EBS_QUEUE_FLOOR, iops / 1000))
+        .evaluationPeriods(3)
+        .treatMissingData(TreatMissingData.NOT_BREACHING)
+        .build();
+  }
+
+  /** Storage saturation on Jenkins home, raised before the controller UI and jobs slow down. */
+  private void efsAlarms(FileSystem fs) {
+    if ("bursting".equals(ctx.cfc.efsThroughputMode())) {
+      Alarm.Builder.create(this, "EfsBurstCredits")
+          .alarmDescription("EFS burst credits are running out; throughput will drop to the baseline for its size")
+          .metric(efsMetric(fs, "BurstCreditBalance", Stats.MINIMUM))
+          .comparisonOperator(ComparisonOperator.LESS_THAN_THRESHOLD)
+          .threshold(EFS_BURST_CREDIT_FLOOR)
+          .evaluationPeriods(1)
+          .build();
+    }
+
+    // Reported for General Purpose file systems only
+    if ("generalPurpose".equals(ctx.cfc.efsPerformanceMode())) {
+      Alarm.Builder.create(this, "EfsIoLimit")
+          .alarmDescription("EFS is close to the General Purpose I/O limit")
+          .metric(efsMetric(fs, "PercentIOLimit", Stats.AVERAGE))
+          .comparisonOperator(ComparisonOperator.GREATER_THAN_OR_EQUAL_TO_THRESHOLD)
+          .threshold(EFS_PERCENT_IO_LIMIT)
+          .evaluationPeriods(3)
+          .build();
+    }
+
+    // Metered bytes per second as a share of the throughput the file system is allowed right now
+    MathExpression utilization = MathExpression.Builder.create()
+        .expression("(m / PERIOD(m)) / p * 100")
+        .usingMetrics(Map.of(
+            "m", efsMetric(fs, "MeteredIOBytes", Stats.SUM),
+            "p", efsMetric(fs, "PermittedThroughput", Stats.AVERAGE)))
+        .label("EFS throughput utilization (%)")
+        .period(METRIC_PERIOD)
+        .build();
+    Alarm.Builder.create(this, "EfsThroughput")
+        .alarmDescription("EFS metered throughput is close to the permitted throughput")
+        .metric(utilization)
+        .comparisonOperator(ComparisonOperator.GREATER_THAN_OR_EQUAL_TO_THRESHOLD)
+        .threshold(EFS_THROUGHPUT_UTILIZATION)
+        .evaluationPeriods(3)
+        .build();
+  }
+
+  private static Metric efsMetric(FileSystem fs, String name, String statistic) {
+    return Metric.Builder.create()
+        .namespace("AWS/EFS")
+        .metricName(name)
+        .dimensionsMap(Map.of("FileSystemId", fs.getFileSystemId()))
+        .statistic(statistic)
+        .period(METRIC_PERIOD)
+        .build();
   }
 }
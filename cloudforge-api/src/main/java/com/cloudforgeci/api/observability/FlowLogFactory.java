@@ -26,11 +26,11 @@ public class FlowLogFactory extends BaseFactory {
     @Override
     public void create() {
         // SecurityProfileConfiguration is now injected directly via annotation
-        LOG.info("FlowLogFactory: Configuring flow logs for security profile: " + ctx.security);
+        LOG.info(() -> "FlowLogFactory: Configuring flow logs for security profile: " + ctx.security);
 
         // Check if flow logs are enabled for this security profile
         if (!config.isFlowLogsEnabled()) {
-            LOG.info("Flow logs disabled for security profile: " + ctx.security + " (cost optimization)");
+            LOG.info(() -> "Flow logs disabled for security profile: " + ctx.security + " (cost optimization)");
             return;
         }
 
@@ -55,7 +55,7 @@ public class FlowLogFactory extends BaseFactory {
 
         ctx.flowlogs.set(logGroup);
         
-        LOG.info("Flow logs configured for " + ctx.security + " profile: " +
+        LOG.info(() -> "Flow logs configured for " + ctx.security + " profile: " +
                 "traffic=" + config.getFlowLogTrafficType() + 
                 ", retention=" + config.getFlowLogRetentionDays() +
                 ", removal=" + config.getLogRemovalPolicy());
@@ -26,35 +26,27 @@ public class LoggingCwFactory extends BaseFactory {
     public void create() {
         try {
             // SecurityProfileConfiguration is now injected directly via annotation
-            LOG.info("LoggingCwFactory: Starting create() method");
-            LOG.info("LoggingCwFactory: ctx is null: " + (ctx == null));
-            if (ctx != null) {
-                LOG.info("LoggingCwFactory: ctx.security is null: " + (ctx.security == null));
-                if (ctx.security != null) {
-                    LOG.info("LoggingCwFactory: ctx.security = " + ctx.security);
-                }
-            }
-            LOG.info("LoggingCwFactory: config is null: " + (config == null));
+            // Step tracing is FINE and built lazily; the summary below stays at INFO
+            LOG.fine(() -> "LoggingCwFactory: create() with security=" + (ctx != null ? ctx.security : null)
+                    + ", config=" + (config != null ? config.getClass().getSimpleName() : null));
             
             if (config == null) {
                 LOG.severe("LoggingCwFactory: SecurityProfileConfiguration is null!");
                 throw new IllegalStateException("SecurityProfileConfiguration is null");
             }
 
-            LOG.info("LoggingCwFactory: About to check if logs are already configured");
             // Check if logs are already configured
             if (ctx.logs.get().isPresent()) {
-                LOG.info("CloudWatch logs already configured, skipping");
+                LOG.fine("CloudWatch logs already configured, skipping");
                 return;
             }
 
-            LOG.info("LoggingCwFactory: About to create LogGroup");
             // Create log group with security profile-based settings
             String securityProfileName = (ctx.security != null) ? ctx.security.name().toLowerCase() : "unknown";
             String runtimeName = (ctx.runtime != null) ? ctx.runtime.name().toLowerCase() : "unknown";
             String stackName = ctx.stackName;
             String logGroupName = "/aws/jenkins/" + stackName + "/" + runtimeName + "/" + securityProfileName;
-            LOG.info("LoggingCwFactory: Creating log group with name: " + logGroupName);
+            LOG.fine(() -> "LoggingCwFactory: Creating log group with name: " + logGroupName);
         // Use configurable log retention from DeploymentContext if monitoring is enabled
         RetentionDays retentionDays = config.getLogRetentionDays();
         if (ctx.cfc.enableMonitoring() && ctx.cfc.logRetentionDays() != null) {
@@ -95,10 +87,9 @@ public class LoggingCwFactory extends BaseFactory {
                 .logGroupName(logGroupName)
                 .build();
 
-            LOG.info("LoggingCwFactory: About to set logs in context");
             ctx.logs.set(logGroup);
             
-            LOG.info("CloudWatch logs configured for " + ctx.security + " profile: " +
+            LOG.info(() -> "CloudWatch logs configured for " + ctx.security + " profile: " +
                     "retention=" + config.getLogRetentionDays() +
                     ", removal=" + config.getLogRemovalPolicy());
         } catch (Exception e) {
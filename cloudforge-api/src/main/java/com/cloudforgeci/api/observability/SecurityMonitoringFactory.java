@@ -28,11 +28,11 @@ public class SecurityMonitoringFactory extends BaseFactory {
     @Override
     public void create() {
         // SecurityProfileConfiguration is now injected directly via annotation
-        LOG.info("Creating security monitoring for security profile: " + ctx.security);
+        LOG.info(() -> "Creating security monitoring for security profile: " + ctx.security);
         
         // Only configure monitoring if enabled for this security profile
         if (!config.isSecurityMonitoringEnabled()) {
-            LOG.info("Security monitoring disabled for security profile: " + ctx.security);
+            LOG.info(() -> "Security monitoring disabled for security profile: " + ctx.security);
             return;
         }
         
@@ -47,7 +47,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
             configureFlowLogMonitoring(securityAlertsTopic);
         }
         
-        LOG.info("Security monitoring configuration completed for profile: " + ctx.security);
+        LOG.info(() -> "Security monitoring configuration completed for profile: " + ctx.security);
     }
     
     /**
@@ -61,7 +61,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
                 .displayName("Security Alerts for " + ctx.security + " Environment")
                 .build();
         
-        LOG.info("Created security alerts SNS topic: " + topicName);
+        LOG.info(() -> "Created security alerts SNS topic: " + topicName);
         return topic;
     }
     
@@ -69,7 +69,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
      * Configure CloudWatch alarms for security monitoring.
      */
     private void configureSecurityAlarms(Topic alertsTopic) {
-        LOG.info("Configuring CloudWatch security alarms for profile: " + ctx.security);
+        LOG.info(() -> "Configuring CloudWatch security alarms for profile: " + ctx.security);
         
         // Configure different alarm thresholds based on security profile
         double highCpuThreshold = getHighCpuThreshold(ctx.security);
@@ -100,7 +100,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
      * Configure VPC Flow Log monitoring for security analysis.
      */
     private void configureFlowLogMonitoring(Topic alertsTopic) {
-        LOG.info("Configuring VPC Flow Log monitoring for profile: " + ctx.security);
+        LOG.info(() -> "Configuring VPC Flow Log monitoring for profile: " + ctx.security);
         
         // Monitor for rejected connections (potential security threats)
         createRejectedConnectionsAlarm(alertsTopic);
@@ -133,7 +133,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
                 .build();
         
         cpuAlarm.addAlarmAction(new SnsAction(alertsTopic));
-        LOG.info("Created CPU alarm with threshold: " + threshold + "%");
+        LOG.info(() -> "Created CPU alarm with threshold: " + threshold + "%");
     }
     
     /**
@@ -158,7 +158,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
                 .build();
         
         memoryAlarm.addAlarmAction(new SnsAction(alertsTopic));
-        LOG.info("Created memory alarm with threshold: " + threshold + "%");
+        LOG.info(() -> "Created memory alarm with threshold: " + threshold + "%");
     }
     
     /**
@@ -183,7 +183,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
                 .build();
         
         networkAlarm.addAlarmAction(new SnsAction(alertsTopic));
-        LOG.info("Created network alarm with threshold: " + threshold + " bytes");
+        LOG.info(() -> "Created network alarm with threshold: " + threshold + " bytes");
     }
     
     /**
@@ -241,7 +241,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
                 .build();
         
         apiAlarm.addAlarmAction(new SnsAction(alertsTopic));
-        LOG.info("Created API activity alarm with threshold: " + threshold + " requests");
+        LOG.info(() -> "Created API activity alarm with threshold: " + threshold + " requests");
     }
     
     /**
@@ -268,7 +268,7 @@ public class SecurityMonitoringFactory extends BaseFactory {
                 .build();
         
         rejectedAlarm.addAlarmAction(new SnsAction(alertsTopic));
-        LOG.info("Created rejected connections alarm with threshold: " + threshold);
+        LOG.info(() -> "Created rejected connections alarm with threshold: " + threshold);
     }
     
     /**
@@ -3,7 +3,6 @@ package com.cloudforgeci.api.scaling;
 
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.core.annotation.BaseFactory;
-import software.amazon.awscdk.Duration;
 import software.amazon.awscdk.services.applicationautoscaling.EnableScalingProps;
 import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
 import software.amazon.awscdk.services.ecs.*;
@@ -46,8 +45,8 @@ public class ScalingFactory extends BaseFactory {
     scalable.scaleOnCpuUtilization("CpuScaleSvc", 
         CpuUtilizationScalingProps.builder()
             .targetUtilizationPercent(targetUtilization)
-            .scaleInCooldown(Duration.minutes(2))
-            .scaleOutCooldown(Duration.minutes(2))
+            .scaleInCooldown(ctx.performance().getScaleInCooldown())
+            .scaleOutCooldown(ctx.performance().getScaleOutCooldown())
             .build());
   }
 
@@ -58,7 +57,7 @@ public class ScalingFactory extends BaseFactory {
     asg.scaleOnCpuUtilization("CpuScaleAsg",
             software.amazon.awscdk.services.autoscaling.CpuUtilizationScalingProps.builder()
                     .targetUtilizationPercent(targetUtilization)
-                    .cooldown(Duration.minutes(2))
+                    .cooldown(ctx.performance().getScaleOutCooldown())
                     .build());
   }
 
@@ -1,20 +1,28 @@
 package com.cloudforgeci.api.storage;
 
 
+import com.cloudforgeci.api.compute.JenkinsUserData;
+import com.cloudforgeci.api.core.JenkinsJvmOptions;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.core.annotation.BaseFactory;
 import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
 import software.amazon.awscdk.services.ecs.ContainerDefinition;
 import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerDependency;
+import software.amazon.awscdk.services.ecs.ContainerDependencyCondition;
 import software.amazon.awscdk.services.ecs.ContainerImage;
 import software.amazon.awscdk.services.ecs.LogDriver;
 import software.amazon.awscdk.services.ecs.MountPoint;
 import software.amazon.awscdk.services.ecs.PortMapping;
 import software.constructs.Construct;
 
+import java.util.List;
+
 import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_CONTAINER_PATH;
 import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_HOME;
 import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_PORT;
+import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_SCRATCH;
+import static com.cloudforgeci.api.interfaces.Constants.Jenkins.JENKINS_SCRATCH_PATH;
 
 public class ContainerFactory extends BaseFactory {
 
@@ -51,7 +59,47 @@ public class ContainerFactory extends BaseFactory {
                 .sourceVolume(JENKINS_HOME)
                 .readOnly(false)
                 .build());
+        boolean hybrid = JenkinsUserData.hybridStorage(ctx);
+        String javaOpts = JenkinsJvmOptions.forFargate(ctx.cfc);
+        container.addEnvironment("JAVA_OPTS", hybrid ? javaOpts + " " + JenkinsUserData.workspaceJavaOptions() : javaOpts);
+        if (hybrid) {
+            addScratch(container);
+        }
         ctx.container.set(container);
     }
 
+    /**
+     * Workspaces and build caches on the task's ephemeral storage. A bind mount starts out owned by
+     * root, so a short-lived init container hands it to the Jenkins user before the controller starts.
+     */
+    private void addScratch(ContainerDefinition container) {
+        MountPoint scratch = MountPoint.builder()
+                .containerPath(JENKINS_SCRATCH_PATH)
+                .sourceVolume(JENKINS_SCRATCH)
+                .readOnly(false)
+                .build();
+
+        ContainerDefinition init = ctx.fargateTaskDef.get().orElseThrow().addContainer(getNode().getId() + "ScratchInit",
+                ContainerDefinitionOptions.builder()
+                        .containerName(getNode().getId() + "-scratch-init")
+                        .image(image)
+                        .user("0:0")
+                        .essential(false)
+                        .entryPoint(List.of("sh", "-c"))
+                        .command(List.of("mkdir -p " + JenkinsUserData.scratchDirectories()
+                                + " && chown -R 1000:1000 " + JENKINS_SCRATCH_PATH))
+                        .logging(LogDriver.awsLogs(AwsLogDriverProps.builder()
+                                .logGroup(ctx.logs.get().isPresent() ? ctx.logs.get().orElseThrow() : null)
+                                .streamPrefix("jenkins-init").build()))
+                        .build());
+        init.addMountPoints(scratch);
+
+        container.addMountPoints(scratch);
+        container.addContainerDependencies(ContainerDependency.builder()
+                .container(init)
+                .condition(ContainerDependencyCondition.SUCCESS)
+                .build());
+        JenkinsUserData.workspaceEnvironment().forEach(container::addEnvironment);
+    }
+
 }
@@ -4,6 +4,7 @@ import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.core.annotation.BaseFactory;
 import com.cloudforgeci.api.interfaces.SecurityProfile;
 
+import software.amazon.awscdk.Size;
 import software.amazon.awscdk.services.ec2.SecurityGroup;
 import software.amazon.awscdk.services.efs.*;
 import software.constructs.Construct;
@@ -37,12 +38,27 @@ public class EfsFactory extends BaseFactory {
   }
 
   private FileSystem createFileSystem(SecurityGroup efsSg) {
-    return FileSystem.Builder.create(this, "Efs")
+    FileSystem.Builder fs = FileSystem.Builder.create(this, "Efs")
             .securityGroup(efsSg)
             .vpc(ctx.vpc.get().orElseThrow())
             .encrypted(true)
-            .performanceMode(PerformanceMode.GENERAL_PURPOSE)
-            .throughputMode(ThroughputMode.BURSTING)
-            .build();
+            .performanceMode(performanceMode(ctx.cfc.efsPerformanceMode()))
+            .throughputMode(throughputMode(ctx.cfc.efsThroughputMode()));
+    if ("provisioned".equals(ctx.cfc.efsThroughputMode())) {
+      fs.provisionedThroughputPerSecond(Size.mebibytes(ctx.cfc.efsProvisionedThroughput()));
+    }
+    return fs.build();
+  }
+
+  private static PerformanceMode performanceMode(String mode) {
+    return "maxIO".equals(mode) ? PerformanceMode.MAX_IO : PerformanceMode.GENERAL_PURPOSE;
+  }
+
+  private static ThroughputMode throughputMode(String mode) {
+    return switch (mode) {
+      case "elastic" -> ThroughputMode.ELASTIC;
+      case "provisioned" -> ThroughputMode.PROVISIONED;
+      default -> ThroughputMode.BURSTING;
+    };
   }
 }
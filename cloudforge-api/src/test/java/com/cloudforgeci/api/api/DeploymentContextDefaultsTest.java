@@ -1,10 +1,12 @@
 package com.cloudforgeci.api.api;
 
 import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.interfaces.PerformanceProfile;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -34,9 +36,43 @@ public class DeploymentContextDefaultsTest {
         assertEquals("none", cfc.authMode());
         assertEquals(1024, cfc.cpu());
         assertEquals(2048, cfc.memory());
+        assertEquals("t3.micro", cfc.instanceType());
+        assertEquals(PerformanceProfile.SMALL, cfc.performanceProfile());
         assertFalse(cfc.enableSsl());
     }
 
+    @Test
+    void performanceProfileSetsSizingDefaults() throws Exception {
+        Map<String,Object> m = new LinkedHashMap<>();
+        m.put("performanceProfile", "large");
+        DeploymentContext cfc = fromMap(m);
+        assertEquals(PerformanceProfile.LARGE, cfc.performanceProfile());
+        assertEquals(4096, cfc.cpu());
+        assertEquals(16384, cfc.memory());
+        assertEquals("m6i.xlarge", cfc.instanceType());
+        assertEquals(55, cfc.cpuTargetUtilization());
+    }
+
+    @Test
+    void explicitKeysBeatPerformanceProfile() throws Exception {
+        Map<String,Object> m = new LinkedHashMap<>();
+        m.put("performanceProfile", "xlarge");
+        m.put("memory", 61440);
+        m.put("instanceType", "m5.2xlarge");
+        DeploymentContext cfc = fromMap(m);
+        assertEquals(8192, cfc.cpu());
+        assertEquals(61440, cfc.memory());
+        assertEquals("m5.2xlarge", cfc.instanceType());
+    }
+
+    @Test
+    void unknownPerformanceProfileIsRejected() {
+        Map<String,Object> m = new LinkedHashMap<>();
+        m.put("performanceProfile", "huge");
+        InvocationTargetException ex = assertThrows(InvocationTargetException.class, () -> fromMap(m));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+    }
+
     @Test
     void fqdnComposedFromSubdomainAndDomain() throws Exception {
         Map<String,Object> m = new LinkedHashMap<>();
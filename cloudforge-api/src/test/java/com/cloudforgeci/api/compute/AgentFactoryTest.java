@@ -0,0 +1,97 @@
+package com.cloudforgeci.api.compute;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.ResourceBudget;
+import com.cloudforgeci.api.test.JenkinsTemplates;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgentFactoryTest {
+
+  @Test
+  void agentsAreOffByDefault() {
+    Template t = JenkinsTemplates.fargate("Agents", Map.of());
+
+    t.resourceCountIs("AWS::ECS::Cluster", 1);
+    t.resourceCountIs("AWS::ServiceDiscovery::Service", 0);
+    assertFalse(t.toJSON().toString().contains("casc-init"));
+  }
+
+  @Test
+  void agentTiersAndControllerCloudAreCreated() {
+    Template t = JenkinsTemplates.fargate("Agents", Map.of("enableAgents", true));
+
+    t.resourceCountIs("AWS::ECS::Cluster", 2);
+    t.resourceCountIs("AWS::ECS::TaskDefinition", 1 + AgentFactory.Tier.values().length);
+    t.resourceCountIs("AWS::ServiceDiscovery::Service", 1);
+    for (AgentFactory.Tier tier : AgentFactory.Tier.values()) {
+      t.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+          "Cpu", String.valueOf(tier.cpu),
+          "Memory", String.valueOf(tier.memory),
+          "ContainerDefinitions", List.of(Match.objectLike(Map.of("Name", tier.label())))));
+    }
+
+    t.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+        "ContainerDefinitions", Match.arrayWith(List.of(
+            Match.objectLike(Map.of(
+                "DependsOn", Match.arrayWith(List.of(Match.objectLike(Map.of("Condition", "SUCCESS")))),
+                "Environment", Match.arrayWith(List.of(Map.of("Name", "CASC_JENKINS_CONFIG", "Value", AgentFactory.CASC_DIR))))),
+            Match.objectLike(Map.of(
+                "Name", Match.stringLikeRegexp(".*-casc-init"),
+                "Essential", false))))));
+
+    t.hasResourceProperties("AWS::IAM::Policy", Map.of(
+        "PolicyDocument", Map.of("Statement", Match.arrayWith(List.of(Match.objectLike(Map.of(
+            "Sid", "AgentRunTask", "Action", "ecs:RunTask")))))));
+    // SG-to-SG rules are inlined on the controller's security group
+    Map<String, Object> fromAgents = Map.of("Fn::GetAtt", List.of(Match.stringLikeRegexp(".*AgentsAgentSg.*"), "GroupId"));
+    t.hasResourceProperties("AWS::EC2::SecurityGroup", Map.of(
+        "SecurityGroupIngress", Match.arrayWith(List.of(
+            Match.objectLike(Map.of("FromPort", 8080, "ToPort", 8080, "SourceSecurityGroupId", fromAgents)),
+            Match.objectLike(Map.of("FromPort", AgentFactory.AGENT_PORT, "ToPort", AgentFactory.AGENT_PORT,
+                "SourceSecurityGroupId", fromAgents))))));
+
+    String casc = t.toJSON().toString();
+    assertTrue(casc.contains("numExecutors: 0\n"), "controller executors default to 0 with agents");
+    assertTrue(casc.contains("capacityProviderStrategies:\n              - provider: \"FARGATE_SPOT\"\n"));
+    // Plugins are downloaded once into Jenkins home, not on every task start
+    assertTrue(casc.contains(AgentFactory.installPlugins()));
+    assertTrue(AgentFactory.installPlugins().startsWith("if [ \"$(cat " + AgentFactory.PLUGIN_MARKER));
+  }
+
+  @Test
+  void agentsMoveToTheComputeNestedStack() {
+    Map<String, Object> cfc = new HashMap<>(Map.of("runtime", "fargate", "topology", "jenkins-service",
+        "enableAgents", true, "nestedStacks", "always"));
+    App app = new App();
+    app.getNode().setContext("cfc", cfc);
+    Stack stack = new Stack(app, "Agents");
+    JenkinsFactory.createFargate(stack, "Jenkins", DeploymentContext.from(stack));
+
+    NestedStack compute = (NestedStack) stack.getNode().findChild(ResourceBudget.Group.COMPUTE.stackId);
+    Template nested = Template.fromStack(compute);
+    nested.resourceCountIs("AWS::ECS::Cluster", 1);
+    nested.resourceCountIs("AWS::ECS::TaskDefinition", AgentFactory.Tier.values().length);
+    // The controller keeps its task definition and its Cloud Map name
+    Template root = Template.fromStack(stack);
+    root.resourceCountIs("AWS::ECS::TaskDefinition", 1);
+    root.resourceCountIs("AWS::ServiceDiscovery::Service", 1);
+  }
+
+  @Test
+  void controllerExecutorsReachTheCascFile() {
+    Template t = JenkinsTemplates.fargate("Agents", Map.of("enableAgents", true, "controllerExecutors", 2));
+
+    assertTrue(t.toJSON().toString().contains("numExecutors: 2\n"));
+  }
+}
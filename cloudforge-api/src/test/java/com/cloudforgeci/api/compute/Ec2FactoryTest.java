@@ -13,9 +13,15 @@ import com.cloudforgeci.api.storage.EfsFactory;
 import org.junit.jupiter.api.Disabled;
 import software.amazon.awscdk.App;
 import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
 import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.ec2.SecurityGroup;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationTargetGroup;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 public class Ec2FactoryTest {
 
   @Disabled("resolve path first")
@@ -48,4 +54,37 @@ public class Ec2FactoryTest {
     Template t = Template.fromStack(stack);
     t.resourceCountIs("AWS::AutoScaling::AutoScalingGroup", 1);
   }
+
+  @Test
+  void gp3ThroughputReachesTheDataVolume() {
+    App app = new App();
+    app.getNode().setContext("cfc", Map.of("runtime", "ec2", "topology", "jenkins-service",
+        "maxInstanceCapacity", 2, "ebsVolumeType", "gp3", "ebsIops", 4000, "ebsThroughput", 250));
+    Stack stack = new Stack(app, "Test");
+    DeploymentContext cfc = DeploymentContext.from(stack);
+    SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.EC2, SecurityProfile.DEV,
+        IAMProfileMapper.mapFromSecurity(SecurityProfile.DEV), cfc);
+
+    VpcFactory vpc = new VpcFactory(stack, "Vpc");
+    vpc.injectContexts();
+    ctx.createFactory(vpc);
+    AlbFactory alb = new AlbFactory(stack, "Alb");
+    alb.injectContexts();
+    ctx.createFactory(alb);
+    // No EFS, so Jenkins home goes to the EBS data volume
+    ctx.instanceSg.set(SecurityGroup.Builder.create(stack, "InstanceSg").vpc(ctx.vpc.get().orElseThrow()).build());
+    ctx.efsSg.set(SecurityGroup.Builder.create(stack, "EfsSg").vpc(ctx.vpc.get().orElseThrow()).build());
+    if (ctx.albTargetGroup.get().isEmpty()) {
+      ctx.albTargetGroup.set(ApplicationTargetGroup.Builder.create(stack, "Tg").vpc(ctx.vpc.get().orElseThrow()).port(8080).build());
+    }
+    Ec2Factory ec2 = new Ec2Factory(stack, "Ec2");
+    ec2.injectContexts();
+    ctx.createFactory(ec2);
+
+    Template.fromStack(stack).hasResourceProperties("AWS::EC2::LaunchTemplate", Map.of(
+        "LaunchTemplateData", Match.objectLike(Map.of("BlockDeviceMappings", List.of(
+            Match.objectLike(Map.of("DeviceName", "/dev/xvda")),
+            Map.of("DeviceName", "/dev/xvdh", "Ebs", Match.objectLike(Map.of(
+                "VolumeType", "gp3", "Iops", 4000, "Throughput", 250))))))));
+  }
 }
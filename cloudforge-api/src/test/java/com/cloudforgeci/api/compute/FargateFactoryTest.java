@@ -0,0 +1,46 @@
+package com.cloudforgeci.api.compute;
+
+import com.cloudforgeci.api.test.JenkinsTemplates;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FargateFactoryTest {
+
+  @Test
+  void defaultTaskKeepsWorkspacesOnEfsWithSizedJvmOptions() {
+    Template t = JenkinsTemplates.fargate("Fargate", Map.of());
+
+    t.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+        "EphemeralStorage", Match.absent(),
+        "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+            "Environment", Match.arrayWith(List.of(Map.of(
+                "Name", "JAVA_OPTS",
+                "Value", Match.stringLikeRegexp(".*MaxRAMPercentage=50\\.0 .*-XX:\\+UseG1GC.*-Xlog:gc:stdout.*"))))))))));
+    assertFalse(t.toJSON().toString().contains("scratch-init"));
+  }
+
+  @Test
+  void hybridLayoutMovesWorkspacesToEphemeralStorage() {
+    Template t = JenkinsTemplates.fargate("Fargate", Map.of("storageLayout", "hybrid", "workspaceStorageSize", 150));
+
+    t.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+        "EphemeralStorage", Map.of("SizeInGiB", 150),
+        "Volumes", Match.arrayWith(List.of(Map.of("Name", "jenkinsScratch"))),
+        "ContainerDefinitions", Match.arrayWith(List.of(
+            Match.objectLike(Map.of(
+                "User", "1000:1000",
+                "DependsOn", List.of(Match.objectLike(Map.of("Condition", "SUCCESS"))),
+                "Environment", Match.arrayWith(List.of(Map.of(
+                    "Name", "GRADLE_USER_HOME", "Value", "/var/jenkins_scratch/cache/gradle"))))),
+            Match.objectLike(Map.of(
+                "Name", Match.stringLikeRegexp(".*-scratch-init"),
+                "Essential", false,
+                "User", "0:0"))))));
+  }
+}
@@ -0,0 +1,61 @@
+package com.cloudforgeci.api.compute;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ec2.Vpc;
+import software.amazon.awscdk.services.efs.FileSystem;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JenkinsUserDataTest {
+
+  @Test
+  void tokensAreFilledInAtEmission() {
+    List<String> script = JenkinsUserData.jenkinsEfsUserData("fs-123", "fsap-456");
+
+    assertTrue(script.contains("echo \"fs-123:/ /var/lib/jenkins efs _netdev,tls,iam,accesspoint=fsap-456 0 0\" >> /etc/fstab"));
+    assertEquals(script, JenkinsUserData.jenkinsEfsUserData("fs-123", "fsap-456"));
+  }
+
+  @Test
+  void jenkinsServiceDropInCarriesJavaOptsAndEnvironment() {
+    Map<String, String> env = JenkinsUserData.workspaceEnvironment();
+    List<String> commands = JenkinsUserData.jenkinsService("-Xlog:gc " + JenkinsUserData.workspaceJavaOptions(), env);
+    String dropIn = commands.stream().filter(c -> c.contains("jenkins.service.d/cloudforge.conf")).findFirst().orElseThrow();
+
+    assertTrue(dropIn.contains("Environment=\"JAVA_OPTS=-Xlog:gc -Djenkins.model.Jenkins.workspacesDir=/var/jenkins_scratch/workspace/${ITEM_FULL_NAME}\""), dropIn);
+    env.forEach((k, v) -> assertTrue(dropIn.contains("Environment=\"" + k + "=" + v + "\""), k));
+    assertTrue(commands.indexOf(dropIn) < commands.indexOf("systemctl restart jenkins"));
+  }
+
+  @Test
+  void workspaceMountPreparesTheScratchDirectories() {
+    assertTrue(JenkinsUserData.workspaceMount().contains("mkdir -p " + JenkinsUserData.scratchDirectories()));
+  }
+
+  @Test
+  void hybridLayoutAppliesOnlyWithTheJenkinsHomeOnEfs() {
+    App app = new App();
+    app.getNode().setContext("cfc", Map.of("runtime", "ec2", "storageLayout", "hybrid"));
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SINGLE_NODE, RuntimeType.EC2,
+        SecurityProfile.DEV, IAMProfile.EXTENDED, DeploymentContext.from(stack));
+
+    assertFalse(JenkinsUserData.hybridStorage(ctx));
+
+    Vpc vpc = Vpc.Builder.create(stack, "Vpc").build();
+    ctx.efs.set(FileSystem.Builder.create(stack, "Efs").vpc(vpc).build());
+
+    assertTrue(JenkinsUserData.hybridStorage(ctx));
+  }
+}
@@ -0,0 +1,86 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.core.rules.Violation;
+import com.cloudforgeci.api.core.utilities.DnsLabel;
+import com.cloudforgeci.api.core.utilities.DnsName;
+import com.cloudforgeci.api.core.utilities.OneOf;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeploymentConstraintsTest {
+
+  private static List<String> fields(List<Violation> violations) {
+    return violations.stream().map(Violation::slot).toList();
+  }
+
+  @Test
+  void everyConstraintTheParserLeavesOpenIsCompiled() {
+    Map<String, String> declared = new LinkedHashMap<>();
+    for (Field f : DeploymentContext.class.getDeclaredFields()) {
+      OneOf oneOf = f.getAnnotation(OneOf.class);
+      DnsName dnsName = f.getAnnotation(DnsName.class);
+      DnsLabel dnsLabel = f.getAnnotation(DnsLabel.class);
+      if (oneOf != null && DeploymentContext.LENIENT.contains(f.getName())) declared.put(f.getName(), oneOf.message());
+      if (dnsName != null) declared.put(f.getName(), dnsName.message());
+      if (dnsLabel != null) declared.put(f.getName(), dnsLabel.message());
+    }
+
+    Map<String, String> compiled = new LinkedHashMap<>();
+    for (DeploymentConstraints.Check check : DeploymentConstraints.checks()) {
+      compiled.put(check.field(), check.message());
+    }
+    assertEquals(declared, compiled);
+    assertEquals(List.of("tier", "env", "domain", "subdomain"), List.copyOf(compiled.keySet()));
+  }
+
+  @Test
+  void parserRejectsEveryOtherOneOfValue() {
+    for (Field f : DeploymentContext.class.getDeclaredFields()) {
+      OneOf oneOf = f.getAnnotation(OneOf.class);
+      if (oneOf == null || DeploymentContext.LENIENT.contains(f.getName())) continue;
+      for (String allowed : oneOf.value()) {
+        assertDoesNotThrow(() -> new DeploymentContext(Map.of(f.getName(), allowed), false), f.getName() + "=" + allowed);
+      }
+      assertThrows(IllegalArgumentException.class, () -> new DeploymentContext(Map.of(f.getName(), "bogus"), false), f.getName());
+      assertTrue(DeploymentPreflight.check(Map.of(f.getName(), "bogus")).errors().stream()
+          .anyMatch(v -> v.slot().equals(f.getName())), f.getName());
+    }
+  }
+
+  @Test
+  void defaultContextIsValid() {
+    assertTrue(DeploymentConstraints.validate(new DeploymentContext(Map.of())).isEmpty());
+  }
+
+  @Test
+  void fieldConstraintsAreReported() {
+    DeploymentContext c = new DeploymentContext(Map.of(
+        "tier", "gold", "env", "qa", "domain", "bad_domain.com", "subdomain", "-jenkins"));
+
+    List<Violation> violations = DeploymentConstraints.validate(c);
+
+    assertEquals(List.of("tier", "env", "domain", "subdomain"), fields(violations));
+    assertEquals(List.of("OneOf", "OneOf", "DnsName", "DnsLabel"),
+        violations.stream().map(Violation::code).toList());
+    assertEquals("Tier must be 'public' or 'enterprise'", violations.get(0).message());
+  }
+
+  @Test
+  void bulkValidationKeepsInputOrder() {
+    List<List<Violation>> all = DeploymentConstraints.validateAll(List.of(
+        new DeploymentContext(Map.of("domain", "example.com")),
+        new DeploymentContext(Map.of("domain", "example..com")),
+        new DeploymentContext(Map.of("tier", "enterprise"))));
+
+    assertEquals(3, all.size());
+    assertTrue(all.get(0).isEmpty());
+    assertEquals(List.of("domain"), fields(all.get(1)));
+    assertTrue(all.get(2).isEmpty());
+  }
+}
@@ -0,0 +1,68 @@
+package com.cloudforgeci.api.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeploymentContextCacheTest {
+
+  @BeforeEach
+  void setUp() {
+    Util.clearCache();
+  }
+
+  @Test
+  void sameContextIsParsedOnce() {
+    App app = new App();
+    app.getNode().setContext("cfc", Map.of("runtime", "ec2", "topology", "jenkins-service"));
+    Stack stack = new Stack(app, "Test");
+    Construct nested = new Construct(stack, "Nested");
+
+    DeploymentContext fromApp = DeploymentContext.from(app);
+    DeploymentContext fromStack = DeploymentContext.from(stack);
+    DeploymentContext fromNested = DeploymentContext.from(nested);
+
+    assertSame(fromApp, fromStack);
+    assertSame(fromStack, fromNested);
+    assertEquals(1, Util.cacheSize());
+  }
+
+  @Test
+  void changedContextIsParsedAgain() {
+    App app = new App();
+    app.getNode().setContext("cfc", Map.of("runtime", "ec2"));
+    DeploymentContext before = DeploymentContext.from(app);
+
+    App other = new App();
+    other.getNode().setContext("cfc", Map.of("runtime", "fargate"));
+    DeploymentContext after = DeploymentContext.from(other);
+
+    assertNotSame(before, after);
+    assertEquals("ec2", before.runtime().name().toLowerCase());
+    assertEquals("fargate", after.runtime().name().toLowerCase());
+  }
+
+  @Test
+  void jsonAndMapContextsWithSameContentShareAnEntry() {
+    DeploymentContext fromJson = Util.extractDeploymentContext("{\"runtime\":\"ec2\",\"cpu\":2048}");
+    DeploymentContext fromMap = Util.extractDeploymentContext(Map.of("runtime", "ec2", "cpu", 2048));
+
+    assertSame(fromJson, fromMap);
+    assertEquals(2048, fromMap.cpu());
+  }
+
+  @Test
+  void invalidContextIsNotCached() {
+    Map<String, Object> bad = Map.of("runtime", "fargate", "topology", "jenkins-single-node");
+
+    assertThrows(IllegalArgumentException.class, () -> Util.extractDeploymentContext(bad));
+    assertThrows(IllegalArgumentException.class, () -> Util.extractDeploymentContext(bad));
+    assertEquals(0, Util.cacheSize());
+  }
+}
@@ -0,0 +1,212 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.core.rules.Violation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeploymentPreflightTest {
+
+  private static List<String> codes(DeploymentPreflight.Result r) {
+    return r.violations().stream().map(Violation::code).toList();
+  }
+
+  @Test
+  void defaultContextPasses() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of());
+
+    assertTrue(r.ok());
+    assertTrue(r.violations().isEmpty());
+  }
+
+  @Test
+  void validSslServicePasses() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+        "runtime", "fargate", "topology", "jenkins-service",
+        "domain", "example.com", "subdomain", "jenkins", "enableSsl", true,
+        "authMode", "alb-oidc", "cpu", 2048, "memory", 8192,
+        "minInstanceCapacity", 1, "maxInstanceCapacity", 3));
+
+    assertTrue(r.ok(), () -> r.violations().toString());
+  }
+
+  @Test
+  void sslWithAnFqdnButNoDomainWarnsThatNoCertificateIsIssued() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+        "runtime", "fargate", "enableSsl", true, "fqdn", "jenkins.example.com"));
+
+    assertTrue(r.ok(), () -> r.violations().toString());
+    assertEquals(List.of("domain"), r.warnings().stream().map(Violation::slot).toList());
+  }
+
+  @Test
+  void everyPerformanceProfileHasAValidFargateSize() {
+    for (String profile : List.of("small", "medium", "large", "xlarge")) {
+      DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+          "runtime", "fargate", "topology", "jenkins-service", "performanceProfile", profile));
+
+      assertTrue(r.ok(), () -> profile + ": " + r.violations());
+    }
+  }
+
+  @Test
+  void efsModesAreCheckedAgainstEachOtherAndTheTopology() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+        "efsThroughputMode", "elastic", "efsPerformanceMode", "maxIO", "efsProvisionedThroughput", 128));
+
+    assertEquals(List.of("efsProvisionedThroughput", "efsPerformanceMode"),
+        r.violations().stream().map(Violation::slot).toList());
+    assertEquals(1, r.errors().size());
+    assertTrue(codes(r).stream().allMatch(DeploymentPreflight.EFS_MODE::equals));
+
+    DeploymentPreflight.Result provisioned = DeploymentPreflight.check(Map.of("efsThroughputMode", "provisioned"));
+    assertEquals(List.of("efsProvisionedThroughput"), provisioned.errors().stream().map(Violation::slot).toList());
+
+    DeploymentPreflight.Result website = DeploymentPreflight.check(Map.of(
+        "topology", "s3-website", "efsThroughputMode", "elastic"));
+    assertTrue(website.ok());
+    assertEquals(1, website.warnings().size());
+  }
+
+  @Test
+  void ebsLimitsFollowTheVolumeType() {
+    assertTrue(DeploymentPreflight.check(Map.of(
+        "runtime", "ec2", "ebsVolumeType", "gp3", "ebsIops", 6000, "ebsThroughput", 500)).ok());
+
+    DeploymentPreflight.Result gp3 = DeploymentPreflight.check(Map.of(
+        "runtime", "ec2", "ebsVolumeType", "gp3", "ebsThroughput", 1000));
+    assertEquals(List.of("ebsThroughput"), gp3.errors().stream().map(Violation::slot).toList());
+
+    DeploymentPreflight.Result io2 = DeploymentPreflight.check(Map.of(
+        "runtime", "ec2", "ebsVolumeType", "io2", "ebsIops", 64000, "ebsDataVolumeSize", 100, "ebsThroughput", 500));
+    assertEquals(List.of("ebsIops", "ebsThroughput"), io2.errors().stream().map(Violation::slot).toList());
+    assertTrue(codes(io2).stream().allMatch(DeploymentPreflight.EBS_VOLUME::equals));
+
+    DeploymentPreflight.Result fargate = DeploymentPreflight.check(Map.of("runtime", "fargate", "ebsIops", 9000));
+    assertTrue(fargate.ok());
+    assertEquals(List.of("ebsIops"), fargate.warnings().stream().map(Violation::slot).toList());
+  }
+
+  @Test
+  void hybridWorkspaceStorageFitsFargateEphemeralStorage() {
+    assertTrue(DeploymentPreflight.check(Map.of("runtime", "fargate", "storageLayout", "hybrid")).ok());
+
+    DeploymentPreflight.Result tooBig = DeploymentPreflight.check(Map.of(
+        "runtime", "fargate", "storageLayout", "hybrid", "workspaceStorageSize", 500));
+    assertEquals(List.of(DeploymentPreflight.STORAGE_LAYOUT), codes(tooBig));
+    assertTrue(DeploymentPreflight.check(Map.of(
+        "runtime", "ec2", "storageLayout", "hybrid", "workspaceStorageSize", 500)).ok());
+
+    DeploymentPreflight.Result ignored = DeploymentPreflight.check(Map.of("workspaceStorageSize", 50));
+    assertTrue(ignored.ok());
+    assertEquals(List.of("workspaceStorageSize"), ignored.warnings().stream().map(Violation::slot).toList());
+  }
+
+  @Test
+  void jenkinsJavaOptsMustSurviveTheSystemdDropIn() {
+    assertTrue(DeploymentPreflight.check(Map.of("jenkinsJavaOpts", "-XX:+UseZGC -Xmx12g")).ok());
+    assertEquals(List.of(DeploymentPreflight.JVM_OPTIONS),
+        codes(DeploymentPreflight.check(Map.of("jenkinsJavaOpts", "-Dgreeting=\"hi\""))));
+  }
+
+  @Test
+  void buildAgentsNeedAFargateController() {
+    assertTrue(DeploymentPreflight.check(Map.of("runtime", "fargate", "enableAgents", true, "controllerExecutors", 1)).ok());
+    assertEquals(List.of(DeploymentPreflight.AGENTS),
+        codes(DeploymentPreflight.check(Map.of("runtime", "fargate", "enableAgents", true, "controllerExecutors", -1))));
+
+    DeploymentPreflight.Result ec2 = DeploymentPreflight.check(Map.of("runtime", "ec2", "enableAgents", true));
+    assertTrue(ec2.ok());
+    assertEquals(List.of("enableAgents"), ec2.warnings().stream().map(Violation::slot).toList());
+    assertEquals(List.of("controllerExecutors"),
+        DeploymentPreflight.check(Map.of("controllerExecutors", 2)).warnings().stream().map(Violation::slot).toList());
+  }
+
+  @Test
+  void everyProblemIsReportedAtOnce() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+        "runtime", "fargate", "topology", "jenkins-single-node",
+        "authMode", "alb-oidc", "networkMode", "bogus",
+        "minInstanceCapacity", 4, "maxInstanceCapacity", 2));
+
+    assertFalse(r.ok());
+    assertEquals(List.of(
+        DeploymentPreflight.CONTEXT_VALUE,
+        DeploymentPreflight.TOPOLOGY_RUNTIME,
+        DeploymentPreflight.AUTH_OIDC,
+        DeploymentPreflight.CAPACITY,
+        DeploymentPreflight.CAPACITY), codes(r));
+    assertEquals("networkMode", r.errors().get(0).slot());
+  }
+
+  @Test
+  void sslWithoutHostIsRejected() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of("enableSsl", true));
+
+    assertEquals(List.of(DeploymentPreflight.SSL_HOST), codes(r));
+  }
+
+  @Test
+  void invalidFargateSizesAreRejected() {
+    assertEquals(List.of(DeploymentPreflight.FARGATE_SIZE),
+        codes(DeploymentPreflight.check(Map.of("runtime", "fargate", "cpu", 256, "memory", 4096))));
+    assertEquals(List.of(DeploymentPreflight.FARGATE_SIZE),
+        codes(DeploymentPreflight.check(Map.of("runtime", "fargate", "cpu", 1000))));
+    assertEquals(List.of(DeploymentPreflight.FARGATE_SIZE),
+        codes(DeploymentPreflight.check(Map.of("runtime", "fargate", "cpu", 8192, "memory", 18000))));
+    // EC2 ignores the Fargate table
+    assertTrue(DeploymentPreflight.check(Map.of("runtime", "ec2", "cpu", 1000)).ok());
+  }
+
+  @Test
+  void ignoredCapacityIsOnlyAWarning() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+        "runtime", "ec2", "topology", "jenkins-single-node", "maxInstanceCapacity", 3));
+
+    assertTrue(r.ok());
+    assertEquals(1, r.warnings().size());
+    assertEquals("maxInstanceCapacity", r.warnings().get(0).slot());
+  }
+
+  @Test
+  void layeredAppliesToJenkinsTopologies() {
+    assertTrue(DeploymentPreflight.check(Map.of("stackLayout", "layered", "runtime", "fargate")).ok());
+    assertTrue(DeploymentPreflight.check(Map.of("stackLayout", "layered", "runtime", "ec2",
+        "topology", "jenkins-service", "maxInstanceCapacity", 3)).ok());
+    assertTrue(DeploymentPreflight.check(Map.of(
+        "stackLayout", "layered", "runtime", "ec2", "topology", "jenkins-single-node")).ok());
+    assertTrue(codes(DeploymentPreflight.check(Map.of("stackLayout", "layered", "topology", "s3-website")))
+        .contains(DeploymentPreflight.TOPOLOGY_RUNTIME));
+  }
+
+  @Test
+  void malformedValuesAreReported() {
+    DeploymentPreflight.Result r = DeploymentPreflight.check(Map.of(
+        "cpu", "lots", "domain", "bad_domain.com", "healthCheckTimeout", 30));
+
+    assertEquals(List.of(
+        DeploymentPreflight.CONTEXT_VALUE,
+        DeploymentPreflight.DNS_NAME,
+        DeploymentPreflight.HEALTH_CHECK), codes(r));
+  }
+
+  @Test
+  void jsonContextsAreAccepted() {
+    assertTrue(DeploymentPreflight.check("{\"runtime\":\"ec2\",\"topology\":\"jenkins-single-node\"}").ok());
+    assertEquals(List.of(DeploymentPreflight.CONTEXT_JSON),
+        codes(DeploymentPreflight.check("not json")));
+  }
+
+  @Test
+  void batchKeepsInputOrder() {
+    List<DeploymentPreflight.Result> results = DeploymentPreflight.checkAll(List.of(
+        Map.of("runtime", "ec2"),
+        Map.of("enableSsl", true)));
+
+    assertTrue(results.get(0).ok());
+    assertFalse(results.get(1).ok());
+  }
+}
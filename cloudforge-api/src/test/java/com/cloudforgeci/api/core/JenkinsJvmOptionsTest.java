@@ -0,0 +1,59 @@
+package com.cloudforgeci.api.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JenkinsJvmOptionsTest {
+
+  @Test
+  void smallControllersRunG1WithRoomOutsideTheHeap() {
+    String opts = JenkinsJvmOptions.options(2048, "-Xlog:gc:stdout", null);
+
+    assertTrue(opts.contains("-XX:MaxRAMPercentage=50.0"), opts);
+    assertTrue(opts.contains("-XX:+UseG1GC -XX:+UseStringDeduplication"), opts);
+    assertFalse(opts.contains("UseZGC"), opts);
+    assertTrue(opts.endsWith("-Xlog:gc:stdout"), opts);
+  }
+
+  @Test
+  void largeControllersSwitchToZgc() {
+    String opts = JenkinsJvmOptions.options(JenkinsJvmOptions.ZGC_THRESHOLD_MIB, "-Xlog:gc:stdout", null);
+
+    assertTrue(opts.contains("-XX:MaxRAMPercentage=75.0"), opts);
+    assertTrue(opts.contains("-XX:+UseZGC"), opts);
+    assertFalse(opts.contains("UseG1GC"), opts);
+    assertFalse(opts.contains("UseStringDeduplication"), opts);
+  }
+
+  @Test
+  void overrideIsAppendedAndReplacesTheCollectorItSelects() {
+    String pinned = JenkinsJvmOptions.options(32768, "-Xlog:gc:stdout", "-XX:+UseG1GC -Xmx20g");
+    assertFalse(pinned.contains("UseZGC"), pinned);
+    assertTrue(pinned.endsWith("-XX:+UseG1GC -Xmx20g"), pinned);
+
+    String extra = JenkinsJvmOptions.options(4096, "-Xlog:gc:stdout", "-Dhudson.model.ParametersAction.keepUndefinedParameters=true");
+    assertTrue(extra.contains("-XX:+UseG1GC"), extra);
+  }
+
+  @Test
+  void contextSizesFargateFromTaskMemoryAndEc2FromInstanceType() {
+    DeploymentContext cfc = new DeploymentContext(Map.of("memory", 16384, "cpu", 4096, "instanceType", "c5.large"));
+
+    assertTrue(JenkinsJvmOptions.forFargate(cfc).contains("-XX:+UseZGC"));
+    assertTrue(JenkinsJvmOptions.forEc2(cfc).contains("-XX:MaxRAMPercentage=65.0"));
+    assertTrue(JenkinsJvmOptions.forEc2(cfc).contains("file=" + JenkinsJvmOptions.EC2_GC_LOG));
+  }
+
+  @Test
+  void instanceMemoryFollowsSizeAndFamily() {
+    assertEquals(1024, JenkinsJvmOptions.instanceMemoryMiB("t3.micro"));
+    assertEquals(8192, JenkinsJvmOptions.instanceMemoryMiB("m6i.large"));
+    assertEquals(32768, JenkinsJvmOptions.instanceMemoryMiB("m6i.2xlarge"));
+    assertEquals(4096, JenkinsJvmOptions.instanceMemoryMiB("c5.large"));
+    assertEquals(65536, JenkinsJvmOptions.instanceMemoryMiB("r6i.2xlarge"));
+    assertEquals(4096, JenkinsJvmOptions.instanceMemoryMiB("bogus"));
+  }
+}
@@ -0,0 +1,42 @@
+package com.cloudforgeci.api.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsiiRequestsTest {
+
+  @AfterEach
+  void stop() {
+    JsiiRequests.stop();
+  }
+
+  @Test
+  void countsEveryRequestThisThreadSends() {
+    App app = new App();
+    Construct scope = new Construct(new Stack(app, "Test"), "Child");
+
+    assertTrue(JsiiRequests.start());
+    Stack.of(scope);
+    long before = JsiiRequests.count();
+    Stack.of(scope);
+
+    assertEquals(1, JsiiRequests.count() - before);
+  }
+
+  @Test
+  void nothingIsCountedAfterStop() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    JsiiRequests.start();
+    JsiiRequests.stop();
+
+    stack.getNode().getPath();
+
+    assertEquals(0, JsiiRequests.count());
+  }
+}
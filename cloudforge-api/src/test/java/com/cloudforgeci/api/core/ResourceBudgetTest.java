@@ -0,0 +1,158 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.cloudforgeci.api.test.JenkinsTemplates;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.CfnResourceProps;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceBudgetTest {
+
+  private static ResourceBudget budget(Map<String, Object> cfc) {
+    return new ResourceBudget(new DeploymentContext(cfc));
+  }
+
+  private static SystemContext start(Stack stack, Map<String, Object> cfc) {
+    return SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+        SecurityProfile.DEV, IAMProfile.EXTENDED, new DeploymentContext(cfc));
+  }
+
+  private static void topic(Construct scope, String id) {
+    new CfnResource(scope, id, CfnResourceProps.builder().type("AWS::SNS::Topic").build());
+  }
+
+  @Test
+  void defaultDeploymentStaysInOneStack() {
+    ResourceBudget b = budget(Map.of());
+
+    assertEquals(ResourceBudget.DEFAULT_BUDGET, b.budget());
+    assertEquals(ResourceBudget.Mode.AUTO, b.mode());
+    assertTrue(b.split().isEmpty());
+  }
+
+  @Test
+  void overBudgetSplitsObservabilityFirst() {
+    Map<String, Object> cfc = new HashMap<>(Map.of("enableFlowlogs", true));
+    ResourceBudget full = budget(cfc);
+
+    cfc.put("resourceBudget", full.estimatedTotal() - 1);
+    assertEquals(Set.of(ResourceBudget.Group.OBSERVABILITY), budget(cfc).split());
+  }
+
+  @Test
+  void resourcesTheAppAlreadyCreatedSplitWithTheDefaultBudget() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    for (int i = 0; i < ResourceBudget.DEFAULT_BUDGET; i++) {
+      topic(stack, "Topic" + i);
+    }
+    SystemContext ctx = start(stack, Map.of("enableFlowlogs", true));
+
+    assertEquals(ResourceBudget.DEFAULT_BUDGET, ctx.budget.budget());
+    assertTrue(ctx.budget.estimatedTotal() > ResourceBudget.DEFAULT_BUDGET);
+    assertTrue(ctx.budget.split().contains(ResourceBudget.Group.OBSERVABILITY));
+  }
+
+  @Test
+  void createdZoneGoesToTheDnsGroup() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+        SecurityProfile.STAGING, IAMProfile.EXTENDED, new DeploymentContext(Map.of(
+            "nestedStacks", "always", "domain", "example.com", "subdomain", "ci", "createZone", true)));
+    ctx.executeDeferredActions();
+
+    assertTrue(ctx.zone.get().isPresent());
+    assertInstanceOf(NestedStack.class, Stack.of(ctx.zone.get().orElseThrow()));
+    assertEquals("Dns", Stack.of(ctx.zone.get().orElseThrow()).getNode().getId());
+  }
+
+  @Test
+  void estimateTracksTheSynthesizedService() {
+    for (Map<String, Object> extra : List.<Map<String, Object>>of(Map.of(), Map.of("enableAgents", true))) {
+      Map<String, Object> cfc = new HashMap<>(extra);
+      cfc.put("runtime", "fargate");
+      cfc.put("topology", "jenkins-service");
+      int estimated = budget(cfc).estimatedTotal();
+      int actual = JenkinsTemplates.fargate("Budget", extra).toJSON().get("Resources") instanceof Map<?, ?> r ? r.size() : -1;
+
+      assertTrue(Math.abs(estimated - actual) <= actual / 10, () -> extra + ": estimated " + estimated + ", synthesized " + actual);
+    }
+  }
+
+  @Test
+  void groupsWithNothingToMoveAreSkipped() {
+    // No domain, so DNS has nothing to move; networking goes next
+    Map<String, Object> cfc = new HashMap<>(Map.of("enableFlowlogs", true, "resourceBudget", 30));
+
+    assertEquals(Set.of(ResourceBudget.Group.OBSERVABILITY, ResourceBudget.Group.NETWORK), budget(cfc).split());
+  }
+
+  @Test
+  void alwaysAndNeverOverrideTheEstimate() {
+    assertEquals(Set.of(ResourceBudget.Group.values()), budget(Map.of("nestedStacks", "always")).split());
+    assertTrue(budget(Map.of("nestedStacks", "never", "resourceBudget", 1)).split().isEmpty());
+  }
+
+  @Test
+  void unsplitGroupUsesTheGivenScope() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = start(stack, Map.of());
+
+    assertSame(stack, ctx.scopeFor(ResourceBudget.Group.DNS, stack));
+  }
+
+  @Test
+  void splitGroupGetsOneNestedStackThatResolvesTheContext() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = start(stack, Map.of("nestedStacks", "always"));
+
+    Construct scope = ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, stack);
+    Construct child = new Construct(scope, "Child");
+
+    assertInstanceOf(NestedStack.class, scope);
+    assertEquals("Observability", scope.getNode().getId());
+    assertSame(scope, ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, stack));
+    assertSame(ctx, SystemContext.of(child));
+  }
+
+  @Test
+  void analysisCountsResourcesPerStackAndOwner() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = start(stack, Map.of("nestedStacks", "always"));
+    Construct obs = ctx.scopeFor(ResourceBudget.Group.OBSERVABILITY, stack);
+    topic(stack, "RootTopic");
+    Construct alarms = new Construct(obs, "Alarms");
+    topic(alarms, "A");
+    topic(alarms, "B");
+
+    ResourceBudget.Analysis a = ResourceBudget.analyze(stack);
+
+    // The root also holds the nested stack's AWS::CloudFormation::Stack resource and the IAM
+    // profile roles SystemContext.start creates
+    int profileRoles = a.byFactory().get("SystemContext");
+    assertTrue(profileRoles > 0);
+    assertEquals(2 + profileRoles, a.byStack().get("Test"));
+    assertEquals(2, a.byStack().get("Observability"));
+    assertEquals(4 + profileRoles, a.total());
+    assertEquals(2, a.byFactory().get("Observability/Alarms"));
+    assertEquals(1, a.byFactory().get("RootTopic"));
+  }
+}
@@ -0,0 +1,44 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ec2.CfnSecurityGroupIngress;
+import software.amazon.awscdk.services.ec2.Peer;
+import software.amazon.awscdk.services.ec2.Port;
+import software.amazon.awscdk.services.ec2.SecurityGroup;
+import software.amazon.awscdk.services.ec2.Vpc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecurityGroupRulesTest {
+
+  @Test
+  void sameRuleNamedTwoWaysIsEmittedOnce() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+        SecurityProfile.DEV, IAMProfile.EXTENDED, new DeploymentContext(Map.of()));
+    Vpc vpc = Vpc.Builder.create(stack, "Vpc").maxAzs(1).build();
+    SecurityGroup alb = SecurityGroup.Builder.create(stack, "AlbSg").vpc(vpc).build();
+    SecurityGroup service = SecurityGroup.Builder.create(stack, "ServiceSg").vpc(vpc).build();
+
+    ctx.allowIngress(service, alb, Port.tcp(8080), "HTTP_from_ALB");
+    ctx.allowIngress(service, Peer.securityGroupId(alb.getSecurityGroupId()), Port.tcp(8080), "Jenkins_from_ALB");
+    ctx.allowIngress(service, alb, Port.tcp(8080), "ALB_to_Jenkins");
+    ctx.allowIngress(service, alb, Port.udp(8080), "UDP_from_ALB");
+    ctx.allowIngress(alb, Peer.anyIpv4(), Port.tcp(443), "HTTPS_from_anywhere");
+    ctx.allowIngress(alb, Peer.anyIpv4(), Port.tcp(443), "HTTPS_from_anywhere");
+
+    assertEquals(6, ctx.ingress.requested());
+    assertEquals(3, ctx.ingress.emitted());
+    assertTrue(stack.getNode().findAll().stream().noneMatch(c -> c instanceof CfnSecurityGroupIngress),
+        "rules between groups in one stack are inlined");
+  }
+}
@@ -0,0 +1,162 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.compute.JenkinsFactory;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.cxapi.CloudArtifact;
+import software.amazon.awscdk.cxapi.CloudAssembly;
+import software.constructs.Construct;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StackLayersTest {
+
+  private static SystemContext start(Stack stack, Map<String, Object> cfc) {
+    return SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+        SecurityProfile.DEV, IAMProfile.EXTENDED, new DeploymentContext(cfc));
+  }
+
+  @Test
+  void singleLayoutUsesTheGivenScope() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = start(stack, Map.of());
+
+    assertFalse(ctx.layers.enabled());
+    assertSame(stack, ctx.scopeFor(StackLayers.Layer.NETWORK, stack));
+    assertTrue(ctx.layers.stacks().isEmpty());
+  }
+
+  @Test
+  void layerStacksAreSiblingsThatResolveTheContext() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    SystemContext ctx = start(stack, Map.of("stackLayout", "layered"));
+
+    Construct network = ctx.scopeFor(StackLayers.Layer.NETWORK, stack);
+    Construct child = new Construct(network, "Child");
+
+    assertInstanceOf(Stack.class, network);
+    assertFalse(network instanceof NestedStack);
+    assertSame(app, network.getNode().getScope());
+    assertEquals("Test-Network", ((Stack) network).getStackName());
+    assertSame(network, ctx.scopeFor(StackLayers.Layer.NETWORK, stack));
+    assertSame(stack, ctx.scopeFor(StackLayers.Layer.COMPUTE, stack));
+    assertSame(ctx, SystemContext.of(child));
+  }
+
+  @Test
+  void layerStacksShareTheComputeEnvironment() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test", StackProps.builder()
+        .env(Environment.builder().account("123456789012").region("eu-west-1").build())
+        .build());
+    SystemContext ctx = start(stack, Map.of("stackLayout", "layered"));
+
+    Stack edge = (Stack) ctx.scopeFor(StackLayers.Layer.EDGE, stack);
+
+    assertEquals("123456789012", edge.getAccount());
+    assertEquals("eu-west-1", edge.getRegion());
+    assertEquals(Set.of(StackLayers.Layer.COMPUTE, StackLayers.Layer.EDGE), ctx.layers.stacks().keySet());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"fargate", "ec2"})
+  void layeredServiceSynthesizesWithReferencesPointingDown(String runtime) {
+    App app = new App();
+    app.getNode().setContext("cfc", Map.of("runtime", runtime, "topology", "jenkins-service", "stackLayout", "layered"));
+    Stack stack = new Stack(app, "Test");
+    if ("ec2".equals(runtime)) JenkinsFactory.createEc2(stack, "Jenkins", DeploymentContext.from(stack));
+    else JenkinsFactory.createFargate(stack, "Jenkins", DeploymentContext.from(stack));
+
+    // A reference pointing up the layer order is a cyclic reference and fails here
+    CloudAssembly assembly = app.synth();
+
+    Map<String, Object> network = template(assembly, "Test-Network");
+    Map<String, Object> data = template(assembly, "Test-Data");
+    Map<String, Object> edge = template(assembly, "Test-Edge");
+    Map<String, Object> compute = template(assembly, "Test");
+
+    assertEquals(Set.of(), importedFrom(network));
+    assertEquals(Set.of("Test-Network"), importedFrom(data));
+    assertEquals(Set.of("Test-Network"), importedFrom(edge));
+    assertEquals(Set.of("Test-Network", "Test-Data", "Test-Edge"), importedFrom(compute));
+
+    assertTrue(exports(network).stream().anyMatch(e -> e.contains("JenkinsVpc")), "VPC export: " + exports(network));
+    assertTrue(exports(data).stream().anyMatch(e -> e.contains("JenkinsEfs")), "EFS export: " + exports(data));
+    assertTrue(exports(edge).stream().anyMatch(e -> e.contains("JenkinsAlbHttp")), "listener export: " + exports(edge));
+    assertEquals(Set.of(), exports(compute));
+    assertEquals(Set.of("Test-Network", "Test-Data", "Test-Edge"), dependencies(assembly, "Test"));
+    assertEquals(Set.of(), dependencies(assembly, "Test-Network"));
+
+    // The listener reaches the compute target group through a rule created in compute
+    assertEquals(1, ofType(compute, "AWS::ElasticLoadBalancingV2::ListenerRule"));
+    assertEquals(1, ofType(compute, "AWS::ElasticLoadBalancingV2::TargetGroup"));
+    assertEquals(0, ofType(edge, "AWS::ElasticLoadBalancingV2::TargetGroup"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> template(CloudAssembly assembly, String stackName) {
+    return (Map<String, Object>) assembly.getStackByName(stackName).getTemplate();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Set<String> exports(Map<String, Object> template) {
+    Map<String, Object> outputs = (Map<String, Object>) template.getOrDefault("Outputs", Map.of());
+    return outputs.values().stream()
+        .map(o -> (Map<String, Object>) ((Map<String, Object>) o).get("Export"))
+        .filter(e -> e != null)
+        .map(e -> String.valueOf(e.get("Name")))
+        .collect(Collectors.toSet());
+  }
+
+  /** Stacks whose exports {@code template} imports, from the {@code <stack>:<export>} names. */
+  private static Set<String> importedFrom(Map<String, Object> template) {
+    Set<String> stacks = new TreeSet<>();
+    collectImports(template, stacks);
+    return stacks;
+  }
+
+  private static void collectImports(Object node, Set<String> stacks) {
+    if (node instanceof Map<?, ?> map) {
+      map.forEach((k, v) -> {
+        if ("Fn::ImportValue".equals(k) && v instanceof String name) stacks.add(name.substring(0, name.indexOf(':')));
+        else collectImports(v, stacks);
+      });
+    } else if (node instanceof List<?> list) {
+      list.forEach(v -> collectImports(v, stacks));
+    }
+  }
+
+  private static Set<String> dependencies(CloudAssembly assembly, String stackName) {
+    return assembly.getStackByName(stackName).getDependencies().stream()
+        .map(CloudArtifact::getId)
+        .filter(id -> !id.endsWith(".assets"))
+        .map(id -> assembly.getStackArtifact(id).getStackName())
+        .collect(Collectors.toSet());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static long ofType(Map<String, Object> template, String type) {
+    Map<String, Object> resources = (Map<String, Object>) template.get("Resources");
+    return resources.values().stream()
+        .filter(r -> type.equals(((Map<String, Object>) r).get("Type")))
+        .count();
+  }
+}
@@ -0,0 +1,46 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynthesisArtifactsTest {
+
+  private static SynthesisArtifacts prepare(String stack, RuntimeType runtime, SecurityProfile security) {
+    return SynthesisArtifacts.prepare(new SynthesisArtifacts.Key(stack, runtime, security));
+  }
+
+  @Test
+  void identicalInputsShareOnePreparation() {
+    SynthesisArtifacts a = prepare("Shared", RuntimeType.EC2, SecurityProfile.DEV);
+
+    assertSame(a, prepare("Shared", RuntimeType.EC2, SecurityProfile.DEV));
+    assertNotSame(a, prepare("Shared", RuntimeType.EC2, SecurityProfile.PRODUCTION));
+  }
+
+  @Test
+  void agentConfigurationNamesTheStacksLogGroups() {
+    SynthesisArtifacts a = prepare("Jenkins", RuntimeType.EC2, SecurityProfile.STAGING);
+
+    String config = a.cloudWatchAgentConfig();
+    assertTrue(config.contains("\"log_group_name\": \"/aws/jenkins/Jenkins/ec2/staging\""), config);
+    assertTrue(a.ec2UserData().contains(config));
+    assertEquals("#!/bin/bash", a.ec2UserData().get(0));
+  }
+
+  @Test
+  void fargateHasNoEc2UserData() {
+    SynthesisArtifacts a = prepare("Jenkins", RuntimeType.FARGATE, SecurityProfile.DEV);
+
+    assertThrows(IllegalStateException.class, a::ec2UserData);
+  }
+
+  @Test
+  void agentShipsTheGcLog() {
+    String config = prepare("Jenkins", RuntimeType.EC2, SecurityProfile.DEV).cloudWatchAgentConfig();
+
+    assertTrue(config.contains("\"file_path\": \"" + JenkinsJvmOptions.EC2_GC_LOG + "\""), config);
+  }
+}
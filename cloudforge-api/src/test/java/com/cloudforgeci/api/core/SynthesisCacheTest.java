@@ -0,0 +1,187 @@
+package com.cloudforgeci.api.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynthesisCacheTest {
+
+  @TempDir
+  Path tmp;
+
+  private final AtomicInteger runs = new AtomicInteger();
+
+  private Consumer<Path> writes(String template) {
+    return dir -> {
+      runs.incrementAndGet();
+      try {
+        Files.createDirectories(dir.resolve("assets"));
+        Files.writeString(dir.resolve("Stack.template.json"), template);
+        Files.writeString(dir.resolve("assets/asset.txt"), "asset");
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+
+  private static void write(Path template) {
+    try {
+      Files.writeString(template, "{}");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Test
+  void secondSynthesisOfSameContextIsAHit() throws IOException {
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 1 << 20, "1.0");
+    Map<String, Object> cfc = Map.of("runtime", "ec2", "cpu", 1024);
+
+    SynthesisCache.Outcome first = cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out1"), writes("{}"));
+    SynthesisCache.Outcome second = cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out2"), writes("changed"));
+
+    assertFalse(first.hit());
+    assertTrue(second.hit());
+    assertEquals(1, runs.get());
+    assertEquals("{}", Files.readString(tmp.resolve("out2/Stack.template.json")));
+    assertEquals("asset", Files.readString(tmp.resolve("out2/assets/asset.txt")));
+    assertFalse(Files.exists(tmp.resolve("out2").resolve(SynthesisCache.MARKER)));
+    assertEquals(1, cache.stats().hits());
+    assertEquals(1, cache.stats().misses());
+  }
+
+  @Test
+  void keyIgnoresKeyOrderAndScalarType() {
+    SynthesisCache cache = new SynthesisCache(tmp, 1 << 20, "1.0");
+
+    String a = cache.key(Map.of("cpu", 1024, "runtime", "ec2"), "Stack", Map.of());
+    String b = cache.key("{\"runtime\":\"ec2\",\"cpu\":\"1024\"}", "Stack", Map.of());
+
+    assertEquals(a, b);
+  }
+
+  @Test
+  void keyChangesWithContextStackLookupsAndVersion() {
+    SynthesisCache cache = new SynthesisCache(tmp, 1 << 20, "1.0");
+    Map<String, Object> cfc = Map.of("runtime", "ec2");
+    String base = cache.key(cfc, "Stack", Map.of());
+
+    assertNotEquals(base, cache.key(Map.of("runtime", "fargate"), "Stack", Map.of()));
+    assertNotEquals(base, cache.key(cfc, "Other", Map.of()));
+    assertNotEquals(base, cache.key(cfc, "Stack", Map.of("availability-zones:account=1:region=us-east-1", "[a, b]")));
+    assertNotEquals(base, new SynthesisCache(tmp, 1 << 20, "1.1").key(cfc, "Stack", Map.of()));
+  }
+
+  @Test
+  void keyChangesWithCdkVersionAndAppFingerprint() {
+    Map<String, Object> cfc = Map.of("runtime", "ec2");
+    String base = new SynthesisCache(tmp, 1 << 20, "1.0", "2.152.0", "app-1").key(cfc, "Stack", Map.of());
+
+    assertNotEquals(base, new SynthesisCache(tmp, 1 << 20, "1.0", "2.153.0", "app-1").key(cfc, "Stack", Map.of()));
+    assertNotEquals(base, new SynthesisCache(tmp, 1 << 20, "1.0", "2.152.0", "app-2").key(cfc, "Stack", Map.of()));
+    assertNotEquals(base, new SynthesisCache(tmp, 1 << 20, "1.0", "2.152.0", null).key(cfc, "Stack", Map.of()));
+    assertNotNull(SynthesisCache.cdkVersion());
+  }
+
+  @Test
+  void classpathFingerprintChangesWhenAClassIsRebuilt() throws IOException {
+    Path classes = Files.createDirectories(tmp.resolve("classes/com/example"));
+    Files.writeString(classes.resolve("AppStack.class"), "v1");
+    String classpath = tmp.resolve("classes") + java.io.File.pathSeparator + tmp.resolve("missing.jar");
+    String before = SynthesisCache.classpathFingerprint(classpath);
+
+    assertEquals(before, SynthesisCache.classpathFingerprint(classpath));
+    Files.writeString(classes.resolve("AppStack.class"), "v2-rebuilt");
+    assertNotEquals(before, SynthesisCache.classpathFingerprint(classpath));
+  }
+
+  @Test
+  void hitReplacesWhateverWasInTheOutputDirectory() throws IOException {
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 1 << 20, "1.0");
+    Map<String, Object> cfc = Map.of("runtime", "ec2");
+    cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out1"), writes("{}"));
+    Path out = Files.createDirectories(tmp.resolve("out2"));
+    Files.writeString(out.resolve("Removed.template.json"), "stale");
+
+    assertTrue(cache.synth(cfc, "Stack", Map.of(), out, writes("{}")).hit());
+    assertFalse(Files.exists(out.resolve("Removed.template.json")));
+    assertEquals("{}", Files.readString(out.resolve("Stack.template.json")));
+  }
+
+  @Test
+  void missIntoAReusedOutputDirectoryStoresOnlyItsOwnStacks() throws IOException {
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 1 << 20, "1.0");
+    Path out = tmp.resolve("out");
+    Map<String, Object> ec2 = Map.of("runtime", "ec2");
+    Map<String, Object> fargate = Map.of("runtime", "fargate");
+    cache.synth(ec2, "Ec2Stack", Map.of(), out, dir -> write(dir.resolve("Ec2Stack.template.json")));
+
+    assertFalse(cache.synth(fargate, "FargateStack", Map.of(), out, dir -> write(dir.resolve("FargateStack.template.json"))).hit());
+    assertFalse(Files.exists(out.resolve("Ec2Stack.template.json")));
+
+    Path replay = tmp.resolve("replay");
+    assertTrue(cache.synth(fargate, "FargateStack", Map.of(), replay, writes("unused")).hit());
+    assertTrue(Files.exists(replay.resolve("FargateStack.template.json")));
+    assertFalse(Files.exists(replay.resolve("Ec2Stack.template.json")));
+  }
+
+  @Test
+  void unknownCdkVersionNeverHits() {
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 1 << 20, "1.0", null, null);
+    Map<String, Object> cfc = Map.of("runtime", "ec2");
+
+    cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out1"), writes("{}"));
+
+    assertFalse(cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out2"), writes("{}")).hit());
+  }
+
+  @Test
+  void unknownVersionNeverHits() {
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 1 << 20, null);
+    Map<String, Object> cfc = Map.of("runtime", "ec2");
+
+    cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out1"), writes("{}"));
+    SynthesisCache.Outcome second = cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out2"), writes("{}"));
+
+    assertFalse(second.hit());
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  void leastRecentlyUsedEntryIsEvictedWhenOverBudget() throws IOException {
+    // Each entry holds roughly 1 KiB; the budget fits two
+    String template = "x".repeat(1024);
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 2 * 1024 + 100, "1.0");
+
+    cache.synth(Map.of("n", 1), "Stack", Map.of(), tmp.resolve("a"), writes(template));
+    cache.synth(Map.of("n", 2), "Stack", Map.of(), tmp.resolve("b"), writes(template));
+    // Touch 1 so 2 becomes the eldest
+    Files.setLastModifiedTime(tmp.resolve("cache").resolve(cache.key(Map.of("n", 2), "Stack", Map.of()))
+        .resolve(SynthesisCache.MARKER), java.nio.file.attribute.FileTime.fromMillis(0));
+    cache.synth(Map.of("n", 3), "Stack", Map.of(), tmp.resolve("c"), writes(template));
+
+    assertEquals(1, cache.stats().evictions());
+    assertTrue(cache.synth(Map.of("n", 1), "Stack", Map.of(), tmp.resolve("a2"), writes(template)).hit());
+    assertFalse(cache.synth(Map.of("n", 2), "Stack", Map.of(), tmp.resolve("b2"), writes(template)).hit());
+  }
+
+  @Test
+  void failedSynthesisStoresNothing() {
+    SynthesisCache cache = new SynthesisCache(tmp.resolve("cache"), 1 << 20, "1.0");
+    Map<String, Object> cfc = Map.of("runtime", "ec2");
+
+    assertThrows(IllegalStateException.class, () -> cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out"),
+        dir -> { throw new IllegalStateException("boom"); }));
+
+    assertFalse(cache.synth(cfc, "Stack", Map.of(), tmp.resolve("out"), writes("{}")).hit());
+  }
+}
@@ -0,0 +1,64 @@
+package com.cloudforgeci.api.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynthesisEventsTest {
+
+  private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+        .toList();
+  }
+
+  @Test
+  void slotActivityIsRecorded(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("synth.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("com.cloudforgeci.SlotSet");
+      recording.enable("com.cloudforgeci.SlotDispatch");
+      recording.start();
+
+      Slot<String> slot = new Slot<>();
+      slot.name("domain");
+      slot.onSet(v -> {});
+      slot.set("example.com");
+      slot.onSet(v -> {});
+
+      recording.stop();
+      recording.dump(file);
+    }
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+    List<RecordedEvent> sets = ofType(events, "com.cloudforgeci.SlotSet");
+    assertEquals(1, sets.size());
+    assertEquals("domain", sets.get(0).getString("slot"));
+    assertEquals(1, sets.get(0).getInt("waiters"));
+    assertNull(sets.get(0).getString("path"));
+
+    List<Boolean> immediate = ofType(events, "com.cloudforgeci.SlotDispatch").stream()
+        .map(e -> e.getBoolean("immediate"))
+        .toList();
+    assertEquals(List.of(false, true), immediate);
+  }
+
+  @Test
+  void slotsWorkWithoutARecording() {
+    Slot<Integer> slot = new Slot<>();
+    int[] seen = new int[1];
+    slot.onSet(v -> seen[0] = v);
+    slot.set(7);
+
+    assertEquals(7, seen[0]);
+  }
+}
@@ -0,0 +1,69 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.compute.JenkinsFactory;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.AppProps;
+import software.amazon.awscdk.Stack;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynthesisProfilerTest {
+
+  @TempDir
+  Path tmp;
+
+  @Test
+  void profilerIsDisabledByDefault() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    DeploymentContext cfc = DeploymentContext.from(stack);
+
+    SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+        SecurityProfile.DEV, IAMProfile.EXTENDED, cfc);
+
+    assertFalse(ctx.profiler.enabled());
+    assertTrue(ctx.profiler.entries().isEmpty());
+  }
+
+  @Test
+  void profilerRecordsFactoriesDeferredActionsAndRules() throws Exception {
+    Path outdir = tmp.resolve("cdk.out");
+    App app = new App(AppProps.builder().outdir(outdir.toString()).build());
+    app.getNode().setContext("cfc", Map.of(
+        "runtime", "fargate",
+        "topology", "jenkins-service",
+        "profileSynth", true));
+    Stack stack = new Stack(app, "Profiled");
+    DeploymentContext cfc = DeploymentContext.from(stack);
+
+    JenkinsFactory.createFargate(stack, "Jenkins", cfc);
+    SystemContext ctx = SystemContext.of(stack);
+    app.synth();
+
+    assertTrue(ctx.profiler.enabled());
+    assertTrue(ctx.profiler.entries().stream().anyMatch(e -> e.phase() == SynthesisProfiler.Phase.FACTORY
+        && e.name().equals("FargateFactory") && e.constructsAdded() > 0));
+    assertTrue(ctx.profiler.entries().stream().anyMatch(e -> e.phase() == SynthesisProfiler.Phase.DEFERRED
+        && e.name().startsWith("ProfileWiring:")));
+    assertTrue(ctx.profiler.entries().stream().anyMatch(e -> e.phase() == SynthesisProfiler.Phase.RULE));
+    // Counted at the bridge, so the constructs a factory creates are included
+    assertTrue(ctx.profiler.entries().stream().anyMatch(e -> e.name().equals("FargateFactory")
+        && e.jsiiCalls() > e.constructsAdded()));
+
+    Path report = tmp.resolve("cfc-synth-profile-Profiled.json");
+    assertTrue(Files.exists(report), "report should be written next to cdk.out");
+    String json = Files.readString(report);
+    assertTrue(json.contains("\"stack\" : \"Profiled\""));
+    assertTrue(json.contains("\"phase\" : \"factory\""));
+  }
+}
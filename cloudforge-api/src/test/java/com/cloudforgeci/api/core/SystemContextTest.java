@@ -6,6 +6,7 @@ import com.cloudforgeci.api.interfaces.SecurityProfile;
 import com.cloudforgeci.api.interfaces.IAMProfile;
 import com.cloudforgeci.api.core.iam.IAMProfileMapper;
 import software.amazon.awscdk.App;
+import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.services.ec2.Vpc;
 import software.amazon.awscdk.services.ec2.SecurityGroup;
@@ -16,6 +17,7 @@ import software.amazon.awscdk.services.route53.IHostedZone;
 import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import software.constructs.Construct;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SystemContextTest {
@@ -176,6 +178,43 @@ public class SystemContextTest {
     });
   }
 
+  @Test
+  void systemContextResolvesFromDeepScopes() {
+    IAMProfile iamProfile = IAMProfileMapper.mapFromSecurity(SecurityProfile.DEV);
+    ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV, iamProfile, cfc);
+
+    Construct deep = new Construct(new Construct(new Construct(stack, "A"), "B"), "C");
+
+    assertSame(ctx, SystemContext.of(deep));
+    assertSame(ctx, SystemContext.of(stack));
+  }
+
+  @Test
+  void systemContextIsResolvedPerStack() {
+    IAMProfile iamProfile = IAMProfileMapper.mapFromSecurity(SecurityProfile.DEV);
+    ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV, iamProfile, cfc);
+
+    Stack other = new Stack(app, "Other");
+    SystemContext otherCtx = SystemContext.start(other, TopologyType.JENKINS_SERVICE, RuntimeType.EC2, SecurityProfile.DEV, iamProfile, DeploymentContext.from(other));
+
+    assertNotSame(ctx, otherCtx);
+    assertSame(ctx, SystemContext.of(new Construct(stack, "Child")));
+    assertSame(otherCtx, SystemContext.of(new Construct(other, "Child")));
+  }
+
+  @Test
+  void systemContextIsFoundFromNestedStack() {
+    IAMProfile iamProfile = IAMProfileMapper.mapFromSecurity(SecurityProfile.DEV);
+    ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, SecurityProfile.DEV, iamProfile, cfc);
+
+    NestedStack nested = new NestedStack(stack, "Nested");
+    Construct child = new Construct(nested, "Child");
+
+    // First lookup walks up to the parent stack, the second is served from the registry
+    assertSame(ctx, SystemContext.of(child));
+    assertSame(ctx, SystemContext.of(child));
+  }
+
   @Test
   void systemContextReturnsSameInstanceForSameParameters() {
     IAMProfile iamProfile = IAMProfileMapper.mapFromSecurity(SecurityProfile.DEV);
@@ -0,0 +1,176 @@
+package com.cloudforgeci.api.core;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WiringGraphTest {
+
+  private SystemContext ctx;
+  private WiringGraph graph;
+
+  @BeforeEach
+  void setUp() {
+    App app = new App();
+    Stack stack = new Stack(app, "Test");
+    ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+        SecurityProfile.DEV, IAMProfile.EXTENDED, DeploymentContext.from(stack));
+    graph = new WiringGraph(ctx);
+  }
+
+  @Test
+  void stepRunsOnceWhenAllInputsAreSet() {
+    Slot<String> a = new Slot<>();
+    Slot<Integer> b = new Slot<>();
+    List<String> seen = new ArrayList<>();
+
+    graph.step("join").when(a, b, (x, y) -> seen.add(x + y));
+    a.set("a");
+    assertTrue(seen.isEmpty());
+    b.set(1);
+
+    assertEquals(List.of("a1"), seen);
+  }
+
+  @Test
+  void stepWithInputsAlreadySetRunsImmediately() {
+    Slot<String> a = new Slot<>();
+    a.set("ready");
+    List<String> seen = new ArrayList<>();
+
+    graph.step("now").when(a, seen::add);
+
+    assertEquals(List.of("ready"), seen);
+  }
+
+  @Test
+  void registeringTheSameStepTwiceIsIgnored() {
+    Slot<String> a = new Slot<>();
+    List<String> seen = new ArrayList<>();
+
+    assertTrue(graph.step("once").when(a, v -> seen.add("first")));
+    assertFalse(graph.step("once").when(a, v -> seen.add("second")));
+    a.set("x");
+
+    assertEquals(List.of("first"), seen);
+  }
+
+  @Test
+  void consumerRegisteredBeforeItsProducerStillWaitsForIt() {
+    Slot<String> in = new Slot<>();
+    Slot<String> mid = new Slot<>();
+    List<String> order = new ArrayList<>();
+
+    graph.step("consumer").when(in, mid, (x, m) -> order.add("consumer " + m));
+    graph.step("producer").produces(mid).when(in, x -> {
+      order.add("producer");
+      mid.set(x + "!");
+    });
+    in.set("go");
+
+    assertEquals(List.of("producer", "consumer go!"), order);
+  }
+
+  @Test
+  void stepsMadeReadyInsideAStepRunAfterItReturns() {
+    Slot<String> a = new Slot<>();
+    Slot<String> b = new Slot<>();
+    List<String> order = new ArrayList<>();
+
+    graph.step("downstream").when(b, x -> order.add("downstream"));
+    graph.step("upstream").produces(b).when(a, x -> {
+      b.set(x);
+      order.add("upstream done");
+    });
+    a.set("go");
+
+    assertEquals(List.of("upstream done", "downstream"), order);
+  }
+
+  @Test
+  void producerRegisteredAfterAConsumerWasQueuedStillRunsFirst() {
+    Slot<String> go = new Slot<>();
+    Slot<String> shared = new Slot<>();
+    shared.set("preset");
+    List<String> order = new ArrayList<>();
+
+    graph.step("register").when(go, x -> {
+      order.add("register");
+      graph.step("late-producer").produces(shared).when(go, y -> order.add("late-producer"));
+    });
+    graph.step("consumer").when(go, shared, (x, y) -> order.add("consumer"));
+    graph.step("kick").whenAll(List.of(), () -> go.set("go"));
+
+    assertEquals(List.of("register", "late-producer", "consumer"), order);
+  }
+
+  @Test
+  void failingStepNamesTheStepsLeftQueuedBehindIt() {
+    Slot<String> go = new Slot<>();
+    List<String> order = new ArrayList<>();
+
+    graph.step("boom").when(go, x -> { throw new IllegalArgumentException("boom"); });
+    graph.step("after").when(go, x -> order.add("after"));
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> graph.step("kick").whenAll(List.of(), () -> go.set("go")));
+
+    assertEquals("boom", e.getMessage());
+    assertEquals(1, e.getSuppressed().length);
+    assertTrue(e.getSuppressed()[0].getMessage().contains("boom failed; not run: [after]"),
+        e.getSuppressed()[0].getMessage());
+    assertTrue(order.isEmpty());
+    assertEquals(List.of("after"), graph.unfired().stream().map(WiringGraph.Pending::step).toList());
+  }
+
+  @Test
+  void cycleIsRejected() {
+    Slot<String> a = new Slot<>();
+    Slot<String> b = new Slot<>();
+
+    graph.step("a-to-b").produces(b).when(a, x -> b.set(x));
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> graph.step("b-to-a").produces(a).when(b, x -> a.set(x)));
+
+    assertTrue(e.getMessage().contains("b-to-a -> a-to-b -> b-to-a"), e.getMessage());
+    // The rejected step is not left behind
+    assertEquals(List.of("a-to-b"), graph.unfired().stream().map(WiringGraph.Pending::step).toList());
+  }
+
+  @Test
+  void unfiredStepsNameTheMissingSlots() {
+    graph.step("needs-zone").when(ctx.zone, ctx.alb, (z, a) -> fail("should not fire"));
+
+    List<WiringGraph.Pending> pending = graph.unfired();
+
+    assertEquals(1, pending.size());
+    assertEquals("needs-zone", pending.get(0).step());
+    assertEquals(List.of("zone", "alb"), pending.get(0).missing());
+  }
+
+  @Test
+  void criticalPathFollowsProducedSlots() {
+    Slot<String> in = new Slot<>();
+    Slot<String> mid = new Slot<>();
+    Slot<String> out = new Slot<>();
+
+    graph.step("unrelated").when(in, x -> {});
+    graph.step("first").produces(mid).when(in, mid::set);
+    graph.step("second").produces(out).when(mid, out::set);
+    graph.step("third").when(out, x -> {});
+    in.set("go");
+
+    assertEquals(List.of("first", "second", "third"), graph.criticalPath());
+    assertEquals(4, graph.fired().size());
+    assertTrue(graph.unfired().isEmpty());
+  }
+}
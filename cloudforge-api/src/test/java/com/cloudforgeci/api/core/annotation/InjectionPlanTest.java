@@ -0,0 +1,83 @@
+package com.cloudforgeci.api.core.annotation;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the cached injection plans used by {@link BaseFactory}.
+ */
+public class InjectionPlanTest {
+
+    @Test
+    public void planIsBuiltOncePerClass() {
+        assertSame(InjectionPlan.of(RedeclaringFactory.class), InjectionPlan.of(RedeclaringFactory.class));
+        assertTrue(InjectionPlan.of(RedeclaringFactory.class).needsSecurityProfile());
+    }
+
+    @Test
+    public void redeclaredAndInheritedFieldsAreBothInjected() {
+        App app = new App();
+        Stack stack = new Stack(app, "TestStack");
+        SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+                SecurityProfile.STAGING, IAMProfile.STANDARD, DeploymentContext.from(stack));
+
+        RedeclaringFactory factory = new RedeclaringFactory(stack, "Factory");
+
+        assertSame(ctx, factory.ownCtx);
+        assertSame(ctx, factory.getSystemContext());
+        assertNotNull(factory.ownCfc);
+        assertSame(factory.ownCfc, factory.getDeploymentContext());
+    }
+
+    @Test
+    public void securityProfileConfigurationIsReusedFromSystemContext() {
+        App app = new App();
+        Stack stack = new Stack(app, "TestStack");
+        SystemContext ctx = SystemContext.start(stack, TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE,
+                SecurityProfile.PRODUCTION, IAMProfile.MINIMAL, DeploymentContext.from(stack));
+
+        RedeclaringFactory first = new RedeclaringFactory(stack, "First");
+        RedeclaringFactory second = new RedeclaringFactory(stack, "Second");
+
+        assertSame(ctx.securityProfileConfig.get().orElseThrow(), first.getSecurityProfileConfiguration());
+        assertSame(first.getSecurityProfileConfiguration(), second.getSecurityProfileConfiguration());
+    }
+
+    @Test
+    public void factoryBuiltBeforeStartIsLeftEmpty() {
+        App app = new App();
+        Stack stack = new Stack(app, "TestStack");
+
+        RedeclaringFactory factory = new RedeclaringFactory(stack, "Factory");
+
+        assertNull(factory.ownCtx);
+        assertNull(factory.getSecurityProfileConfiguration());
+    }
+
+    /** Shaped like FargateFactory: re-declares the annotated fields privately. */
+    private static class RedeclaringFactory extends BaseFactory {
+
+        @com.cloudforgeci.api.core.annotation.SystemContext
+        private SystemContext ownCtx;
+
+        @com.cloudforgeci.api.core.annotation.DeploymentContext
+        private DeploymentContext ownCfc;
+
+        RedeclaringFactory(Construct scope, String id) {
+            super(scope, id);
+        }
+
+        @Override
+        public void create() {}
+    }
+}
@@ -0,0 +1,65 @@
+package com.cloudforgeci.api.core.iam;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActionIndexTest {
+
+  @Test
+  void exactAndTrailingWildcardPatterns() {
+    ActionIndex index = ActionIndex.of(List.of("s3:Get*", "logs:PutLogEvents"));
+
+    assertTrue(index.matches("s3:GetObject"));
+    assertTrue(index.matches("s3:Get"));
+    assertTrue(index.matches("logs:PutLogEvents"));
+    assertFalse(index.matches("logs:PutLogEventsBatch"));
+    assertFalse(index.matches("s3:PutObject"));
+    assertFalse(index.matches("ec2:GetObject"));
+  }
+
+  @Test
+  void wildcardsAnywhereAndCaseInsensitive() {
+    ActionIndex index = ActionIndex.of(List.of("ec2:Describe*Groups", "ssm:Get?arameter", "*:List*"));
+
+    assertTrue(index.matches("EC2:describeSecurityGroups"));
+    assertFalse(index.matches("ec2:DescribeSecurityGroupRules"));
+    assertTrue(index.matches("ssm:GetParameter"));
+    assertFalse(index.matches("ssm:GetParameters"));
+    assertTrue(index.matches("ecs:ListTasks"));
+  }
+
+  @Test
+  void queryWildcardsAreLiteral() {
+    assertFalse(ActionIndex.of(List.of("s3:GetObject")).matches("s3:*"));
+    assertTrue(ActionIndex.of(List.of("s3:*")).matches("s3:*"));
+    assertTrue(ActionIndex.of(List.of("*")).matches("s3:*"));
+  }
+
+  @Test
+  void unmatchedKeepsInputOrder() {
+    ActionIndex index = ActionIndex.of(List.of("ecr:*"));
+
+    assertEquals(List.of("s3:*", "iam:PassRole"),
+        index.unmatched(List.of("s3:*", "ecr:BatchGetImage", "iam:PassRole")));
+  }
+
+  @Test
+  void permissionMatrixFlagsExcessMinimalGrants() {
+    List<String> granted = new java.util.ArrayList<>(
+        PermissionMatrix.getRequiredPermissions(TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, IAMProfile.MINIMAL));
+    granted.add("iam:PassRole");
+
+    PermissionMatrix.ValidationResult result = PermissionMatrix.validatePermissions(
+        TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, IAMProfile.MINIMAL, granted);
+
+    assertEquals(List.of("Excessive permission for MINIMAL profile: iam:PassRole"), result.issues());
+    assertSame(PermissionMatrix.requiredIndex(TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, IAMProfile.MINIMAL),
+        PermissionMatrix.requiredIndex(TopologyType.JENKINS_SERVICE, RuntimeType.FARGATE, IAMProfile.MINIMAL));
+  }
+}
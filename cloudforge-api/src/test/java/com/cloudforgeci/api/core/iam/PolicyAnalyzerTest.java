@@ -0,0 +1,58 @@
+package com.cloudforgeci.api.core.iam;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PolicyAnalyzerTest {
+
+  private static final String TEMPLATE = """
+      {"Resources": {
+        "StandardEc2Role1A2B": {"Type": "AWS::IAM::Role",
+          "Metadata": {"aws:cdk:path": "Jenkins/StandardEc2Role/Resource"}},
+        "StandardEc2RoleDefaultPolicy3C4D": {"Type": "AWS::IAM::Policy",
+          "Metadata": {"aws:cdk:path": "Jenkins/StandardEc2Role/DefaultPolicy/Resource"},
+          "Properties": {"PolicyDocument": {"Statement": [
+            {"Effect": "Allow", "Action": ["logs:CreateLogStream", "logs:PutRetentionPolicy"], "Resource": "*"},
+            {"Effect": "Allow", "Action": "s3:GetObject", "Resource": "*"},
+            {"Effect": "Deny", "Action": "iam:*", "Resource": "*"}]},
+            "Roles": [{"Ref": "StandardEc2Role1A2B"}]}},
+        "FlowLogRole5E6F": {"Type": "AWS::IAM::Role",
+          "Metadata": {"aws:cdk:path": "Jenkins/FlowLogRole/Resource"},
+          "Properties": {"Policies": [{"PolicyDocument": {"Statement": [
+            {"Effect": "Allow", "Action": "logs:*", "Resource": "*"}]}}]}}
+      }}
+      """;
+
+  private static JsonNode template() throws Exception {
+    return new ObjectMapper().readTree(TEMPLATE);
+  }
+
+  @Test
+  void onlyProfileRolesAreCollected() throws Exception {
+    var grants = PolicyAnalyzer.grants(template());
+
+    assertEquals(List.of("Jenkins/StandardEc2Role"), List.copyOf(grants.keySet()));
+    assertEquals(List.of("logs:CreateLogStream", "logs:PutRetentionPolicy", "s3:GetObject"),
+        List.copyOf(grants.get("Jenkins/StandardEc2Role")));
+  }
+
+  @Test
+  void actionsOutsideTheProfileAreExcessive() throws Exception {
+    PolicyAnalyzer.Report report = PolicyAnalyzer.analyze(List.of(
+        new PolicyAnalyzer.StackTemplate("team-a", template(), TopologyType.JENKINS_SERVICE, RuntimeType.EC2, IAMProfile.STANDARD),
+        new PolicyAnalyzer.StackTemplate("team-b", template(), TopologyType.JENKINS_SERVICE, RuntimeType.EC2, IAMProfile.EXTENDED)));
+
+    assertEquals(2, report.roles().size());
+    assertEquals(List.of("logs:PutRetentionPolicy"), report.roles().get(0).excessive());
+    assertEquals(List.of("team-a", "team-b"), report.excessive().stream().map(PolicyAnalyzer.RoleReport::stack).toList());
+    assertTrue(report.summary().contains("team-a Jenkins/StandardEc2Role (STANDARD): logs:PutRetentionPolicy"), report.summary());
+  }
+}
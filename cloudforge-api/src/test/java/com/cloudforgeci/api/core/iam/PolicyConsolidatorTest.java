@@ -0,0 +1,80 @@
+package com.cloudforgeci.api.core.iam;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PolicyConsolidatorTest {
+
+  private static PolicyConsolidator consolidator(IAMProfile profile) {
+    return new PolicyConsolidator(PermissionMatrix.requiredIndex(TopologyType.JENKINS_SERVICE, RuntimeType.EC2, profile));
+  }
+
+  @Test
+  void statementsOnTheSameResourcesAreMerged() {
+    PolicyConsolidator policy = consolidator(IAMProfile.STANDARD)
+        .add("Metrics", List.of("cloudwatch:PutMetricData", "cloudwatch:ListMetrics"), List.of("*"))
+        .add("Backup", List.of("s3:GetObject"), List.of("arn:aws:s3:::jenkins-backup-*"))
+        .add("Debug", List.of("ec2:DescribeInstances", "cloudwatch:ListMetrics"), List.of("*"));
+
+    List<PolicyConsolidator.Statement> merged = policy.consolidate();
+
+    assertEquals(2, merged.size());
+    assertEquals("Metrics", merged.get(0).sid());
+    assertEquals(List.of("cloudwatch:PutMetricData", "cloudwatch:ListMetrics", "ec2:DescribeInstances"),
+        merged.get(0).actions());
+    assertEquals(List.of("s3:GetObject"), merged.get(1).actions());
+  }
+
+  @Test
+  void wildcardsOnlyWhereTheProfileAllowsThem() {
+    List<String> ssm = List.of("ssm:SendCommand", "ssm:ListCommandInvocations");
+
+    assertEquals(List.of("ssm:*"),
+        consolidator(IAMProfile.EXTENDED).add("Ssm", ssm, List.of("*")).consolidate().get(0).actions());
+    assertEquals(ssm,
+        consolidator(IAMProfile.MINIMAL).add("Ssm", ssm, List.of("*")).consolidate().get(0).actions());
+  }
+
+  @Test
+  void actionsCoveredByAWildcardAreDropped() {
+    List<PolicyConsolidator.Statement> merged = consolidator(IAMProfile.MINIMAL)
+        .add("Logs", List.of("logs:*"), List.of("*"))
+        .add("Streams", List.of("logs:PutLogEvents", "ecr:BatchGetImage"), List.of("*"))
+        .consolidate();
+
+    assertEquals(List.of("logs:*", "ecr:BatchGetImage"), merged.get(0).actions());
+  }
+
+  @Test
+  void differentConditionsStayApart() {
+    PolicyConsolidator policy = consolidator(IAMProfile.STANDARD)
+        .add(new PolicyConsolidator.Statement("A", List.of("s3:GetObject"), List.of("*"),
+            Map.of("Bool", Map.of("aws:SecureTransport", "true"))))
+        .add("B", List.of("s3:PutObject"), List.of("*"));
+
+    assertEquals(2, policy.consolidate().size());
+  }
+
+  @Test
+  void mergingShrinksThePolicy() {
+    PolicyConsolidator policy = consolidator(IAMProfile.EXTENDED)
+        .add("ExtendedCloudWatchLogs", List.of("logs:*"), List.of("*"))
+        .add("ExtendedCloudWatchMetrics", List.of("cloudwatch:*"), List.of("*"))
+        .add("ExtendedEfsAccess", List.of("elasticfilesystem:*"), List.of("*"));
+
+    List<PolicyConsolidator.Statement> merged = policy.consolidate();
+
+    assertEquals(1, merged.size());
+    assertTrue(PolicyConsolidator.size(merged) < PolicyConsolidator.size(List.of(
+        new PolicyConsolidator.Statement("ExtendedCloudWatchLogs", List.of("logs:*"), List.of("*")),
+        new PolicyConsolidator.Statement("ExtendedCloudWatchMetrics", List.of("cloudwatch:*"), List.of("*")),
+        new PolicyConsolidator.Statement("ExtendedEfsAccess", List.of("elasticfilesystem:*"), List.of("*")))));
+  }
+}
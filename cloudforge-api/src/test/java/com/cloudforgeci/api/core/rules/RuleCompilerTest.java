@@ -0,0 +1,118 @@
+package com.cloudforgeci.api.core.rules;
+
+import com.cloudforgeci.api.core.DeploymentContext;
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleCompilerTest {
+
+  private static SystemContext start(RuntimeType runtime, Map<String, Object> cfc) {
+    App app = new App();
+    app.getNode().setContext("cfc", cfc);
+    Stack stack = new Stack(app, "Test");
+    return SystemContext.start(stack, TopologyType.JENKINS_SERVICE, runtime, SecurityProfile.DEV,
+        IAMProfile.EXTENDED, DeploymentContext.from(stack));
+  }
+
+  @Test
+  void ruleSetIsCompiledOncePerTuple() {
+    SystemContext a = start(RuntimeType.FARGATE, Map.of("runtime", "fargate"));
+    SystemContext b = start(RuntimeType.FARGATE, Map.of("runtime", "fargate", "cpu", 2048));
+    SystemContext ec2 = start(RuntimeType.EC2, Map.of("runtime", "ec2"));
+
+    assertSame(RuleCompiler.compile(a), RuleCompiler.compile(b));
+    assertNotSame(RuleCompiler.compile(a), RuleCompiler.compile(ec2));
+  }
+
+  @Test
+  void missingSlotsAreReportedWithCodeAndSlotName() {
+    SystemContext ctx = start(RuntimeType.FARGATE, Map.of("runtime", "fargate"));
+
+    List<Violation> violations = RuleCompiler.compile(ctx).evaluate(ctx);
+
+    Violation vpc = violations.get(0);
+    assertEquals(Violation.REQUIRED, vpc.code());
+    assertEquals(Violation.Severity.ERROR, vpc.severity());
+    assertEquals("vpc", vpc.slot());
+    assertEquals("required: vpc", vpc.message());
+    assertEquals("IAM:EXTENDED#0", vpc.source());
+    assertTrue(violations.stream().anyMatch(v -> "fargateService".equals(v.slot())
+        && v.source().startsWith("Runtime:FARGATE")));
+  }
+
+  @Test
+  void deploymentContextConditionsAreDecidedPerContext() {
+    SystemContext scaled = start(RuntimeType.EC2, Map.of("runtime", "ec2", "minInstanceCapacity", 1, "maxInstanceCapacity", 3));
+    SystemContext single = start(RuntimeType.EC2, Map.of("runtime", "ec2", "minInstanceCapacity", 1, "maxInstanceCapacity", 1));
+
+    CompiledRuleSet rules = RuleCompiler.compile(scaled);
+    assertSame(rules, RuleCompiler.compile(single));
+
+    assertTrue(rules.evaluate(scaled).stream().anyMatch(v -> "asg".equals(v.slot())));
+    assertFalse(rules.evaluate(single).stream().anyMatch(v -> "asg".equals(v.slot())));
+  }
+
+  @Test
+  void batchEvaluationKeepsInputOrder() {
+    SystemContext fargate = start(RuntimeType.FARGATE, Map.of("runtime", "fargate"));
+    SystemContext ec2 = start(RuntimeType.EC2, Map.of("runtime", "ec2"));
+
+    List<List<Violation>> results = RuleCompiler.evaluateAll(List.of(fargate, ec2));
+
+    assertEquals(2, results.size());
+    assertEquals(RuleCompiler.compile(fargate).evaluate(fargate), results.get(0));
+    assertEquals(RuleCompiler.compile(ec2).evaluate(ec2), results.get(1));
+  }
+
+  @Test
+  void deploymentContextsAreCheckedWithoutConstructs() {
+    DeploymentContext ok = DeploymentContext.fromContext(Map.of("runtime", "fargate"));
+    DeploymentContext oidc = DeploymentContext.fromContext(Map.of("runtime", "ec2", "enableSsl", true,
+        "domain", "example.com", "authMode", "alb-oidc"));
+    DeploymentContext fqdnOnly = DeploymentContext.fromContext(Map.of("runtime", "fargate", "enableSsl", true,
+        "fqdn", "jenkins.example.com"));
+
+    List<List<Violation>> results = RuleCompiler.evaluateContexts(List.of(ok, oidc, fqdnOnly));
+
+    assertEquals(List.of(), results.get(0));
+    assertEquals(List.of(), results.get(1));
+    Violation advisory = results.get(2).get(0);
+    assertEquals(1, results.get(2).size());
+    assertEquals(Violation.Severity.WARNING, advisory.severity());
+    assertEquals("Topology:JENKINS_SERVICE:context#3", advisory.source());
+    assertSame(RuleCompiler.compile(ok), RuleCompiler.compile(fqdnOnly));
+  }
+
+  @Test
+  void advisoryRulesAreWarningsAndDoNotFailValidation() {
+    SystemContext ctx = start(RuntimeType.FARGATE, Map.of("runtime", "fargate", "enableSsl", true,
+        "fqdn", "jenkins.example.com"));
+
+    List<Violation> violations = RuleCompiler.compile(ctx).evaluate(ctx);
+
+    assertTrue(violations.stream().anyMatch(v -> v.severity() == Violation.Severity.WARNING
+        && "Topology:JENKINS_SERVICE:context#3".equals(v.source())), violations::toString);
+    assertTrue(RuleCompiler.compile(ctx).validate(ctx).stream().noneMatch(m -> m.contains("fqdn but no domain")));
+  }
+
+  @Test
+  void validationMessagesMatchRuleMessages() {
+    SystemContext ctx = start(RuntimeType.FARGATE, Map.of("runtime", "fargate"));
+
+    List<String> messages = RuleCompiler.compile(ctx).validate(ctx);
+
+    assertTrue(messages.contains("required: vpc"));
+    assertTrue(messages.contains("required: fargate service"));
+  }
+}
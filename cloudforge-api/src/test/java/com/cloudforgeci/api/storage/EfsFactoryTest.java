@@ -1,5 +1,6 @@
 package com.cloudforgeci.api.storage;
 
+import com.cloudforgeci.api.test.JenkinsTemplates;
 import com.cloudforgeci.api.test.TestInfrastructureBuilder;
 import com.cloudforgeci.api.interfaces.RuntimeType;
 import com.cloudforgeci.api.interfaces.SecurityProfile;
@@ -16,4 +17,24 @@ public class EfsFactoryTest {
     Template t = Template.fromStack(builder.getStack());
     t.hasResourceProperties("AWS::EFS::FileSystem", Map.of("Encrypted", true));
   }
+
+  @Test
+  void burstingFileSystemGetsCreditAndSaturationAlarms() {
+    Template t = JenkinsTemplates.fargate("EfsModes", Map.of());
+
+    t.hasResourceProperties("AWS::EFS::FileSystem", Map.of("ThroughputMode", "bursting", "PerformanceMode", "generalPurpose"));
+    t.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of("MetricName", "BurstCreditBalance", "ComparisonOperator", "LessThanThreshold"));
+    t.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of("MetricName", "PercentIOLimit"));
+    t.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of("AlarmDescription", "EFS metered throughput is close to the permitted throughput"));
+  }
+
+  @Test
+  void provisionedThroughputIsApplied() {
+    Template t = JenkinsTemplates.fargate("EfsModes", Map.of("efsThroughputMode", "provisioned", "efsProvisionedThroughput", 64));
+
+    t.hasResourceProperties("AWS::EFS::FileSystem", Map.of("ThroughputMode", "provisioned", "ProvisionedThroughputInMibps", 64));
+    // No burst credits to watch outside bursting mode
+    t.resourcePropertiesCountIs("AWS::CloudWatch::Alarm", Map.of("MetricName", "BurstCreditBalance"), 0);
+    t.resourcePropertiesCountIs("AWS::CloudWatch::Alarm", Map.of("MetricName", "PercentIOLimit"), 1);
+  }
 }
@@ -0,0 +1,30 @@
+package com.cloudforgeci.api.test;
+
+import com.cloudforgeci.api.compute.JenkinsFactory;
+import com.cloudforgeci.api.core.DeploymentContext;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Template;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Synthesizes complete Jenkins deployments through {@link JenkinsFactory}, so every slot the
+ * SystemContext validates is filled the way a real app fills it.
+ */
+public final class JenkinsTemplates {
+
+  private JenkinsTemplates() {}
+
+  /** A Fargate JENKINS_SERVICE deployment with {@code extra} context keys on top. */
+  public static Template fargate(String stackName, Map<String, Object> extra) {
+    Map<String, Object> cfc = new HashMap<>(Map.of("runtime", "fargate", "topology", "jenkins-service"));
+    cfc.putAll(extra);
+    App app = new App();
+    app.getNode().setContext("cfc", cfc);
+    Stack stack = new Stack(app, stackName);
+    JenkinsFactory.createFargate(stack, "Jenkins", DeploymentContext.from(stack));
+    return Template.fromStack(stack);
+  }
+}